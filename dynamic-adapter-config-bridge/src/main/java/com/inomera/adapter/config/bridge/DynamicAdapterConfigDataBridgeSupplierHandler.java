@@ -11,53 +11,118 @@ import com.inomera.integration.config.model.Auth.NoneAuth;
 import com.inomera.integration.config.model.AuthHeadersCredentials;
 import com.inomera.integration.config.model.BasicAuthCredentials;
 import com.inomera.integration.config.model.BearerTokenCredentials;
+import com.inomera.integration.util.AdapterExecutors;
 import com.inomera.telco.commons.config.ConfigurationHolder;
 import com.inomera.telco.commons.lang.Assert;
+import java.time.Duration;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 
+/**
+ * Adapter config supplier of the {@link ConfigurationHolder}. Requests read the published config snapshot
+ * of the adapter key, config changes are resolved on the reload thread every reload interval, so they are
+ * applied and published to subscribers within the reload interval.
+ */
 @Slf4j
-@RequiredArgsConstructor
-public class DynamicAdapterConfigDataBridgeSupplierHandler implements AdapterConfigDataSupplier {
+public class DynamicAdapterConfigDataBridgeSupplierHandler implements AdapterConfigDataSupplier,
+    AutoCloseable {
 
+  public static final Duration DEFAULT_RELOAD_INTERVAL = Duration.ofSeconds(10);
   private static final String COMMON_CONFIG_V1_KEY = "config.adapter.common.v1";
-  private final ConcurrentHashMap<String, String> configReloadMap = new ConcurrentHashMap<>();
+  /**
+   * Published adapter config snapshots by adapter key. A snapshot is rebuilt on the reload thread only when
+   * the raw adapter or common config value in the {@link ConfigurationHolder} changes, so requests do not
+   * read the raw values, parse json or merge common config.
+   */
+  private final ConcurrentHashMap<String, AdapterConfigSnapshot> snapshotMap = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, List<Consumer<AdapterConfig>>> listenerMap = new ConcurrentHashMap<>();
 
   private final ConfigurationHolder configurationHolder;
+  private final Duration reloadInterval;
+  private final AtomicBoolean reloading = new AtomicBoolean();
+  private ScheduledFuture<?> reloadTask;
 
+  public DynamicAdapterConfigDataBridgeSupplierHandler(ConfigurationHolder configurationHolder) {
+    this(configurationHolder, DEFAULT_RELOAD_INTERVAL);
+  }
+
+  /**
+   * @param configurationHolder configuration holder of the adapter configs
+   * @param reloadInterval      interval of applying and publishing config changes,
+   *                            {@link #DEFAULT_RELOAD_INTERVAL} when null
+   */
+  public DynamicAdapterConfigDataBridgeSupplierHandler(ConfigurationHolder configurationHolder,
+      Duration reloadInterval) {
+    this.configurationHolder = configurationHolder;
+    this.reloadInterval = reloadInterval != null ? reloadInterval : DEFAULT_RELOAD_INTERVAL;
+  }
+
+  /**
+   * Returns the published adapter config snapshot of the given key. The snapshot is frozen, its setters
+   * throw {@link IllegalStateException}. {@link AdapterConfig#getVersion()} is increased only when the
+   * resolved config changes, changes are applied within the reload interval.
+   */
   @Override
   public AdapterConfig getConfigV1(String key) {
     Assert.notNull(key, "Key cannot be null");
-    try {
-      // Get the adapter properties map
-      Map<String, Object> adapterPropertiesMap = getConfig(key, Map.class);
-      if (adapterPropertiesMap == null) {
-        throw new AdapterConfigException("Adapter config for key '" + key + "' is not found");
-      }
-
-      // Extract and set authentication credentials
-      Auth authCredentials = extractAuthCredentials(adapterPropertiesMap);
+    final AdapterConfigSnapshot snapshot = snapshotMap.get(key);
+    if (snapshot != null) {
+      return snapshot.adapterConfig();
+    }
+    return loadSnapshot(key).adapterConfig();
+  }
 
-      // Create AdapterProperties and set authentication
-      AdapterProperties adapterProperties = getConfig(key, AdapterProperties.class);
-      adapterProperties.setAuth(authCredentials);
+  @Override
+  public void subscribe(String key, Consumer<AdapterConfig> listener) {
+    Assert.notNull(key, "Key cannot be null");
+    Assert.notNull(listener, "Listener cannot be null");
+    listenerMap.computeIfAbsent(key, listenerKey -> new CopyOnWriteArrayList<>()).add(listener);
+    scheduleReload();
+  }
 
-      // Merge with common configuration
-      AdapterConfig adapterConfig = new AdapterConfig(key, adapterProperties);
-      AdapterConfig mergedAdapterConfig = mergeWithCommonConfigIfNotSetInAdapterConfig(
-          adapterConfig);
+  @Override
+  public void unsubscribe(String key, Consumer<AdapterConfig> listener) {
+    listenerMap.computeIfPresent(key, (listenerKey, listeners) -> {
+      listeners.remove(listener);
+      return listeners.isEmpty() ? null : listeners;
+    });
+  }
 
-      // Handle configuration reload logic
-      handleConfigReload(key, mergedAdapterConfig);
+  /**
+   * Resolves configs of all loaded and subscribed adapter keys again, changed configs are published as
+   * new snapshots and to subscribers on the calling thread. It runs every reload interval, it can also be
+   * called from the configuration reload trigger to apply changes immediately.
+   */
+  public void reloadConfigs() {
+    final Set<String> keys = new HashSet<>(snapshotMap.keySet());
+    keys.addAll(listenerMap.keySet());
+    for (String key : keys) {
+      try {
+        reloadConfig(key);
+      } catch (Exception e) {
+        LOG.error("Key: {}, adapter config couldn't be reloaded", key, e);
+      }
+    }
+  }
 
-      return mergedAdapterConfig;
-    } catch (Exception e) {
-      LOG.error("Key: {}, Config deserialization error occurred", key, e);
-      throw new AdapterConfigException("Adapter Config Exception", e);
+  /**
+   * Stops reloading the configs, e.g. when the application context is closed.
+   */
+  @Override
+  public synchronized void close() {
+    if (reloadTask != null) {
+      reloadTask.cancel(false);
+      reloadTask = null;
     }
   }
 
@@ -120,20 +185,131 @@ public class DynamicAdapterConfigDataBridgeSupplierHandler implements AdapterCon
     return getAuthCredentials(authMap);
   }
 
-  private void handleConfigReload(String key, AdapterConfig mergedAdapterConfig) {
-    final String currentHash = configReloadMap.get(key);
-    if (StringUtils.isBlank(currentHash)) {
+  /**
+   * Starts reloading the configs with the first loaded config or subscription. The shared scheduler only
+   * triggers the reload, configs are resolved and changes are published on the blocking executor because
+   * resolving parses json and subscribers may rebuild their http clients.
+   */
+  private synchronized void scheduleReload() {
+    if (reloadTask != null) {
+      return;
+    }
+    final long intervalMillis = reloadInterval.toMillis();
+    reloadTask = AdapterExecutors.scheduler().scheduleWithFixedDelay(this::triggerReload,
+        intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  private void triggerReload() {
+    if (!reloading.compareAndSet(false, true)) {
+      // the previous reload is still running
+      return;
+    }
+    try {
+      AdapterExecutors.blockingExecutor().execute(() -> {
+        try {
+          reloadConfigs();
+        } finally {
+          reloading.set(false);
+        }
+      });
+    } catch (RuntimeException e) {
+      reloading.set(false);
+      LOG.warn("Adapter configs couldn't be reloaded", e);
+    }
+  }
+
+  private void publishConfigChange(String key, AdapterConfig adapterConfig) {
+    final List<Consumer<AdapterConfig>> listeners = listenerMap.get(key);
+    if (listeners == null) {
+      return;
+    }
+    for (Consumer<AdapterConfig> listener : listeners) {
+      try {
+        listener.accept(adapterConfig);
+      } catch (Exception e) {
+        LOG.error("Key: {}, adapter config change listener failed, version: {}", key,
+            adapterConfig.getVersion(), e);
+      }
+    }
+  }
+
+  /**
+   * Loads the first snapshot of the key outside any map lock, concurrent first requests of the key may
+   * resolve it more than once but only one snapshot is published.
+   */
+  private AdapterConfigSnapshot loadSnapshot(String key) {
+    final AdapterConfigSnapshot snapshot;
+    try {
+      final String rawConfig = configurationHolder.getStringProperty(key);
+      final String rawCommonConfig = configurationHolder.getStringProperty(COMMON_CONFIG_V1_KEY);
+      final AdapterConfig adapterConfig = loadAdapterConfig(key);
       // Initial load
-      configReloadMap.put(key, mergedAdapterConfig.hashConfig());
-      mergedAdapterConfig.setRefresh(true);
-    } else if (currentHash.equals(mergedAdapterConfig.hashConfig())) {
-      // No changes in configuration
-      mergedAdapterConfig.setRefresh(false);
-    } else {
-      // Configuration has changed
-      configReloadMap.put(key, mergedAdapterConfig.hashConfig());
-      mergedAdapterConfig.setRefresh(true);
+      adapterConfig.setVersion(1);
+      adapterConfig.freeze();
+      snapshot = new AdapterConfigSnapshot(rawConfig, rawCommonConfig, adapterConfig);
+    } catch (Exception e) {
+      LOG.error("Key: {}, Config deserialization error occurred", key, e);
+      throw new AdapterConfigException("Adapter Config Exception", e);
+    }
+    final AdapterConfigSnapshot publishedSnapshot = snapshotMap.putIfAbsent(key, snapshot);
+    if (publishedSnapshot != null) {
+      return publishedSnapshot;
     }
+    LOG.info("Key: {}, adapter config is loaded, version: {}", key,
+        snapshot.adapterConfig().getVersion());
+    scheduleReload();
+    return snapshot;
+  }
+
+  private void reloadConfig(String key) {
+    final AdapterConfigSnapshot currentSnapshot = snapshotMap.get(key);
+    if (currentSnapshot == null) {
+      loadSnapshot(key);
+      return;
+    }
+    final String rawConfig = configurationHolder.getStringProperty(key);
+    final String rawCommonConfig = configurationHolder.getStringProperty(COMMON_CONFIG_V1_KEY);
+    if (currentSnapshot.isBuiltFrom(rawConfig, rawCommonConfig)) {
+      return;
+    }
+    final AdapterConfig currentAdapterConfig = currentSnapshot.adapterConfig();
+    final AdapterConfig mergedAdapterConfig = loadAdapterConfig(key);
+    if (currentAdapterConfig.equals(mergedAdapterConfig)) {
+      // No changes in resolved configuration, keep serving the same instance
+      snapshotMap.replace(key, currentSnapshot,
+          new AdapterConfigSnapshot(rawConfig, rawCommonConfig, currentAdapterConfig));
+      return;
+    }
+    // Configuration has changed
+    mergedAdapterConfig.setVersion(currentAdapterConfig.getVersion() + 1);
+    mergedAdapterConfig.freeze();
+    if (!snapshotMap.replace(key, currentSnapshot,
+        new AdapterConfigSnapshot(rawConfig, rawCommonConfig, mergedAdapterConfig))) {
+      // Another reload has already published a newer snapshot
+      return;
+    }
+    LOG.info("Key: {}, adapter config is changed, version: {}", key,
+        mergedAdapterConfig.getVersion());
+    publishConfigChange(key, mergedAdapterConfig);
+  }
+
+  private AdapterConfig loadAdapterConfig(String key) {
+    // Get the adapter properties map
+    Map<String, Object> adapterPropertiesMap = getConfig(key, Map.class);
+    if (adapterPropertiesMap == null) {
+      throw new AdapterConfigException("Adapter config for key '" + key + "' is not found");
+    }
+
+    // Extract and set authentication credentials
+    Auth authCredentials = extractAuthCredentials(adapterPropertiesMap);
+
+    // Create AdapterProperties and set authentication
+    AdapterProperties adapterProperties = getConfig(key, AdapterProperties.class);
+    adapterProperties.setAuth(authCredentials);
+
+    // Merge with common configuration
+    AdapterConfig adapterConfig = new AdapterConfig(key, adapterProperties);
+    return mergeWithCommonConfigIfNotSetInAdapterConfig(adapterConfig);
   }
 
   private Auth getAuthCredentials(Map<String, Object> authMap) {
@@ -187,6 +363,20 @@ public class DynamicAdapterConfigDataBridgeSupplierHandler implements AdapterCon
     return defaultValue == null ? resolver.apply(key) : resolver.apply(key, defaultValue);
   }
 
+  /**
+   * Frozen merged adapter config with the raw config values it was built from. When a raw value is
+   * unavailable (null), the snapshot is always considered outdated and the config is resolved again by
+   * the next reload.
+   */
+  private record AdapterConfigSnapshot(String rawConfig, String rawCommonConfig,
+                                       AdapterConfig adapterConfig) {
+
+    boolean isBuiltFrom(String rawConfig, String rawCommonConfig) {
+      return rawConfig != null && rawConfig.equals(this.rawConfig)
+          && Objects.equals(rawCommonConfig, this.rawCommonConfig);
+    }
+  }
+
   @FunctionalInterface
   private interface FunctionWithDefault<T> {
 
@@ -2,6 +2,8 @@ package com.inomera.adapter.config.bridge;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.times;
@@ -14,8 +16,11 @@ import com.inomera.integration.config.model.AdapterConfig;
 import com.inomera.integration.config.model.AdapterProperties;
 import com.inomera.integration.config.model.Auth;
 import com.inomera.telco.commons.config.ConfigurationHolder;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,6 +44,7 @@ class DynamicAdapterConfigDataBridgeSupplierHandlerTest {
 
   @AfterEach
   void destroy() throws Exception {
+    handler.close();
     autoCloseable.close();
   }
 
@@ -120,6 +126,113 @@ class DynamicAdapterConfigDataBridgeSupplierHandlerTest {
     verify(configurationHolder, times(1)).getJsonObjectProperty(eq(key), eq(Map.class));
   }
 
+  @Test
+  void testGetConfigV1_ConfigNotChanged_ReturnsCachedSnapshot() {
+    String key = "testKey";
+    AdapterProperties mockAdapterProperties = new AdapterProperties();
+    mockAdapterProperties.setUrl("https://api.mirket.com");
+
+    Map<String, Object> mockAdapterPropertiesMap = Map.of("url", "https://api.mirket.com");
+
+    when(configurationHolder.getStringProperty(eq(key))).thenReturn("{\"url\":\"https://api.mirket.com\"}");
+    when(configurationHolder.getJsonObjectProperty(eq(key), eq(Map.class))).thenReturn(mockAdapterPropertiesMap);
+    when(configurationHolder.getJsonObjectProperty(eq(key), eq(AdapterProperties.class))).thenReturn(mockAdapterProperties);
+
+    AdapterConfig first = handler.getConfigV1(key);
+    AdapterConfig second = handler.getConfigV1(key);
+
+    assertSame(first, second);
+    assertEquals(1, second.getVersion());
+    assertThrows(IllegalStateException.class, () -> second.setVersion(2));
+    verify(configurationHolder, times(1)).getJsonObjectProperty(eq(key), eq(Map.class));
+    verify(configurationHolder, times(1)).getJsonObjectProperty(eq(key), eq(AdapterProperties.class));
+  }
+
+  @Test
+  void testGetConfigV1_ConfigChanged_ReloadRebuildsSnapshotWithNewVersion() {
+    String key = "testKey";
+    AdapterProperties mockAdapterProperties = new AdapterProperties();
+    mockAdapterProperties.setUrl("https://api.mirket.com");
+    AdapterProperties mockChangedAdapterProperties = new AdapterProperties();
+    mockChangedAdapterProperties.setUrl("https://api2.mirket.com");
+
+    Map<String, Object> mockAdapterPropertiesMap = Map.of("url", "https://api.mirket.com");
+
+    when(configurationHolder.getStringProperty(eq(key)))
+        .thenReturn("{\"url\":\"https://api.mirket.com\"}", "{\"url\":\"https://api2.mirket.com\"}");
+    when(configurationHolder.getJsonObjectProperty(eq(key), eq(Map.class))).thenReturn(mockAdapterPropertiesMap);
+    when(configurationHolder.getJsonObjectProperty(eq(key), eq(AdapterProperties.class)))
+        .thenReturn(mockAdapterProperties, mockChangedAdapterProperties);
+
+    AdapterConfig first = handler.getConfigV1(key);
+    assertSame(first, handler.getConfigV1(key));
+    handler.reloadConfigs();
+    AdapterConfig second = handler.getConfigV1(key);
+
+    assertNotSame(first, second);
+    assertEquals(1, first.getVersion());
+    assertEquals(2, second.getVersion());
+    assertEquals("https://api2.mirket.com", second.getAdapterProperties().getUrl());
+    verify(configurationHolder, times(2)).getJsonObjectProperty(eq(key), eq(Map.class));
+  }
+
+  @Test
+  void testSubscribe_ConfigChanged_PublishesNewConfigOnce() {
+    String key = "testKey";
+    AdapterProperties mockAdapterProperties = new AdapterProperties();
+    mockAdapterProperties.setUrl("https://api.mirket.com");
+    AdapterProperties mockChangedAdapterProperties = new AdapterProperties();
+    mockChangedAdapterProperties.setUrl("https://api2.mirket.com");
+    List<AdapterConfig> publishedConfigs = new ArrayList<>();
+
+    Map<String, Object> mockAdapterPropertiesMap = Map.of("url", "https://api.mirket.com");
+
+    when(configurationHolder.getStringProperty(eq(key)))
+        .thenReturn("{\"url\":\"https://api.mirket.com\"}", "{\"url\":\"https://api2.mirket.com\"}");
+    when(configurationHolder.getJsonObjectProperty(eq(key), eq(Map.class))).thenReturn(mockAdapterPropertiesMap);
+    when(configurationHolder.getJsonObjectProperty(eq(key), eq(AdapterProperties.class)))
+        .thenReturn(mockAdapterProperties, mockChangedAdapterProperties);
+
+    handler.subscribe(key, publishedConfigs::add);
+    handler.getConfigV1(key);
+    handler.reloadConfigs();
+    handler.reloadConfigs();
+
+    assertEquals(1, publishedConfigs.size());
+    assertEquals(2, publishedConfigs.get(0).getVersion());
+    assertEquals("https://api2.mirket.com", publishedConfigs.get(0).getAdapterProperties().getUrl());
+  }
+
+  @Test
+  void testSubscribe_ConfigChanged_PublishesNewConfigWithoutRequest() throws InterruptedException {
+    String key = "testKey";
+    AdapterProperties mockAdapterProperties = new AdapterProperties();
+    mockAdapterProperties.setUrl("https://api.mirket.com");
+    AdapterProperties mockChangedAdapterProperties = new AdapterProperties();
+    mockChangedAdapterProperties.setUrl("https://api2.mirket.com");
+    List<AdapterConfig> publishedConfigs = new CopyOnWriteArrayList<>();
+
+    Map<String, Object> mockAdapterPropertiesMap = Map.of("url", "https://api.mirket.com");
+
+    when(configurationHolder.getStringProperty(eq(key)))
+        .thenReturn("{\"url\":\"https://api.mirket.com\"}", "{\"url\":\"https://api2.mirket.com\"}");
+    when(configurationHolder.getJsonObjectProperty(eq(key), eq(Map.class))).thenReturn(mockAdapterPropertiesMap);
+    when(configurationHolder.getJsonObjectProperty(eq(key), eq(AdapterProperties.class)))
+        .thenReturn(mockAdapterProperties, mockChangedAdapterProperties);
+
+    try (DynamicAdapterConfigDataBridgeSupplierHandler reloadingHandler =
+        new DynamicAdapterConfigDataBridgeSupplierHandler(configurationHolder, Duration.ofMillis(10))) {
+      reloadingHandler.subscribe(key, publishedConfigs::add);
+      for (int i = 0; i < 200 && publishedConfigs.isEmpty(); i++) {
+        Thread.sleep(10);
+      }
+    }
+
+    assertEquals(1, publishedConfigs.size());
+    assertEquals(2, publishedConfigs.get(0).getVersion());
+    assertEquals("https://api2.mirket.com", publishedConfigs.get(0).getAdapterProperties().getUrl());
+  }
+
   @Test
   void testGetConfig_StringProperty_Success() {
     String key = "stringKey";
@@ -3,6 +3,9 @@ package com.inomera.integration.client;
 import com.inomera.integration.fault.AdapterException;
 import com.inomera.integration.model.HttpAdapterRequest;
 import com.inomera.integration.model.HttpAdapterResponse;
+import com.inomera.integration.util.AdapterExecutors;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This interface is an abstraction for http implementation layer. All http level configurations,
@@ -36,6 +39,25 @@ public interface HttpAdapterClient {
     <O> HttpAdapterResponse<O> send(HttpAdapterRequest httpAdapterRequest, Class<O> responseType)
             throws AdapterException;
 
+    /**
+     * Sends http requests asynchronously using the underlying implementation.
+     * <p>
+     * The returned future completes exceptionally with {@link AdapterException} or its subtypes in case
+     * of an exception. Default implementation runs the blocking {@link #send(HttpAdapterRequest, Class)}
+     * on {@link AdapterExecutors#blockingExecutor()}, so each request in flight holds a thread until its
+     * response is read. Implementors with a non-blocking http layer should override it.
+     *
+     * @param httpAdapterRequest full request information
+     * @param responseType       Class of the model that represents the response format of this
+     *                           request.
+     * @return Future of the http Response Data
+     */
+    default <O> CompletableFuture<HttpAdapterResponse<O>> sendAsync(HttpAdapterRequest httpAdapterRequest,
+                                                                   Class<O> responseType) {
+        return CompletableFuture.supplyAsync(() -> send(httpAdapterRequest, responseType),
+                AdapterExecutors.blockingExecutor());
+    }
+
     /**
      *
      * @return default value as false
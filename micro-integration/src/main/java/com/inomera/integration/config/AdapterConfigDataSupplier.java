@@ -3,6 +3,7 @@ package com.inomera.integration.config;
 import com.inomera.integration.config.model.AdapterConfig;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AdapterConfigDataSupplier {
 
@@ -19,4 +20,34 @@ public interface AdapterConfigDataSupplier {
     <T> List<T> getConfigs(String key, Class<T> classToDeserialize);
 
     <T> List<T> getConfigs(String key, Class<T> classToDeserialize, List<T> defaultValue);
+
+    /**
+     * Registers a listener that is notified with the new {@link AdapterConfig} whenever the config of the
+     * given key changes. Suppliers with static configs never publish changes, so the default is a no-op.
+     *
+     * @param key      adapter config key
+     * @param listener config change listener
+     */
+    default void subscribe(String key, Consumer<AdapterConfig> listener) {
+    }
+
+    /**
+     * Removes a listener registered by {@link #subscribe(String, Consumer)}.
+     *
+     * @param key      adapter config key
+     * @param listener config change listener
+     */
+    default void unsubscribe(String key, Consumer<AdapterConfig> listener) {
+    }
+
+    /**
+     * Creates a config supplier of the given key that http adapter clients can subscribe to, so they are
+     * rebuilt only when the config changes instead of checking it on every request.
+     *
+     * @param key adapter config key
+     * @return subscribable adapter config supplier
+     */
+    default AdapterConfigSupplier configSupplier(String key) {
+        return new AdapterConfigSupplier(this, key);
+    }
 }
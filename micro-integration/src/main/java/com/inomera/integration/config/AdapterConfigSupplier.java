@@ -0,0 +1,49 @@
+package com.inomera.integration.config;
+
+import com.inomera.integration.config.model.AdapterConfig;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * {@link Supplier} of an adapter config key backed by an {@link AdapterConfigDataSupplier}. Besides
+ * supplying the current config, it lets consumers subscribe to config changes of the key.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public final class AdapterConfigSupplier implements Supplier<AdapterConfig> {
+
+    private final AdapterConfigDataSupplier adapterConfigDataSupplier;
+    private final String key;
+
+    public AdapterConfigSupplier(AdapterConfigDataSupplier adapterConfigDataSupplier, String key) {
+        this.adapterConfigDataSupplier = Objects.requireNonNull(adapterConfigDataSupplier,
+                "adapterConfigDataSupplier cannot be null");
+        this.key = Objects.requireNonNull(key, "key cannot be null");
+    }
+
+    @Override
+    public AdapterConfig get() {
+        return adapterConfigDataSupplier.getConfigV1(key);
+    }
+
+    public void subscribe(Consumer<AdapterConfig> listener) {
+        adapterConfigDataSupplier.subscribe(key, listener);
+    }
+
+    public void unsubscribe(Consumer<AdapterConfig> listener) {
+        adapterConfigDataSupplier.unsubscribe(key, listener);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public String toString() {
+        return "AdapterConfigSupplier{" +
+                "key='" + key + '\'' +
+                '}';
+    }
+}
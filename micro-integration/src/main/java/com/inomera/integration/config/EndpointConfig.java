@@ -8,5 +8,10 @@ package com.inomera.integration.config;
  */
 public interface EndpointConfig {
 
+    /**
+     * Structural fingerprint of the config. Equal configs have equal fingerprints.
+     */
+    long fingerprint();
+
     String hashConfig();
 }
@@ -3,16 +3,29 @@ package com.inomera.integration.config.model;
 import com.inomera.integration.config.EndpointConfig;
 import com.inomera.integration.fault.AdapterException;
 import com.inomera.integration.model.AdapterStatus;
-import com.inomera.integration.util.TextUtils;
+import com.inomera.integration.util.FingerprintUtils;
 
-import java.io.Serializable;
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
+import java.io.Serial;
+import java.util.List;
+import java.util.Objects;
+
+public class AdapterConfig extends FreezableConfig implements EndpointConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
 
-public class AdapterConfig implements EndpointConfig, Serializable {
     private String key;
     private AdapterProperties adapterProperties;
     private transient boolean refresh;
+    /**
+     * Monotonic version of the config snapshot, assigned by the config supplier. It is bumped only when the
+     * resolved config content changes, so consumers can detect a reload by comparing versions.
+     */
+    private transient long version;
+    /**
+     * Fingerprint of the config, computed once when the config is frozen.
+     */
+    private transient long fingerprint;
 
     public AdapterConfig() {
     }
@@ -32,6 +45,7 @@ public class AdapterConfig implements EndpointConfig, Serializable {
     }
 
     public void setKey(String key) {
+        checkNotFrozen();
         this.key = key;
     }
 
@@ -40,6 +54,7 @@ public class AdapterConfig implements EndpointConfig, Serializable {
     }
 
     public void setAdapterProperties(AdapterProperties adapterProperties) {
+        checkNotFrozen();
         this.adapterProperties = adapterProperties;
     }
 
@@ -48,9 +63,19 @@ public class AdapterConfig implements EndpointConfig, Serializable {
     }
 
     public void setRefresh(boolean refresh) {
+        checkNotFrozen();
         this.refresh = refresh;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        checkNotFrozen();
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Config{" +
@@ -61,6 +86,7 @@ public class AdapterConfig implements EndpointConfig, Serializable {
     }
 
     public void patch(AdapterConfig commonConfig) {
+        checkNotFrozen();
         if (this.adapterProperties == null || commonConfig == null) {
             return;
         }
@@ -80,21 +106,95 @@ public class AdapterConfig implements EndpointConfig, Serializable {
             throw new AdapterException(AdapterStatus.createStatusFailedAsTechnical("adapterProperties cannot empty when get url"));
         }
         final String url = adapterProperties.getUrl();
+        final LoadBalancerProperties loadBalancer = adapterProperties.getLoadBalancer();
+        if ((url == null || url.isEmpty()) && loadBalancer != null && loadBalancer.isEnabled()) {
+            // endpoints of a balanced adapter share the same context path and ssl config
+            return loadBalancer.getEndpoints().get(0).getUrl();
+        }
         if (url == null || url.isEmpty()) {
             throw new AdapterException(AdapterStatus.createStatusFailedAsTechnical("url cannot empty"));
         }
         return url;
     }
 
+    /**
+     * Returns the base urls calls of the adapter are sent to, the urls of the endpoints of a balanced adapter.
+     */
+    public List<String> getEndpointUrls() {
+        final LoadBalancerProperties loadBalancer = adapterProperties != null ? adapterProperties.getLoadBalancer() : null;
+        if (loadBalancer != null && loadBalancer.isEnabled()) {
+            return loadBalancer.getEndpoints().stream()
+                    .map(EndpointProperties::getUrl)
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+        return List.of(getUrl());
+    }
+
+    /**
+     * Freezes the config and its nested properties before it is published as a snapshot. Setters of a frozen
+     * config throw {@link IllegalStateException}, so adapters can compare the published snapshot by reference.
+     * The version must be assigned before the config is frozen.
+     */
+    @Override
+    public void freeze() {
+        if (isFrozen()) {
+            return;
+        }
+        freeze(adapterProperties);
+        this.fingerprint = computeFingerprint();
+        super.freeze();
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return super.isFrozen();
+    }
+
+    /**
+     * Returns the 64-bit structural fingerprint of the config. It is cached when the config is frozen and
+     * computed on every call otherwise.
+     */
+    @Override
+    public long fingerprint() {
+        return isFrozen() ? fingerprint : computeFingerprint();
+    }
+
+    private long computeFingerprint() {
+        final long hash = FingerprintUtils.mix(FingerprintUtils.SEED, key);
+        return FingerprintUtils.mix(hash, adapterProperties == null ? 0L : adapterProperties.fingerprint());
+    }
+
     @Override
     public String hashConfig() {
-        final String encodedConfig = Base64.getEncoder().encodeToString(toString().getBytes(StandardCharsets.UTF_8));
-        return TextUtils.generateUniqueUUID(encodedConfig);
+        return Long.toHexString(fingerprint());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        AdapterConfig that = (AdapterConfig) o;
+        if (fingerprint() != that.fingerprint()) {
+            return false;
+        }
+        return Objects.equals(key, that.key)
+                && Objects.equals(adapterProperties, that.adapterProperties);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
     }
 
     public String toSecureString() {
         return " adapterProperties=" + adapterProperties.toSecureString() +
                 ", refresh=" + refresh +
+                ", version=" + version +
                 '}';
     }
 
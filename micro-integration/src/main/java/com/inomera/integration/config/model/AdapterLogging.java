@@ -1,13 +1,75 @@
 package com.inomera.integration.config.model;
 
-import java.io.Serializable;
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
 import java.util.List;
+import java.util.Objects;
+
+public class AdapterLogging extends FreezableConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+    public static final LogOverflowPolicy DEFAULT_OVERFLOW_POLICY = LogOverflowPolicy.DROP;
+    public static final int DEFAULT_SAMPLE_RATE = 10;
+    public static final double DEFAULT_SUCCESS_SAMPLE_RATE = 0.01;
+    public static final String DEFAULT_CORRELATION_ID_HEADER = "X-Correlation-Id";
 
-public class AdapterLogging implements Serializable {
     private LogStrategy strategy;
     private List<String> sensitiveFields;
     private List<String> nonLoggingFields;
 
+    /**
+     * Whether logs are masked, formatted and written by a background thread, false when null. The request
+     * thread only captures the raw request and response.
+     */
+    private Boolean async;
+
+    /**
+     * The maximum number of log records waiting for the background thread, {@link #DEFAULT_BUFFER_SIZE}
+     * when zero.
+     */
+    private int bufferSize;
+
+    /**
+     * What happens to log records while the buffer is full, {@link #DEFAULT_OVERFLOW_POLICY} when null.
+     */
+    private LogOverflowPolicy overflowPolicy;
+
+    /**
+     * One of every sample rate log records is buffered by the {@link LogOverflowPolicy#SAMPLE} policy,
+     * {@link #DEFAULT_SAMPLE_RATE} when zero.
+     */
+    private int sampleRate;
+
+    /**
+     * The maximum number of logged bytes of a request or response body, longer bodies are cut off with a
+     * truncation marker before they are masked. Bodies are not cut off when zero.
+     */
+    private int maxBodySize;
+
+    /**
+     * The maximum length of a log line, longer lines are written as multiple lines of this length that
+     * carry the same log id and their part number, e.g. for log shippers with a line size limit. Lines are
+     * not split when zero.
+     */
+    private int chunkSize;
+
+    /**
+     * The fraction of successful calls logged by the {@link LogStrategy#SAMPLED} strategy, e.g. 0.01 logs 1%
+     * of successful calls, {@link #DEFAULT_SUCCESS_SAMPLE_RATE} when zero. Failed calls are always logged.
+     */
+    private double successSampleRate;
+
+    /**
+     * The request header whose value decides whether a call is sampled, so every adapter call of a
+     * correlation id is either logged or not, {@link #DEFAULT_CORRELATION_ID_HEADER} when null. Calls
+     * without the header are sampled randomly.
+     */
+    private String correlationIdHeader;
+
     public AdapterLogging() {
     }
 
@@ -25,6 +87,14 @@ public class AdapterLogging implements Serializable {
         this.strategy = builder.strategy;
         this.sensitiveFields = builder.sensitiveFields;
         this.nonLoggingFields = builder.nonLoggingFields;
+        this.async = builder.async;
+        this.bufferSize = builder.bufferSize;
+        this.overflowPolicy = builder.overflowPolicy;
+        this.sampleRate = builder.sampleRate;
+        this.maxBodySize = builder.maxBodySize;
+        this.chunkSize = builder.chunkSize;
+        this.successSampleRate = builder.successSampleRate;
+        this.correlationIdHeader = builder.correlationIdHeader;
     }
 
     public static AdapterLogging defaultAdapterLogging() {
@@ -36,6 +106,7 @@ public class AdapterLogging implements Serializable {
     }
 
     public void setStrategy(LogStrategy strategy) {
+        checkNotFrozen();
         this.strategy = strategy;
     }
 
@@ -44,6 +115,7 @@ public class AdapterLogging implements Serializable {
     }
 
     public void setSensitiveFields(List<String> sensitiveFields) {
+        checkNotFrozen();
         this.sensitiveFields = sensitiveFields;
     }
 
@@ -52,19 +124,179 @@ public class AdapterLogging implements Serializable {
     }
 
     public void setNonLoggingFields(List<String> nonLoggingFields) {
+        checkNotFrozen();
         this.nonLoggingFields = nonLoggingFields;
     }
 
+    public Boolean getAsync() {
+        return async;
+    }
+
+    public void setAsync(Boolean async) {
+        checkNotFrozen();
+        this.async = async;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        checkNotFrozen();
+        this.bufferSize = bufferSize;
+    }
+
+    public LogOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(LogOverflowPolicy overflowPolicy) {
+        checkNotFrozen();
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        checkNotFrozen();
+        this.sampleRate = sampleRate;
+    }
+
+    public int getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    public void setMaxBodySize(int maxBodySize) {
+        checkNotFrozen();
+        this.maxBodySize = maxBodySize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        checkNotFrozen();
+        this.chunkSize = chunkSize;
+    }
+
+    public double getSuccessSampleRate() {
+        return successSampleRate;
+    }
+
+    public void setSuccessSampleRate(double successSampleRate) {
+        checkNotFrozen();
+        this.successSampleRate = successSampleRate;
+    }
+
+    public String getCorrelationIdHeader() {
+        return correlationIdHeader;
+    }
+
+    public void setCorrelationIdHeader(String correlationIdHeader) {
+        checkNotFrozen();
+        this.correlationIdHeader = correlationIdHeader;
+    }
+
+    public boolean isAsyncOrDefault() {
+        return async != null && async;
+    }
+
+    public int getBufferSizeOrDefault() {
+        return bufferSize > 0 ? bufferSize : DEFAULT_BUFFER_SIZE;
+    }
+
+    public LogOverflowPolicy getOverflowPolicyOrDefault() {
+        return overflowPolicy != null ? overflowPolicy : DEFAULT_OVERFLOW_POLICY;
+    }
+
+    public int getSampleRateOrDefault() {
+        return sampleRate > 0 ? sampleRate : DEFAULT_SAMPLE_RATE;
+    }
+
+    public double getSuccessSampleRateOrDefault() {
+        return successSampleRate > 0 && successSampleRate <= 1 ? successSampleRate : DEFAULT_SUCCESS_SAMPLE_RATE;
+    }
+
+    public String getCorrelationIdHeaderOrDefault() {
+        return correlationIdHeader != null ? correlationIdHeader : DEFAULT_CORRELATION_ID_HEADER;
+    }
+
     @Override
     public String toString() {
         return "LoggingDetail{" +
                 "strategy=" + strategy +
                 ", sensitiveFields=" + sensitiveFields +
                 ", nonLoggingFields=" + nonLoggingFields +
+                ", async=" + async +
+                ", bufferSize=" + bufferSize +
+                ", overflowPolicy=" + overflowPolicy +
+                ", sampleRate=" + sampleRate +
+                ", maxBodySize=" + maxBodySize +
+                ", chunkSize=" + chunkSize +
+                ", successSampleRate=" + successSampleRate +
+                ", correlationIdHeader=" + correlationIdHeader +
                 '}';
     }
 
+    /**
+     * Structural fingerprint of the logging config, see {@link FingerprintUtils}.
+     */
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(FingerprintUtils.SEED, strategy);
+        hash = FingerprintUtils.mix(hash, sensitiveFields);
+        hash = FingerprintUtils.mix(hash, nonLoggingFields);
+        hash = FingerprintUtils.mix(hash, async);
+        hash = FingerprintUtils.mix(hash, bufferSize);
+        hash = FingerprintUtils.mix(hash, overflowPolicy);
+        hash = FingerprintUtils.mix(hash, sampleRate);
+        hash = FingerprintUtils.mix(hash, maxBodySize);
+        hash = FingerprintUtils.mix(hash, chunkSize);
+        hash = FingerprintUtils.mix(hash, successSampleRate);
+        return FingerprintUtils.mix(hash, correlationIdHeader);
+    }
+
+    @Override
+    void freeze() {
+        if (isFrozen()) {
+            return;
+        }
+        sensitiveFields = freeze(sensitiveFields);
+        nonLoggingFields = freeze(nonLoggingFields);
+        super.freeze();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        AdapterLogging that = (AdapterLogging) o;
+        return strategy == that.strategy
+                && Objects.equals(sensitiveFields, that.sensitiveFields)
+                && Objects.equals(nonLoggingFields, that.nonLoggingFields)
+                && Objects.equals(async, that.async)
+                && bufferSize == that.bufferSize
+                && overflowPolicy == that.overflowPolicy
+                && sampleRate == that.sampleRate
+                && maxBodySize == that.maxBodySize
+                && chunkSize == that.chunkSize
+                && Double.compare(successSampleRate, that.successSampleRate) == 0
+                && Objects.equals(correlationIdHeader, that.correlationIdHeader);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
     public void patch(AdapterLogging commonAdapterLogging) {
+        checkNotFrozen();
         if (commonAdapterLogging == null) {
             return;
         }
@@ -80,6 +312,38 @@ public class AdapterLogging implements Serializable {
         if (getNonLoggingFields() == null) {
             setNonLoggingFields(commonAdapterLogging.getNonLoggingFields());
         }
+
+        if (getAsync() == null) {
+            setAsync(commonAdapterLogging.getAsync());
+        }
+
+        if (getBufferSize() == 0) {
+            setBufferSize(commonAdapterLogging.getBufferSize());
+        }
+
+        if (getOverflowPolicy() == null) {
+            setOverflowPolicy(commonAdapterLogging.getOverflowPolicy());
+        }
+
+        if (getSampleRate() == 0) {
+            setSampleRate(commonAdapterLogging.getSampleRate());
+        }
+
+        if (getMaxBodySize() == 0) {
+            setMaxBodySize(commonAdapterLogging.getMaxBodySize());
+        }
+
+        if (getChunkSize() == 0) {
+            setChunkSize(commonAdapterLogging.getChunkSize());
+        }
+
+        if (getSuccessSampleRate() == 0) {
+            setSuccessSampleRate(commonAdapterLogging.getSuccessSampleRate());
+        }
+
+        if (getCorrelationIdHeader() == null) {
+            setCorrelationIdHeader(commonAdapterLogging.getCorrelationIdHeader());
+        }
     }
 
     public static Builder builder() {
@@ -90,6 +354,14 @@ public class AdapterLogging implements Serializable {
         private LogStrategy strategy;
         private List<String> sensitiveFields;
         private List<String> nonLoggingFields;
+        private Boolean async;
+        private int bufferSize;
+        private LogOverflowPolicy overflowPolicy;
+        private int sampleRate;
+        private int maxBodySize;
+        private int chunkSize;
+        private double successSampleRate;
+        private String correlationIdHeader;
 
         public Builder strategy(LogStrategy strategy) {
             this.strategy = strategy;
@@ -106,6 +378,46 @@ public class AdapterLogging implements Serializable {
             return this;
         }
 
+        public Builder async(Boolean async) {
+            this.async = async;
+            return this;
+        }
+
+        public Builder bufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        public Builder overflowPolicy(LogOverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        public Builder sampleRate(int sampleRate) {
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        public Builder maxBodySize(int maxBodySize) {
+            this.maxBodySize = maxBodySize;
+            return this;
+        }
+
+        public Builder chunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        public Builder successSampleRate(double successSampleRate) {
+            this.successSampleRate = successSampleRate;
+            return this;
+        }
+
+        public Builder correlationIdHeader(String correlationIdHeader) {
+            this.correlationIdHeader = correlationIdHeader;
+            return this;
+        }
+
         public AdapterLogging build() {
             return new AdapterLogging(this);
         }
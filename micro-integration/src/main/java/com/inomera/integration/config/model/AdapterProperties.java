@@ -1,15 +1,34 @@
 package com.inomera.integration.config.model;
 
-import java.io.Serializable;
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
 import java.util.Map;
+import java.util.Objects;
+
+public class AdapterProperties extends FreezableConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
 
-public class AdapterProperties implements Serializable {
     private AdapterLogging logging = new AdapterLogging(LogStrategy.REQ_RES);
     private String url;
     private Map<String, String> headers;
     private HttpClientProperties http;
     private Auth auth = new Auth.NoneAuth();
     private Boolean runtime = false;
+    private SingleFlightProperties singleFlight;
+    private CacheProperties cache;
+    private RevalidationProperties revalidation;
+    private RetryProperties retry;
+    private CircuitBreakerProperties circuitBreaker;
+    private BulkheadProperties bulkhead;
+    private ConcurrencyLimitProperties concurrencyLimit;
+    private RateLimitProperties rateLimit;
+    private HedgeProperties hedge;
+    private DeadlineProperties deadline;
+    private LoadBalancerProperties loadBalancer;
+    private HealthCheckProperties healthCheck;
 
     public AdapterProperties() {
     }
@@ -21,6 +40,18 @@ public class AdapterProperties implements Serializable {
         this.http = builder.httpClientProperties;
         this.auth = builder.auth;
         this.runtime = builder.runtime;
+        this.singleFlight = builder.singleFlight;
+        this.cache = builder.cache;
+        this.revalidation = builder.revalidation;
+        this.retry = builder.retry;
+        this.circuitBreaker = builder.circuitBreaker;
+        this.bulkhead = builder.bulkhead;
+        this.concurrencyLimit = builder.concurrencyLimit;
+        this.rateLimit = builder.rateLimit;
+        this.hedge = builder.hedge;
+        this.deadline = builder.deadline;
+        this.loadBalancer = builder.loadBalancer;
+        this.healthCheck = builder.healthCheck;
     }
 
     public AdapterLogging getLogging() {
@@ -28,6 +59,7 @@ public class AdapterProperties implements Serializable {
     }
 
     public void setLogging(AdapterLogging adapterLogging) {
+        checkNotFrozen();
         this.logging = adapterLogging;
     }
 
@@ -36,6 +68,7 @@ public class AdapterProperties implements Serializable {
     }
 
     public void setUrl(String url) {
+        checkNotFrozen();
         this.url = url;
     }
 
@@ -44,6 +77,7 @@ public class AdapterProperties implements Serializable {
     }
 
     public void setHeaders(Map<String, String> headers) {
+        checkNotFrozen();
         this.headers = headers;
     }
 
@@ -52,6 +86,7 @@ public class AdapterProperties implements Serializable {
     }
 
     public void setHttp(HttpClientProperties http) {
+        checkNotFrozen();
         this.http = http;
     }
 
@@ -60,6 +95,7 @@ public class AdapterProperties implements Serializable {
     }
 
     public void setAuth(Auth auth) {
+        checkNotFrozen();
         this.auth = auth;
     }
 
@@ -68,9 +104,118 @@ public class AdapterProperties implements Serializable {
     }
 
     public void setRuntime(boolean runtime) {
+        checkNotFrozen();
         this.runtime = runtime;
     }
 
+    public SingleFlightProperties getSingleFlight() {
+        return singleFlight;
+    }
+
+    public void setSingleFlight(SingleFlightProperties singleFlight) {
+        checkNotFrozen();
+        this.singleFlight = singleFlight;
+    }
+
+    public CacheProperties getCache() {
+        return cache;
+    }
+
+    public void setCache(CacheProperties cache) {
+        checkNotFrozen();
+        this.cache = cache;
+    }
+
+    public RevalidationProperties getRevalidation() {
+        return revalidation;
+    }
+
+    public void setRevalidation(RevalidationProperties revalidation) {
+        checkNotFrozen();
+        this.revalidation = revalidation;
+    }
+
+    public RetryProperties getRetry() {
+        return retry;
+    }
+
+    public void setRetry(RetryProperties retry) {
+        checkNotFrozen();
+        this.retry = retry;
+    }
+
+    public CircuitBreakerProperties getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(CircuitBreakerProperties circuitBreaker) {
+        checkNotFrozen();
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public BulkheadProperties getBulkhead() {
+        return bulkhead;
+    }
+
+    public void setBulkhead(BulkheadProperties bulkhead) {
+        checkNotFrozen();
+        this.bulkhead = bulkhead;
+    }
+
+    public ConcurrencyLimitProperties getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public void setConcurrencyLimit(ConcurrencyLimitProperties concurrencyLimit) {
+        checkNotFrozen();
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
+    public RateLimitProperties getRateLimit() {
+        return rateLimit;
+    }
+
+    public void setRateLimit(RateLimitProperties rateLimit) {
+        checkNotFrozen();
+        this.rateLimit = rateLimit;
+    }
+
+    public HedgeProperties getHedge() {
+        return hedge;
+    }
+
+    public void setHedge(HedgeProperties hedge) {
+        checkNotFrozen();
+        this.hedge = hedge;
+    }
+
+    public DeadlineProperties getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(DeadlineProperties deadline) {
+        checkNotFrozen();
+        this.deadline = deadline;
+    }
+
+    public LoadBalancerProperties getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    public void setLoadBalancer(LoadBalancerProperties loadBalancer) {
+        checkNotFrozen();
+        this.loadBalancer = loadBalancer;
+    }
+
+    public HealthCheckProperties getHealthCheck() {
+        return healthCheck;
+    }
+
+    public void setHealthCheck(HealthCheckProperties healthCheck) {
+        checkNotFrozen();
+        this.healthCheck = healthCheck;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -84,10 +229,106 @@ public class AdapterProperties implements Serializable {
                 ", httpClientProperties=" + http +
                 ", auth=" + auth +
                 ", runtime=" + runtime +
+                ", singleFlight=" + singleFlight +
+                ", cache=" + cache +
+                ", revalidation=" + revalidation +
+                ", retry=" + retry +
+                ", circuitBreaker=" + circuitBreaker +
+                ", bulkhead=" + bulkhead +
+                ", concurrencyLimit=" + concurrencyLimit +
+                ", rateLimit=" + rateLimit +
+                ", hedge=" + hedge +
+                ", deadline=" + deadline +
+                ", loadBalancer=" + loadBalancer +
+                ", healthCheck=" + healthCheck +
                 '}';
     }
 
+    /**
+     * Structural fingerprint of the adapter properties, see {@link FingerprintUtils}. Credentials are
+     * part of the fingerprint although they are masked in {@link #toSecureString()}.
+     */
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(FingerprintUtils.SEED, logging == null ? 0L : logging.fingerprint());
+        hash = FingerprintUtils.mix(hash, url);
+        hash = FingerprintUtils.mix(hash, headers);
+        hash = FingerprintUtils.mix(hash, http == null ? 0L : http.fingerprint());
+        hash = FingerprintUtils.mix(hash, auth == null ? 0L : auth.fingerprint());
+        hash = FingerprintUtils.mix(hash, runtime);
+        hash = FingerprintUtils.mix(hash, singleFlight == null ? 0L : singleFlight.fingerprint());
+        hash = FingerprintUtils.mix(hash, cache == null ? 0L : cache.fingerprint());
+        hash = FingerprintUtils.mix(hash, revalidation == null ? 0L : revalidation.fingerprint());
+        hash = FingerprintUtils.mix(hash, retry == null ? 0L : retry.fingerprint());
+        hash = FingerprintUtils.mix(hash, circuitBreaker == null ? 0L : circuitBreaker.fingerprint());
+        hash = FingerprintUtils.mix(hash, bulkhead == null ? 0L : bulkhead.fingerprint());
+        hash = FingerprintUtils.mix(hash, concurrencyLimit == null ? 0L : concurrencyLimit.fingerprint());
+        hash = FingerprintUtils.mix(hash, rateLimit == null ? 0L : rateLimit.fingerprint());
+        hash = FingerprintUtils.mix(hash, hedge == null ? 0L : hedge.fingerprint());
+        hash = FingerprintUtils.mix(hash, deadline == null ? 0L : deadline.fingerprint());
+        hash = FingerprintUtils.mix(hash, loadBalancer == null ? 0L : loadBalancer.fingerprint());
+        return FingerprintUtils.mix(hash, healthCheck == null ? 0L : healthCheck.fingerprint());
+    }
+
+    @Override
+    void freeze() {
+        if (isFrozen()) {
+            return;
+        }
+        headers = freeze(headers);
+        freeze(logging);
+        freeze(http);
+        freeze(auth);
+        freeze(singleFlight);
+        freeze(cache);
+        freeze(revalidation);
+        freeze(retry);
+        freeze(circuitBreaker);
+        freeze(bulkhead);
+        freeze(concurrencyLimit);
+        freeze(rateLimit);
+        freeze(hedge);
+        freeze(deadline);
+        freeze(loadBalancer);
+        freeze(healthCheck);
+        super.freeze();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        AdapterProperties that = (AdapterProperties) o;
+        return Objects.equals(logging, that.logging)
+                && Objects.equals(url, that.url)
+                && Objects.equals(headers, that.headers)
+                && Objects.equals(http, that.http)
+                && Objects.equals(auth, that.auth)
+                && Objects.equals(runtime, that.runtime)
+                && Objects.equals(singleFlight, that.singleFlight)
+                && Objects.equals(cache, that.cache)
+                && Objects.equals(revalidation, that.revalidation)
+                && Objects.equals(retry, that.retry)
+                && Objects.equals(circuitBreaker, that.circuitBreaker)
+                && Objects.equals(bulkhead, that.bulkhead)
+                && Objects.equals(concurrencyLimit, that.concurrencyLimit)
+                && Objects.equals(rateLimit, that.rateLimit)
+                && Objects.equals(hedge, that.hedge)
+                && Objects.equals(deadline, that.deadline)
+                && Objects.equals(loadBalancer, that.loadBalancer)
+                && Objects.equals(healthCheck, that.healthCheck);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
     public void patch(AdapterProperties commonConfigAdapterProperties) {
+        checkNotFrozen();
         if (commonConfigAdapterProperties == null) {
             return;
         }
@@ -115,6 +356,66 @@ public class AdapterProperties implements Serializable {
         }
 
         this.runtime = this.runtime != null ? this.runtime : commonConfigAdapterProperties.isRuntime();
+
+        if (this.singleFlight == null) {
+            this.singleFlight = new SingleFlightProperties();
+            this.singleFlight.patch(commonConfigAdapterProperties.getSingleFlight());
+        }
+
+        if (this.cache == null) {
+            this.cache = new CacheProperties();
+            this.cache.patch(commonConfigAdapterProperties.getCache());
+        }
+
+        if (this.revalidation == null) {
+            this.revalidation = new RevalidationProperties();
+            this.revalidation.patch(commonConfigAdapterProperties.getRevalidation());
+        }
+
+        if (this.retry == null) {
+            this.retry = new RetryProperties();
+            this.retry.patch(commonConfigAdapterProperties.getRetry());
+        }
+
+        if (this.circuitBreaker == null) {
+            this.circuitBreaker = new CircuitBreakerProperties();
+            this.circuitBreaker.patch(commonConfigAdapterProperties.getCircuitBreaker());
+        }
+
+        if (this.bulkhead == null) {
+            this.bulkhead = new BulkheadProperties();
+            this.bulkhead.patch(commonConfigAdapterProperties.getBulkhead());
+        }
+
+        if (this.concurrencyLimit == null) {
+            this.concurrencyLimit = new ConcurrencyLimitProperties();
+            this.concurrencyLimit.patch(commonConfigAdapterProperties.getConcurrencyLimit());
+        }
+
+        if (this.rateLimit == null) {
+            this.rateLimit = new RateLimitProperties();
+            this.rateLimit.patch(commonConfigAdapterProperties.getRateLimit());
+        }
+
+        if (this.hedge == null) {
+            this.hedge = new HedgeProperties();
+            this.hedge.patch(commonConfigAdapterProperties.getHedge());
+        }
+
+        if (this.deadline == null) {
+            this.deadline = new DeadlineProperties();
+            this.deadline.patch(commonConfigAdapterProperties.getDeadline());
+        }
+
+        if (this.loadBalancer == null) {
+            this.loadBalancer = new LoadBalancerProperties();
+            this.loadBalancer.patch(commonConfigAdapterProperties.getLoadBalancer());
+        }
+
+        if (this.healthCheck == null) {
+            this.healthCheck = new HealthCheckProperties();
+            this.healthCheck.patch(commonConfigAdapterProperties.getHealthCheck());
+        }
     }
 
     public String toSecureString() {
@@ -125,6 +426,18 @@ public class AdapterProperties implements Serializable {
                 ", httpClientProperties=" + http +
                 ", auth= **masked**" +
                 ", runtime=" + runtime +
+                ", singleFlight=" + singleFlight +
+                ", cache=" + cache +
+                ", revalidation=" + revalidation +
+                ", retry=" + retry +
+                ", circuitBreaker=" + circuitBreaker +
+                ", bulkhead=" + bulkhead +
+                ", concurrencyLimit=" + concurrencyLimit +
+                ", rateLimit=" + rateLimit +
+                ", hedge=" + hedge +
+                ", deadline=" + deadline +
+                ", loadBalancer=" + loadBalancer +
+                ", healthCheck=" + healthCheck +
                 '}';
     }
 
@@ -135,6 +448,18 @@ public class AdapterProperties implements Serializable {
         private HttpClientProperties httpClientProperties;
         private Auth auth;
         private Boolean runtime;
+        private SingleFlightProperties singleFlight;
+        private CacheProperties cache;
+        private RevalidationProperties revalidation;
+        private RetryProperties retry;
+        private CircuitBreakerProperties circuitBreaker;
+        private BulkheadProperties bulkhead;
+        private ConcurrencyLimitProperties concurrencyLimit;
+        private RateLimitProperties rateLimit;
+        private HedgeProperties hedge;
+        private DeadlineProperties deadline;
+        private LoadBalancerProperties loadBalancer;
+        private HealthCheckProperties healthCheck;
 
         public Builder logging(AdapterLogging adapterLogging) {
             this.adapterLogging = adapterLogging;
@@ -166,6 +491,66 @@ public class AdapterProperties implements Serializable {
             return this;
         }
 
+        public Builder singleFlight(SingleFlightProperties singleFlight) {
+            this.singleFlight = singleFlight;
+            return this;
+        }
+
+        public Builder cache(CacheProperties cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        public Builder revalidation(RevalidationProperties revalidation) {
+            this.revalidation = revalidation;
+            return this;
+        }
+
+        public Builder retry(RetryProperties retry) {
+            this.retry = retry;
+            return this;
+        }
+
+        public Builder circuitBreaker(CircuitBreakerProperties circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+            return this;
+        }
+
+        public Builder bulkhead(BulkheadProperties bulkhead) {
+            this.bulkhead = bulkhead;
+            return this;
+        }
+
+        public Builder concurrencyLimit(ConcurrencyLimitProperties concurrencyLimit) {
+            this.concurrencyLimit = concurrencyLimit;
+            return this;
+        }
+
+        public Builder rateLimit(RateLimitProperties rateLimit) {
+            this.rateLimit = rateLimit;
+            return this;
+        }
+
+        public Builder hedge(HedgeProperties hedge) {
+            this.hedge = hedge;
+            return this;
+        }
+
+        public Builder deadline(DeadlineProperties deadline) {
+            this.deadline = deadline;
+            return this;
+        }
+
+        public Builder loadBalancer(LoadBalancerProperties loadBalancer) {
+            this.loadBalancer = loadBalancer;
+            return this;
+        }
+
+        public Builder healthCheck(HealthCheckProperties healthCheck) {
+            this.healthCheck = healthCheck;
+            return this;
+        }
+
         public AdapterProperties build() {
             return new AdapterProperties(this);
         }
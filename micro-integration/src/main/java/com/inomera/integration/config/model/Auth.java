@@ -1,10 +1,15 @@
 package com.inomera.integration.config.model;
 
 import com.inomera.integration.auth.AuthType;
+import com.inomera.integration.util.FingerprintUtils;
 
-import java.io.Serializable;
+import java.io.Serial;
+
+public class Auth extends FreezableConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
 
-public class Auth implements Serializable {
     private AuthType type = AuthType.NONE;
 
     public Auth() {
@@ -23,6 +28,7 @@ public class Auth implements Serializable {
     }
 
     public void setType(AuthType type) {
+        checkNotFrozen();
         this.type = type;
     }
 
@@ -33,7 +39,33 @@ public class Auth implements Serializable {
                 '}';
     }
 
+    /**
+     * Structural fingerprint of the auth config, see {@link FingerprintUtils}. Credential types mix their
+     * own fields into it.
+     */
+    public long fingerprint() {
+        return FingerprintUtils.mix(FingerprintUtils.mix(FingerprintUtils.SEED, getClass().getName()), type);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Auth that = (Auth) o;
+        return type == that.type;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
     public void patch(Auth auth) {
+        checkNotFrozen();
         if (auth == null) {
             return;
         }
@@ -57,6 +89,10 @@ public class Auth implements Serializable {
     }
 
     public static class NoneAuth extends Auth {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
         public NoneAuth() {
             super(AuthType.NONE);
         }
@@ -1,12 +1,18 @@
 package com.inomera.integration.config.model;
 
 import com.inomera.integration.auth.AuthType;
+import com.inomera.integration.util.FingerprintUtils;
 
+import java.io.Serial;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 public class AuthHeadersCredentials extends Auth {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private Map<String, Object> headers;
 
     public AuthHeadersCredentials() {
@@ -22,13 +28,43 @@ public class AuthHeadersCredentials extends Auth {
     }
 
     public void setHeaders(Map<String, Object> headers) {
+        checkNotFrozen();
         this.headers = headers;
     }
 
     public void addHeader(String key, Object value) {
+        checkNotFrozen();
         headers.put(key, value);
     }
 
+    @Override
+    public long fingerprint() {
+        return FingerprintUtils.mix(super.fingerprint(), headers);
+    }
+
+    @Override
+    void freeze() {
+        if (isFrozen()) {
+            return;
+        }
+        headers = freeze(headers);
+        super.freeze();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        AuthHeadersCredentials that = (AuthHeadersCredentials) o;
+        return Objects.equals(headers, that.headers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
     @Override
     public String toString() {
         return "AuthHeaders{" +
@@ -1,8 +1,16 @@
 package com.inomera.integration.config.model;
 
 import com.inomera.integration.auth.AuthType;
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
+import java.util.Objects;
 
 public class BasicAuthCredentials extends Auth {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private final String username;
     private final String password;
 
@@ -26,6 +34,27 @@ public class BasicAuthCredentials extends Auth {
         return password;
     }
 
+    @Override
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(super.fingerprint(), username);
+        return FingerprintUtils.mix(hash, password);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        BasicAuthCredentials that = (BasicAuthCredentials) o;
+        return Objects.equals(username, that.username)
+                && Objects.equals(password, that.password);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
     @Override
     public String toString() {
         return "BasicAuthentication{" +
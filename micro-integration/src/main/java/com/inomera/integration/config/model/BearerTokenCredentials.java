@@ -1,9 +1,16 @@
 package com.inomera.integration.config.model;
 
 import com.inomera.integration.auth.AuthType;
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
+import java.util.Objects;
 
 public class BearerTokenCredentials extends Auth {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private final String url;
     private final String scope;
     private final String username;
@@ -90,6 +97,45 @@ public class BearerTokenCredentials extends Auth {
         return tokenJsonPath;
     }
 
+    @Override
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(super.fingerprint(), url);
+        hash = FingerprintUtils.mix(hash, scope);
+        hash = FingerprintUtils.mix(hash, username);
+        hash = FingerprintUtils.mix(hash, password);
+        hash = FingerprintUtils.mix(hash, clientId);
+        hash = FingerprintUtils.mix(hash, clientSecret);
+        hash = FingerprintUtils.mix(hash, grantType);
+        hash = FingerprintUtils.mix(hash, ttl);
+        hash = FingerprintUtils.mix(hash, contentType);
+        hash = FingerprintUtils.mix(hash, accept);
+        return FingerprintUtils.mix(hash, tokenJsonPath);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        BearerTokenCredentials that = (BearerTokenCredentials) o;
+        return ttl == that.ttl
+                && Objects.equals(url, that.url)
+                && Objects.equals(scope, that.scope)
+                && Objects.equals(username, that.username)
+                && Objects.equals(password, that.password)
+                && Objects.equals(clientId, that.clientId)
+                && Objects.equals(clientSecret, that.clientSecret)
+                && Objects.equals(grantType, that.grantType)
+                && Objects.equals(contentType, that.contentType)
+                && Objects.equals(accept, that.accept)
+                && Objects.equals(tokenJsonPath, that.tokenJsonPath);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
     @Override
     public String toString() {
         return "BearerToken{" +
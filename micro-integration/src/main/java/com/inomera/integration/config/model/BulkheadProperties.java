@@ -0,0 +1,194 @@
+package com.inomera.integration.config.model;
+
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
+import java.util.Objects;
+
+/**
+ * Bulkhead config of an adapter, limits the concurrent outbound calls of the adapter so one slow endpoint
+ * cannot take every request thread. When {@link #maxConcurrentCalls} calls are running, at most
+ * {@link #maxWaitingCalls} calls wait up to {@link #maxWait} milliseconds for a free slot, other calls are
+ * rejected immediately with {@link com.inomera.integration.model.AdapterStatus#createStatusBulkheadFull()}.
+ * <p>
+ * Limits can be changed at runtime, running and waiting calls are kept.
+ */
+public class BulkheadProperties extends FreezableConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final long DEFAULT_MAX_WAIT = 500;
+
+    /**
+     * Whether concurrent calls are limited.
+     */
+    private Boolean enabled;
+
+    /**
+     * The maximum number of concurrent outbound calls, no limit when zero.
+     */
+    private int maxConcurrentCalls;
+
+    /**
+     * The maximum number of calls waiting for a free slot, calls are rejected immediately when zero.
+     */
+    private int maxWaitingCalls;
+
+    /**
+     * The maximum time (in milliseconds) a call waits for a free slot, {@link #DEFAULT_MAX_WAIT} when zero.
+     */
+    private long maxWait;
+
+    public BulkheadProperties() {
+    }
+
+    private BulkheadProperties(Builder builder) {
+        this.enabled = builder.enabled;
+        this.maxConcurrentCalls = builder.maxConcurrentCalls;
+        this.maxWaitingCalls = builder.maxWaitingCalls;
+        this.maxWait = builder.maxWait;
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(enabled) && maxConcurrentCalls > 0;
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        checkNotFrozen();
+        this.enabled = enabled;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+        checkNotFrozen();
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+
+    public int getMaxWaitingCalls() {
+        return maxWaitingCalls;
+    }
+
+    public void setMaxWaitingCalls(int maxWaitingCalls) {
+        checkNotFrozen();
+        this.maxWaitingCalls = maxWaitingCalls;
+    }
+
+    public long getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(long maxWait) {
+        checkNotFrozen();
+        this.maxWait = maxWait;
+    }
+
+    public long getMaxWaitOrDefault() {
+        return maxWait > 0 ? maxWait : DEFAULT_MAX_WAIT;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkheadProperties{" +
+                "enabled=" + enabled +
+                ", maxConcurrentCalls=" + maxConcurrentCalls +
+                ", maxWaitingCalls=" + maxWaitingCalls +
+                ", maxWait=" + maxWait +
+                '}';
+    }
+
+    /**
+     * Structural fingerprint of the bulkhead config, see {@link FingerprintUtils}.
+     */
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(FingerprintUtils.SEED, enabled);
+        hash = FingerprintUtils.mix(hash, maxConcurrentCalls);
+        hash = FingerprintUtils.mix(hash, maxWaitingCalls);
+        return FingerprintUtils.mix(hash, maxWait);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BulkheadProperties that = (BulkheadProperties) o;
+        return maxConcurrentCalls == that.maxConcurrentCalls
+                && maxWaitingCalls == that.maxWaitingCalls
+                && maxWait == that.maxWait
+                && Objects.equals(enabled, that.enabled);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
+    public void patch(BulkheadProperties commonBulkhead) {
+        checkNotFrozen();
+        if (commonBulkhead == null) {
+            return;
+        }
+
+        if (getEnabled() == null) {
+            setEnabled(commonBulkhead.getEnabled());
+        }
+
+        if (getMaxConcurrentCalls() == 0) {
+            setMaxConcurrentCalls(commonBulkhead.getMaxConcurrentCalls());
+        }
+
+        if (getMaxWaitingCalls() == 0) {
+            setMaxWaitingCalls(commonBulkhead.getMaxWaitingCalls());
+        }
+
+        if (getMaxWait() == 0) {
+            setMaxWait(commonBulkhead.getMaxWait());
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Boolean enabled;
+        private int maxConcurrentCalls;
+        private int maxWaitingCalls;
+        private long maxWait;
+
+        public Builder enabled(Boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder maxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            return this;
+        }
+
+        public Builder maxWaitingCalls(int maxWaitingCalls) {
+            this.maxWaitingCalls = maxWaitingCalls;
+            return this;
+        }
+
+        public Builder maxWait(long maxWait) {
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        public BulkheadProperties build() {
+            return new BulkheadProperties(this);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.inomera.integration.config.model;
+
+public enum CacheEvictionPolicy {
+    /*
+    least recently used entry is evicted first
+     */
+    LRU,
+    /*
+    oldest stored entry is evicted first
+     */
+    FIFO
+}
@@ -0,0 +1,363 @@
+package com.inomera.integration.config.model;
+
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Response cache config of an adapter. Successful responses of cacheable requests are kept for
+ * {@link #ttl} milliseconds, shorter when the response has a {@code Cache-Control: max-age}.
+ * Responses with {@code Cache-Control: no-store}, {@code no-cache} or {@code private} are not cached.
+ * <p>
+ * Requests are cached by method, url, vary headers, body and response type. Only {@code GET} requests
+ * are cached by default, soap queries are sent with {@code POST}, add it to {@link #methods} to cache
+ * idempotent soap operations.
+ * <p>
+ * Expired responses can still be served for a bounded time. Within {@link #staleWhileRevalidate} the
+ * stale response is returned immediately and refreshed in the background, within {@link #staleIfError}
+ * it is returned when the endpoint fails with a technical error. Stale responses are flagged with
+ * {@link com.inomera.integration.model.AdapterStatus#stale()}.
+ */
+public class CacheProperties extends FreezableConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Whether responses are cached.
+     */
+    private Boolean enabled;
+
+    /**
+     * The maximum time (in milliseconds) a response is served from the cache.
+     */
+    private long ttl;
+
+    /**
+     * The maximum number of cached responses, no limit when zero.
+     */
+    private int maxEntries;
+
+    /**
+     * The maximum estimated size (in bytes) of cached responses, no limit when zero.
+     */
+    private long maxBytes;
+
+    /**
+     * Which entry is evicted when a limit is reached, {@link CacheEvictionPolicy#LRU} when not set.
+     */
+    private CacheEvictionPolicy evictionPolicy;
+
+    /**
+     * Http methods of the cached requests, {@code GET} when not set.
+     */
+    private List<String> methods;
+
+    /**
+     * Request headers used in the cache key, all request headers when not set.
+     */
+    private List<String> varyHeaders;
+
+    /**
+     * The maximum staleness (in milliseconds) of an expired response that is served while it is
+     * refreshed in the background, disabled when zero.
+     */
+    private long staleWhileRevalidate;
+
+    /**
+     * The maximum staleness (in milliseconds) of an expired response that is served when the endpoint
+     * fails with a technical error, disabled when zero.
+     */
+    private long staleIfError;
+
+    public CacheProperties() {
+    }
+
+    private CacheProperties(Builder builder) {
+        this.enabled = builder.enabled;
+        this.ttl = builder.ttl;
+        this.maxEntries = builder.maxEntries;
+        this.maxBytes = builder.maxBytes;
+        this.evictionPolicy = builder.evictionPolicy;
+        this.methods = builder.methods;
+        this.varyHeaders = builder.varyHeaders;
+        this.staleWhileRevalidate = builder.staleWhileRevalidate;
+        this.staleIfError = builder.staleIfError;
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(enabled) && ttl > 0;
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        checkNotFrozen();
+        this.enabled = enabled;
+    }
+
+    public long getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(long ttl) {
+        checkNotFrozen();
+        this.ttl = ttl;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        checkNotFrozen();
+        this.maxEntries = maxEntries;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        checkNotFrozen();
+        this.maxBytes = maxBytes;
+    }
+
+    public CacheEvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    public void setEvictionPolicy(CacheEvictionPolicy evictionPolicy) {
+        checkNotFrozen();
+        this.evictionPolicy = evictionPolicy;
+    }
+
+    public List<String> getMethods() {
+        return methods;
+    }
+
+    public void setMethods(List<String> methods) {
+        checkNotFrozen();
+        this.methods = methods;
+    }
+
+    public List<String> getVaryHeaders() {
+        return varyHeaders;
+    }
+
+    public void setVaryHeaders(List<String> varyHeaders) {
+        checkNotFrozen();
+        this.varyHeaders = varyHeaders;
+    }
+
+    public long getStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    public void setStaleWhileRevalidate(long staleWhileRevalidate) {
+        checkNotFrozen();
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    public long getStaleIfError() {
+        return staleIfError;
+    }
+
+    public void setStaleIfError(long staleIfError) {
+        checkNotFrozen();
+        this.staleIfError = staleIfError;
+    }
+
+    /**
+     * Returns whether responses of requests with the given http method are cached.
+     *
+     * @param method http method name
+     * @return true if enabled for the method
+     */
+    public boolean isEnabledFor(String method) {
+        if (!isEnabled()) {
+            return false;
+        }
+        if (methods == null || methods.isEmpty()) {
+            return "GET".equalsIgnoreCase(method);
+        }
+        return methods.stream().anyMatch(m -> m.equalsIgnoreCase(method));
+    }
+
+    @Override
+    public String toString() {
+        return "CacheProperties{" +
+                "enabled=" + enabled +
+                ", ttl=" + ttl +
+                ", maxEntries=" + maxEntries +
+                ", maxBytes=" + maxBytes +
+                ", evictionPolicy=" + evictionPolicy +
+                ", methods=" + methods +
+                ", varyHeaders=" + varyHeaders +
+                ", staleWhileRevalidate=" + staleWhileRevalidate +
+                ", staleIfError=" + staleIfError +
+                '}';
+    }
+
+    /**
+     * Structural fingerprint of the cache config, see {@link FingerprintUtils}.
+     */
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(FingerprintUtils.SEED, enabled);
+        hash = FingerprintUtils.mix(hash, ttl);
+        hash = FingerprintUtils.mix(hash, maxEntries);
+        hash = FingerprintUtils.mix(hash, maxBytes);
+        hash = FingerprintUtils.mix(hash, evictionPolicy);
+        hash = FingerprintUtils.mix(hash, methods);
+        hash = FingerprintUtils.mix(hash, varyHeaders);
+        hash = FingerprintUtils.mix(hash, staleWhileRevalidate);
+        return FingerprintUtils.mix(hash, staleIfError);
+    }
+
+    @Override
+    void freeze() {
+        if (isFrozen()) {
+            return;
+        }
+        methods = freeze(methods);
+        varyHeaders = freeze(varyHeaders);
+        super.freeze();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CacheProperties that = (CacheProperties) o;
+        return ttl == that.ttl
+                && maxEntries == that.maxEntries
+                && maxBytes == that.maxBytes
+                && staleWhileRevalidate == that.staleWhileRevalidate
+                && staleIfError == that.staleIfError
+                && Objects.equals(enabled, that.enabled)
+                && evictionPolicy == that.evictionPolicy
+                && Objects.equals(methods, that.methods)
+                && Objects.equals(varyHeaders, that.varyHeaders);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
+    public void patch(CacheProperties commonCache) {
+        checkNotFrozen();
+        if (commonCache == null) {
+            return;
+        }
+
+        if (getEnabled() == null) {
+            setEnabled(commonCache.getEnabled());
+        }
+
+        if (getTtl() == 0) {
+            setTtl(commonCache.getTtl());
+        }
+
+        if (getMaxEntries() == 0) {
+            setMaxEntries(commonCache.getMaxEntries());
+        }
+
+        if (getMaxBytes() == 0) {
+            setMaxBytes(commonCache.getMaxBytes());
+        }
+
+        if (getEvictionPolicy() == null) {
+            setEvictionPolicy(commonCache.getEvictionPolicy());
+        }
+
+        if (getMethods() == null) {
+            setMethods(commonCache.getMethods());
+        }
+
+        if (getVaryHeaders() == null) {
+            setVaryHeaders(commonCache.getVaryHeaders());
+        }
+
+        if (getStaleWhileRevalidate() == 0) {
+            setStaleWhileRevalidate(commonCache.getStaleWhileRevalidate());
+        }
+
+        if (getStaleIfError() == 0) {
+            setStaleIfError(commonCache.getStaleIfError());
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Boolean enabled;
+        private long ttl;
+        private int maxEntries;
+        private long maxBytes;
+        private CacheEvictionPolicy evictionPolicy;
+        private List<String> methods;
+        private List<String> varyHeaders;
+        private long staleWhileRevalidate;
+        private long staleIfError;
+
+        public Builder enabled(Boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder ttl(long ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        public Builder maxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        public Builder maxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        public Builder evictionPolicy(CacheEvictionPolicy evictionPolicy) {
+            this.evictionPolicy = evictionPolicy;
+            return this;
+        }
+
+        public Builder methods(List<String> methods) {
+            this.methods = methods;
+            return this;
+        }
+
+        public Builder varyHeaders(List<String> varyHeaders) {
+            this.varyHeaders = varyHeaders;
+            return this;
+        }
+
+        public Builder staleWhileRevalidate(long staleWhileRevalidate) {
+            this.staleWhileRevalidate = staleWhileRevalidate;
+            return this;
+        }
+
+        public Builder staleIfError(long staleIfError) {
+            this.staleIfError = staleIfError;
+            return this;
+        }
+
+        public CacheProperties build() {
+            return new CacheProperties(this);
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.inomera.integration.config.model;
+
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
+import java.util.Objects;
+
+/**
+ * Circuit breaker config of an adapter. Outcomes of the last {@link #windowSize} calls are kept in a sliding
+ * window. When at least {@link #minimumCalls} calls are recorded and the failure rate or the slow call rate
+ * reaches its threshold the circuit opens, calls fail fast with
+ * {@link com.inomera.integration.model.AdapterStatus#createStatusCircuitOpen()} instead of waiting for the
+ * endpoint. After {@link #openDuration} the circuit is half-open, {@link #halfOpenCalls} probe calls decide
+ * whether it closes or opens again.
+ * <p>
+ * Calls failing with a technical error and {@code 5xx} responses are failures, business errors are not.
+ * Circuit breakers are shared by adapters with the same config key, thresholds can be changed at runtime
+ * without losing the recorded outcomes.
+ */
+public class CircuitBreakerProperties extends FreezableConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+    public static final int DEFAULT_MINIMUM_CALLS = 20;
+    public static final int DEFAULT_FAILURE_RATE_THRESHOLD = 50;
+    public static final int DEFAULT_SLOW_CALL_RATE_THRESHOLD = 100;
+    public static final long DEFAULT_SLOW_CALL_DURATION = 5000;
+    public static final long DEFAULT_OPEN_DURATION = 30000;
+    public static final int DEFAULT_HALF_OPEN_CALLS = 5;
+
+    /**
+     * Whether the circuit breaker is enabled.
+     */
+    private Boolean enabled;
+
+    /**
+     * The number of last calls in the sliding window, {@link #DEFAULT_WINDOW_SIZE} when zero.
+     */
+    private int windowSize;
+
+    /**
+     * The minimum number of recorded calls to calculate the rates, {@link #DEFAULT_MINIMUM_CALLS} when
+     * zero.
+     */
+    private int minimumCalls;
+
+    /**
+     * The failure rate (in percent) that opens the circuit, {@link #DEFAULT_FAILURE_RATE_THRESHOLD} when
+     * zero.
+     */
+    private int failureRateThreshold;
+
+    /**
+     * The slow call rate (in percent) that opens the circuit, {@link #DEFAULT_SLOW_CALL_RATE_THRESHOLD}
+     * when zero.
+     */
+    private int slowCallRateThreshold;
+
+    /**
+     * Calls taking longer (in milliseconds) are slow, {@link #DEFAULT_SLOW_CALL_DURATION} when zero.
+     */
+    private long slowCallDuration;
+
+    /**
+     * The time (in milliseconds) the circuit stays open before probing, {@link #DEFAULT_OPEN_DURATION}
+     * when zero.
+     */
+    private long openDuration;
+
+    /**
+     * The number of probe calls in half-open state, {@link #DEFAULT_HALF_OPEN_CALLS} when zero.
+     */
+    private int halfOpenCalls;
+
+    public CircuitBreakerProperties() {
+    }
+
+    private CircuitBreakerProperties(Builder builder) {
+        this.enabled = builder.enabled;
+        this.windowSize = builder.windowSize;
+        this.minimumCalls = builder.minimumCalls;
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallDuration = builder.slowCallDuration;
+        this.openDuration = builder.openDuration;
+        this.halfOpenCalls = builder.halfOpenCalls;
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(enabled);
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        checkNotFrozen();
+        this.enabled = enabled;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+        checkNotFrozen();
+        this.windowSize = windowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public void setMinimumCalls(int minimumCalls) {
+        checkNotFrozen();
+        this.minimumCalls = minimumCalls;
+    }
+
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(int failureRateThreshold) {
+        checkNotFrozen();
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public int getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public void setSlowCallRateThreshold(int slowCallRateThreshold) {
+        checkNotFrozen();
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+
+    public long getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    public void setSlowCallDuration(long slowCallDuration) {
+        checkNotFrozen();
+        this.slowCallDuration = slowCallDuration;
+    }
+
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    public void setOpenDuration(long openDuration) {
+        checkNotFrozen();
+        this.openDuration = openDuration;
+    }
+
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    public void setHalfOpenCalls(int halfOpenCalls) {
+        checkNotFrozen();
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    public int getWindowSizeOrDefault() {
+        return windowSize > 0 ? windowSize : DEFAULT_WINDOW_SIZE;
+    }
+
+    public int getMinimumCallsOrDefault() {
+        return minimumCalls > 0 ? minimumCalls : DEFAULT_MINIMUM_CALLS;
+    }
+
+    public int getFailureRateThresholdOrDefault() {
+        return failureRateThreshold > 0 ? failureRateThreshold : DEFAULT_FAILURE_RATE_THRESHOLD;
+    }
+
+    public int getSlowCallRateThresholdOrDefault() {
+        return slowCallRateThreshold > 0 ? slowCallRateThreshold : DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+    }
+
+    public long getSlowCallDurationOrDefault() {
+        return slowCallDuration > 0 ? slowCallDuration : DEFAULT_SLOW_CALL_DURATION;
+    }
+
+    public long getOpenDurationOrDefault() {
+        return openDuration > 0 ? openDuration : DEFAULT_OPEN_DURATION;
+    }
+
+    public int getHalfOpenCallsOrDefault() {
+        return halfOpenCalls > 0 ? halfOpenCalls : DEFAULT_HALF_OPEN_CALLS;
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreakerProperties{" +
+                "enabled=" + enabled +
+                ", windowSize=" + windowSize +
+                ", minimumCalls=" + minimumCalls +
+                ", failureRateThreshold=" + failureRateThreshold +
+                ", slowCallRateThreshold=" + slowCallRateThreshold +
+                ", slowCallDuration=" + slowCallDuration +
+                ", openDuration=" + openDuration +
+                ", halfOpenCalls=" + halfOpenCalls +
+                '}';
+    }
+
+    /**
+     * Structural fingerprint of the circuit breaker config, see {@link FingerprintUtils}.
+     */
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(FingerprintUtils.SEED, enabled);
+        hash = FingerprintUtils.mix(hash, windowSize);
+        hash = FingerprintUtils.mix(hash, minimumCalls);
+        hash = FingerprintUtils.mix(hash, failureRateThreshold);
+        hash = FingerprintUtils.mix(hash, slowCallRateThreshold);
+        hash = FingerprintUtils.mix(hash, slowCallDuration);
+        hash = FingerprintUtils.mix(hash, openDuration);
+        return FingerprintUtils.mix(hash, halfOpenCalls);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CircuitBreakerProperties that = (CircuitBreakerProperties) o;
+        return windowSize == that.windowSize
+                && minimumCalls == that.minimumCalls
+                && failureRateThreshold == that.failureRateThreshold
+                && slowCallRateThreshold == that.slowCallRateThreshold
+                && slowCallDuration == that.slowCallDuration
+                && openDuration == that.openDuration
+                && halfOpenCalls == that.halfOpenCalls
+                && Objects.equals(enabled, that.enabled);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
+    public void patch(CircuitBreakerProperties commonCircuitBreaker) {
+        checkNotFrozen();
+        if (commonCircuitBreaker == null) {
+            return;
+        }
+
+        if (getEnabled() == null) {
+            setEnabled(commonCircuitBreaker.getEnabled());
+        }
+
+        if (getWindowSize() == 0) {
+            setWindowSize(commonCircuitBreaker.getWindowSize());
+        }
+
+        if (getMinimumCalls() == 0) {
+            setMinimumCalls(commonCircuitBreaker.getMinimumCalls());
+        }
+
+        if (getFailureRateThreshold() == 0) {
+            setFailureRateThreshold(commonCircuitBreaker.getFailureRateThreshold());
+        }
+
+        if (getSlowCallRateThreshold() == 0) {
+            setSlowCallRateThreshold(commonCircuitBreaker.getSlowCallRateThreshold());
+        }
+
+        if (getSlowCallDuration() == 0) {
+            setSlowCallDuration(commonCircuitBreaker.getSlowCallDuration());
+        }
+
+        if (getOpenDuration() == 0) {
+            setOpenDuration(commonCircuitBreaker.getOpenDuration());
+        }
+
+        if (getHalfOpenCalls() == 0) {
+            setHalfOpenCalls(commonCircuitBreaker.getHalfOpenCalls());
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Boolean enabled;
+        private int windowSize;
+        private int minimumCalls;
+        private int failureRateThreshold;
+        private int slowCallRateThreshold;
+        private long slowCallDuration;
+        private long openDuration;
+        private int halfOpenCalls;
+
+        public Builder enabled(Boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder windowSize(int windowSize) {
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        public Builder minimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        public Builder failureRateThreshold(int failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        public Builder slowCallRateThreshold(int slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+            return this;
+        }
+
+        public Builder slowCallDuration(long slowCallDuration) {
+            this.slowCallDuration = slowCallDuration;
+            return this;
+        }
+
+        public Builder openDuration(long openDuration) {
+            this.openDuration = openDuration;
+            return this;
+        }
+
+        public Builder halfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+            return this;
+        }
+
+        public CircuitBreakerProperties build() {
+            return new CircuitBreakerProperties(this);
+        }
+    }
+}
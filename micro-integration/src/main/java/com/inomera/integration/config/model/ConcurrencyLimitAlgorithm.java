@@ -0,0 +1,12 @@
+package com.inomera.integration.config.model;
+
+public enum ConcurrencyLimitAlgorithm {
+    /*
+    limit grows by one while calls succeed and shrinks by the backoff ratio when a call is dropped
+     */
+    AIMD,
+    /*
+    limit follows the ratio of the long term round trip time to the current one
+     */
+    GRADIENT
+}
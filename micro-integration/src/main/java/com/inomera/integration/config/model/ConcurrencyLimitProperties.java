@@ -0,0 +1,404 @@
+package com.inomera.integration.config.model;
+
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
+import java.util.Objects;
+
+/**
+ * Adaptive concurrency limit config of an adapter. The limit of concurrent outbound calls is adjusted from the
+ * observed round trip times and dropped calls, calls over the limit fail fast with
+ * {@link com.inomera.integration.model.AdapterStatus#createStatusConcurrencyLimitExceeded()}.
+ * <p>
+ * With {@link ConcurrencyLimitAlgorithm#AIMD} the limit grows by one per successful call while at least half
+ * of it is used and is multiplied by {@link #backoffRatio} when a call is dropped, i.e. fails with a technical
+ * error, gets a {@code 429}, {@code 503} or {@code 504} response or takes longer than {@link #latencyThreshold}.
+ * With {@link ConcurrencyLimitAlgorithm#GRADIENT} the limit shrinks when round trip times grow over
+ * {@link #tolerance} times their long term average and grows while they stay below it.
+ * <p>
+ * Properties can be changed at runtime, the current limit is kept within the new bounds.
+ */
+public class ConcurrencyLimitProperties extends FreezableConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    public static final int DEFAULT_MAX_LIMIT = 200;
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+    public static final double DEFAULT_TOLERANCE = 1.5;
+    public static final double DEFAULT_SMOOTHING = 0.2;
+    public static final int DEFAULT_LONG_WINDOW = 600;
+
+    /**
+     * Whether the concurrency limit is enabled.
+     */
+    private Boolean enabled;
+
+    /**
+     * Algorithm adjusting the limit, {@link ConcurrencyLimitAlgorithm#GRADIENT} when null.
+     */
+    private ConcurrencyLimitAlgorithm algorithm;
+
+    /**
+     * The limit before any call is measured, {@link #DEFAULT_INITIAL_LIMIT} when zero.
+     */
+    private int initialLimit;
+
+    /**
+     * The lower bound of the limit, {@link #DEFAULT_MIN_LIMIT} when zero.
+     */
+    private int minLimit;
+
+    /**
+     * The upper bound of the limit, {@link #DEFAULT_MAX_LIMIT} when zero.
+     */
+    private int maxLimit;
+
+    /**
+     * The ratio the limit is multiplied with when a call is dropped (AIMD), {@link #DEFAULT_BACKOFF_RATIO}
+     * when zero.
+     */
+    private double backoffRatio;
+
+    /**
+     * Calls taking longer (in milliseconds) are dropped calls (AIMD), latency is ignored when zero.
+     */
+    private long latencyThreshold;
+
+    /**
+     * How much the round trip time may exceed its long term average before the limit shrinks (GRADIENT),
+     * {@link #DEFAULT_TOLERANCE} when zero.
+     */
+    private double tolerance;
+
+    /**
+     * The weight of a new limit against the current one (GRADIENT), {@link #DEFAULT_SMOOTHING} when zero.
+     */
+    private double smoothing;
+
+    /**
+     * The number of calls the long term average round trip time spans (GRADIENT),
+     * {@link #DEFAULT_LONG_WINDOW} when zero.
+     */
+    private int longWindow;
+
+    public ConcurrencyLimitProperties() {
+    }
+
+    private ConcurrencyLimitProperties(Builder builder) {
+        this.enabled = builder.enabled;
+        this.algorithm = builder.algorithm;
+        this.initialLimit = builder.initialLimit;
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.backoffRatio = builder.backoffRatio;
+        this.latencyThreshold = builder.latencyThreshold;
+        this.tolerance = builder.tolerance;
+        this.smoothing = builder.smoothing;
+        this.longWindow = builder.longWindow;
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(enabled);
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        checkNotFrozen();
+        this.enabled = enabled;
+    }
+
+    public ConcurrencyLimitAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(ConcurrencyLimitAlgorithm algorithm) {
+        checkNotFrozen();
+        this.algorithm = algorithm;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        checkNotFrozen();
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        checkNotFrozen();
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        checkNotFrozen();
+        this.maxLimit = maxLimit;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+        checkNotFrozen();
+        this.backoffRatio = backoffRatio;
+    }
+
+    public long getLatencyThreshold() {
+        return latencyThreshold;
+    }
+
+    public void setLatencyThreshold(long latencyThreshold) {
+        checkNotFrozen();
+        this.latencyThreshold = latencyThreshold;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    public void setTolerance(double tolerance) {
+        checkNotFrozen();
+        this.tolerance = tolerance;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    public void setSmoothing(double smoothing) {
+        checkNotFrozen();
+        this.smoothing = smoothing;
+    }
+
+    public int getLongWindow() {
+        return longWindow;
+    }
+
+    public void setLongWindow(int longWindow) {
+        checkNotFrozen();
+        this.longWindow = longWindow;
+    }
+
+    public ConcurrencyLimitAlgorithm getAlgorithmOrDefault() {
+        return algorithm != null ? algorithm : ConcurrencyLimitAlgorithm.GRADIENT;
+    }
+
+    public int getInitialLimitOrDefault() {
+        return initialLimit > 0 ? initialLimit : DEFAULT_INITIAL_LIMIT;
+    }
+
+    public int getMinLimitOrDefault() {
+        return minLimit > 0 ? minLimit : DEFAULT_MIN_LIMIT;
+    }
+
+    public int getMaxLimitOrDefault() {
+        return Math.max(maxLimit > 0 ? maxLimit : DEFAULT_MAX_LIMIT, getMinLimitOrDefault());
+    }
+
+    public double getBackoffRatioOrDefault() {
+        return backoffRatio > 0 && backoffRatio < 1 ? backoffRatio : DEFAULT_BACKOFF_RATIO;
+    }
+
+    public double getToleranceOrDefault() {
+        return tolerance >= 1 ? tolerance : DEFAULT_TOLERANCE;
+    }
+
+    public double getSmoothingOrDefault() {
+        return smoothing > 0 && smoothing <= 1 ? smoothing : DEFAULT_SMOOTHING;
+    }
+
+    public int getLongWindowOrDefault() {
+        return longWindow > 0 ? longWindow : DEFAULT_LONG_WINDOW;
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrencyLimitProperties{" +
+                "enabled=" + enabled +
+                ", algorithm=" + algorithm +
+                ", initialLimit=" + initialLimit +
+                ", minLimit=" + minLimit +
+                ", maxLimit=" + maxLimit +
+                ", backoffRatio=" + backoffRatio +
+                ", latencyThreshold=" + latencyThreshold +
+                ", tolerance=" + tolerance +
+                ", smoothing=" + smoothing +
+                ", longWindow=" + longWindow +
+                '}';
+    }
+
+    /**
+     * Structural fingerprint of the concurrency limit config, see {@link FingerprintUtils}.
+     */
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(FingerprintUtils.SEED, enabled);
+        hash = FingerprintUtils.mix(hash, algorithm);
+        hash = FingerprintUtils.mix(hash, initialLimit);
+        hash = FingerprintUtils.mix(hash, minLimit);
+        hash = FingerprintUtils.mix(hash, maxLimit);
+        hash = FingerprintUtils.mix(hash, backoffRatio);
+        hash = FingerprintUtils.mix(hash, latencyThreshold);
+        hash = FingerprintUtils.mix(hash, tolerance);
+        hash = FingerprintUtils.mix(hash, smoothing);
+        return FingerprintUtils.mix(hash, longWindow);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ConcurrencyLimitProperties that = (ConcurrencyLimitProperties) o;
+        return initialLimit == that.initialLimit
+                && minLimit == that.minLimit
+                && maxLimit == that.maxLimit
+                && Double.compare(backoffRatio, that.backoffRatio) == 0
+                && latencyThreshold == that.latencyThreshold
+                && Double.compare(tolerance, that.tolerance) == 0
+                && Double.compare(smoothing, that.smoothing) == 0
+                && longWindow == that.longWindow
+                && Objects.equals(enabled, that.enabled)
+                && algorithm == that.algorithm;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
+    public void patch(ConcurrencyLimitProperties commonConcurrencyLimit) {
+        checkNotFrozen();
+        if (commonConcurrencyLimit == null) {
+            return;
+        }
+
+        if (getEnabled() == null) {
+            setEnabled(commonConcurrencyLimit.getEnabled());
+        }
+
+        if (getAlgorithm() == null) {
+            setAlgorithm(commonConcurrencyLimit.getAlgorithm());
+        }
+
+        if (getInitialLimit() == 0) {
+            setInitialLimit(commonConcurrencyLimit.getInitialLimit());
+        }
+
+        if (getMinLimit() == 0) {
+            setMinLimit(commonConcurrencyLimit.getMinLimit());
+        }
+
+        if (getMaxLimit() == 0) {
+            setMaxLimit(commonConcurrencyLimit.getMaxLimit());
+        }
+
+        if (getBackoffRatio() == 0) {
+            setBackoffRatio(commonConcurrencyLimit.getBackoffRatio());
+        }
+
+        if (getLatencyThreshold() == 0) {
+            setLatencyThreshold(commonConcurrencyLimit.getLatencyThreshold());
+        }
+
+        if (getTolerance() == 0) {
+            setTolerance(commonConcurrencyLimit.getTolerance());
+        }
+
+        if (getSmoothing() == 0) {
+            setSmoothing(commonConcurrencyLimit.getSmoothing());
+        }
+
+        if (getLongWindow() == 0) {
+            setLongWindow(commonConcurrencyLimit.getLongWindow());
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Boolean enabled;
+        private ConcurrencyLimitAlgorithm algorithm;
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        private double backoffRatio;
+        private long latencyThreshold;
+        private double tolerance;
+        private double smoothing;
+        private int longWindow;
+
+        public Builder enabled(Boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder algorithm(ConcurrencyLimitAlgorithm algorithm) {
+            this.algorithm = algorithm;
+            return this;
+        }
+
+        public Builder initialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        public Builder minLimit(int minLimit) {
+            this.minLimit = minLimit;
+            return this;
+        }
+
+        public Builder maxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        public Builder backoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        public Builder latencyThreshold(long latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+            return this;
+        }
+
+        public Builder tolerance(double tolerance) {
+            this.tolerance = tolerance;
+            return this;
+        }
+
+        public Builder smoothing(double smoothing) {
+            this.smoothing = smoothing;
+            return this;
+        }
+
+        public Builder longWindow(int longWindow) {
+            this.longWindow = longWindow;
+            return this;
+        }
+
+        public ConcurrencyLimitProperties build() {
+            return new ConcurrencyLimitProperties(this);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.inomera.integration.config.model;
+
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
+import java.util.Objects;
+
+/**
+ * Deadline config of an adapter, see {@link com.inomera.integration.model.Deadline}. A call gets the deadline of the
+ * calling thread, or {@link #defaultTimeout} milliseconds when the calling thread has no earlier deadline. Waits for
+ * a bulkhead slot or a rate limit permit, retries, hedges and http timeouts are capped by the remaining time, a
+ * call that cannot be sent before its deadline fails with
+ * {@link com.inomera.integration.model.AdapterStatus#createStatusDeadlineExceeded()}.
+ * <p>
+ * When {@link #header} is set the remaining time (in milliseconds) is sent in that header, so the downstream
+ * service can stop working on a call its client already gave up.
+ */
+public class DeadlineProperties extends FreezableConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Whether adapter calls get the default deadline, deadlines of the calling thread always apply.
+     */
+    private Boolean enabled;
+
+    /**
+     * The time budget (in milliseconds) of a call without a deadline, calls have no deadline when zero.
+     */
+    private long defaultTimeout;
+
+    /**
+     * The request header the remaining time (in milliseconds) is sent in, not sent when empty.
+     */
+    private String header;
+
+    public DeadlineProperties() {
+    }
+
+    private DeadlineProperties(Builder builder) {
+        this.enabled = builder.enabled;
+        this.defaultTimeout = builder.defaultTimeout;
+        this.header = builder.header;
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(enabled) && defaultTimeout > 0;
+    }
+
+    /**
+     * Returns whether the remaining time of a call is sent downstream.
+     */
+    public boolean isHeaderEnabled() {
+        return header != null && !header.isBlank();
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        checkNotFrozen();
+        this.enabled = enabled;
+    }
+
+    public long getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    public void setDefaultTimeout(long defaultTimeout) {
+        checkNotFrozen();
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    public void setHeader(String header) {
+        checkNotFrozen();
+        this.header = header;
+    }
+
+    @Override
+    public String toString() {
+        return "DeadlineProperties{" +
+                "enabled=" + enabled +
+                ", defaultTimeout=" + defaultTimeout +
+                ", header=" + header +
+                '}';
+    }
+
+    /**
+     * Structural fingerprint of the deadline config, see {@link FingerprintUtils}.
+     */
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(FingerprintUtils.SEED, enabled);
+        hash = FingerprintUtils.mix(hash, defaultTimeout);
+        return FingerprintUtils.mix(hash, header);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DeadlineProperties that = (DeadlineProperties) o;
+        return defaultTimeout == that.defaultTimeout
+                && Objects.equals(enabled, that.enabled)
+                && Objects.equals(header, that.header);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
+    public void patch(DeadlineProperties commonDeadline) {
+        checkNotFrozen();
+        if (commonDeadline == null) {
+            return;
+        }
+
+        if (getEnabled() == null) {
+            setEnabled(commonDeadline.getEnabled());
+        }
+
+        if (getDefaultTimeout() == 0) {
+            setDefaultTimeout(commonDeadline.getDefaultTimeout());
+        }
+
+        if (getHeader() == null) {
+            setHeader(commonDeadline.getHeader());
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Boolean enabled;
+        private long defaultTimeout;
+        private String header;
+
+        public Builder enabled(Boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder defaultTimeout(long defaultTimeout) {
+            this.defaultTimeout = defaultTimeout;
+            return this;
+        }
+
+        public Builder header(String header) {
+            this.header = header;
+            return this;
+        }
+
+        public DeadlineProperties build() {
+            return new DeadlineProperties(this);
+        }
+    }
+}
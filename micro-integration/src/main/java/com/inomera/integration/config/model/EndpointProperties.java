@@ -0,0 +1,109 @@
+package com.inomera.integration.config.model;
+
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
+import java.util.Objects;
+
+/**
+ * An endpoint of an adapter balanced by {@link LoadBalancerProperties}, e.g. one node of a soap service deployed
+ * without a load balancer in front.
+ */
+public class EndpointProperties extends FreezableConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The base url of the endpoint, it replaces {@link AdapterProperties#getUrl()} in request urls.
+     */
+    private String url;
+
+    /**
+     * The zone of the endpoint, e.g. a data center or availability zone.
+     */
+    private String zone;
+
+    public EndpointProperties() {
+    }
+
+    private EndpointProperties(Builder builder) {
+        this.url = builder.url;
+        this.zone = builder.zone;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        checkNotFrozen();
+        this.url = url;
+    }
+
+    public String getZone() {
+        return zone;
+    }
+
+    public void setZone(String zone) {
+        checkNotFrozen();
+        this.zone = zone;
+    }
+
+    @Override
+    public String toString() {
+        return "EndpointProperties{" +
+                "url=" + url +
+                ", zone=" + zone +
+                '}';
+    }
+
+    /**
+     * Structural fingerprint of the endpoint config, see {@link FingerprintUtils}.
+     */
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(FingerprintUtils.SEED, url);
+        return FingerprintUtils.mix(hash, zone);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        EndpointProperties that = (EndpointProperties) o;
+        return Objects.equals(url, that.url)
+                && Objects.equals(zone, that.zone);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private String url;
+        private String zone;
+
+        public Builder url(String url) {
+            this.url = url;
+            return this;
+        }
+
+        public Builder zone(String zone) {
+            this.zone = zone;
+            return this;
+        }
+
+        public EndpointProperties build() {
+            return new EndpointProperties(this);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.inomera.integration.config.model;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Base of the config models. A config is frozen when it is published as a snapshot, see
+ * {@link AdapterConfig#freeze()}. Setters of a frozen model throw {@link IllegalStateException} and its
+ * collections are read-only, so consumers can compare snapshots by reference and the fingerprint of a
+ * snapshot is computed once.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+abstract class FreezableConfig implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Whether the model is frozen, it is published with the snapshot it belongs to. A deserialized copy is
+     * not frozen.
+     */
+    private transient boolean frozen;
+
+    /**
+     * Freezes the model, models with nested models or collections freeze them too.
+     */
+    void freeze() {
+        this.frozen = true;
+    }
+
+    boolean isFrozen() {
+        return frozen;
+    }
+
+    void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException(getClass().getSimpleName()
+                    + " belongs to a published adapter config snapshot and cannot be changed");
+        }
+    }
+
+    static void freeze(FreezableConfig config) {
+        if (config != null) {
+            config.freeze();
+        }
+    }
+
+    static <T> List<T> freeze(List<T> values) {
+        return values != null ? Collections.unmodifiableList(values) : null;
+    }
+
+    static <T> Set<T> freeze(Set<T> values) {
+        return values != null ? Collections.unmodifiableSet(values) : null;
+    }
+
+    static <K, V> Map<K, V> freeze(Map<K, V> values) {
+        return values != null ? Collections.unmodifiableMap(values) : null;
+    }
+}
@@ -0,0 +1,367 @@
+package com.inomera.integration.config.model;
+
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Active health check config of an adapter. Every {@link #interval} milliseconds a probe is sent to each endpoint of
+ * the adapter, i.e. the adapter url or the endpoints of its {@link LoadBalancerProperties load balancer}, through the
+ * http client of the adapter. An endpoint is marked down after {@link #unhealthyThreshold} failed probes in a row and
+ * up again after {@link #healthyThreshold} successful ones, calls are not balanced to endpoints marked down.
+ * <p>
+ * A rest endpoint is probed with a {@link #method} request to {@link #path}, a soap endpoint with the raw xml payload of
+ * a cheap operation in {@link #body} and its {@code SOAPAction} in {@link #headers}.
+ */
+public class HealthCheckProperties extends FreezableConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final String DEFAULT_METHOD = "GET";
+    public static final long DEFAULT_INTERVAL = 10_000;
+    public static final long DEFAULT_TIMEOUT = 2_000;
+    public static final int DEFAULT_HEALTHY_THRESHOLD = 2;
+    public static final int DEFAULT_UNHEALTHY_THRESHOLD = 3;
+
+    /**
+     * Whether endpoints are probed in the background.
+     */
+    private Boolean enabled;
+
+    /**
+     * The path probed on each endpoint, appended to the endpoint url, e.g. {@code /actuator/health}.
+     */
+    private String path;
+
+    /**
+     * The http method of the probe, {@link #DEFAULT_METHOD} when empty.
+     */
+    private String method;
+
+    /**
+     * The request body of the probe, e.g. the xml payload of a soap operation, not sent when empty.
+     */
+    private String body;
+
+    /**
+     * The headers of the probe, e.g. {@code SOAPAction} of the soap operation.
+     */
+    private Map<String, String> headers;
+
+    /**
+     * The time (in milliseconds) between probes of an endpoint, {@link #DEFAULT_INTERVAL} when zero.
+     */
+    private long interval;
+
+    /**
+     * The time (in milliseconds) a probe waits for a response, {@link #DEFAULT_TIMEOUT} when zero.
+     */
+    private long timeout;
+
+    /**
+     * The number of successful probes in a row an endpoint is marked up after,
+     * {@link #DEFAULT_HEALTHY_THRESHOLD} when zero.
+     */
+    private int healthyThreshold;
+
+    /**
+     * The number of failed probes in a row an endpoint is marked down after,
+     * {@link #DEFAULT_UNHEALTHY_THRESHOLD} when zero.
+     */
+    private int unhealthyThreshold;
+
+    public HealthCheckProperties() {
+    }
+
+    private HealthCheckProperties(Builder builder) {
+        this.enabled = builder.enabled;
+        this.path = builder.path;
+        this.method = builder.method;
+        this.body = builder.body;
+        this.headers = builder.headers;
+        this.interval = builder.interval;
+        this.timeout = builder.timeout;
+        this.healthyThreshold = builder.healthyThreshold;
+        this.unhealthyThreshold = builder.unhealthyThreshold;
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(enabled);
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        checkNotFrozen();
+        this.enabled = enabled;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        checkNotFrozen();
+        this.path = path;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        checkNotFrozen();
+        this.method = method;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        checkNotFrozen();
+        this.body = body;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public void setHeaders(Map<String, String> headers) {
+        checkNotFrozen();
+        this.headers = headers;
+    }
+
+    public long getInterval() {
+        return interval;
+    }
+
+    public void setInterval(long interval) {
+        checkNotFrozen();
+        this.interval = interval;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(long timeout) {
+        checkNotFrozen();
+        this.timeout = timeout;
+    }
+
+    public int getHealthyThreshold() {
+        return healthyThreshold;
+    }
+
+    public void setHealthyThreshold(int healthyThreshold) {
+        checkNotFrozen();
+        this.healthyThreshold = healthyThreshold;
+    }
+
+    public int getUnhealthyThreshold() {
+        return unhealthyThreshold;
+    }
+
+    public void setUnhealthyThreshold(int unhealthyThreshold) {
+        checkNotFrozen();
+        this.unhealthyThreshold = unhealthyThreshold;
+    }
+
+    public String getMethodOrDefault() {
+        return method != null && !method.isEmpty() ? method : DEFAULT_METHOD;
+    }
+
+    public long getIntervalOrDefault() {
+        return interval > 0 ? interval : DEFAULT_INTERVAL;
+    }
+
+    public long getTimeoutOrDefault() {
+        return timeout > 0 ? timeout : DEFAULT_TIMEOUT;
+    }
+
+    public int getHealthyThresholdOrDefault() {
+        return healthyThreshold > 0 ? healthyThreshold : DEFAULT_HEALTHY_THRESHOLD;
+    }
+
+    public int getUnhealthyThresholdOrDefault() {
+        return unhealthyThreshold > 0 ? unhealthyThreshold : DEFAULT_UNHEALTHY_THRESHOLD;
+    }
+
+    @Override
+    public String toString() {
+        return "HealthCheckProperties{" +
+                "enabled=" + enabled +
+                ", path=" + path +
+                ", method=" + method +
+                ", body=" + body +
+                ", headers=" + headers +
+                ", interval=" + interval +
+                ", timeout=" + timeout +
+                ", healthyThreshold=" + healthyThreshold +
+                ", unhealthyThreshold=" + unhealthyThreshold +
+                '}';
+    }
+
+    /**
+     * Structural fingerprint of the health check config, see {@link FingerprintUtils}.
+     */
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(FingerprintUtils.SEED, enabled);
+        hash = FingerprintUtils.mix(hash, path);
+        hash = FingerprintUtils.mix(hash, method);
+        hash = FingerprintUtils.mix(hash, body);
+        hash = FingerprintUtils.mix(hash, headers);
+        hash = FingerprintUtils.mix(hash, interval);
+        hash = FingerprintUtils.mix(hash, timeout);
+        hash = FingerprintUtils.mix(hash, healthyThreshold);
+        return FingerprintUtils.mix(hash, unhealthyThreshold);
+    }
+
+    @Override
+    void freeze() {
+        if (isFrozen()) {
+            return;
+        }
+        headers = freeze(headers);
+        super.freeze();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        HealthCheckProperties that = (HealthCheckProperties) o;
+        return interval == that.interval
+                && timeout == that.timeout
+                && healthyThreshold == that.healthyThreshold
+                && unhealthyThreshold == that.unhealthyThreshold
+                && Objects.equals(enabled, that.enabled)
+                && Objects.equals(path, that.path)
+                && Objects.equals(method, that.method)
+                && Objects.equals(body, that.body)
+                && Objects.equals(headers, that.headers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
+    public void patch(HealthCheckProperties commonHealthCheck) {
+        checkNotFrozen();
+        if (commonHealthCheck == null) {
+            return;
+        }
+
+        if (getEnabled() == null) {
+            setEnabled(commonHealthCheck.getEnabled());
+        }
+
+        if (getPath() == null) {
+            setPath(commonHealthCheck.getPath());
+        }
+
+        if (getMethod() == null) {
+            setMethod(commonHealthCheck.getMethod());
+        }
+
+        if (getBody() == null) {
+            setBody(commonHealthCheck.getBody());
+        }
+
+        if (getHeaders() == null) {
+            setHeaders(commonHealthCheck.getHeaders());
+        }
+
+        if (getInterval() == 0) {
+            setInterval(commonHealthCheck.getInterval());
+        }
+
+        if (getTimeout() == 0) {
+            setTimeout(commonHealthCheck.getTimeout());
+        }
+
+        if (getHealthyThreshold() == 0) {
+            setHealthyThreshold(commonHealthCheck.getHealthyThreshold());
+        }
+
+        if (getUnhealthyThreshold() == 0) {
+            setUnhealthyThreshold(commonHealthCheck.getUnhealthyThreshold());
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Boolean enabled;
+        private String path;
+        private String method;
+        private String body;
+        private Map<String, String> headers;
+        private long interval;
+        private long timeout;
+        private int healthyThreshold;
+        private int unhealthyThreshold;
+
+        public Builder enabled(Boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder path(String path) {
+            this.path = path;
+            return this;
+        }
+
+        public Builder method(String method) {
+            this.method = method;
+            return this;
+        }
+
+        public Builder body(String body) {
+            this.body = body;
+            return this;
+        }
+
+        public Builder headers(Map<String, String> headers) {
+            this.headers = headers;
+            return this;
+        }
+
+        public Builder interval(long interval) {
+            this.interval = interval;
+            return this;
+        }
+
+        public Builder timeout(long timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        public Builder healthyThreshold(int healthyThreshold) {
+            this.healthyThreshold = healthyThreshold;
+            return this;
+        }
+
+        public Builder unhealthyThreshold(int unhealthyThreshold) {
+            this.unhealthyThreshold = unhealthyThreshold;
+            return this;
+        }
+
+        public HealthCheckProperties build() {
+            return new HealthCheckProperties(this);
+        }
+    }
+}
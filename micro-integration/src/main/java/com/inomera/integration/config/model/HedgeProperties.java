@@ -0,0 +1,306 @@
+package com.inomera.integration.config.model;
+
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Request hedging config of an adapter. When an attempt has not answered within the hedge delay a second
+ * attempt is sent and the first response wins. The losing attempt is not aborted, its response is discarded
+ * when it completes, see {@code HedgePolicy}. The hedge delay is
+ * {@link #delay} when it is set, otherwise the {@link #percentile} of the latencies observed by the adapter.
+ * At most {@link #maxHedgeRatio} of the calls are hedged, so hedging cannot double the load of a slow endpoint.
+ * <p>
+ * Only idempotent methods are hedged by default. Soap operations are always sent with {@code POST}, so a
+ * read-only soap operation is hedged by listing its {@code SOAPAction} in {@link #operations}, listing
+ * {@code POST} in {@link #methods} would hedge every operation of the adapter.
+ */
+public class HedgeProperties extends FreezableConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final double DEFAULT_PERCENTILE = 95;
+    public static final double DEFAULT_MAX_HEDGE_RATIO = 0.1;
+    public static final List<String> DEFAULT_METHODS = List.of("GET", "HEAD", "OPTIONS");
+    public static final String SOAP_ACTION_HEADER = "SOAPAction";
+
+    /**
+     * Whether calls are hedged.
+     */
+    private Boolean enabled;
+
+    /**
+     * The time (in milliseconds) to wait before the hedge attempt, the observed latency percentile is used
+     * when zero.
+     */
+    private long delay;
+
+    /**
+     * The observed latency percentile used as hedge delay, {@link #DEFAULT_PERCENTILE} when zero.
+     */
+    private double percentile;
+
+    /**
+     * The maximum ratio of hedged calls to all calls, {@link #DEFAULT_MAX_HEDGE_RATIO} when zero.
+     */
+    private double maxHedgeRatio;
+
+    /**
+     * Http methods of hedged requests, {@link #DEFAULT_METHODS} when empty.
+     */
+    private List<String> methods;
+
+    /**
+     * {@code SOAPAction} header values of hedged requests, hedged whatever their http method is.
+     */
+    private List<String> operations;
+
+    public HedgeProperties() {
+    }
+
+    private HedgeProperties(Builder builder) {
+        this.enabled = builder.enabled;
+        this.delay = builder.delay;
+        this.percentile = builder.percentile;
+        this.maxHedgeRatio = builder.maxHedgeRatio;
+        this.methods = builder.methods;
+        this.operations = builder.operations;
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(enabled);
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        checkNotFrozen();
+        this.enabled = enabled;
+    }
+
+    public long getDelay() {
+        return delay;
+    }
+
+    public void setDelay(long delay) {
+        checkNotFrozen();
+        this.delay = delay;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(double percentile) {
+        checkNotFrozen();
+        this.percentile = percentile;
+    }
+
+    public double getMaxHedgeRatio() {
+        return maxHedgeRatio;
+    }
+
+    public void setMaxHedgeRatio(double maxHedgeRatio) {
+        checkNotFrozen();
+        this.maxHedgeRatio = maxHedgeRatio;
+    }
+
+    public List<String> getMethods() {
+        return methods;
+    }
+
+    public void setMethods(List<String> methods) {
+        checkNotFrozen();
+        this.methods = methods;
+    }
+
+    public List<String> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<String> operations) {
+        checkNotFrozen();
+        this.operations = operations;
+    }
+
+    public double getPercentileOrDefault() {
+        return percentile > 0 && percentile < 100 ? percentile : DEFAULT_PERCENTILE;
+    }
+
+    public double getMaxHedgeRatioOrDefault() {
+        return maxHedgeRatio > 0 && maxHedgeRatio <= 1 ? maxHedgeRatio : DEFAULT_MAX_HEDGE_RATIO;
+    }
+
+    /**
+     * Returns whether requests with the given http method are hedged.
+     *
+     * @param method http method name
+     * @return true if enabled for the method
+     */
+    public boolean isEnabledFor(String method) {
+        if (!isEnabled() || method == null) {
+            return false;
+        }
+        final List<String> hedgedMethods = methods == null || methods.isEmpty() ? DEFAULT_METHODS : methods;
+        return hedgedMethods.stream().anyMatch(m -> m.equalsIgnoreCase(method));
+    }
+
+    /**
+     * Returns whether requests with the given http method or soap operation are hedged.
+     *
+     * @param method     http method name
+     * @param soapAction {@code SOAPAction} header of the request, null if the request has none
+     * @return true if enabled for the method or the operation
+     */
+    public boolean isEnabledFor(String method, String soapAction) {
+        if (isEnabledFor(method)) {
+            return true;
+        }
+        if (!isEnabled() || soapAction == null || operations == null) {
+            return false;
+        }
+        // SOAPAction values may be sent quoted
+        final String operation = soapAction.length() > 1 && soapAction.startsWith("\"") && soapAction.endsWith("\"")
+                ? soapAction.substring(1, soapAction.length() - 1) : soapAction;
+        return operations.contains(operation);
+    }
+
+    @Override
+    public String toString() {
+        return "HedgeProperties{" +
+                "enabled=" + enabled +
+                ", delay=" + delay +
+                ", percentile=" + percentile +
+                ", maxHedgeRatio=" + maxHedgeRatio +
+                ", methods=" + methods +
+                ", operations=" + operations +
+                '}';
+    }
+
+    /**
+     * Structural fingerprint of the hedge config, see {@link FingerprintUtils}.
+     */
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(FingerprintUtils.SEED, enabled);
+        hash = FingerprintUtils.mix(hash, delay);
+        hash = FingerprintUtils.mix(hash, percentile);
+        hash = FingerprintUtils.mix(hash, maxHedgeRatio);
+        hash = FingerprintUtils.mix(hash, methods);
+        return FingerprintUtils.mix(hash, operations);
+    }
+
+    @Override
+    void freeze() {
+        if (isFrozen()) {
+            return;
+        }
+        methods = freeze(methods);
+        operations = freeze(operations);
+        super.freeze();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        HedgeProperties that = (HedgeProperties) o;
+        return delay == that.delay
+                && Double.compare(percentile, that.percentile) == 0
+                && Double.compare(maxHedgeRatio, that.maxHedgeRatio) == 0
+                && Objects.equals(enabled, that.enabled)
+                && Objects.equals(methods, that.methods)
+                && Objects.equals(operations, that.operations);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
+    public void patch(HedgeProperties commonHedge) {
+        checkNotFrozen();
+        if (commonHedge == null) {
+            return;
+        }
+
+        if (getEnabled() == null) {
+            setEnabled(commonHedge.getEnabled());
+        }
+
+        if (getDelay() == 0) {
+            setDelay(commonHedge.getDelay());
+        }
+
+        if (getPercentile() == 0) {
+            setPercentile(commonHedge.getPercentile());
+        }
+
+        if (getMaxHedgeRatio() == 0) {
+            setMaxHedgeRatio(commonHedge.getMaxHedgeRatio());
+        }
+
+        if (getMethods() == null) {
+            setMethods(commonHedge.getMethods());
+        }
+
+        if (getOperations() == null) {
+            setOperations(commonHedge.getOperations());
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Boolean enabled;
+        private long delay;
+        private double percentile;
+        private double maxHedgeRatio;
+        private List<String> methods;
+        private List<String> operations;
+
+        public Builder enabled(Boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder delay(long delay) {
+            this.delay = delay;
+            return this;
+        }
+
+        public Builder percentile(double percentile) {
+            this.percentile = percentile;
+            return this;
+        }
+
+        public Builder maxHedgeRatio(double maxHedgeRatio) {
+            this.maxHedgeRatio = maxHedgeRatio;
+            return this;
+        }
+
+        public Builder methods(List<String> methods) {
+            this.methods = methods;
+            return this;
+        }
+
+        public Builder operations(List<String> operations) {
+            this.operations = operations;
+            return this;
+        }
+
+        public HedgeProperties build() {
+            return new HedgeProperties(this);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.inomera.integration.config.model;
 
-import java.io.Serializable;
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
+import java.util.Objects;
 
 /**
  * A configuration class for HTTP client properties.
@@ -10,7 +13,11 @@ import java.io.Serializable;
  * pattern for easy instantiation and a method for patching properties with
  * non-default values from another instance.</p>
  */
-public class HttpClientProperties implements Serializable {
+public class HttpClientProperties extends FreezableConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /**
      * The maximum time (in milliseconds) to wait for an HTTP request to complete.
      */
@@ -61,6 +68,12 @@ public class HttpClientProperties implements Serializable {
      */
     private boolean redirectsEnable;
 
+    /**
+     * The number of pooled connections opened to each endpoint at startup and after a config reload, with their
+     * TLS handshakes completed, so the first calls don't pay the connection setup. Not opened when zero.
+     */
+    private int warmUpConnections;
+
     /**
      * Default constructor for {@code HttpClientProperties}.
      */
@@ -107,6 +120,7 @@ public class HttpClientProperties implements Serializable {
         this.skipSsl = builder.skipSsl;
         this.ssl = builder.ssl;
         this.redirectsEnable = builder.redirectsEnable;
+        this.warmUpConnections = builder.warmUpConnections;
     }
 
     public long getRequestTimeout() {
@@ -114,6 +128,7 @@ public class HttpClientProperties implements Serializable {
     }
 
     public void setRequestTimeout(long requestTimeout) {
+        checkNotFrozen();
         this.requestTimeout = requestTimeout;
     }
 
@@ -122,6 +137,7 @@ public class HttpClientProperties implements Serializable {
     }
 
     public void setConnectTimeout(long connectTimeout) {
+        checkNotFrozen();
         this.connectTimeout = connectTimeout;
     }
 
@@ -130,6 +146,7 @@ public class HttpClientProperties implements Serializable {
     }
 
     public void setIdleConnectionsTimeout(long idleConnectionsTimeout) {
+        checkNotFrozen();
         this.idleConnectionsTimeout = idleConnectionsTimeout;
     }
 
@@ -138,6 +155,7 @@ public class HttpClientProperties implements Serializable {
     }
 
     public void setMaxConnections(int maxConnections) {
+        checkNotFrozen();
         this.maxConnections = maxConnections;
     }
 
@@ -146,6 +164,7 @@ public class HttpClientProperties implements Serializable {
     }
 
     public void setMaxConnPerRoute(int maxConnPerRoute) {
+        checkNotFrozen();
         this.maxConnPerRoute = maxConnPerRoute;
     }
 
@@ -154,6 +173,7 @@ public class HttpClientProperties implements Serializable {
     }
 
     public void setPoolConcurrencyPolicy(String poolConcurrencyPolicy) {
+        checkNotFrozen();
         this.poolConcurrencyPolicy = poolConcurrencyPolicy;
     }
 
@@ -162,6 +182,7 @@ public class HttpClientProperties implements Serializable {
     }
 
     public void setTimeToLive(long timeToLive) {
+        checkNotFrozen();
         this.timeToLive = timeToLive;
     }
 
@@ -174,6 +195,7 @@ public class HttpClientProperties implements Serializable {
     }
 
     public void setSkipSsl(Boolean skipSsl) {
+        checkNotFrozen();
         this.skipSsl = skipSsl;
     }
 
@@ -182,6 +204,7 @@ public class HttpClientProperties implements Serializable {
     }
 
     public void setSsl(SSLProperties ssl) {
+        checkNotFrozen();
         this.ssl = ssl;
     }
 
@@ -190,9 +213,19 @@ public class HttpClientProperties implements Serializable {
     }
 
     public void setRedirectsEnable(boolean redirectsEnable) {
+        checkNotFrozen();
         this.redirectsEnable = redirectsEnable;
     }
 
+    public int getWarmUpConnections() {
+        return warmUpConnections;
+    }
+
+    public void setWarmUpConnections(int warmUpConnections) {
+        checkNotFrozen();
+        this.warmUpConnections = warmUpConnections;
+    }
+
     @Override
     public String toString() {
         return "HttpClientProperties{" +
@@ -206,10 +239,65 @@ public class HttpClientProperties implements Serializable {
                ", skipSsl=" + skipSsl +
                ", ssl=" + ssl +
                ", redirectsEnable=" + redirectsEnable +
+               ", warmUpConnections=" + warmUpConnections +
                '}';
     }
 
+    /**
+     * Structural fingerprint of the http client config, see {@link FingerprintUtils}.
+     */
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(FingerprintUtils.SEED, requestTimeout);
+        hash = FingerprintUtils.mix(hash, connectTimeout);
+        hash = FingerprintUtils.mix(hash, idleConnectionsTimeout);
+        hash = FingerprintUtils.mix(hash, maxConnections);
+        hash = FingerprintUtils.mix(hash, maxConnPerRoute);
+        hash = FingerprintUtils.mix(hash, poolConcurrencyPolicy);
+        hash = FingerprintUtils.mix(hash, timeToLive);
+        hash = FingerprintUtils.mix(hash, skipSsl);
+        hash = FingerprintUtils.mix(hash, ssl == null ? 0L : ssl.fingerprint());
+        hash = FingerprintUtils.mix(hash, redirectsEnable);
+        return FingerprintUtils.mix(hash, warmUpConnections);
+    }
+
+    @Override
+    void freeze() {
+        if (isFrozen()) {
+            return;
+        }
+        freeze(ssl);
+        super.freeze();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        HttpClientProperties that = (HttpClientProperties) o;
+        return requestTimeout == that.requestTimeout
+                && connectTimeout == that.connectTimeout
+                && idleConnectionsTimeout == that.idleConnectionsTimeout
+                && maxConnections == that.maxConnections
+                && maxConnPerRoute == that.maxConnPerRoute
+                && timeToLive == that.timeToLive
+                && redirectsEnable == that.redirectsEnable
+                && warmUpConnections == that.warmUpConnections
+                && Objects.equals(poolConcurrencyPolicy, that.poolConcurrencyPolicy)
+                && Objects.equals(skipSsl, that.skipSsl)
+                && Objects.equals(ssl, that.ssl);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
     public void patch(HttpClientProperties httpClientProperties) {
+        checkNotFrozen();
         if (httpClientProperties == null) {
             return;
         }
@@ -249,6 +337,10 @@ public class HttpClientProperties implements Serializable {
         if (!isRedirectsEnable()) {
             setRedirectsEnable(httpClientProperties.isRedirectsEnable());
         }
+
+        if (getWarmUpConnections() == 0) {
+            setWarmUpConnections(httpClientProperties.getWarmUpConnections());
+        }
     }
 
     public static Builder builder() {
@@ -266,6 +358,7 @@ public class HttpClientProperties implements Serializable {
         private Boolean skipSsl;
         private boolean redirectsEnable;
         private SSLProperties ssl;
+        private int warmUpConnections;
 
         public Builder requestTimeout(long requestTimeout) {
             this.requestTimeout = requestTimeout;
@@ -317,6 +410,11 @@ public class HttpClientProperties implements Serializable {
             return this;
         }
 
+        public Builder warmUpConnections(int warmUpConnections) {
+            this.warmUpConnections = warmUpConnections;
+            return this;
+        }
+
         public HttpClientProperties build() {
             return new HttpClientProperties(this);
         }
@@ -0,0 +1,314 @@
+package com.inomera.integration.config.model;
+
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Client side load balancing config of an adapter with multiple endpoints. Each outbound call, including retries and
+ * hedges, is sent to an endpoint chosen by {@link #algorithm}; the base url of the request, i.e.
+ * {@link AdapterProperties#getUrl()} or the url of the first endpoint when it is not set, is replaced by the url of
+ * the chosen endpoint.
+ * <p>
+ * Endpoints failing with {@link #failureThreshold} consecutive connection or io errors are ejected for
+ * {@link #ejectionTime} milliseconds, multiplied by the number of times they are ejected in a row, while at most
+ * {@link #maxEjectionPercent} percent of the endpoints are ejected. A call that cannot connect to its endpoint is sent
+ * to another endpoint immediately, since the endpoint never received it.
+ * <p>
+ * When {@link #zone} is set, endpoints of the same zone are preferred while at least one of them is not ejected.
+ * Endpoints can be changed at runtime, the state of the kept endpoints is kept.
+ */
+public class LoadBalancerProperties extends FreezableConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    public static final long DEFAULT_EJECTION_TIME = 30_000;
+    public static final int DEFAULT_MAX_EJECTION_PERCENT = 50;
+
+    /**
+     * Whether outbound calls are balanced over the endpoints.
+     */
+    private Boolean enabled;
+
+    /**
+     * The endpoints of the adapter.
+     */
+    private List<EndpointProperties> endpoints;
+
+    /**
+     * Algorithm choosing the endpoint of a call, {@link LoadBalancingAlgorithm#ROUND_ROBIN} when null.
+     */
+    private LoadBalancingAlgorithm algorithm;
+
+    /**
+     * The zone of this application, endpoints of the same zone are preferred when it is set.
+     */
+    private String zone;
+
+    /**
+     * The number of consecutive connection or io errors an endpoint is ejected after,
+     * {@link #DEFAULT_FAILURE_THRESHOLD} when zero.
+     */
+    private int failureThreshold;
+
+    /**
+     * The base time (in milliseconds) an endpoint is ejected for, {@link #DEFAULT_EJECTION_TIME} when zero.
+     */
+    private long ejectionTime;
+
+    /**
+     * The maximum percent of the endpoints ejected at once, {@link #DEFAULT_MAX_EJECTION_PERCENT} when zero.
+     */
+    private int maxEjectionPercent;
+
+    public LoadBalancerProperties() {
+    }
+
+    private LoadBalancerProperties(Builder builder) {
+        this.enabled = builder.enabled;
+        this.endpoints = builder.endpoints;
+        this.algorithm = builder.algorithm;
+        this.zone = builder.zone;
+        this.failureThreshold = builder.failureThreshold;
+        this.ejectionTime = builder.ejectionTime;
+        this.maxEjectionPercent = builder.maxEjectionPercent;
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(enabled) && endpoints != null && !endpoints.isEmpty();
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        checkNotFrozen();
+        this.enabled = enabled;
+    }
+
+    public List<EndpointProperties> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<EndpointProperties> endpoints) {
+        checkNotFrozen();
+        this.endpoints = endpoints;
+    }
+
+    public LoadBalancingAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(LoadBalancingAlgorithm algorithm) {
+        checkNotFrozen();
+        this.algorithm = algorithm;
+    }
+
+    public String getZone() {
+        return zone;
+    }
+
+    public void setZone(String zone) {
+        checkNotFrozen();
+        this.zone = zone;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(int failureThreshold) {
+        checkNotFrozen();
+        this.failureThreshold = failureThreshold;
+    }
+
+    public long getEjectionTime() {
+        return ejectionTime;
+    }
+
+    public void setEjectionTime(long ejectionTime) {
+        checkNotFrozen();
+        this.ejectionTime = ejectionTime;
+    }
+
+    public int getMaxEjectionPercent() {
+        return maxEjectionPercent;
+    }
+
+    public void setMaxEjectionPercent(int maxEjectionPercent) {
+        checkNotFrozen();
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+
+    public LoadBalancingAlgorithm getAlgorithmOrDefault() {
+        return algorithm != null ? algorithm : LoadBalancingAlgorithm.ROUND_ROBIN;
+    }
+
+    public int getFailureThresholdOrDefault() {
+        return failureThreshold > 0 ? failureThreshold : DEFAULT_FAILURE_THRESHOLD;
+    }
+
+    public long getEjectionTimeOrDefault() {
+        return ejectionTime > 0 ? ejectionTime : DEFAULT_EJECTION_TIME;
+    }
+
+    public int getMaxEjectionPercentOrDefault() {
+        return maxEjectionPercent > 0 ? Math.min(100, maxEjectionPercent) : DEFAULT_MAX_EJECTION_PERCENT;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadBalancerProperties{" +
+                "enabled=" + enabled +
+                ", endpoints=" + endpoints +
+                ", algorithm=" + algorithm +
+                ", zone=" + zone +
+                ", failureThreshold=" + failureThreshold +
+                ", ejectionTime=" + ejectionTime +
+                ", maxEjectionPercent=" + maxEjectionPercent +
+                '}';
+    }
+
+    /**
+     * Structural fingerprint of the load balancer config, see {@link FingerprintUtils}.
+     */
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(FingerprintUtils.SEED, enabled);
+        hash = FingerprintUtils.mix(hash, endpoints);
+        hash = FingerprintUtils.mix(hash, algorithm);
+        hash = FingerprintUtils.mix(hash, zone);
+        hash = FingerprintUtils.mix(hash, failureThreshold);
+        hash = FingerprintUtils.mix(hash, ejectionTime);
+        return FingerprintUtils.mix(hash, maxEjectionPercent);
+    }
+
+    @Override
+    void freeze() {
+        if (isFrozen()) {
+            return;
+        }
+        if (endpoints != null) {
+            for (EndpointProperties endpoint : endpoints) {
+                freeze(endpoint);
+            }
+        }
+        endpoints = freeze(endpoints);
+        super.freeze();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LoadBalancerProperties that = (LoadBalancerProperties) o;
+        return failureThreshold == that.failureThreshold
+                && ejectionTime == that.ejectionTime
+                && maxEjectionPercent == that.maxEjectionPercent
+                && Objects.equals(enabled, that.enabled)
+                && Objects.equals(endpoints, that.endpoints)
+                && algorithm == that.algorithm
+                && Objects.equals(zone, that.zone);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
+    public void patch(LoadBalancerProperties commonLoadBalancer) {
+        checkNotFrozen();
+        if (commonLoadBalancer == null) {
+            return;
+        }
+
+        if (getEnabled() == null) {
+            setEnabled(commonLoadBalancer.getEnabled());
+        }
+
+        if (getEndpoints() == null) {
+            setEndpoints(commonLoadBalancer.getEndpoints());
+        }
+
+        if (getAlgorithm() == null) {
+            setAlgorithm(commonLoadBalancer.getAlgorithm());
+        }
+
+        if (getZone() == null) {
+            setZone(commonLoadBalancer.getZone());
+        }
+
+        if (getFailureThreshold() == 0) {
+            setFailureThreshold(commonLoadBalancer.getFailureThreshold());
+        }
+
+        if (getEjectionTime() == 0) {
+            setEjectionTime(commonLoadBalancer.getEjectionTime());
+        }
+
+        if (getMaxEjectionPercent() == 0) {
+            setMaxEjectionPercent(commonLoadBalancer.getMaxEjectionPercent());
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Boolean enabled;
+        private List<EndpointProperties> endpoints;
+        private LoadBalancingAlgorithm algorithm;
+        private String zone;
+        private int failureThreshold;
+        private long ejectionTime;
+        private int maxEjectionPercent;
+
+        public Builder enabled(Boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder endpoints(List<EndpointProperties> endpoints) {
+            this.endpoints = endpoints;
+            return this;
+        }
+
+        public Builder algorithm(LoadBalancingAlgorithm algorithm) {
+            this.algorithm = algorithm;
+            return this;
+        }
+
+        public Builder zone(String zone) {
+            this.zone = zone;
+            return this;
+        }
+
+        public Builder failureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+            return this;
+        }
+
+        public Builder ejectionTime(long ejectionTime) {
+            this.ejectionTime = ejectionTime;
+            return this;
+        }
+
+        public Builder maxEjectionPercent(int maxEjectionPercent) {
+            this.maxEjectionPercent = maxEjectionPercent;
+            return this;
+        }
+
+        public LoadBalancerProperties build() {
+            return new LoadBalancerProperties(this);
+        }
+    }
+}
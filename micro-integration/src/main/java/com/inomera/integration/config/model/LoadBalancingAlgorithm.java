@@ -0,0 +1,16 @@
+package com.inomera.integration.config.model;
+
+public enum LoadBalancingAlgorithm {
+    /*
+    endpoints are chosen in turn
+     */
+    ROUND_ROBIN,
+    /*
+    the endpoint with fewer calls in flight of two random endpoints is chosen
+     */
+    LEAST_OUTSTANDING,
+    /*
+    the endpoint with the lower moving average latency weighted by its calls in flight of two random endpoints is chosen
+     */
+    EWMA
+}
@@ -0,0 +1,13 @@
+package com.inomera.integration.config.model;
+
+public enum LogOverflowPolicy {
+    /*
+    new log records are dropped while the log buffer is full
+     */
+    DROP,
+    /*
+    only one of every sample rate log records is buffered while the log buffer is more than half full,
+    new log records are dropped while it is full
+     */
+    SAMPLE
+}
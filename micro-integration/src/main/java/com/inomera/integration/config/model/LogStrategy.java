@@ -15,12 +15,18 @@ public enum LogStrategy {
     */
     FAILURE,
     /*
+    log with uri, request headers, request body, response http status, response headers, response body
+    in failure request case and for a sampled fraction of successful requests, the sampling decision is
+    deterministic per correlation id
+    */
+    SAMPLED,
+    /*
     none
     */
     OFF;
 
     public boolean allOrFailure() {
-        return this == LogStrategy.ALL || this == LogStrategy.FAILURE;
+        return this == LogStrategy.ALL || this == LogStrategy.FAILURE || this == LogStrategy.SAMPLED;
     }
 
     public boolean allOrReqRes() {
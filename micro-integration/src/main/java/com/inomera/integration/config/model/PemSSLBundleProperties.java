@@ -1,9 +1,18 @@
 package com.inomera.integration.config.model;
 
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
+import java.util.Objects;
+
 /**
  * {@link SSLBundleProperties} for PEM-encoded certificates and private keys.
  */
 public class PemSSLBundleProperties extends SSLBundleProperties {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /**
      * Keystore properties.
      */
@@ -17,7 +26,10 @@ public class PemSSLBundleProperties extends SSLBundleProperties {
     /**
      * Store properties.
      */
-    public static class Store {
+    public static class Store extends FreezableConfig {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
 
         /**
          * Type of the store to create, e.g. JKS.
@@ -44,6 +56,7 @@ public class PemSSLBundleProperties extends SSLBundleProperties {
         }
 
         public void setType(String type) {
+            checkNotFrozen();
             this.type = type;
         }
 
@@ -52,6 +65,7 @@ public class PemSSLBundleProperties extends SSLBundleProperties {
         }
 
         public void setCertificate(String certificate) {
+            checkNotFrozen();
             this.certificate = certificate;
         }
 
@@ -60,6 +74,7 @@ public class PemSSLBundleProperties extends SSLBundleProperties {
         }
 
         public void setPrivateKey(String privateKey) {
+            checkNotFrozen();
             this.privateKey = privateKey;
         }
 
@@ -68,9 +83,37 @@ public class PemSSLBundleProperties extends SSLBundleProperties {
         }
 
         public void setPrivateKeyPassword(String privateKeyPassword) {
+            checkNotFrozen();
             this.privateKeyPassword = privateKeyPassword;
         }
 
+        public long fingerprint() {
+            long hash = FingerprintUtils.mix(FingerprintUtils.SEED, type);
+            hash = FingerprintUtils.mix(hash, certificate);
+            hash = FingerprintUtils.mix(hash, privateKey);
+            return FingerprintUtils.mix(hash, privateKeyPassword);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Store that = (Store) o;
+            return Objects.equals(type, that.type)
+                    && Objects.equals(certificate, that.certificate)
+                    && Objects.equals(privateKey, that.privateKey)
+                    && Objects.equals(privateKeyPassword, that.privateKeyPassword);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(fingerprint());
+        }
+
     }
 
     public Store getKeystore() {
@@ -80,4 +123,35 @@ public class PemSSLBundleProperties extends SSLBundleProperties {
     public Store getTruststore() {
         return this.truststore;
     }
+
+    @Override
+    void freeze() {
+        if (isFrozen()) {
+            return;
+        }
+        keystore.freeze();
+        truststore.freeze();
+        super.freeze();
+    }
+
+    @Override
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(super.fingerprint(), keystore.fingerprint());
+        return FingerprintUtils.mix(hash, truststore.fingerprint());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        PemSSLBundleProperties that = (PemSSLBundleProperties) o;
+        return Objects.equals(keystore, that.keystore)
+                && Objects.equals(truststore, that.truststore);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
 }
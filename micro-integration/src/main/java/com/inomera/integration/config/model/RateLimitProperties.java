@@ -0,0 +1,226 @@
+package com.inomera.integration.config.model;
+
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
+import java.util.Objects;
+
+/**
+ * Client side rate limit config of an adapter, a token bucket refilled with {@link #permitsPerSecond} tokens per
+ * second that holds at most {@link #burst} tokens. Each outbound call, including retries, takes a token. When the
+ * bucket is empty a call waits up to {@link #maxWait} milliseconds for its token, or fails fast with
+ * {@link com.inomera.integration.model.AdapterStatus#createStatusRateLimited()} when {@link #maxWait} is zero.
+ * <p>
+ * Adapters with the same config key share one bucket. With {@link #shareByClientId} adapters authenticating
+ * with the same {@link BearerTokenCredentials#getClientId()} share one bucket, e.g. for a partner quota per
+ * client. The rate can be changed at runtime.
+ */
+public class RateLimitProperties extends FreezableConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Whether outbound calls are rate limited.
+     */
+    private Boolean enabled;
+
+    /**
+     * The number of calls allowed per second, calls are not limited when zero.
+     */
+    private double permitsPerSecond;
+
+    /**
+     * The maximum number of calls allowed at once after an idle period, one second of permits when zero.
+     */
+    private int burst;
+
+    /**
+     * The maximum time (in milliseconds) a call waits for a permit, calls fail fast when zero.
+     */
+    private long maxWait;
+
+    /**
+     * Whether adapters with the same bearer token client id share one bucket.
+     */
+    private Boolean shareByClientId;
+
+    public RateLimitProperties() {
+    }
+
+    private RateLimitProperties(Builder builder) {
+        this.enabled = builder.enabled;
+        this.permitsPerSecond = builder.permitsPerSecond;
+        this.burst = builder.burst;
+        this.maxWait = builder.maxWait;
+        this.shareByClientId = builder.shareByClientId;
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(enabled) && permitsPerSecond > 0;
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        checkNotFrozen();
+        this.enabled = enabled;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public void setPermitsPerSecond(double permitsPerSecond) {
+        checkNotFrozen();
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        checkNotFrozen();
+        this.burst = burst;
+    }
+
+    public long getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(long maxWait) {
+        checkNotFrozen();
+        this.maxWait = maxWait;
+    }
+
+    public Boolean getShareByClientId() {
+        return shareByClientId;
+    }
+
+    public void setShareByClientId(Boolean shareByClientId) {
+        checkNotFrozen();
+        this.shareByClientId = shareByClientId;
+    }
+
+    public int getBurstOrDefault() {
+        return burst > 0 ? burst : (int) Math.max(1, Math.ceil(permitsPerSecond));
+    }
+
+    public boolean isShareByClientId() {
+        return Boolean.TRUE.equals(shareByClientId);
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimitProperties{" +
+                "enabled=" + enabled +
+                ", permitsPerSecond=" + permitsPerSecond +
+                ", burst=" + burst +
+                ", maxWait=" + maxWait +
+                ", shareByClientId=" + shareByClientId +
+                '}';
+    }
+
+    /**
+     * Structural fingerprint of the rate limit config, see {@link FingerprintUtils}.
+     */
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(FingerprintUtils.SEED, enabled);
+        hash = FingerprintUtils.mix(hash, permitsPerSecond);
+        hash = FingerprintUtils.mix(hash, burst);
+        hash = FingerprintUtils.mix(hash, maxWait);
+        return FingerprintUtils.mix(hash, shareByClientId);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RateLimitProperties that = (RateLimitProperties) o;
+        return Double.compare(permitsPerSecond, that.permitsPerSecond) == 0
+                && burst == that.burst
+                && maxWait == that.maxWait
+                && Objects.equals(enabled, that.enabled)
+                && Objects.equals(shareByClientId, that.shareByClientId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
+    public void patch(RateLimitProperties commonRateLimit) {
+        checkNotFrozen();
+        if (commonRateLimit == null) {
+            return;
+        }
+
+        if (getEnabled() == null) {
+            setEnabled(commonRateLimit.getEnabled());
+        }
+
+        if (getPermitsPerSecond() == 0) {
+            setPermitsPerSecond(commonRateLimit.getPermitsPerSecond());
+        }
+
+        if (getBurst() == 0) {
+            setBurst(commonRateLimit.getBurst());
+        }
+
+        if (getMaxWait() == 0) {
+            setMaxWait(commonRateLimit.getMaxWait());
+        }
+
+        if (getShareByClientId() == null) {
+            setShareByClientId(commonRateLimit.getShareByClientId());
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Boolean enabled;
+        private double permitsPerSecond;
+        private int burst;
+        private long maxWait;
+        private Boolean shareByClientId;
+
+        public Builder enabled(Boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder permitsPerSecond(double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+            return this;
+        }
+
+        public Builder burst(int burst) {
+            this.burst = burst;
+            return this;
+        }
+
+        public Builder maxWait(long maxWait) {
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        public Builder shareByClientId(Boolean shareByClientId) {
+            this.shareByClientId = shareByClientId;
+            return this;
+        }
+
+        public RateLimitProperties build() {
+            return new RateLimitProperties(this);
+        }
+    }
+}
@@ -0,0 +1,462 @@
+package com.inomera.integration.config.model;
+
+import com.inomera.integration.constant.Status;
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Retry config of an adapter. Failed calls are retried up to {@link #maxAttempts} with exponential
+ * backoff and jitter. A call is retried when it fails with one of {@link #exceptions}, with an
+ * {@link com.inomera.integration.fault.AdapterException} of one of {@link #statuses} or when the endpoint
+ * responds with one of {@link #statusCodes}, either as a response or as an
+ * {@link com.inomera.integration.fault.AdapterException} that keeps the http status of the error response. By default only {@code AdapterIOException} and {@code 502},
+ * {@code 503}, {@code 504} responses are retried; {@code AdapterSerializationException} is not, the same
+ * response would fail again.
+ * <p>
+ * Only idempotent requests are retried by default, add {@code POST} or {@code PATCH} to {@link #methods}
+ * to retry them explicitly. Retries are limited by a token bucket budget shared by all calls of the
+ * adapter: each retryable failure takes a token, each success adds {@link #budgetTokenRatio} tokens and
+ * retries stop while less than half of {@link #budgetMaxTokens} tokens are left, so retries cannot
+ * amplify an outage.
+ */
+public class RetryProperties extends FreezableConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final long DEFAULT_INITIAL_BACKOFF = 100;
+    public static final long DEFAULT_MAX_BACKOFF = 2000;
+    public static final double DEFAULT_MULTIPLIER = 2;
+    public static final double DEFAULT_JITTER = 0.5;
+    public static final int DEFAULT_BUDGET_MAX_TOKENS = 10;
+    public static final double DEFAULT_BUDGET_TOKEN_RATIO = 0.1;
+    public static final List<String> DEFAULT_METHODS = List.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE", "TRACE");
+    public static final List<Integer> DEFAULT_STATUS_CODES = List.of(502, 503, 504);
+    public static final List<String> DEFAULT_EXCEPTIONS = List.of("com.inomera.integration.fault.AdapterIOException");
+
+    /**
+     * Whether failed calls are retried.
+     */
+    private Boolean enabled;
+
+    /**
+     * The maximum number of attempts including the first call, {@link #DEFAULT_MAX_ATTEMPTS} when zero.
+     */
+    private int maxAttempts;
+
+    /**
+     * The wait (in milliseconds) before the first retry, {@link #DEFAULT_INITIAL_BACKOFF} when zero.
+     */
+    private long initialBackoff;
+
+    /**
+     * The maximum wait (in milliseconds) between retries, {@link #DEFAULT_MAX_BACKOFF} when zero.
+     */
+    private long maxBackoff;
+
+    /**
+     * The backoff multiplier of each retry, {@link #DEFAULT_MULTIPLIER} when zero.
+     */
+    private double multiplier;
+
+    /**
+     * The randomized part of the backoff between 0 and 1, {@link #DEFAULT_JITTER} when not set. Zero
+     * waits the exact backoff, one waits a random time up to the backoff.
+     */
+    private Double jitter;
+
+    /**
+     * Http methods of the retried requests, idempotent methods ({@link #DEFAULT_METHODS}) when not set.
+     */
+    private List<String> methods;
+
+    /**
+     * Http status codes of the retried responses, {@link #DEFAULT_STATUS_CODES} when not set.
+     */
+    private List<Integer> statusCodes;
+
+    /**
+     * Class names of the retried exceptions, subclasses are retried too. {@link #DEFAULT_EXCEPTIONS}
+     * when not set.
+     */
+    private List<String> exceptions;
+
+    /**
+     * Adapter statuses of the retried {@code AdapterException}s, e.g. {@code TECHNICAL_ERROR}, none when
+     * not set.
+     */
+    private List<Status> statuses;
+
+    /**
+     * The capacity of the retry budget, {@link #DEFAULT_BUDGET_MAX_TOKENS} when zero.
+     */
+    private int budgetMaxTokens;
+
+    /**
+     * Tokens added to the retry budget by each successful call, {@link #DEFAULT_BUDGET_TOKEN_RATIO} when
+     * zero.
+     */
+    private double budgetTokenRatio;
+
+    public RetryProperties() {
+    }
+
+    private RetryProperties(Builder builder) {
+        this.enabled = builder.enabled;
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.multiplier = builder.multiplier;
+        this.jitter = builder.jitter;
+        this.methods = builder.methods;
+        this.statusCodes = builder.statusCodes;
+        this.exceptions = builder.exceptions;
+        this.statuses = builder.statuses;
+        this.budgetMaxTokens = builder.budgetMaxTokens;
+        this.budgetTokenRatio = builder.budgetTokenRatio;
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(enabled);
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        checkNotFrozen();
+        this.enabled = enabled;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        checkNotFrozen();
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(long initialBackoff) {
+        checkNotFrozen();
+        this.initialBackoff = initialBackoff;
+    }
+
+    public long getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(long maxBackoff) {
+        checkNotFrozen();
+        this.maxBackoff = maxBackoff;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public void setMultiplier(double multiplier) {
+        checkNotFrozen();
+        this.multiplier = multiplier;
+    }
+
+    public Double getJitter() {
+        return jitter;
+    }
+
+    public void setJitter(Double jitter) {
+        checkNotFrozen();
+        this.jitter = jitter;
+    }
+
+    public List<String> getMethods() {
+        return methods;
+    }
+
+    public void setMethods(List<String> methods) {
+        checkNotFrozen();
+        this.methods = methods;
+    }
+
+    public List<Integer> getStatusCodes() {
+        return statusCodes;
+    }
+
+    public void setStatusCodes(List<Integer> statusCodes) {
+        checkNotFrozen();
+        this.statusCodes = statusCodes;
+    }
+
+    public List<String> getExceptions() {
+        return exceptions;
+    }
+
+    public void setExceptions(List<String> exceptions) {
+        checkNotFrozen();
+        this.exceptions = exceptions;
+    }
+
+    public List<Status> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(List<Status> statuses) {
+        checkNotFrozen();
+        this.statuses = statuses;
+    }
+
+    public int getBudgetMaxTokens() {
+        return budgetMaxTokens;
+    }
+
+    public void setBudgetMaxTokens(int budgetMaxTokens) {
+        checkNotFrozen();
+        this.budgetMaxTokens = budgetMaxTokens;
+    }
+
+    public double getBudgetTokenRatio() {
+        return budgetTokenRatio;
+    }
+
+    public void setBudgetTokenRatio(double budgetTokenRatio) {
+        checkNotFrozen();
+        this.budgetTokenRatio = budgetTokenRatio;
+    }
+
+    /**
+     * Returns whether requests with the given http method are retried.
+     *
+     * @param method http method name
+     * @return true if enabled for the method
+     */
+    public boolean isEnabledFor(String method) {
+        if (!isEnabled() || method == null) {
+            return false;
+        }
+        final List<String> retriedMethods = methods == null || methods.isEmpty() ? DEFAULT_METHODS : methods;
+        return retriedMethods.stream().anyMatch(m -> m.equalsIgnoreCase(method));
+    }
+
+    @Override
+    public String toString() {
+        return "RetryProperties{" +
+                "enabled=" + enabled +
+                ", maxAttempts=" + maxAttempts +
+                ", initialBackoff=" + initialBackoff +
+                ", maxBackoff=" + maxBackoff +
+                ", multiplier=" + multiplier +
+                ", jitter=" + jitter +
+                ", methods=" + methods +
+                ", statusCodes=" + statusCodes +
+                ", exceptions=" + exceptions +
+                ", statuses=" + statuses +
+                ", budgetMaxTokens=" + budgetMaxTokens +
+                ", budgetTokenRatio=" + budgetTokenRatio +
+                '}';
+    }
+
+    /**
+     * Structural fingerprint of the retry config, see {@link FingerprintUtils}.
+     */
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(FingerprintUtils.SEED, enabled);
+        hash = FingerprintUtils.mix(hash, maxAttempts);
+        hash = FingerprintUtils.mix(hash, initialBackoff);
+        hash = FingerprintUtils.mix(hash, maxBackoff);
+        hash = FingerprintUtils.mix(hash, multiplier);
+        hash = FingerprintUtils.mix(hash, jitter);
+        hash = FingerprintUtils.mix(hash, methods);
+        hash = FingerprintUtils.mix(hash, statusCodes);
+        hash = FingerprintUtils.mix(hash, exceptions);
+        hash = FingerprintUtils.mix(hash, statuses);
+        hash = FingerprintUtils.mix(hash, budgetMaxTokens);
+        return FingerprintUtils.mix(hash, budgetTokenRatio);
+    }
+
+    @Override
+    void freeze() {
+        if (isFrozen()) {
+            return;
+        }
+        methods = freeze(methods);
+        statusCodes = freeze(statusCodes);
+        exceptions = freeze(exceptions);
+        statuses = freeze(statuses);
+        super.freeze();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RetryProperties that = (RetryProperties) o;
+        return maxAttempts == that.maxAttempts
+                && initialBackoff == that.initialBackoff
+                && maxBackoff == that.maxBackoff
+                && Double.compare(multiplier, that.multiplier) == 0
+                && budgetMaxTokens == that.budgetMaxTokens
+                && Double.compare(budgetTokenRatio, that.budgetTokenRatio) == 0
+                && Objects.equals(enabled, that.enabled)
+                && Objects.equals(jitter, that.jitter)
+                && Objects.equals(methods, that.methods)
+                && Objects.equals(statusCodes, that.statusCodes)
+                && Objects.equals(exceptions, that.exceptions)
+                && Objects.equals(statuses, that.statuses);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
+    public void patch(RetryProperties commonRetry) {
+        checkNotFrozen();
+        if (commonRetry == null) {
+            return;
+        }
+
+        if (getEnabled() == null) {
+            setEnabled(commonRetry.getEnabled());
+        }
+
+        if (getMaxAttempts() == 0) {
+            setMaxAttempts(commonRetry.getMaxAttempts());
+        }
+
+        if (getInitialBackoff() == 0) {
+            setInitialBackoff(commonRetry.getInitialBackoff());
+        }
+
+        if (getMaxBackoff() == 0) {
+            setMaxBackoff(commonRetry.getMaxBackoff());
+        }
+
+        if (getMultiplier() == 0) {
+            setMultiplier(commonRetry.getMultiplier());
+        }
+
+        if (getJitter() == null) {
+            setJitter(commonRetry.getJitter());
+        }
+
+        if (getMethods() == null) {
+            setMethods(commonRetry.getMethods());
+        }
+
+        if (getStatusCodes() == null) {
+            setStatusCodes(commonRetry.getStatusCodes());
+        }
+
+        if (getExceptions() == null) {
+            setExceptions(commonRetry.getExceptions());
+        }
+
+        if (getStatuses() == null) {
+            setStatuses(commonRetry.getStatuses());
+        }
+
+        if (getBudgetMaxTokens() == 0) {
+            setBudgetMaxTokens(commonRetry.getBudgetMaxTokens());
+        }
+
+        if (getBudgetTokenRatio() == 0) {
+            setBudgetTokenRatio(commonRetry.getBudgetTokenRatio());
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Boolean enabled;
+        private int maxAttempts;
+        private long initialBackoff;
+        private long maxBackoff;
+        private double multiplier;
+        private Double jitter;
+        private List<String> methods;
+        private List<Integer> statusCodes;
+        private List<String> exceptions;
+        private List<Status> statuses;
+        private int budgetMaxTokens;
+        private double budgetTokenRatio;
+
+        public Builder enabled(Boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder maxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        public Builder initialBackoff(long initialBackoff) {
+            this.initialBackoff = initialBackoff;
+            return this;
+        }
+
+        public Builder maxBackoff(long maxBackoff) {
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        public Builder multiplier(double multiplier) {
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        public Builder jitter(Double jitter) {
+            this.jitter = jitter;
+            return this;
+        }
+
+        public Builder methods(List<String> methods) {
+            this.methods = methods;
+            return this;
+        }
+
+        public Builder statusCodes(List<Integer> statusCodes) {
+            this.statusCodes = statusCodes;
+            return this;
+        }
+
+        public Builder exceptions(List<String> exceptions) {
+            this.exceptions = exceptions;
+            return this;
+        }
+
+        public Builder statuses(List<Status> statuses) {
+            this.statuses = statuses;
+            return this;
+        }
+
+        public Builder budgetMaxTokens(int budgetMaxTokens) {
+            this.budgetMaxTokens = budgetMaxTokens;
+            return this;
+        }
+
+        public Builder budgetTokenRatio(double budgetTokenRatio) {
+            this.budgetTokenRatio = budgetTokenRatio;
+            return this;
+        }
+
+        public RetryProperties build() {
+            return new RetryProperties(this);
+        }
+    }
+}
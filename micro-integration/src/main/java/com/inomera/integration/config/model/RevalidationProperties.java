@@ -0,0 +1,137 @@
+package com.inomera.integration.config.model;
+
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
+import java.util.Objects;
+
+/**
+ * Conditional request config of a rest adapter. When it is enabled, {@code ETag} and
+ * {@code Last-Modified} of {@code GET} responses are remembered per url with the deserialized body,
+ * next requests of the url are sent with {@code If-None-Match} and {@code If-Modified-Since}. A
+ * {@code 304 Not Modified} response is returned as a {@code 200} response with the remembered body,
+ * so the body is neither downloaded nor deserialized again.
+ */
+public class RevalidationProperties extends FreezableConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    /**
+     * Whether conditional requests are sent.
+     */
+    private Boolean enabled;
+
+    /**
+     * The maximum number of remembered responses, {@link #DEFAULT_MAX_ENTRIES} when zero.
+     */
+    private int maxEntries;
+
+    public RevalidationProperties() {
+    }
+
+    private RevalidationProperties(Builder builder) {
+        this.enabled = builder.enabled;
+        this.maxEntries = builder.maxEntries;
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(enabled);
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        checkNotFrozen();
+        this.enabled = enabled;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        checkNotFrozen();
+        this.maxEntries = maxEntries;
+    }
+
+    public int getMaxEntriesOrDefault() {
+        return maxEntries > 0 ? maxEntries : DEFAULT_MAX_ENTRIES;
+    }
+
+    @Override
+    public String toString() {
+        return "RevalidationProperties{" +
+                "enabled=" + enabled +
+                ", maxEntries=" + maxEntries +
+                '}';
+    }
+
+    /**
+     * Structural fingerprint of the revalidation config, see {@link FingerprintUtils}.
+     */
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(FingerprintUtils.SEED, enabled);
+        return FingerprintUtils.mix(hash, maxEntries);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RevalidationProperties that = (RevalidationProperties) o;
+        return maxEntries == that.maxEntries
+                && Objects.equals(enabled, that.enabled);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
+    public void patch(RevalidationProperties commonRevalidation) {
+        checkNotFrozen();
+        if (commonRevalidation == null) {
+            return;
+        }
+
+        if (getEnabled() == null) {
+            setEnabled(commonRevalidation.getEnabled());
+        }
+
+        if (getMaxEntries() == 0) {
+            setMaxEntries(commonRevalidation.getMaxEntries());
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Boolean enabled;
+        private int maxEntries;
+
+        public Builder enabled(Boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder maxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        public RevalidationProperties build() {
+            return new RevalidationProperties(this);
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.inomera.integration.config.model;
 
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
+import java.util.Objects;
 import java.util.Set;
 
 /**
  * Base class for SSL Bundle properties.
  */
-public abstract class SSLBundleProperties {
+public abstract class SSLBundleProperties extends FreezableConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     /**
      * Key details for the bundle.
@@ -35,10 +42,49 @@ public abstract class SSLBundleProperties {
     }
 
     public void setProtocol(String protocol) {
+        checkNotFrozen();
         this.protocol = protocol;
     }
 
-    public static class Options {
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(FingerprintUtils.SEED, key.fingerprint());
+        hash = FingerprintUtils.mix(hash, options.fingerprint());
+        return FingerprintUtils.mix(hash, protocol);
+    }
+
+    @Override
+    void freeze() {
+        if (isFrozen()) {
+            return;
+        }
+        key.freeze();
+        options.freeze();
+        super.freeze();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SSLBundleProperties that = (SSLBundleProperties) o;
+        return Objects.equals(key, that.key)
+                && Objects.equals(options, that.options)
+                && Objects.equals(protocol, that.protocol);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
+    public static class Options extends FreezableConfig {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
 
         /**
          * Supported SSL ciphers.
@@ -55,6 +101,7 @@ public abstract class SSLBundleProperties {
         }
 
         public void setCiphers(Set<String> ciphers) {
+            checkNotFrozen();
             this.ciphers = ciphers;
         }
 
@@ -63,12 +110,49 @@ public abstract class SSLBundleProperties {
         }
 
         public void setEnabledProtocols(Set<String> enabledProtocols) {
+            checkNotFrozen();
             this.enabledProtocols = enabledProtocols;
         }
 
+        @Override
+        void freeze() {
+            if (isFrozen()) {
+                return;
+            }
+            ciphers = freeze(ciphers);
+            enabledProtocols = freeze(enabledProtocols);
+            super.freeze();
+        }
+
+        public long fingerprint() {
+            long hash = FingerprintUtils.mixUnordered(FingerprintUtils.SEED, ciphers);
+            return FingerprintUtils.mixUnordered(hash, enabledProtocols);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Options that = (Options) o;
+            return Objects.equals(ciphers, that.ciphers)
+                    && Objects.equals(enabledProtocols, that.enabledProtocols);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(fingerprint());
+        }
+
     }
 
-    public static class Key {
+    public static class Key extends FreezableConfig {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
 
         /**
          * The password used to access the key in the key store.
@@ -85,6 +169,7 @@ public abstract class SSLBundleProperties {
         }
 
         public void setPassword(String password) {
+            checkNotFrozen();
             this.password = password;
         }
 
@@ -93,8 +178,31 @@ public abstract class SSLBundleProperties {
         }
 
         public void setAlias(String alias) {
+            checkNotFrozen();
             this.alias = alias;
         }
 
+        public long fingerprint() {
+            return FingerprintUtils.mix(FingerprintUtils.mix(FingerprintUtils.SEED, password), alias);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key that = (Key) o;
+            return Objects.equals(password, that.password)
+                    && Objects.equals(alias, that.alias);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(fingerprint());
+        }
+
     }
 }
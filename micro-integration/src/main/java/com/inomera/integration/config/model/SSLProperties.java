@@ -1,9 +1,17 @@
 package com.inomera.integration.config.model;
 
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
+import java.util.Objects;
+
 /**
  * Properties for centralized SSL trust material configuration.
  */
-public class SSLProperties {
+public class SSLProperties extends FreezableConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
 
     /**
      * PEM-encoded SSL trust material.
@@ -13,4 +21,34 @@ public class SSLProperties {
     public PemSSLBundleProperties getPem() {
         return this.pem;
     }
+
+    public long fingerprint() {
+        return FingerprintUtils.mix(FingerprintUtils.SEED, pem.fingerprint());
+    }
+
+    @Override
+    void freeze() {
+        if (isFrozen()) {
+            return;
+        }
+        pem.freeze();
+        super.freeze();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SSLProperties that = (SSLProperties) o;
+        return Objects.equals(pem, that.pem);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
 }
@@ -0,0 +1,187 @@
+package com.inomera.integration.config.model;
+
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.io.Serial;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Request coalescing (single-flight) config of an adapter. When it is enabled, concurrent identical
+ * requests wait for one outbound call and share its http response. Requests are identical when their
+ * method, url, key headers, body and response type are equal.
+ * <p>
+ * Only idempotent requests should be coalesced, by default only {@code GET} requests are. Soap
+ * queries are sent with {@code POST}, add it to {@link #methods} to coalesce them.
+ */
+public class SingleFlightProperties extends FreezableConfig {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Whether concurrent identical requests are coalesced.
+     */
+    private Boolean enabled;
+
+    /**
+     * Http methods of the coalesced requests, {@code GET} when not set.
+     */
+    private List<String> methods;
+
+    /**
+     * Request headers used in the request key, all request headers when not set.
+     */
+    private List<String> headers;
+
+    public SingleFlightProperties() {
+    }
+
+    private SingleFlightProperties(Builder builder) {
+        this.enabled = builder.enabled;
+        this.methods = builder.methods;
+        this.headers = builder.headers;
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(enabled);
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        checkNotFrozen();
+        this.enabled = enabled;
+    }
+
+    public List<String> getMethods() {
+        return methods;
+    }
+
+    public void setMethods(List<String> methods) {
+        checkNotFrozen();
+        this.methods = methods;
+    }
+
+    public List<String> getHeaders() {
+        return headers;
+    }
+
+    public void setHeaders(List<String> headers) {
+        checkNotFrozen();
+        this.headers = headers;
+    }
+
+    /**
+     * Returns whether requests with the given http method are coalesced.
+     *
+     * @param method http method name
+     * @return true if enabled for the method
+     */
+    public boolean isEnabledFor(String method) {
+        if (!isEnabled()) {
+            return false;
+        }
+        if (methods == null || methods.isEmpty()) {
+            return "GET".equalsIgnoreCase(method);
+        }
+        return methods.stream().anyMatch(m -> m.equalsIgnoreCase(method));
+    }
+
+    @Override
+    public String toString() {
+        return "SingleFlightProperties{" +
+                "enabled=" + enabled +
+                ", methods=" + methods +
+                ", headers=" + headers +
+                '}';
+    }
+
+    /**
+     * Structural fingerprint of the single-flight config, see {@link FingerprintUtils}.
+     */
+    public long fingerprint() {
+        long hash = FingerprintUtils.mix(FingerprintUtils.SEED, enabled);
+        hash = FingerprintUtils.mix(hash, methods);
+        return FingerprintUtils.mix(hash, headers);
+    }
+
+    @Override
+    void freeze() {
+        if (isFrozen()) {
+            return;
+        }
+        methods = freeze(methods);
+        headers = freeze(headers);
+        super.freeze();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SingleFlightProperties that = (SingleFlightProperties) o;
+        return Objects.equals(enabled, that.enabled)
+                && Objects.equals(methods, that.methods)
+                && Objects.equals(headers, that.headers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
+    public void patch(SingleFlightProperties commonSingleFlight) {
+        checkNotFrozen();
+        if (commonSingleFlight == null) {
+            return;
+        }
+
+        if (getEnabled() == null) {
+            setEnabled(commonSingleFlight.getEnabled());
+        }
+
+        if (getMethods() == null) {
+            setMethods(commonSingleFlight.getMethods());
+        }
+
+        if (getHeaders() == null) {
+            setHeaders(commonSingleFlight.getHeaders());
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Boolean enabled;
+        private List<String> methods;
+        private List<String> headers;
+
+        public Builder enabled(Boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder methods(List<String> methods) {
+            this.methods = methods;
+            return this;
+        }
+
+        public Builder headers(List<String> headers) {
+            this.headers = headers;
+            return this;
+        }
+
+        public SingleFlightProperties build() {
+            return new SingleFlightProperties(this);
+        }
+    }
+}
@@ -34,4 +34,63 @@ public class AdapterConstants {
      * description that comes from endpoint response.
      */
     public static final String BUSINESS_ERROR_STATUS_DESCRIPTION = "Adapter business error !";
+
+    /**
+     * Used for {@link AdapterStatus#code()} when a call is rejected by an open circuit breaker without
+     * calling the endpoint.
+     */
+    public static final int CIRCUIT_OPEN_STATUS_CODE = 5003;
+
+    /**
+     * Will be used for same reason as {@link #CIRCUIT_OPEN_STATUS_CODE} did but for
+     * {@link AdapterStatus#description()} parameter.
+     */
+    public static final String CIRCUIT_OPEN_STATUS_DESCRIPTION = "Adapter circuit breaker is open !";
+
+    /**
+     * Used for {@link AdapterStatus#code()} when a call is rejected because the bulkhead of the adapter
+     * is full.
+     */
+    public static final int BULKHEAD_FULL_STATUS_CODE = 5004;
+
+    /**
+     * Will be used for same reason as {@link #BULKHEAD_FULL_STATUS_CODE} did but for
+     * {@link AdapterStatus#description()} parameter.
+     */
+    public static final String BULKHEAD_FULL_STATUS_DESCRIPTION = "Adapter bulkhead is full !";
+
+    /**
+     * Used for {@link AdapterStatus#code()} when a call is rejected because the adaptive concurrency limit
+     * of the adapter is reached.
+     */
+    public static final int CONCURRENCY_LIMIT_STATUS_CODE = 5005;
+
+    /**
+     * Will be used for same reason as {@link #CONCURRENCY_LIMIT_STATUS_CODE} did but for
+     * {@link AdapterStatus#description()} parameter.
+     */
+    public static final String CONCURRENCY_LIMIT_STATUS_DESCRIPTION = "Adapter concurrency limit is exceeded !";
+
+    /**
+     * Used for {@link AdapterStatus#code()} when a call is rejected because the rate limit of the adapter
+     * is reached.
+     */
+    public static final int RATE_LIMITED_STATUS_CODE = 5006;
+
+    /**
+     * Will be used for same reason as {@link #RATE_LIMITED_STATUS_CODE} did but for
+     * {@link AdapterStatus#description()} parameter.
+     */
+    public static final String RATE_LIMITED_STATUS_DESCRIPTION = "Adapter rate limit is exceeded !";
+
+    /**
+     * Used for {@link AdapterStatus#code()} when a call is not sent because its deadline is exceeded.
+     */
+    public static final int DEADLINE_EXCEEDED_STATUS_CODE = 5007;
+
+    /**
+     * Will be used for same reason as {@link #DEADLINE_EXCEEDED_STATUS_CODE} did but for
+     * {@link AdapterStatus#description()} parameter.
+     */
+    public static final String DEADLINE_EXCEEDED_STATUS_DESCRIPTION = "Adapter call deadline is exceeded !";
 }
@@ -0,0 +1,286 @@
+package com.inomera.integration.fanout;
+
+import com.inomera.integration.model.AdapterResponse;
+import com.inomera.integration.model.AdapterStatus;
+import com.inomera.integration.model.Deadline;
+import com.inomera.integration.util.AdapterExecutors;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs multiple adapter calls concurrently with a shared deadline and combines their responses,
+ * e.g.
+ * <pre>{@code
+ * AdapterFanOut fanOut = AdapterFanOut.builder()
+ *         .mode(FanOutMode.FIRST_SUCCESS)
+ *         .timeout(Duration.ofSeconds(2))
+ *         .build();
+ * FanOutResult result = fanOut.execute(List.of(
+ *         FanOutCall.of("country", () -> countryAdapter.getCountries()),
+ *         FanOutCall.of("mirket", () -> mirketAdapter.getFirst(request, properties))));
+ * }</pre>
+ * Calls that are still running when the fan-out completes or its deadline expires are cancelled and
+ * their threads are interrupted. The fan-out deadline, or the {@link Deadline#current() deadline} of the
+ * calling thread if it is earlier, is the deadline of each call. An instance is immutable and can be
+ * shared by all callers.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public class AdapterFanOut {
+
+    private static final Logger LOGGER = Logger.getLogger(AdapterFanOut.class.getName());
+
+    static final String DEADLINE_EXCEEDED_DESCRIPTION = "Fan-out deadline exceeded";
+    static final String CANCELLED_DESCRIPTION = "Fan-out call cancelled, fan-out already completed";
+
+    private final FanOutMode mode;
+    private final int quorum;
+    private final Duration timeout;
+    private final Executor executor;
+
+    private AdapterFanOut(Builder builder) {
+        this.mode = builder.mode != null ? builder.mode : FanOutMode.ALL_OF;
+        this.quorum = builder.quorum;
+        this.timeout = builder.timeout;
+        this.executor = builder.executor != null ? builder.executor : AdapterExecutors.blockingExecutor();
+        if (this.mode == FanOutMode.QUORUM && this.quorum <= 0) {
+            throw new IllegalArgumentException("Quorum must be positive for QUORUM mode");
+        }
+        if (this.timeout != null && (this.timeout.isNegative() || this.timeout.isZero())) {
+            throw new IllegalArgumentException("Fan-out timeout must be positive");
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Runs the calls and waits for the combined result.
+     *
+     * @param calls adapter calls with unique names
+     * @return combined result
+     */
+    public FanOutResult execute(List<FanOutCall<?>> calls) {
+        return executeAsync(calls).join();
+    }
+
+    /**
+     * Runs the calls and returns the future of the combined result. The future never completes
+     * exceptionally, failed calls have the technical error status in the result.
+     *
+     * @param calls adapter calls with unique names
+     * @return future of the combined result
+     */
+    public CompletableFuture<FanOutResult> executeAsync(List<FanOutCall<?>> calls) {
+        final Set<String> names = new HashSet<>();
+        for (FanOutCall<?> call : calls) {
+            if (!names.add(call.name())) {
+                throw new IllegalArgumentException("Duplicate fan-out call name : " + call.name());
+            }
+        }
+        if (this.mode == FanOutMode.QUORUM && this.quorum > calls.size()) {
+            throw new IllegalArgumentException(
+                    "Quorum " + this.quorum + " cannot be greater than the number of calls " + calls.size());
+        }
+        final Execution execution = new Execution(calls);
+        execution.start();
+        return execution.result;
+    }
+
+    /**
+     * State of one fan-out execution. Responses are collected under a lock, the first completion that
+     * satisfies the mode or the deadline builds the result and cancels the remaining calls.
+     */
+    private final class Execution {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final CompletableFuture<FanOutResult> result = new CompletableFuture<>();
+        private final List<FanOutCall<?>> calls;
+        private final AdapterResponse<?>[] responses;
+        private final FutureTask<?>[] tasks;
+        private final Deadline callDeadline;
+        private ScheduledFuture<?> deadline;
+        private String firstSuccessName;
+        private int completedCount;
+        private int successCount;
+
+        private Execution(List<FanOutCall<?>> calls) {
+            this.calls = List.copyOf(calls);
+            this.responses = new AdapterResponse<?>[calls.size()];
+            this.tasks = new FutureTask<?>[calls.size()];
+            this.callDeadline = Deadline.earliest(Deadline.current(), timeout != null ? Deadline.after(timeout) : null);
+        }
+
+        private void start() {
+            if (calls.isEmpty()) {
+                complete(false);
+                return;
+            }
+            for (int i = 0; i < calls.size(); i++) {
+                tasks[i] = createTask(i);
+            }
+            if (timeout != null) {
+                deadline = AdapterExecutors.scheduler().schedule(this::onDeadline, timeout.toNanos(),
+                        TimeUnit.NANOSECONDS);
+            }
+            for (int i = 0; i < tasks.length && !result.isDone(); i++) {
+                try {
+                    executor.execute(tasks[i]);
+                } catch (RejectedExecutionException e) {
+                    onCompletion(i, new AdapterResponse<>(AdapterStatus.createStatusFailedAsTechnical(e)));
+                }
+            }
+        }
+
+        private FutureTask<AdapterResponse<?>> createTask(int index) {
+            final FanOutCall<?> call = calls.get(index);
+            return new FutureTask<AdapterResponse<?>>(() -> Deadline.call(callDeadline, call.call())) {
+                @Override
+                protected void done() {
+                    if (isCancelled()) {
+                        return;
+                    }
+                    onCompletion(index, getResponse(this, call));
+                }
+            };
+        }
+
+        private AdapterResponse<?> getResponse(FutureTask<AdapterResponse<?>> task, FanOutCall<?> call) {
+            try {
+                final AdapterResponse<?> response = task.get();
+                return response != null ? response
+                        : new AdapterResponse<>(AdapterStatus.createStatusFailedAsTechnical());
+            } catch (ExecutionException e) {
+                LOGGER.log(Level.SEVERE, "Fan-out call failed, name : " + call.name(), e.getCause());
+                return new AdapterResponse<>(e.getCause() instanceof Exception cause
+                        ? AdapterStatus.createStatusFailedAsTechnical(cause)
+                        : AdapterStatus.createStatusFailedAsTechnical());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new AdapterResponse<>(AdapterStatus.createStatusFailedAsTechnical(e));
+            }
+        }
+
+        private void onCompletion(int index, AdapterResponse<?> response) {
+            lock.lock();
+            try {
+                if (result.isDone() || responses[index] != null) {
+                    return;
+                }
+                responses[index] = response;
+                completedCount++;
+                if (response.getStatus() != null && response.getStatus().isSuccess()) {
+                    successCount++;
+                    if (firstSuccessName == null) {
+                        firstSuccessName = calls.get(index).name();
+                    }
+                }
+                if (isCompleted()) {
+                    complete(false);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void onDeadline() {
+            lock.lock();
+            try {
+                if (!result.isDone()) {
+                    complete(true);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean isCompleted() {
+            if (completedCount == calls.size()) {
+                return true;
+            }
+            return switch (mode) {
+                case ALL_OF -> false;
+                case FIRST_SUCCESS -> successCount > 0;
+                // quorum is reached or too many calls failed to reach it
+                case QUORUM -> successCount >= quorum || completedCount - successCount > calls.size() - quorum;
+            };
+        }
+
+        private void complete(boolean deadlineExceeded) {
+            final Map<String, AdapterResponse<?>> combined = new LinkedHashMap<>();
+            for (int i = 0; i < calls.size(); i++) {
+                AdapterResponse<?> response = responses[i];
+                if (response == null) {
+                    // straggler, interrupt its thread
+                    tasks[i].cancel(true);
+                    response = new AdapterResponse<>(AdapterStatus.createStatusFailedAsTechnical(
+                            deadlineExceeded ? DEADLINE_EXCEEDED_DESCRIPTION : CANCELLED_DESCRIPTION));
+                }
+                combined.put(calls.get(i).name(), response);
+            }
+            if (deadline != null) {
+                deadline.cancel(false);
+            }
+            result.complete(new FanOutResult(mode, quorum, combined, firstSuccessName, successCount,
+                    deadlineExceeded));
+        }
+    }
+
+    public static class Builder {
+        private FanOutMode mode;
+        private int quorum;
+        private Duration timeout;
+        private Executor executor;
+
+        public Builder mode(FanOutMode mode) {
+            this.mode = mode;
+            return this;
+        }
+
+        /**
+         * Sets the mode to {@link FanOutMode#QUORUM} with the given number of successful calls.
+         */
+        public Builder quorum(int quorum) {
+            this.mode = FanOutMode.QUORUM;
+            this.quorum = quorum;
+            return this;
+        }
+
+        /**
+         * Shared deadline of all calls, calls wait without a deadline when it is not set.
+         */
+        public Builder timeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * Executor to run the calls, e.g. {@link AdapterExecutors#newVirtualThreadExecutor(String)}.
+         * {@link AdapterExecutors#blockingExecutor()} is used by default.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public AdapterFanOut build() {
+            return new AdapterFanOut(this);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.inomera.integration.fanout;
+
+import com.inomera.integration.model.AdapterResponse;
+
+import java.util.function.Supplier;
+
+/**
+ * Named adapter call of an {@link AdapterFanOut}, e.g.
+ * {@code FanOutCall.of("mirket", () -> mirketAdapter.getFirst(request, properties))}.
+ *
+ * @param name unique name of the call in a fan-out, responses are keyed by this name
+ * @param call blocking adapter method call
+ * @param <T>  AdapterResponse data type.
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public record FanOutCall<T>(String name, Supplier<AdapterResponse<T>> call) {
+
+    public FanOutCall {
+        if (name == null || call == null) {
+            throw new IllegalArgumentException("Fan-out call name and call cannot be null");
+        }
+    }
+
+    public static <T> FanOutCall<T> of(String name, Supplier<AdapterResponse<T>> call) {
+        return new FanOutCall<>(name, call);
+    }
+}
@@ -0,0 +1,23 @@
+package com.inomera.integration.fanout;
+
+/**
+ * Completion mode of an {@link AdapterFanOut}.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public enum FanOutMode {
+
+    /**
+     * Waits for all calls, the result is successful when all calls are successful.
+     */
+    ALL_OF,
+    /**
+     * Completes with the first successful call, the other calls are cancelled.
+     */
+    FIRST_SUCCESS,
+    /**
+     * Completes when the quorum of successful calls is reached or cannot be reached anymore, the
+     * other calls are cancelled.
+     */
+    QUORUM
+}
@@ -0,0 +1,107 @@
+package com.inomera.integration.fanout;
+
+import com.inomera.integration.model.AdapterResponse;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Combined result of an {@link AdapterFanOut}. Keeps the response and {@code AdapterStatus} of each
+ * call in call order. Calls cancelled after the fan-out completed or its deadline expired have a
+ * technical error status.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public class FanOutResult {
+
+    private final FanOutMode mode;
+    private final int quorum;
+    private final Map<String, AdapterResponse<?>> responses;
+    private final String firstSuccessName;
+    private final int successCount;
+    private final boolean deadlineExceeded;
+
+    FanOutResult(FanOutMode mode, int quorum, Map<String, AdapterResponse<?>> responses,
+                 String firstSuccessName, int successCount, boolean deadlineExceeded) {
+        this.mode = mode;
+        this.quorum = quorum;
+        this.responses = Collections.unmodifiableMap(responses);
+        this.firstSuccessName = firstSuccessName;
+        this.successCount = successCount;
+        this.deadlineExceeded = deadlineExceeded;
+    }
+
+    /**
+     * Returns whether the fan-out is successful for its mode; all calls for
+     * {@link FanOutMode#ALL_OF}, any call for {@link FanOutMode#FIRST_SUCCESS} and at least quorum calls
+     * for {@link FanOutMode#QUORUM} are successful.
+     *
+     * @return true if the fan-out is successful
+     */
+    public boolean isSuccess() {
+        return switch (mode) {
+            case ALL_OF -> successCount == responses.size();
+            case FIRST_SUCCESS -> successCount > 0;
+            case QUORUM -> successCount >= quorum;
+        };
+    }
+
+    public FanOutMode getMode() {
+        return mode;
+    }
+
+    public int getSuccessCount() {
+        return successCount;
+    }
+
+    public boolean isDeadlineExceeded() {
+        return deadlineExceeded;
+    }
+
+    /**
+     * Returns the responses keyed by call name, in call order.
+     *
+     * @return responses of all calls
+     */
+    public Map<String, AdapterResponse<?>> getResponses() {
+        return responses;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> AdapterResponse<T> getResponse(String name) {
+        return (AdapterResponse<T>) responses.get(name);
+    }
+
+    public <T> AdapterResponse<T> getResponse(FanOutCall<T> call) {
+        return getResponse(call.name());
+    }
+
+    /**
+     * Returns the name of the first call completed successfully.
+     *
+     * @return call name or null if there is no successful call
+     */
+    public String getFirstSuccessName() {
+        return firstSuccessName;
+    }
+
+    /**
+     * Returns the response of the first call completed successfully.
+     *
+     * @return response or null if there is no successful call
+     */
+    public <T> AdapterResponse<T> getFirstSuccess() {
+        return firstSuccessName != null ? getResponse(firstSuccessName) : null;
+    }
+
+    @Override
+    public String toString() {
+        return "FanOutResult{" +
+                "mode=" + mode +
+                ", success=" + isSuccess() +
+                ", successCount=" + successCount +
+                ", deadlineExceeded=" + deadlineExceeded +
+                ", responses=" + responses +
+                '}';
+    }
+}
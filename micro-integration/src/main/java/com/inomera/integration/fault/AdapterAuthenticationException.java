@@ -2,6 +2,8 @@ package com.inomera.integration.fault;
 
 import com.inomera.integration.model.AdapterStatus;
 
+import java.io.Serial;
+
 
 /**
  * Backend service authentication error adapter exception.
@@ -11,6 +13,9 @@ import com.inomera.integration.model.AdapterStatus;
  */
 public class AdapterAuthenticationException extends AdapterException {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     public AdapterAuthenticationException(AdapterStatus adapterStatus) {
         super(adapterStatus);
     }
@@ -18,4 +23,8 @@ public class AdapterAuthenticationException extends AdapterException {
     public AdapterAuthenticationException(Exception cause, AdapterStatus adapterStatus) {
         super(cause, adapterStatus);
     }
+
+    public AdapterAuthenticationException(Exception cause, AdapterStatus adapterStatus, int httpStatusCode) {
+        super(cause, adapterStatus, httpStatusCode);
+    }
 }
@@ -0,0 +1,28 @@
+package com.inomera.integration.fault;
+
+import com.inomera.integration.model.AdapterStatus;
+
+import java.io.Serial;
+
+
+/**
+ * Adapter exception of a call rejected because the bulkhead of the adapter is full, the endpoint is
+ * not called.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ * @see AdapterStatus#createStatusBulkheadFull()
+ */
+public class AdapterBulkheadFullException extends AdapterException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public AdapterBulkheadFullException() {
+        super(AdapterStatus.createStatusBulkheadFull());
+    }
+
+    @Override
+    public String getMessage() {
+        return getAdapterStatus().description();
+    }
+}
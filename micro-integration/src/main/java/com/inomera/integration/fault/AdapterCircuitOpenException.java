@@ -0,0 +1,34 @@
+package com.inomera.integration.fault;
+
+import com.inomera.integration.model.AdapterStatus;
+
+import java.io.Serial;
+
+
+/**
+ * Adapter exception of a call rejected by an open circuit breaker, the endpoint is not called.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ * @see AdapterStatus#createStatusCircuitOpen()
+ */
+public class AdapterCircuitOpenException extends AdapterException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String circuitName;
+
+    public AdapterCircuitOpenException(String circuitName) {
+        super(AdapterStatus.createStatusCircuitOpen());
+        this.circuitName = circuitName;
+    }
+
+    public String getCircuitName() {
+        return circuitName;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Circuit breaker is open, name : " + circuitName;
+    }
+}
@@ -0,0 +1,35 @@
+package com.inomera.integration.fault;
+
+import com.inomera.integration.model.AdapterStatus;
+
+import java.io.Serial;
+
+
+/**
+ * Adapter exception of a call rejected because the adaptive concurrency limit of the adapter is reached,
+ * the endpoint is not called.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ * @see AdapterStatus#createStatusConcurrencyLimitExceeded()
+ */
+public class AdapterConcurrencyLimitException extends AdapterException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final int limit;
+
+    public AdapterConcurrencyLimitException(int limit) {
+        super(AdapterStatus.createStatusConcurrencyLimitExceeded());
+        this.limit = limit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Concurrency limit is exceeded, limit : " + limit;
+    }
+}
@@ -0,0 +1,35 @@
+package com.inomera.integration.fault;
+
+import com.inomera.integration.model.AdapterStatus;
+
+import java.io.Serial;
+
+
+/**
+ * Adapter exception of a call that cannot be completed before its deadline, the endpoint is not called.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ * @see AdapterStatus#createStatusDeadlineExceeded()
+ * @see com.inomera.integration.model.Deadline
+ */
+public class AdapterDeadlineExceededException extends AdapterException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String reason;
+
+    public AdapterDeadlineExceededException(String reason) {
+        super(AdapterStatus.createStatusDeadlineExceeded());
+        this.reason = reason;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Deadline is exceeded, " + reason;
+    }
+}
@@ -4,6 +4,8 @@ import com.inomera.integration.constant.Status;
 import com.inomera.integration.model.AdapterResponse;
 import com.inomera.integration.model.AdapterStatus;
 
+import java.io.Serial;
+
 
 /**
  * Base error for all adapter exceptions. Adapter library doesn't throw any exception while sending
@@ -13,6 +15,9 @@ import com.inomera.integration.model.AdapterStatus;
  */
 public class AdapterException extends RuntimeException {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /**
      * The adapter status to use in {@link AdapterResponse}. Can be
      * an {@link Status#TECHNICAL_ERROR} or
@@ -20,16 +25,45 @@ public class AdapterException extends RuntimeException {
      */
     private final AdapterStatus adapterStatus;
 
+    /**
+     * The http status code of the endpoint response the exception is created from, zero when the endpoint
+     * didn't respond, e.g. on a connection error or a timeout.
+     */
+    private final int httpStatusCode;
+
     public AdapterException(AdapterStatus adapterStatus) {
-        this.adapterStatus = adapterStatus;
+        this(null, adapterStatus, 0);
     }
 
     public AdapterException(Exception cause, AdapterStatus adapterStatus) {
+        this(cause, adapterStatus, 0);
+    }
+
+    public AdapterException(Exception cause, AdapterStatus adapterStatus, int httpStatusCode) {
         super(cause);
         this.adapterStatus = adapterStatus;
+        this.httpStatusCode = httpStatusCode;
     }
 
     public AdapterStatus getAdapterStatus() {
         return adapterStatus;
     }
+
+    public int getHttpStatusCode() {
+        return httpStatusCode;
+    }
+
+    /**
+     * Returns whether the endpoint responded with a {@code 4xx} status, i.e. the request is rejected.
+     */
+    public boolean isClientError() {
+        return httpStatusCode >= 400 && httpStatusCode < 500;
+    }
+
+    /**
+     * Returns whether the endpoint responded with a {@code 5xx} status.
+     */
+    public boolean isServerError() {
+        return httpStatusCode >= 500 && httpStatusCode < 600;
+    }
 }
@@ -4,6 +4,7 @@ import com.inomera.integration.model.AdapterStatus;
 import com.inomera.integration.model.HttpAdapterRequest;
 
 import java.io.IOException;
+import java.io.Serial;
 
 
 /**
@@ -14,6 +15,9 @@ import java.io.IOException;
  */
 public class AdapterIOException extends AdapterException {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /**
      * The request data that was used in the http request where the actual IOException occurs.
      */
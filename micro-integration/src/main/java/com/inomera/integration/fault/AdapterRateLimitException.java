@@ -0,0 +1,34 @@
+package com.inomera.integration.fault;
+
+import com.inomera.integration.model.AdapterStatus;
+
+import java.io.Serial;
+
+
+/**
+ * Adapter exception of a call rejected by the client side rate limit, the endpoint is not called.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ * @see AdapterStatus#createStatusRateLimited()
+ */
+public class AdapterRateLimitException extends AdapterException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String rateLimiterName;
+
+    public AdapterRateLimitException(String rateLimiterName) {
+        super(AdapterStatus.createStatusRateLimited());
+        this.rateLimiterName = rateLimiterName;
+    }
+
+    public String getRateLimiterName() {
+        return rateLimiterName;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Rate limit is exceeded, name : " + rateLimiterName;
+    }
+}
@@ -2,6 +2,8 @@ package com.inomera.integration.fault;
 
 import com.inomera.integration.model.AdapterStatus;
 
+import java.io.Serial;
+
 
 /**
  * Represents serialization exceptions, like json or xml serialization. for request or response body
@@ -12,8 +14,15 @@ import com.inomera.integration.model.AdapterStatus;
  */
 public class AdapterSerializationException extends AdapterException {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     public AdapterSerializationException(Exception cause, AdapterStatus adapterStatus) {
         super(cause, adapterStatus);
     }
 
+    public AdapterSerializationException(Exception cause, AdapterStatus adapterStatus, int httpStatusCode) {
+        super(cause, adapterStatus, httpStatusCode);
+    }
+
 }
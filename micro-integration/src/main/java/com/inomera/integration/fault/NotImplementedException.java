@@ -1,7 +1,12 @@
 package com.inomera.integration.fault;
 
+import java.io.Serial;
+
 public class NotImplementedException extends UnsupportedOperationException {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     public NotImplementedException() {
     }
 
@@ -18,14 +18,21 @@ import java.io.Serializable;
  *                    endpoint.
  * @param description Response description of endpoint or default response description if there is no response
  *                    description coming from endpoint.
+ * @param stale       Whether the response is an expired cached response, served while it is refreshed or
+ *                    because the endpoint failed.
  * @author Burak Dogan Akyildiz, Turgay Can.
  * @see Status
  */
-public record AdapterStatus(Status status, int code, String description) implements Serializable {
+public record AdapterStatus(Status status, int code, String description, boolean stale)
+        implements Serializable {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
+    public AdapterStatus(Status status, int code, String description) {
+        this(status, code, description, false);
+    }
+
     public static AdapterStatus createSuccess() {
         return new AdapterStatus(Status.SUCCESS, Status.SUCCESS.getCode(), "Success");
     }
@@ -53,16 +60,91 @@ public record AdapterStatus(Status status, int code, String description) impleme
                 AdapterConstants.BUSINESS_ERROR_STATUS_DESCRIPTION);
     }
 
+    /**
+     * Creates the technical error status of a call rejected by an open circuit breaker.
+     */
+    public static AdapterStatus createStatusCircuitOpen() {
+        return new AdapterStatus(Status.TECHNICAL_ERROR, AdapterConstants.CIRCUIT_OPEN_STATUS_CODE,
+                AdapterConstants.CIRCUIT_OPEN_STATUS_DESCRIPTION);
+    }
+
+    /**
+     * Creates the technical error status of a call rejected by a full bulkhead.
+     */
+    public static AdapterStatus createStatusBulkheadFull() {
+        return new AdapterStatus(Status.TECHNICAL_ERROR, AdapterConstants.BULKHEAD_FULL_STATUS_CODE,
+                AdapterConstants.BULKHEAD_FULL_STATUS_DESCRIPTION);
+    }
+
+    /**
+     * Creates the technical error status of a call rejected by the adaptive concurrency limit.
+     */
+    public static AdapterStatus createStatusConcurrencyLimitExceeded() {
+        return new AdapterStatus(Status.TECHNICAL_ERROR, AdapterConstants.CONCURRENCY_LIMIT_STATUS_CODE,
+                AdapterConstants.CONCURRENCY_LIMIT_STATUS_DESCRIPTION);
+    }
+
+    /**
+     * Creates the technical error status of a call rejected by the client side rate limit.
+     */
+    public static AdapterStatus createStatusRateLimited() {
+        return new AdapterStatus(Status.TECHNICAL_ERROR, AdapterConstants.RATE_LIMITED_STATUS_CODE,
+                AdapterConstants.RATE_LIMITED_STATUS_DESCRIPTION);
+    }
+
+    /**
+     * Creates the technical error status of a call that is not sent because its deadline is exceeded.
+     */
+    public static AdapterStatus createStatusDeadlineExceeded() {
+        return new AdapterStatus(Status.TECHNICAL_ERROR, AdapterConstants.DEADLINE_EXCEEDED_STATUS_CODE,
+                AdapterConstants.DEADLINE_EXCEEDED_STATUS_DESCRIPTION);
+    }
+
     public boolean isSuccess() {
         return Status.SUCCESS.equals(this.status);
     }
 
+    public boolean isCircuitOpen() {
+        return Status.TECHNICAL_ERROR.equals(this.status)
+                && this.code == AdapterConstants.CIRCUIT_OPEN_STATUS_CODE;
+    }
+
+    public boolean isBulkheadFull() {
+        return Status.TECHNICAL_ERROR.equals(this.status)
+                && this.code == AdapterConstants.BULKHEAD_FULL_STATUS_CODE;
+    }
+
+    public boolean isConcurrencyLimitExceeded() {
+        return Status.TECHNICAL_ERROR.equals(this.status)
+                && this.code == AdapterConstants.CONCURRENCY_LIMIT_STATUS_CODE;
+    }
+
+    public boolean isRateLimited() {
+        return Status.TECHNICAL_ERROR.equals(this.status)
+                && this.code == AdapterConstants.RATE_LIMITED_STATUS_CODE;
+    }
+
+    public boolean isDeadlineExceeded() {
+        return Status.TECHNICAL_ERROR.equals(this.status)
+                && this.code == AdapterConstants.DEADLINE_EXCEEDED_STATUS_CODE;
+    }
+
+    /**
+     * Returns a copy of this status flagged as stale.
+     *
+     * @return stale status
+     */
+    public AdapterStatus asStale() {
+        return this.stale ? this : new AdapterStatus(this.status, this.code, this.description, true);
+    }
+
     @Override
     public String toString() {
         return "AdapterStatus{" +
                 "status=" + status +
                 ", code='" + code + '\'' +
                 ", description='" + description + '\'' +
+                ", stale=" + stale +
                 '}';
     }
 }
@@ -0,0 +1,138 @@
+package com.inomera.integration.model;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Point in time a call must be completed by, e.g.
+ * <pre>{@code
+ * AdapterResponse<Countries> response = Deadline.call(Deadline.after(Duration.ofMillis(800)),
+ *         () -> countryAdapter.getCountries());
+ * }</pre>
+ * Adapter calls made within {@link #call(Deadline, Supplier)} carry the deadline of the calling
+ * thread in {@link HttpAdapterRequest#getDeadline()}; waits for a bulkhead slot or a rate limit
+ * permit, retries, hedges and http timeouts are capped by its remaining time, and a call that cannot
+ * be started before it is not sent. Nested deadlines never extend the outer one.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Creates a deadline the given time budget later.
+     *
+     * @param timeout remaining time budget
+     * @return deadline
+     */
+    public static Deadline after(Duration timeout) {
+        return afterNanos(timeout.toNanos());
+    }
+
+    /**
+     * Creates a deadline the given milliseconds later, e.g. from a time budget received from upstream.
+     *
+     * @param timeoutMillis remaining time budget in milliseconds
+     * @return deadline
+     */
+    public static Deadline afterMillis(long timeoutMillis) {
+        return afterNanos(TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    private static Deadline afterNanos(long timeoutNanos) {
+        return new Deadline(System.nanoTime() + timeoutNanos);
+    }
+
+    /**
+     * Returns the deadline of the calling thread.
+     *
+     * @return current deadline, null if there is none
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs the call with the given deadline as the deadline of the calling thread, or with the current
+     * deadline if it is earlier. The previous deadline is restored when the call returns.
+     *
+     * @param deadline deadline of the call, the current deadline is kept when null
+     * @param call     call to run
+     * @param <T>      result type
+     * @return result of the call
+     */
+    public static <T> T call(Deadline deadline, Supplier<T> call) {
+        final Deadline previous = CURRENT.get();
+        final Deadline effective = earliest(previous, deadline);
+        if (effective == previous) {
+            return call.get();
+        }
+        CURRENT.set(effective);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Returns the earlier of the given deadlines.
+     *
+     * @param first  deadline or null
+     * @param second deadline or null
+     * @return earlier deadline, null if both are null
+     */
+    public static Deadline earliest(Deadline first, Deadline second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        return first.deadlineNanos - second.deadlineNanos <= 0 ? first : second;
+    }
+
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(remainingNanos());
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(remainingNanos());
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Caps the given timeout by the remaining time, e.g. a configured read timeout.
+     *
+     * @param timeoutMillis timeout in milliseconds, no timeout when zero or negative
+     * @return the smaller of the timeout and the remaining time in milliseconds, at least one
+     */
+    public long capMillis(long timeoutMillis) {
+        final long remaining = Math.max(1, remainingMillis());
+        return timeoutMillis > 0 ? Math.min(timeoutMillis, remaining) : remaining;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline{remaining=" + remainingMillis() + "ms}";
+    }
+}
@@ -32,6 +32,12 @@ public class HttpAdapterRequest {
      * Request body, this body data format should be same as endpoint api required format.
      */
     private Object requestBody;
+    /**
+     * Deadline of the call, null if the call has no deadline.
+     * <p>
+     * Http clients cap their timeouts by its remaining time.
+     */
+    private Deadline deadline;
 
     public HttpMethod getMethod() {
         return method;
@@ -65,6 +71,14 @@ public class HttpAdapterRequest {
         this.requestBody = requestBody;
     }
 
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+    }
+
     @Override
     public String toString() {
         return "HttpAdapterRequest{" +
@@ -72,6 +86,7 @@ public class HttpAdapterRequest {
                 ", url='" + url + '\'' +
                 ", headers=" + headers +
                 ", requestBody=" + requestBody +
+                ", deadline=" + deadline +
                 '}';
     }
 }
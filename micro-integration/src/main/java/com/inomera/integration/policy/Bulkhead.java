@@ -0,0 +1,286 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.BulkheadProperties;
+import com.inomera.integration.fault.AdapterBulkheadFullException;
+import com.inomera.integration.fault.AdapterDeadlineExceededException;
+import com.inomera.integration.fault.AdapterException;
+import com.inomera.integration.model.Deadline;
+import com.inomera.integration.model.HttpAdapterResponse;
+import com.inomera.integration.util.AdapterExecutors;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Limits concurrent calls of an adapter, see {@link BulkheadProperties}. Waiting calls are queued in
+ * arrival order as futures, so asynchronous calls wait for a slot without blocking a thread and blocking
+ * calls wait on their own thread. A call that cannot get a slot fails with
+ * {@link AdapterBulkheadFullException}, a call whose deadline expires while it is waiting fails with
+ * {@link AdapterDeadlineExceededException}.
+ * <p>
+ * Limits can be updated while calls are running; when the concurrency limit is lowered running calls
+ * complete and new calls wait until the running calls drop below the new limit.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public class Bulkhead {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<CompletableFuture<Void>> waitingCalls = new ArrayDeque<>();
+    private volatile BulkheadProperties properties;
+    private int activeCalls;
+
+    public Bulkhead(BulkheadProperties properties) {
+        this.properties = properties;
+    }
+
+    public BulkheadProperties getProperties() {
+        return properties;
+    }
+
+    /**
+     * Applies new limits, waiting calls get the slots added by a higher concurrency limit.
+     *
+     * @param properties bulkhead properties
+     */
+    public void updateProperties(BulkheadProperties properties) {
+        final List<CompletableFuture<Void>> grantedCalls;
+        lock.lock();
+        try {
+            this.properties = properties;
+            grantedCalls = grantWaitingCalls();
+        } finally {
+            lock.unlock();
+        }
+        grantedCalls.forEach(grantedCall -> grantedCall.complete(null));
+    }
+
+    /**
+     * Runs the blocking call in a slot, waits for a free slot if required.
+     *
+     * @param call blocking call
+     * @param <O>  response body type
+     * @return response of the call
+     * @throws AdapterBulkheadFullException if no slot is available in time
+     */
+    public <O> HttpAdapterResponse<O> execute(Supplier<HttpAdapterResponse<O>> call) {
+        return execute(call, null);
+    }
+
+    /**
+     * Runs the blocking call in a slot, waits for a free slot until the max wait or the deadline.
+     *
+     * @param call     blocking call
+     * @param deadline deadline of the call, null if the call has no deadline
+     * @param <O>      response body type
+     * @return response of the call
+     * @throws AdapterBulkheadFullException      if no slot is available in time
+     * @throws AdapterDeadlineExceededException if no slot is available before the deadline
+     */
+    public <O> HttpAdapterResponse<O> execute(Supplier<HttpAdapterResponse<O>> call, Deadline deadline) {
+        acquire(deadline);
+        try {
+            return call.get();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Starts the asynchronous call when a slot is available, the slot is released when the call
+     * completes.
+     *
+     * @param call asynchronous call
+     * @param <O>  response body type
+     * @return future of the response, failed with {@link AdapterBulkheadFullException} if no slot is
+     * available in time
+     */
+    public <O> CompletableFuture<HttpAdapterResponse<O>> executeAsync(
+            Supplier<CompletableFuture<HttpAdapterResponse<O>>> call) {
+        return executeAsync(call, null);
+    }
+
+    /**
+     * Starts the asynchronous call when a slot is available before the max wait or the deadline, the
+     * slot is released when the call completes.
+     *
+     * @param call     asynchronous call
+     * @param deadline deadline of the call, null if the call has no deadline
+     * @param <O>      response body type
+     * @return future of the response, failed with {@link AdapterBulkheadFullException} or
+     * {@link AdapterDeadlineExceededException} if no slot is available in time
+     */
+    public <O> CompletableFuture<HttpAdapterResponse<O>> executeAsync(
+            Supplier<CompletableFuture<HttpAdapterResponse<O>>> call, Deadline deadline) {
+        return acquireAsync(deadline).thenCompose(ignored -> {
+            final CompletableFuture<HttpAdapterResponse<O>> future;
+            try {
+                future = call.get();
+            } catch (RuntimeException | Error e) {
+                release();
+                throw e;
+            }
+            return future.whenComplete((response, throwable) -> release());
+        });
+    }
+
+    /**
+     * Acquires a slot, blocks the calling thread while the call is waiting.
+     *
+     * @throws AdapterBulkheadFullException if no slot is available in time
+     */
+    public void acquire() {
+        acquire(null);
+    }
+
+    /**
+     * Acquires a slot before the max wait or the deadline, blocks the calling thread while the call is
+     * waiting.
+     *
+     * @param deadline deadline of the call, null if the call has no deadline
+     * @throws AdapterBulkheadFullException      if no slot is available in time
+     * @throws AdapterDeadlineExceededException if no slot is available before the deadline
+     */
+    public void acquire(Deadline deadline) {
+        final CompletableFuture<Void> slot = acquireAsync(deadline);
+        try {
+            slot.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(slot);
+            throw new AdapterBulkheadFullException();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof AdapterException adapterException ? adapterException
+                    : new AdapterBulkheadFullException();
+        }
+    }
+
+    /**
+     * Returns a future completed when a slot is acquired.
+     *
+     * @return future of the slot, failed with {@link AdapterBulkheadFullException} if no slot is
+     * available in time
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        return acquireAsync(null);
+    }
+
+    /**
+     * Returns a future completed when a slot is acquired, a waiting call waits until the max wait or the
+     * deadline.
+     *
+     * @param deadline deadline of the call, null if the call has no deadline
+     * @return future of the slot, failed with {@link AdapterBulkheadFullException} or
+     * {@link AdapterDeadlineExceededException} if no slot is available in time
+     */
+    public CompletableFuture<Void> acquireAsync(Deadline deadline) {
+        final BulkheadProperties current = this.properties;
+        final CompletableFuture<Void> slot = new CompletableFuture<>();
+        lock.lock();
+        try {
+            if (activeCalls < current.getMaxConcurrentCalls() && waitingCalls.isEmpty()) {
+                activeCalls++;
+                return CompletableFuture.completedFuture(null);
+            }
+            if (waitingCalls.size() >= current.getMaxWaitingCalls()) {
+                return CompletableFuture.failedFuture(new AdapterBulkheadFullException());
+            }
+            if (deadline != null && deadline.isExpired()) {
+                return CompletableFuture.failedFuture(new AdapterDeadlineExceededException("no bulkhead slot"));
+            }
+            waitingCalls.addLast(slot);
+        } finally {
+            lock.unlock();
+        }
+        final long maxWait = current.getMaxWaitOrDefault();
+        final boolean deadlineFirst = deadline != null && deadline.remainingMillis() < maxWait;
+        AdapterExecutors.scheduler().schedule(() -> timeout(slot, deadlineFirst),
+                deadlineFirst ? deadline.remainingNanos() : TimeUnit.MILLISECONDS.toNanos(maxWait),
+                TimeUnit.NANOSECONDS);
+        return slot;
+    }
+
+    /**
+     * Releases the slot of a completed call, the first waiting call takes it.
+     */
+    public void release() {
+        final List<CompletableFuture<Void>> grantedCalls;
+        lock.lock();
+        try {
+            activeCalls--;
+            grantedCalls = grantWaitingCalls();
+        } finally {
+            lock.unlock();
+        }
+        grantedCalls.forEach(grantedCall -> grantedCall.complete(null));
+    }
+
+    public int getActiveCalls() {
+        lock.lock();
+        try {
+            return activeCalls;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWaitingCalls() {
+        lock.lock();
+        try {
+            return waitingCalls.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes the free slots for waiting calls, the futures are completed by the caller outside the lock.
+     */
+    private List<CompletableFuture<Void>> grantWaitingCalls() {
+        List<CompletableFuture<Void>> grantedCalls = List.of();
+        while (activeCalls < properties.getMaxConcurrentCalls() && !waitingCalls.isEmpty()) {
+            if (grantedCalls.isEmpty()) {
+                grantedCalls = new ArrayList<>();
+            }
+            grantedCalls.add(waitingCalls.pollFirst());
+            activeCalls++;
+        }
+        return grantedCalls;
+    }
+
+    private void timeout(CompletableFuture<Void> slot, boolean deadlineExceeded) {
+        final boolean removed;
+        lock.lock();
+        try {
+            removed = waitingCalls.remove(slot);
+        } finally {
+            lock.unlock();
+        }
+        if (removed) {
+            slot.completeExceptionally(deadlineExceeded
+                    ? new AdapterDeadlineExceededException("no bulkhead slot before the deadline")
+                    : new AdapterBulkheadFullException());
+        }
+    }
+
+    private void cancel(CompletableFuture<Void> slot) {
+        final boolean removed;
+        lock.lock();
+        try {
+            removed = waitingCalls.remove(slot);
+        } finally {
+            lock.unlock();
+        }
+        if (!removed) {
+            // the slot is granted while the thread is interrupted
+            slot.thenRun(this::release);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.model.HttpAdapterResponse;
+
+/**
+ * Cached http response with its freshness and validators.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public final class CachedResponse {
+
+    private final HttpAdapterResponse<?> response;
+    private final long storedAt;
+    private final long expiresAt;
+    private final long retainUntil;
+    private final String etag;
+    private final String lastModified;
+    private final long size;
+
+    /**
+     * @param response     cached http response
+     * @param storedAt     store time in epoch milliseconds
+     * @param expiresAt    response is fresh until this time in epoch milliseconds
+     * @param retainUntil  response is kept in the cache until this time in epoch milliseconds
+     * @param etag         {@code ETag} of the response or null
+     * @param lastModified {@code Last-Modified} of the response or null
+     * @param size         estimated size of the response in bytes
+     */
+    public CachedResponse(HttpAdapterResponse<?> response, long storedAt, long expiresAt, long retainUntil,
+                          String etag, String lastModified, long size) {
+        this.response = response;
+        this.storedAt = storedAt;
+        this.expiresAt = expiresAt;
+        this.retainUntil = Math.max(retainUntil, expiresAt);
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.size = size;
+    }
+
+    public HttpAdapterResponse<?> getResponse() {
+        return response;
+    }
+
+    public long getStoredAt() {
+        return storedAt;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public long getRetainUntil() {
+        return retainUntil;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public boolean isFresh(long now) {
+        return now < expiresAt;
+    }
+
+    public boolean isRetained(long now) {
+        return now < retainUntil;
+    }
+
+    @Override
+    public String toString() {
+        return "CachedResponse{" +
+                "statusCode=" + response.statusCode() +
+                ", storedAt=" + storedAt +
+                ", expiresAt=" + expiresAt +
+                ", retainUntil=" + retainUntil +
+                ", etag='" + etag + '\'' +
+                ", lastModified='" + lastModified + '\'' +
+                ", size=" + size +
+                '}';
+    }
+}
@@ -0,0 +1,284 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.CircuitBreakerProperties;
+import com.inomera.integration.constant.Status;
+import com.inomera.integration.fault.AdapterCircuitOpenException;
+import com.inomera.integration.fault.AdapterDeadlineExceededException;
+import com.inomera.integration.fault.AdapterException;
+import com.inomera.integration.model.HttpAdapterResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Count based sliding window circuit breaker, see {@link CircuitBreakerProperties}. Calls acquire a
+ * permission before they are sent and record their outcome when they complete. A rejected call fails
+ * with {@link AdapterCircuitOpenException}.
+ * <p>
+ * Properties can be updated while the breaker is in use, recorded outcomes are kept unless the window
+ * size changes.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public class CircuitBreaker {
+
+    private static final Logger LOGGER = Logger.getLogger(CircuitBreaker.class.getName());
+
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final String name;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile CircuitBreakerProperties properties;
+    private volatile CircuitState state = CircuitState.CLOSED;
+
+    /**
+     * Outcome flags of the last calls, a ring buffer.
+     */
+    private byte[] window;
+    private int windowIndex;
+    private int recordedCalls;
+    private int failedCalls;
+    private int slowCalls;
+    private long openedAt;
+    private int probeCalls;
+    private int completedProbeCalls;
+    private int failedProbeCalls;
+    private int slowProbeCalls;
+
+    public CircuitBreaker(String name, CircuitBreakerProperties properties) {
+        this.name = name;
+        this.properties = properties;
+        this.window = new byte[properties.getWindowSizeOrDefault()];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CircuitBreakerProperties getProperties() {
+        return properties;
+    }
+
+    public CircuitState getState() {
+        return state;
+    }
+
+    /**
+     * Applies new properties, recorded outcomes are dropped only when the window size changes.
+     *
+     * @param properties circuit breaker properties
+     */
+    public void updateProperties(CircuitBreakerProperties properties) {
+        lock.lock();
+        try {
+            if (properties.getWindowSizeOrDefault() != this.window.length) {
+                this.window = new byte[properties.getWindowSizeOrDefault()];
+                resetWindow();
+            }
+            this.properties = properties;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the blocking call if the circuit permits it and records its outcome.
+     *
+     * @param call blocking call
+     * @param <O>  response body type
+     * @return response of the call
+     * @throws AdapterCircuitOpenException if the circuit is open
+     */
+    public <O> HttpAdapterResponse<O> execute(Supplier<HttpAdapterResponse<O>> call) {
+        acquirePermission();
+        final long start = System.nanoTime();
+        final HttpAdapterResponse<O> response;
+        try {
+            response = call.get();
+        } catch (RuntimeException | Error e) {
+            onComplete(System.nanoTime() - start, isFailure(e));
+            throw e;
+        }
+        onComplete(System.nanoTime() - start, isFailure(response));
+        return response;
+    }
+
+    /**
+     * Starts the asynchronous call if the circuit permits it and records its outcome.
+     *
+     * @param call asynchronous call
+     * @param <O>  response body type
+     * @return future of the response, failed with {@link AdapterCircuitOpenException} if the circuit is
+     * open
+     */
+    public <O> CompletableFuture<HttpAdapterResponse<O>> executeAsync(
+            Supplier<CompletableFuture<HttpAdapterResponse<O>>> call) {
+        try {
+            acquirePermission();
+        } catch (AdapterCircuitOpenException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        final long start = System.nanoTime();
+        final CompletableFuture<HttpAdapterResponse<O>> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            onComplete(System.nanoTime() - start, isFailure(e));
+            return CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((response, throwable) -> onComplete(System.nanoTime() - start,
+                throwable != null ? isFailure(unwrap(throwable)) : isFailure(response)));
+    }
+
+    /**
+     * Acquires a permission to send a call.
+     *
+     * @throws AdapterCircuitOpenException if the circuit is open or all probe calls are in flight
+     */
+    public void acquirePermission() {
+        if (state == CircuitState.CLOSED) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (state == CircuitState.OPEN) {
+                if (System.nanoTime() - openedAt < TimeUnit.MILLISECONDS.toNanos(
+                        properties.getOpenDurationOrDefault())) {
+                    throw new AdapterCircuitOpenException(name);
+                }
+                transitionTo(CircuitState.HALF_OPEN);
+            }
+            if (state == CircuitState.HALF_OPEN) {
+                if (probeCalls >= properties.getHalfOpenCallsOrDefault()) {
+                    throw new AdapterCircuitOpenException(name);
+                }
+                probeCalls++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records the outcome of a permitted call.
+     *
+     * @param durationNanos call duration in nanoseconds
+     * @param failure       whether the call failed
+     */
+    public void onComplete(long durationNanos, boolean failure) {
+        final CircuitBreakerProperties current = this.properties;
+        final boolean slow = durationNanos >= TimeUnit.MILLISECONDS.toNanos(current.getSlowCallDurationOrDefault());
+        lock.lock();
+        try {
+            if (state == CircuitState.HALF_OPEN) {
+                completedProbeCalls++;
+                failedProbeCalls += failure ? 1 : 0;
+                slowProbeCalls += slow ? 1 : 0;
+                if (completedProbeCalls >= current.getHalfOpenCallsOrDefault()) {
+                    transitionTo(isOverThreshold(completedProbeCalls, failedProbeCalls, slowProbeCalls, current)
+                            ? CircuitState.OPEN : CircuitState.CLOSED);
+                }
+                return;
+            }
+            if (state == CircuitState.OPEN) {
+                // a call permitted before the circuit opened
+                return;
+            }
+            record((byte) ((failure ? FAILURE : 0) | (slow ? SLOW : 0)));
+            if (recordedCalls >= Math.min(current.getMinimumCallsOrDefault(), window.length)
+                    && isOverThreshold(recordedCalls, failedCalls, slowCalls, current)) {
+                transitionTo(CircuitState.OPEN);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(byte outcome) {
+        if (recordedCalls == window.length) {
+            final byte evicted = window[windowIndex];
+            failedCalls -= (evicted & FAILURE) != 0 ? 1 : 0;
+            slowCalls -= (evicted & SLOW) != 0 ? 1 : 0;
+        } else {
+            recordedCalls++;
+        }
+        window[windowIndex] = outcome;
+        windowIndex = (windowIndex + 1) % window.length;
+        failedCalls += (outcome & FAILURE) != 0 ? 1 : 0;
+        slowCalls += (outcome & SLOW) != 0 ? 1 : 0;
+    }
+
+    private static boolean isOverThreshold(int calls, int failures, int slow, CircuitBreakerProperties properties) {
+        return failures * 100L >= (long) properties.getFailureRateThresholdOrDefault() * calls
+                || slow * 100L >= (long) properties.getSlowCallRateThresholdOrDefault() * calls;
+    }
+
+    private void transitionTo(CircuitState newState) {
+        final CircuitState oldState = this.state;
+        switch (newState) {
+            case OPEN -> openedAt = System.nanoTime();
+            case HALF_OPEN -> {
+                probeCalls = 0;
+                completedProbeCalls = 0;
+                failedProbeCalls = 0;
+                slowProbeCalls = 0;
+            }
+            case CLOSED -> resetWindow();
+        }
+        this.state = newState;
+        LOGGER.log(newState == CircuitState.OPEN ? Level.WARNING : Level.INFO,
+                "Circuit breaker state changed, name : " + name + ", " + oldState + " -> " + newState);
+    }
+
+    private void resetWindow() {
+        windowIndex = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+    }
+
+    /**
+     * Server error responses and technical errors without a response (io errors, timeouts) are failures,
+     * except rejections of this circuit breaker. Client error responses and business errors are not, they
+     * don't tell anything about the health of the endpoint.
+     */
+    static boolean isFailure(Throwable throwable) {
+        if (throwable instanceof AdapterCircuitOpenException || throwable instanceof AdapterDeadlineExceededException) {
+            // the endpoint is not called
+            return false;
+        }
+        if (throwable instanceof AdapterException adapterException) {
+            if (adapterException.getHttpStatusCode() > 0) {
+                // http clients report error responses as exceptions that keep the http status
+                return adapterException.isServerError();
+            }
+            if (adapterException.getAdapterStatus() != null) {
+                return Status.TECHNICAL_ERROR.equals(adapterException.getAdapterStatus().status());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Server error responses are failures, for clients returning error responses instead of throwing.
+     */
+    static boolean isFailure(HttpAdapterResponse<?> response) {
+        return response == null || response.statusCode() >= 500;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,59 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.CircuitBreakerProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Circuit breakers by name, adapters use their config key as name so adapter instances of the same
+ * endpoint share one circuit.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public class CircuitBreakerRegistry {
+
+    private static final CircuitBreakerRegistry DEFAULT = new CircuitBreakerRegistry();
+
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the registry shared by all adapters of the JVM.
+     *
+     * @return default registry
+     */
+    public static CircuitBreakerRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the circuit breaker of the name, created with the given properties on first use. An
+     * existing circuit breaker is updated when the properties changed.
+     *
+     * @param name       circuit breaker name
+     * @param properties current properties
+     * @return circuit breaker
+     */
+    public CircuitBreaker get(String name, CircuitBreakerProperties properties) {
+        final CircuitBreaker circuitBreaker = circuitBreakers.computeIfAbsent(name,
+                key -> new CircuitBreaker(key, properties));
+        if (!circuitBreaker.getProperties().equals(properties)) {
+            circuitBreaker.updateProperties(properties);
+        }
+        return circuitBreaker;
+    }
+
+    /**
+     * Returns the circuit breaker of the name if it is created.
+     *
+     * @param name circuit breaker name
+     * @return circuit breaker or null
+     */
+    public CircuitBreaker find(String name) {
+        return circuitBreakers.get(name);
+    }
+
+    public void remove(String name) {
+        circuitBreakers.remove(name);
+    }
+}
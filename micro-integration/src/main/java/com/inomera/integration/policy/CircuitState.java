@@ -0,0 +1,21 @@
+package com.inomera.integration.policy;
+
+/**
+ * States of a {@link CircuitBreaker}.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public enum CircuitState {
+    /**
+     * Calls are sent, their outcomes are recorded.
+     */
+    CLOSED,
+    /**
+     * Calls fail fast without calling the endpoint.
+     */
+    OPEN,
+    /**
+     * A limited number of probe calls are sent to decide whether the circuit closes.
+     */
+    HALF_OPEN
+}
@@ -0,0 +1,264 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.ConcurrencyLimitAlgorithm;
+import com.inomera.integration.config.model.ConcurrencyLimitProperties;
+import com.inomera.integration.constant.Status;
+import com.inomera.integration.fault.AdapterBulkheadFullException;
+import com.inomera.integration.fault.AdapterCircuitOpenException;
+import com.inomera.integration.fault.AdapterConcurrencyLimitException;
+import com.inomera.integration.fault.AdapterDeadlineExceededException;
+import com.inomera.integration.fault.AdapterException;
+import com.inomera.integration.model.HttpAdapterResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Adaptive concurrency limiter, see {@link ConcurrencyLimitProperties}. Each call is measured from the
+ * time it is sent until its response is received, the round trip time and the number of calls in
+ * flight when it was sent adjust the limit. Calls over the limit fail fast with
+ * {@link AdapterConcurrencyLimitException}.
+ * <p>
+ * Properties can be updated while the limiter is in use, the current limit is kept within the new
+ * bounds.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public class ConcurrencyLimiter {
+
+    private static final Logger LOGGER = Logger.getLogger(ConcurrencyLimiter.class.getName());
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile ConcurrencyLimitProperties properties;
+    private volatile double limit;
+    private volatile int inFlightCalls;
+
+    /**
+     * Exponential moving average of the round trip times (in nanoseconds) of the gradient algorithm.
+     */
+    private double longRtt;
+
+    public ConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        this.limit = clamp(properties.getInitialLimitOrDefault(), properties);
+    }
+
+    public ConcurrencyLimitProperties getProperties() {
+        return properties;
+    }
+
+    /**
+     * Returns the current limit of concurrent calls, e.g. to publish it as a gauge metric.
+     *
+     * @return current limit
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlightCalls() {
+        return inFlightCalls;
+    }
+
+    /**
+     * Applies new properties, the current limit is kept within the new bounds.
+     *
+     * @param properties concurrency limit properties
+     */
+    public void updateProperties(ConcurrencyLimitProperties properties) {
+        lock.lock();
+        try {
+            if (properties.getAlgorithmOrDefault() != this.properties.getAlgorithmOrDefault()) {
+                longRtt = 0;
+            }
+            this.properties = properties;
+            this.limit = clamp(this.limit, properties);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the blocking call if the limit permits it and adjusts the limit by its outcome.
+     *
+     * @param call blocking call
+     * @param <O>  response body type
+     * @return response of the call
+     * @throws AdapterConcurrencyLimitException if the limit is reached
+     */
+    public <O> HttpAdapterResponse<O> execute(Supplier<HttpAdapterResponse<O>> call) {
+        final int inFlight = acquire();
+        final long start = System.nanoTime();
+        final HttpAdapterResponse<O> response;
+        try {
+            response = call.get();
+        } catch (RuntimeException | Error e) {
+            onComplete(System.nanoTime() - start, inFlight, e, null);
+            throw e;
+        }
+        onComplete(System.nanoTime() - start, inFlight, null, response);
+        return response;
+    }
+
+    /**
+     * Starts the asynchronous call if the limit permits it and adjusts the limit by its outcome.
+     *
+     * @param call asynchronous call
+     * @param <O>  response body type
+     * @return future of the response, failed with {@link AdapterConcurrencyLimitException} if the limit
+     * is reached
+     */
+    public <O> CompletableFuture<HttpAdapterResponse<O>> executeAsync(
+            Supplier<CompletableFuture<HttpAdapterResponse<O>>> call) {
+        final int inFlight;
+        try {
+            inFlight = acquire();
+        } catch (AdapterConcurrencyLimitException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        final long start = System.nanoTime();
+        final CompletableFuture<HttpAdapterResponse<O>> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            onComplete(System.nanoTime() - start, inFlight, e, null);
+            return CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((response, throwable) -> onComplete(System.nanoTime() - start, inFlight,
+                throwable != null ? unwrap(throwable) : null, response));
+    }
+
+    /**
+     * Acquires a slot of the limit.
+     *
+     * @return number of calls in flight including the acquiring call
+     * @throws AdapterConcurrencyLimitException if the limit is reached
+     */
+    public int acquire() {
+        lock.lock();
+        try {
+            if (inFlightCalls >= (int) limit) {
+                throw new AdapterConcurrencyLimitException((int) limit);
+            }
+            return ++inFlightCalls;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the slot of a completed call and adjusts the limit by its outcome.
+     *
+     * @param rttNanos  round trip time of the call in nanoseconds
+     * @param inFlight  number of calls in flight when the call was sent
+     * @param throwable failure of the call, null if a response is received
+     * @param response  response of the call
+     */
+    void onComplete(long rttNanos, int inFlight, Throwable throwable, HttpAdapterResponse<?> response) {
+        final ConcurrencyLimitProperties current = this.properties;
+        lock.lock();
+        try {
+            inFlightCalls--;
+            if (isRejection(throwable)) {
+                // the endpoint is not called, there is nothing to measure
+                return;
+            }
+            final int oldLimit = (int) limit;
+            if (current.getAlgorithmOrDefault() == ConcurrencyLimitAlgorithm.AIMD) {
+                updateAimdLimit(inFlight, isDropped(rttNanos, throwable, response, current), current);
+            } else {
+                updateGradientLimit(rttNanos, inFlight, current);
+            }
+            if ((int) limit != oldLimit) {
+                LOGGER.log(Level.FINE, "Concurrency limit changed, " + oldLimit + " -> " + (int) limit);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void updateAimdLimit(int inFlight, boolean dropped, ConcurrencyLimitProperties current) {
+        if (dropped) {
+            limit = clamp(limit * current.getBackoffRatioOrDefault(), current);
+        } else if (inFlight * 2 >= limit) {
+            // the limit grows only while it is used, an idle adapter keeps its limit
+            limit = clamp(limit + 1, current);
+        }
+    }
+
+    private void updateGradientLimit(long rttNanos, int inFlight, ConcurrencyLimitProperties current) {
+        final double shortRtt = Math.max(rttNanos, 1);
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt += (shortRtt - longRtt) * 2 / (current.getLongWindowOrDefault() + 1);
+        }
+        if (longRtt / shortRtt > 2) {
+            // latency recovered from a long overload, the average follows it faster
+            longRtt *= 0.95;
+        }
+        if (inFlight * 2 < limit) {
+            return;
+        }
+        final double gradient = Math.max(0.5, Math.min(1.0, current.getToleranceOrDefault() * longRtt / shortRtt));
+        final double newLimit = limit * gradient + Math.sqrt(limit);
+        final double smoothing = current.getSmoothingOrDefault();
+        limit = clamp(limit * (1 - smoothing) + newLimit * smoothing, current);
+    }
+
+    private static double clamp(double limit, ConcurrencyLimitProperties properties) {
+        return Math.max(properties.getMinLimitOrDefault(), Math.min(properties.getMaxLimitOrDefault(), limit));
+    }
+
+    /**
+     * Calls rejected by a policy inside the limiter never reached the endpoint.
+     */
+    private static boolean isRejection(Throwable throwable) {
+        return throwable instanceof AdapterCircuitOpenException || throwable instanceof AdapterBulkheadFullException
+                || throwable instanceof AdapterConcurrencyLimitException
+                || throwable instanceof AdapterDeadlineExceededException;
+    }
+
+    /**
+     * Technical errors without a response (io errors, timeouts), overload responses and calls slower than
+     * the latency threshold are dropped calls. Other error responses are not, the endpoint answered them.
+     */
+    static boolean isDropped(long rttNanos, Throwable throwable, HttpAdapterResponse<?> response,
+                             ConcurrencyLimitProperties properties) {
+        if (properties.getLatencyThreshold() > 0
+                && rttNanos > TimeUnit.MILLISECONDS.toNanos(properties.getLatencyThreshold())) {
+            return true;
+        }
+        if (throwable != null) {
+            if (!(throwable instanceof AdapterException adapterException)) {
+                return true;
+            }
+            if (adapterException.getHttpStatusCode() > 0) {
+                // http clients report error responses as exceptions that keep the http status
+                return isOverload(adapterException.getHttpStatusCode());
+            }
+            return adapterException.getAdapterStatus() == null
+                    || Status.TECHNICAL_ERROR.equals(adapterException.getAdapterStatus().status());
+        }
+        return response != null && isOverload(response.statusCode());
+    }
+
+    private static boolean isOverload(int statusCode) {
+        return statusCode == 429 || statusCode == 503 || statusCode == 504;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,237 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.HealthCheckProperties;
+import com.inomera.integration.util.AdapterExecutors;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Probes the endpoints of an adapter in the background, see {@link HealthCheckProperties}. Probes are
+ * started by {@link AdapterExecutors#scheduler()} every interval and run on
+ * {@link AdapterExecutors#blockingExecutor()}, a new probe of an endpoint is not started while its previous
+ * probe is running. Endpoints are up until they fail enough probes in a row.
+ * <p>
+ * Properties and endpoints can be updated while the checker is running, endpoints with the same url keep
+ * their state.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public class HealthChecker {
+
+    private static final Logger LOGGER = Logger.getLogger(HealthChecker.class.getName());
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Predicate<String> probe;
+    private volatile HealthCheckProperties properties;
+    private volatile Map<String, Target> targets;
+    private ScheduledFuture<?> schedule;
+
+    /**
+     * Creates a stopped health checker.
+     *
+     * @param properties health check properties
+     * @param urls       urls of the endpoints
+     * @param probe      blocking probe of an endpoint url, a false result or an exception fails the probe
+     */
+    public HealthChecker(HealthCheckProperties properties, List<String> urls, Predicate<String> probe) {
+        this.properties = properties;
+        this.probe = probe;
+        this.targets = createTargets(urls, Map.of());
+    }
+
+    public HealthCheckProperties getProperties() {
+        return properties;
+    }
+
+    /**
+     * Returns the probed endpoints, e.g. to publish their health as metrics.
+     *
+     * @return probed endpoints in config order
+     */
+    public List<Target> getTargets() {
+        return List.copyOf(targets.values());
+    }
+
+    /**
+     * Returns whether the endpoint is up.
+     *
+     * @param url endpoint url
+     * @return false if the endpoint is marked down, true for endpoints that are not probed
+     */
+    public boolean isHealthy(String url) {
+        final Target target = targets.get(url);
+        return target == null || target.isHealthy();
+    }
+
+    /**
+     * Applies new properties and endpoints, a running checker is rescheduled when the interval changes.
+     *
+     * @param properties health check properties
+     * @param urls       urls of the endpoints
+     */
+    public void update(HealthCheckProperties properties, List<String> urls) {
+        lock.lock();
+        try {
+            this.targets = createTargets(urls, this.targets);
+            final boolean rescheduled = this.schedule != null
+                    && properties.getIntervalOrDefault() != this.properties.getIntervalOrDefault();
+            this.properties = properties;
+            if (rescheduled) {
+                this.schedule.cancel(false);
+                this.schedule = null;
+                start();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts probing the endpoints, the first probes are started immediately.
+     */
+    public void start() {
+        lock.lock();
+        try {
+            if (this.schedule == null) {
+                this.schedule = AdapterExecutors.scheduler().scheduleWithFixedDelay(this::probeAll, 0,
+                        this.properties.getIntervalOrDefault(), TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops probing the endpoints, running probes are completed.
+     */
+    public void stop() {
+        lock.lock();
+        try {
+            if (this.schedule != null) {
+                this.schedule.cancel(false);
+                this.schedule = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isRunning() {
+        lock.lock();
+        try {
+            return this.schedule != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void probeAll() {
+        for (Target target : targets.values()) {
+            if (!target.probing.compareAndSet(false, true)) {
+                continue;
+            }
+            try {
+                AdapterExecutors.blockingExecutor().execute(() -> {
+                    try {
+                        probe(target);
+                    } finally {
+                        target.probing.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                target.probing.set(false);
+                LOGGER.log(Level.WARNING, "Health probe couldn't be started, url : " + target.getUrl());
+            }
+        }
+    }
+
+    /**
+     * Probes the endpoint and marks it up or down when the probe reaches a threshold.
+     *
+     * @param target probed endpoint
+     */
+    void probe(Target target) {
+        boolean healthy;
+        Exception failure = null;
+        try {
+            healthy = probe.test(target.getUrl());
+        } catch (RuntimeException e) {
+            healthy = false;
+            failure = e;
+        }
+        final HealthCheckProperties current = this.properties;
+        if (healthy) {
+            target.consecutiveFailures = 0;
+            if (!target.healthy && ++target.consecutiveSuccesses >= current.getHealthyThresholdOrDefault()) {
+                target.healthy = true;
+                target.consecutiveSuccesses = 0;
+                LOGGER.log(Level.INFO, "Endpoint is up, url : " + target.getUrl());
+            }
+            return;
+        }
+        target.consecutiveSuccesses = 0;
+        if (target.healthy && ++target.consecutiveFailures >= current.getUnhealthyThresholdOrDefault()) {
+            target.healthy = false;
+            target.consecutiveFailures = 0;
+            LOGGER.log(Level.WARNING, "Endpoint is down, url : " + target.getUrl()
+                    + (failure != null ? ", failure : " + failure : ""));
+        }
+    }
+
+    private static Map<String, Target> createTargets(List<String> urls, Map<String, Target> current) {
+        if (urls == null) {
+            return Map.of();
+        }
+        final Map<String, Target> targets = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url != null && !targets.containsKey(url)) {
+                final Target existing = current.get(url);
+                targets.put(url, existing != null ? existing : new Target(url));
+            }
+        }
+        return Collections.unmodifiableMap(targets);
+    }
+
+    /**
+     * A probed endpoint and its health. Counters are updated by one probe at a time.
+     */
+    public static final class Target {
+
+        private final String url;
+        private final AtomicBoolean probing = new AtomicBoolean();
+        private volatile boolean healthy = true;
+        private volatile int consecutiveSuccesses;
+        private volatile int consecutiveFailures;
+
+        Target(String url) {
+            this.url = url;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        @Override
+        public String toString() {
+            return "Target{" +
+                    "url='" + url + '\'' +
+                    ", healthy=" + healthy +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.HedgeProperties;
+import com.inomera.integration.fault.AdapterException;
+import com.inomera.integration.model.AdapterStatus;
+import com.inomera.integration.model.Deadline;
+import com.inomera.integration.model.HttpAdapterRequest;
+import com.inomera.integration.model.HttpAdapterResponse;
+import com.inomera.integration.util.AdapterExecutors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hedges calls of an adapter, see {@link HedgeProperties}. A second attempt is sent when the first one
+ * has not answered within the hedge delay, the first response wins and the other attempt is
+ * cancelled. A failed attempt wins only when the other attempt fails too.
+ * <p>
+ * Cancelling doesn't abort the request of the losing attempt. The thread of a blocking attempt is
+ * interrupted, which blocking http clients don't observe while they wait on the socket, and the future
+ * of an asynchronous attempt only stops the race from waiting for it. The losing request completes in
+ * the background and its response is discarded, so a hedged call may still reach the endpoint twice.
+ * <p>
+ * Latencies of completed attempts are kept in a sliding window to calculate the percentile hedge
+ * delay. Hedges are paid from a token budget that every call fills by the max hedge ratio. A call whose
+ * deadline expires before the hedge delay is not hedged.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public class HedgePolicy {
+
+    private static final Logger LOGGER = Logger.getLogger(HedgePolicy.class.getName());
+
+    static final int WINDOW_SIZE = 200;
+    static final int MINIMUM_SAMPLES = 20;
+    private static final int PERCENTILE_REFRESH_SAMPLES = 16;
+
+    private static final long TOKEN_SCALE = 1000;
+    private static final long MAX_TOKENS = 10 * TOKEN_SCALE;
+
+    private final HedgeProperties properties;
+    private final ReentrantLock latencyLock = new ReentrantLock();
+    private final long[] latencies = new long[WINDOW_SIZE];
+    private int latencyIndex;
+    private int latencyCount;
+    private int samplesSinceRefresh;
+    private volatile long percentileNanos = -1;
+    private final AtomicLong tokens = new AtomicLong();
+
+    public HedgePolicy(HedgeProperties properties) {
+        this.properties = properties;
+    }
+
+    public HedgeProperties getProperties() {
+        return properties;
+    }
+
+    /**
+     * Returns whether calls of the request are hedged.
+     *
+     * @param request adapter request
+     * @return true if the request method or the soap operation of the request is hedged
+     */
+    public boolean isHedged(HttpAdapterRequest request) {
+        final String method = request.getMethod() != null ? request.getMethod().name() : null;
+        return properties.isEnabledFor(method, getSoapAction(request));
+    }
+
+    /**
+     * Returns the current hedge delay.
+     *
+     * @return hedge delay in nanoseconds, negative while too few latencies are observed
+     */
+    public long getHedgeDelayNanos() {
+        if (properties.getDelay() > 0) {
+            return TimeUnit.MILLISECONDS.toNanos(properties.getDelay());
+        }
+        return percentileNanos;
+    }
+
+    /**
+     * Runs the blocking call, hedging it when it doesn't answer within the hedge delay. Attempts run on
+     * {@link AdapterExecutors#blockingExecutor()} while the calling thread waits, the thread of the
+     * cancelled attempt is interrupted but its request is not aborted.
+     *
+     * @param call blocking call
+     * @param <O>  response body type
+     * @return first response
+     */
+    public <O> HttpAdapterResponse<O> execute(Supplier<HttpAdapterResponse<O>> call) {
+        return execute(call, null);
+    }
+
+    /**
+     * Runs the blocking call, hedging it when it doesn't answer within the hedge delay and the deadline
+     * is not exceeded before the hedge delay.
+     *
+     * @param call     blocking call
+     * @param deadline deadline of the call, null if the call has no deadline
+     * @param <O>      response body type
+     * @return first response
+     */
+    public <O> HttpAdapterResponse<O> execute(Supplier<HttpAdapterResponse<O>> call, Deadline deadline) {
+        final long hedgeDelay = startCall(deadline);
+        if (hedgeDelay < 0) {
+            return measure(call);
+        }
+        final Race<O> race = new Race<>();
+        try {
+            start(race, call);
+            try {
+                return race.result.get(hedgeDelay, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (tryHedge()) {
+                    start(race, call);
+                }
+            }
+            return race.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AdapterException(e, AdapterStatus.createStatusFailedAsTechnical(e));
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } finally {
+            race.cancelAttempts();
+        }
+    }
+
+    /**
+     * Starts the asynchronous call, hedging it when it doesn't answer within the hedge delay. The hedge
+     * attempt is started on {@link AdapterExecutors#blockingExecutor()}, the future of the other attempt
+     * is cancelled but its request is not aborted.
+     *
+     * @param call asynchronous call
+     * @param <O>  response body type
+     * @return future of the first response
+     */
+    public <O> CompletableFuture<HttpAdapterResponse<O>> executeAsync(
+            Supplier<CompletableFuture<HttpAdapterResponse<O>>> call) {
+        return executeAsync(call, null);
+    }
+
+    /**
+     * Starts the asynchronous call, hedging it when it doesn't answer within the hedge delay and the
+     * deadline is not exceeded before the hedge delay.
+     *
+     * @param call     asynchronous call
+     * @param deadline deadline of the call, null if the call has no deadline
+     * @param <O>      response body type
+     * @return future of the first response
+     */
+    public <O> CompletableFuture<HttpAdapterResponse<O>> executeAsync(
+            Supplier<CompletableFuture<HttpAdapterResponse<O>>> call, Deadline deadline) {
+        final long hedgeDelay = startCall(deadline);
+        if (hedgeDelay < 0) {
+            return measureAsync(call);
+        }
+        final Race<O> race = new Race<>();
+        startAsync(race, call);
+        AdapterExecutors.scheduler().schedule(() -> {
+            if (!race.result.isDone() && tryHedge()) {
+                // request interceptors may block, e.g. token refresh
+                AdapterExecutors.blockingExecutor().execute(() -> startAsync(race, call));
+            }
+        }, hedgeDelay, TimeUnit.NANOSECONDS);
+        return race.result.whenComplete((response, throwable) -> race.cancelAttempts());
+    }
+
+    private <O> void start(Race<O> race, Supplier<HttpAdapterResponse<O>> call) {
+        race.onStart();
+        final FutureTask<HttpAdapterResponse<O>> task = new FutureTask<>(() -> measure(call)) {
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    race.onComplete(get(), null);
+                } catch (ExecutionException e) {
+                    race.onComplete(null, e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    race.onComplete(null, e);
+                }
+            }
+        };
+        race.addAttempt(task);
+        try {
+            AdapterExecutors.blockingExecutor().execute(task);
+        } catch (RejectedExecutionException e) {
+            race.onComplete(null, e);
+        }
+    }
+
+    private <O> void startAsync(Race<O> race, Supplier<CompletableFuture<HttpAdapterResponse<O>>> call) {
+        race.onStart();
+        final long start = System.nanoTime();
+        final CompletableFuture<HttpAdapterResponse<O>> attempt;
+        try {
+            attempt = call.get();
+        } catch (RuntimeException e) {
+            race.onComplete(null, e);
+            return;
+        }
+        // the attempt future itself is cancelled, futures derived from it don't cancel it
+        race.addAttempt(attempt);
+        attempt.whenComplete((response, throwable) -> {
+            if (throwable == null) {
+                recordLatency(System.nanoTime() - start);
+            }
+            race.onComplete(response, throwable);
+        });
+    }
+
+    private <O> HttpAdapterResponse<O> measure(Supplier<HttpAdapterResponse<O>> call) {
+        final long start = System.nanoTime();
+        final HttpAdapterResponse<O> response = call.get();
+        recordLatency(System.nanoTime() - start);
+        return response;
+    }
+
+    private <O> CompletableFuture<HttpAdapterResponse<O>> measureAsync(
+            Supplier<CompletableFuture<HttpAdapterResponse<O>>> call) {
+        final long start = System.nanoTime();
+        return call.get().whenComplete((response, throwable) -> {
+            if (throwable == null) {
+                recordLatency(System.nanoTime() - start);
+            }
+        });
+    }
+
+    /**
+     * Adds the hedge ratio of a call to the budget.
+     *
+     * @return hedge delay of the call, negative if the call is not hedged
+     */
+    private long startCall(Deadline deadline) {
+        final long share = Math.round(properties.getMaxHedgeRatioOrDefault() * TOKEN_SCALE);
+        tokens.updateAndGet(current -> Math.min(MAX_TOKENS, current + share));
+        final long hedgeDelay = getHedgeDelayNanos();
+        if (deadline != null && deadline.remainingNanos() <= hedgeDelay) {
+            return -1;
+        }
+        return hedgeDelay;
+    }
+
+    private boolean tryHedge() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN_SCALE) {
+                LOGGER.log(Level.FINE, "Hedge budget exhausted, call is not hedged");
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN_SCALE));
+        return true;
+    }
+
+    /**
+     * Records the latency of a successful attempt, the percentile is recalculated periodically.
+     *
+     * @param latencyNanos attempt latency in nanoseconds
+     */
+    void recordLatency(long latencyNanos) {
+        latencyLock.lock();
+        try {
+            latencies[latencyIndex] = latencyNanos;
+            latencyIndex = (latencyIndex + 1) % WINDOW_SIZE;
+            latencyCount = Math.min(latencyCount + 1, WINDOW_SIZE);
+            if (latencyCount < MINIMUM_SAMPLES) {
+                return;
+            }
+            if (percentileNanos >= 0 && ++samplesSinceRefresh < PERCENTILE_REFRESH_SAMPLES) {
+                return;
+            }
+            samplesSinceRefresh = 0;
+            final long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+            final int index = (int) Math.ceil(properties.getPercentileOrDefault() / 100 * latencyCount) - 1;
+            percentileNanos = sorted[Math.max(0, Math.min(latencyCount - 1, index))];
+        } finally {
+            latencyLock.unlock();
+        }
+    }
+
+    private static String getSoapAction(HttpAdapterRequest request) {
+        if (request.getHeaders() == null) {
+            return null;
+        }
+        return request.getHeaders().entrySet().stream()
+                .filter(header -> HedgeProperties.SOAP_ACTION_HEADER.equalsIgnoreCase(header.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static RuntimeException unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new CompletionException(cause);
+    }
+
+    /**
+     * Attempts of one call, the first response or the last failure completes the result.
+     */
+    private static final class Race<O> {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final CompletableFuture<HttpAdapterResponse<O>> result = new CompletableFuture<>();
+        private final List<Future<?>> attempts = new ArrayList<>(2);
+        private int started;
+        private int failed;
+
+        /**
+         * Adds a started attempt, it is cancelled immediately if the race is already completed.
+         */
+        private void addAttempt(Future<?> attempt) {
+            lock.lock();
+            try {
+                if (!result.isDone()) {
+                    attempts.add(attempt);
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            attempt.cancel(true);
+        }
+
+        private void cancelAttempts() {
+            final List<Future<?>> running;
+            lock.lock();
+            try {
+                running = new ArrayList<>(attempts);
+                attempts.clear();
+            } finally {
+                lock.unlock();
+            }
+            running.forEach(attempt -> attempt.cancel(true));
+        }
+
+        private void onStart() {
+            lock.lock();
+            try {
+                started++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void onComplete(HttpAdapterResponse<O> response, Throwable throwable) {
+            if (throwable == null) {
+                result.complete(response);
+                return;
+            }
+            lock.lock();
+            try {
+                if (++failed < started) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            result.completeExceptionally(throwable);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.CacheEvictionPolicy;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-memory {@link ResponseCache}. Entries are evicted by {@link CacheEvictionPolicy} when the
+ * maximum number of entries or the maximum estimated size is exceeded, entries past their retention
+ * time are removed on access and periodically on writes.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public class InMemoryResponseCache implements ResponseCache {
+
+    private static final int PURGE_INTERVAL = 64;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<RequestKey, CachedResponse> entries;
+    private final int maxEntries;
+    private final long maxBytes;
+    private long bytes;
+    private int writesSincePurge;
+
+    /**
+     * @param maxEntries     maximum number of entries, no limit when zero or negative
+     * @param maxBytes       maximum estimated size in bytes, no limit when zero or negative
+     * @param evictionPolicy eviction policy, LRU when null
+     */
+    public InMemoryResponseCache(int maxEntries, long maxBytes, CacheEvictionPolicy evictionPolicy) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        // access ordered map moves read entries to the tail, so the head is the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, evictionPolicy != CacheEvictionPolicy.FIFO);
+    }
+
+    @Override
+    public CachedResponse get(RequestKey key) {
+        final long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            final CachedResponse cachedResponse = entries.get(key);
+            if (cachedResponse != null && !cachedResponse.isRetained(now)) {
+                remove(key);
+                return null;
+            }
+            return cachedResponse;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(RequestKey key, CachedResponse response) {
+        if (maxBytes > 0 && response.getSize() > maxBytes) {
+            invalidate(key);
+            return;
+        }
+        lock.lock();
+        try {
+            final CachedResponse previous = entries.put(key, response);
+            if (previous != null) {
+                bytes -= previous.getSize();
+            }
+            bytes += response.getSize();
+            if (++writesSincePurge >= PURGE_INTERVAL) {
+                purgeExpired(System.currentTimeMillis());
+            }
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidate(RequestKey key) {
+        lock.lock();
+        try {
+            remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            bytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getBytes() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(RequestKey key) {
+        final CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.getSize();
+        }
+    }
+
+    private void purgeExpired(long now) {
+        writesSincePurge = 0;
+        final Iterator<CachedResponse> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            final CachedResponse cachedResponse = iterator.next();
+            if (!cachedResponse.isRetained(now)) {
+                bytes -= cachedResponse.getSize();
+                iterator.remove();
+            }
+        }
+    }
+
+    private void evict() {
+        final Iterator<Map.Entry<RequestKey, CachedResponse>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && ((maxEntries > 0 && entries.size() > maxEntries)
+                || (maxBytes > 0 && bytes > maxBytes))) {
+            bytes -= iterator.next().getValue().getSize();
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.EndpointProperties;
+import com.inomera.integration.config.model.LoadBalancerProperties;
+import com.inomera.integration.config.model.LoadBalancingAlgorithm;
+import com.inomera.integration.fault.AdapterIOException;
+import com.inomera.integration.model.HttpAdapterResponse;
+import com.inomera.integration.util.AdapterExecutors;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Balances calls of an adapter over its endpoints, see {@link LoadBalancerProperties}. Calls in flight,
+ * the moving average latency and consecutive failures are tracked per endpoint. Endpoints with too many
+ * consecutive connection or io errors are ejected for a while, endpoints marked down by the
+ * {@link HealthChecker} are skipped too; when no endpoint is available calls are balanced over all of them,
+ * so the adapter keeps trying instead of failing every call.
+ * <p>
+ * A call that cannot connect to its endpoint never reached it, so it is sent to another endpoint
+ * immediately, once per endpoint. Properties can be updated while the balancer is in use, the state of
+ * endpoints with the same url and zone is kept.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public class LoadBalancer {
+
+    private static final Logger LOGGER = Logger.getLogger(LoadBalancer.class.getName());
+
+    /**
+     * Weight of a new latency in the moving average latency of an endpoint.
+     */
+    private static final double LATENCY_WEIGHT = 0.2;
+    private static final int MAX_EJECTION_MULTIPLIER = 10;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private volatile LoadBalancerProperties properties;
+    private volatile List<Endpoint> endpoints;
+    private volatile HealthChecker healthChecker;
+
+    public LoadBalancer(LoadBalancerProperties properties) {
+        this.properties = properties;
+        this.endpoints = createEndpoints(properties, List.of());
+    }
+
+    public LoadBalancerProperties getProperties() {
+        return properties;
+    }
+
+    /**
+     * Returns the endpoints, e.g. to publish their calls in flight, latency and ejection as metrics.
+     *
+     * @return endpoints in config order
+     */
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Sets the health checker of the endpoints, endpoints it marks down are not chosen unless all endpoints
+     * are unavailable.
+     *
+     * @param healthChecker health checker, null to choose endpoints by their observed calls only
+     */
+    public void setHealthChecker(HealthChecker healthChecker) {
+        this.healthChecker = healthChecker;
+    }
+
+    /**
+     * Applies new properties, endpoints with the same url and zone keep their state.
+     *
+     * @param properties load balancer properties
+     */
+    public void updateProperties(LoadBalancerProperties properties) {
+        lock.lock();
+        try {
+            this.endpoints = createEndpoints(properties, this.endpoints);
+            this.properties = properties;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the blocking call on a chosen endpoint, a call that cannot connect is sent to another endpoint.
+     *
+     * @param call blocking call of an endpoint
+     * @param <O>  response body type
+     * @return response of the call
+     */
+    public <O> HttpAdapterResponse<O> execute(Function<Endpoint, HttpAdapterResponse<O>> call) {
+        final List<Endpoint> tried = new ArrayList<>(1);
+        Endpoint endpoint = choose(tried);
+        while (true) {
+            endpoint.onStart();
+            final long start = System.nanoTime();
+            try {
+                final HttpAdapterResponse<O> response = call.apply(endpoint);
+                onComplete(endpoint, System.nanoTime() - start, null);
+                return response;
+            } catch (RuntimeException | Error e) {
+                onComplete(endpoint, System.nanoTime() - start, e);
+                if (e instanceof Error || !isConnectFailure(e)) {
+                    throw e;
+                }
+                tried.add(endpoint);
+                final Endpoint next = choose(tried);
+                if (next == null) {
+                    throw e;
+                }
+                LOGGER.log(Level.WARNING, "Endpoint is unreachable, call is sent to " + next.getUrl()
+                        + ", failure : " + e);
+                endpoint = next;
+            }
+        }
+    }
+
+    /**
+     * Starts the asynchronous call on a chosen endpoint, a call that cannot connect is sent to another
+     * endpoint on {@link AdapterExecutors#blockingExecutor()}.
+     *
+     * @param call asynchronous call of an endpoint
+     * @param <O>  response body type
+     * @return future of the response
+     */
+    public <O> CompletableFuture<HttpAdapterResponse<O>> executeAsync(
+            Function<Endpoint, CompletableFuture<HttpAdapterResponse<O>>> call) {
+        final List<Endpoint> tried = new ArrayList<>(1);
+        return executeAsync(call, choose(tried), tried);
+    }
+
+    private <O> CompletableFuture<HttpAdapterResponse<O>> executeAsync(
+            Function<Endpoint, CompletableFuture<HttpAdapterResponse<O>>> call, Endpoint endpoint,
+            List<Endpoint> tried) {
+        endpoint.onStart();
+        final long start = System.nanoTime();
+        CompletableFuture<HttpAdapterResponse<O>> future;
+        try {
+            future = call.apply(endpoint);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.handle((response, throwable) -> {
+            final Throwable cause = throwable != null ? unwrap(throwable) : null;
+            onComplete(endpoint, System.nanoTime() - start, cause);
+            if (cause == null) {
+                return CompletableFuture.completedFuture(response);
+            }
+            if (!isConnectFailure(cause)) {
+                return CompletableFuture.<HttpAdapterResponse<O>>failedFuture(cause);
+            }
+            tried.add(endpoint);
+            final Endpoint next = choose(tried);
+            if (next == null) {
+                return CompletableFuture.<HttpAdapterResponse<O>>failedFuture(cause);
+            }
+            LOGGER.log(Level.WARNING, "Endpoint is unreachable, call is sent to " + next.getUrl()
+                    + ", failure : " + cause);
+            // request interceptors may block, e.g. token refresh
+            return CompletableFuture.supplyAsync(() -> executeAsync(call, next, tried),
+                    AdapterExecutors.blockingExecutor()).thenCompose(failover -> failover);
+        }).thenCompose(result -> result);
+    }
+
+    /**
+     * Chooses the endpoint of a call among the endpoints it has not tried.
+     *
+     * @param tried endpoints the call has already tried
+     * @return chosen endpoint, null if all available endpoints are tried
+     */
+    Endpoint choose(List<Endpoint> tried) {
+        final LoadBalancerProperties current = this.properties;
+        final List<Endpoint> all = this.endpoints;
+        final HealthChecker checker = this.healthChecker;
+        final long now = System.nanoTime();
+        List<Endpoint> candidates = new ArrayList<>(all.size());
+        for (Endpoint endpoint : all) {
+            if (!endpoint.isEjected(now) && (checker == null || checker.isHealthy(endpoint.getUrl()))
+                    && !tried.contains(endpoint)) {
+                candidates.add(endpoint);
+            }
+        }
+        if (candidates.isEmpty()) {
+            if (!tried.isEmpty()) {
+                return null;
+            }
+            // all endpoints are ejected or down, calls are balanced over all of them until one recovers
+            candidates = all;
+        }
+        if (current.getZone() != null) {
+            final List<Endpoint> local = new ArrayList<>(candidates.size());
+            for (Endpoint endpoint : candidates) {
+                if (current.getZone().equals(endpoint.getZone())) {
+                    local.add(endpoint);
+                }
+            }
+            if (!local.isEmpty()) {
+                candidates = local;
+            }
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        final LoadBalancingAlgorithm algorithm = current.getAlgorithmOrDefault();
+        if (algorithm == LoadBalancingAlgorithm.ROUND_ROBIN) {
+            return candidates.get(Math.floorMod(nextIndex.getAndIncrement(), candidates.size()));
+        }
+        // power of two choices, the cheaper of two random endpoints
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        final Endpoint a = candidates.get(first);
+        final Endpoint b = candidates.get(second);
+        return cost(b, algorithm) < cost(a, algorithm) ? b : a;
+    }
+
+    private static double cost(Endpoint endpoint, LoadBalancingAlgorithm algorithm) {
+        if (algorithm == LoadBalancingAlgorithm.LEAST_OUTSTANDING) {
+            return endpoint.getOutstandingCalls();
+        }
+        // an endpoint without latency costs nothing, so it is measured soon
+        return endpoint.getLatencyNanos() * (endpoint.getOutstandingCalls() + 1);
+    }
+
+    /**
+     * Updates the state of the endpoint by the outcome of its call, an endpoint with too many
+     * consecutive failures is ejected.
+     *
+     * @param endpoint  endpoint of the call
+     * @param rttNanos  round trip time of the call in nanoseconds
+     * @param throwable failure of the call, null if a response is received
+     */
+    void onComplete(Endpoint endpoint, long rttNanos, Throwable throwable) {
+        endpoint.outstandingCalls.decrementAndGet();
+        if (throwable == null) {
+            endpoint.onSuccess(rttNanos);
+            return;
+        }
+        if (!(throwable instanceof AdapterIOException) && !isConnectFailure(throwable)) {
+            // not a failure of the endpoint, e.g. a serialization error or an exceeded deadline
+            return;
+        }
+        final LoadBalancerProperties current = this.properties;
+        if (endpoint.consecutiveFailures.incrementAndGet() >= current.getFailureThresholdOrDefault()) {
+            eject(endpoint, current);
+        }
+    }
+
+    private void eject(Endpoint endpoint, LoadBalancerProperties current) {
+        lock.lock();
+        try {
+            final long now = System.nanoTime();
+            if (endpoint.isEjected(now)) {
+                return;
+            }
+            int ejected = 0;
+            for (Endpoint other : this.endpoints) {
+                if (other.isEjected(now)) {
+                    ejected++;
+                }
+            }
+            if (ejected + 1 > this.endpoints.size() * current.getMaxEjectionPercentOrDefault() / 100) {
+                LOGGER.log(Level.WARNING, "Endpoint is failing but not ejected, max ejection percent is reached."
+                        + " url : " + endpoint.getUrl());
+                return;
+            }
+            final int multiplier = Math.min(MAX_EJECTION_MULTIPLIER, ++endpoint.ejectionCount);
+            final long ejectionMillis = current.getEjectionTimeOrDefault() * multiplier;
+            endpoint.ejectedUntil = now + TimeUnit.MILLISECONDS.toNanos(ejectionMillis);
+            endpoint.consecutiveFailures.set(0);
+            LOGGER.log(Level.WARNING, "Endpoint is ejected for " + ejectionMillis + " ms, url : " + endpoint.getUrl());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Calls failing to connect never reached the endpoint.
+     */
+    static boolean isConnectFailure(Throwable throwable) {
+        Throwable cause = throwable;
+        for (int depth = 0; cause != null && depth < 10; depth++, cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof NoRouteToHostException
+                    || cause instanceof UnknownHostException
+                    || cause.getClass().getSimpleName().endsWith("ConnectTimeoutException")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Endpoint> createEndpoints(LoadBalancerProperties properties, List<Endpoint> current) {
+        final List<Endpoint> endpoints = new ArrayList<>();
+        if (properties.getEndpoints() == null) {
+            return List.of();
+        }
+        for (EndpointProperties endpointProperties : properties.getEndpoints()) {
+            if (endpointProperties == null || endpointProperties.getUrl() == null) {
+                continue;
+            }
+            Endpoint endpoint = null;
+            for (Endpoint existing : current) {
+                if (existing.getUrl().equals(endpointProperties.getUrl())
+                        && Objects.equals(existing.getZone(), endpointProperties.getZone())) {
+                    endpoint = existing;
+                    break;
+                }
+            }
+            endpoints.add(endpoint != null ? endpoint : new Endpoint(endpointProperties.getUrl(),
+                    endpointProperties.getZone()));
+        }
+        return List.copyOf(endpoints);
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * An endpoint of the load balancer and its observed state.
+     */
+    public static final class Endpoint {
+
+        private final String url;
+        private final String zone;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final AtomicInteger outstandingCalls = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile double latencyNanos;
+        private volatile long ejectedUntil;
+        private volatile int ejectionCount;
+
+        Endpoint(String url, String zone) {
+            this.url = url;
+            this.zone = zone;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public String getZone() {
+            return zone;
+        }
+
+        public int getOutstandingCalls() {
+            return outstandingCalls.get();
+        }
+
+        /**
+         * Returns the moving average latency of successful calls.
+         *
+         * @return latency in nanoseconds, zero until a call succeeds
+         */
+        public double getLatencyNanos() {
+            return latencyNanos;
+        }
+
+        public boolean isEjected() {
+            return isEjected(System.nanoTime());
+        }
+
+        private boolean isEjected(long now) {
+            final long until = this.ejectedUntil;
+            return until != 0 && until - now > 0;
+        }
+
+        private void onStart() {
+            outstandingCalls.incrementAndGet();
+        }
+
+        private void onSuccess(long rttNanos) {
+            consecutiveFailures.set(0);
+            lock.lock();
+            try {
+                latencyNanos = latencyNanos == 0 ? rttNanos : latencyNanos + (rttNanos - latencyNanos) * LATENCY_WEIGHT;
+            } finally {
+                lock.unlock();
+            }
+            if (ejectedUntil != 0 && !isEjected(System.nanoTime())) {
+                // recovered after its ejection, the next ejection starts from the base time again
+                ejectedUntil = 0;
+                ejectionCount = 0;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Endpoint{" +
+                    "url='" + url + '\'' +
+                    ", zone=" + zone +
+                    ", outstandingCalls=" + outstandingCalls +
+                    ", ejected=" + isEjected() +
+                    '}';
+        }
+    }
+}
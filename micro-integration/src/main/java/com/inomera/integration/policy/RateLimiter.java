@@ -0,0 +1,204 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.RateLimitProperties;
+import com.inomera.integration.fault.AdapterDeadlineExceededException;
+import com.inomera.integration.fault.AdapterException;
+import com.inomera.integration.fault.AdapterRateLimitException;
+import com.inomera.integration.model.Deadline;
+import com.inomera.integration.model.HttpAdapterResponse;
+import com.inomera.integration.util.AdapterExecutors;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Token bucket rate limiter, see {@link RateLimitProperties}. The bucket is kept as the time it becomes
+ * full again (generic cell rate algorithm) in a single atomic value, so acquiring a permit never locks.
+ * A call that has to wait reserves its permit first and then waits, asynchronous calls wait without
+ * blocking a thread. A call that cannot get a permit in time fails with
+ * {@link AdapterRateLimitException}, a call whose permit is not available before its deadline fails with
+ * {@link AdapterDeadlineExceededException}.
+ * <p>
+ * Properties can be updated while the limiter is in use, the bucket is kept.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public class RateLimiter {
+
+    private final String name;
+    private final long origin = System.nanoTime();
+    private volatile RateLimitProperties properties;
+
+    /**
+     * Time (in nanoseconds since {@link #origin}) the bucket becomes full again, the bucket is full when
+     * it is in the past.
+     */
+    private final AtomicLong fullAt = new AtomicLong();
+
+    public RateLimiter(String name, RateLimitProperties properties) {
+        this.name = name;
+        this.properties = properties;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public RateLimitProperties getProperties() {
+        return properties;
+    }
+
+    public void updateProperties(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Runs the blocking call when a permit is acquired, waits for the permit if required.
+     *
+     * @param call blocking call
+     * @param <O>  response body type
+     * @return response of the call
+     * @throws AdapterRateLimitException if no permit is available in time
+     */
+    public <O> HttpAdapterResponse<O> execute(Supplier<HttpAdapterResponse<O>> call) {
+        return execute(call, null);
+    }
+
+    /**
+     * Runs the blocking call when a permit is acquired, waits for the permit until the max wait or the
+     * deadline.
+     *
+     * @param call     blocking call
+     * @param deadline deadline of the call, null if the call has no deadline
+     * @param <O>      response body type
+     * @return response of the call
+     * @throws AdapterRateLimitException        if no permit is available in time
+     * @throws AdapterDeadlineExceededException if no permit is available before the deadline
+     */
+    public <O> HttpAdapterResponse<O> execute(Supplier<HttpAdapterResponse<O>> call, Deadline deadline) {
+        acquire(deadline);
+        return call.get();
+    }
+
+    /**
+     * Starts the asynchronous call when a permit is acquired.
+     *
+     * @param call asynchronous call
+     * @param <O>  response body type
+     * @return future of the response, failed with {@link AdapterRateLimitException} if no permit is
+     * available in time
+     */
+    public <O> CompletableFuture<HttpAdapterResponse<O>> executeAsync(
+            Supplier<CompletableFuture<HttpAdapterResponse<O>>> call) {
+        return executeAsync(call, null);
+    }
+
+    /**
+     * Starts the asynchronous call when a permit is acquired before the max wait or the deadline.
+     *
+     * @param call     asynchronous call
+     * @param deadline deadline of the call, null if the call has no deadline
+     * @param <O>      response body type
+     * @return future of the response, failed with {@link AdapterRateLimitException} or
+     * {@link AdapterDeadlineExceededException} if no permit is available in time
+     */
+    public <O> CompletableFuture<HttpAdapterResponse<O>> executeAsync(
+            Supplier<CompletableFuture<HttpAdapterResponse<O>>> call, Deadline deadline) {
+        final long waitNanos = reserve(deadline);
+        if (waitNanos < 0) {
+            return CompletableFuture.failedFuture(rejection(deadline));
+        }
+        if (waitNanos == 0) {
+            return call.get();
+        }
+        final CompletableFuture<Void> delay = new CompletableFuture<>();
+        AdapterExecutors.scheduler().schedule(() -> delay.complete(null), waitNanos, TimeUnit.NANOSECONDS);
+        // the call runs on the blocking executor, request interceptors may block, e.g. token refresh
+        return delay.thenComposeAsync(ignored -> call.get(), AdapterExecutors.blockingExecutor());
+    }
+
+    /**
+     * Acquires a permit, blocks the calling thread while it waits for the permit.
+     *
+     * @throws AdapterRateLimitException if no permit is available in time or the thread is interrupted
+     */
+    public void acquire() {
+        acquire(null);
+    }
+
+    /**
+     * Acquires a permit, blocks the calling thread while it waits for the permit until the max wait or
+     * the deadline.
+     *
+     * @param deadline deadline of the call, null if the call has no deadline
+     * @throws AdapterRateLimitException        if no permit is available in time or the thread is
+     *                                          interrupted
+     * @throws AdapterDeadlineExceededException if no permit is available before the deadline
+     */
+    public void acquire(Deadline deadline) {
+        long waitNanos = reserve(deadline);
+        if (waitNanos < 0) {
+            throw rejection(deadline);
+        }
+        final long permitAt = System.nanoTime() + waitNanos;
+        while (waitNanos > 0) {
+            LockSupport.parkNanos(this, waitNanos);
+            if (Thread.currentThread().isInterrupted()) {
+                throw new AdapterRateLimitException(name);
+            }
+            waitNanos = permitAt - System.nanoTime();
+        }
+    }
+
+    /**
+     * Acquires a permit without waiting.
+     *
+     * @return true if a permit is acquired
+     */
+    public boolean tryAcquire() {
+        return reserve(0) == 0;
+    }
+
+    /**
+     * Reserves the next permit if it is available within the max wait.
+     *
+     * @return nanoseconds to wait for the reserved permit, negative if no permit is reserved
+     */
+    long reserve() {
+        return reserve((Deadline) null);
+    }
+
+    private long reserve(Deadline deadline) {
+        final long maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(properties.getMaxWait());
+        return reserve(deadline != null ? Math.min(maxWaitNanos, deadline.remainingNanos()) : maxWaitNanos);
+    }
+
+    private AdapterException rejection(Deadline deadline) {
+        if (deadline != null && deadline.remainingNanos() < TimeUnit.MILLISECONDS.toNanos(properties.getMaxWait())) {
+            return new AdapterDeadlineExceededException("no rate limit permit before the deadline");
+        }
+        return new AdapterRateLimitException(name);
+    }
+
+    private long reserve(long maxWaitNanos) {
+        final RateLimitProperties current = this.properties;
+        final long interval = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / current.getPermitsPerSecond()));
+        // the bucket holds burst permits, the first one is available once fullAt - now drops to this
+        final long burstTolerance = interval * (current.getBurstOrDefault() - 1);
+        while (true) {
+            final long now = System.nanoTime() - origin;
+            final long full = fullAt.get();
+            final long start = Math.max(full, now);
+            final long waitNanos = Math.max(0, start - burstTolerance - now);
+            if (waitNanos > maxWaitNanos) {
+                return -1;
+            }
+            if (fullAt.compareAndSet(full, start + interval)) {
+                return waitNanos;
+            }
+        }
+    }
+}
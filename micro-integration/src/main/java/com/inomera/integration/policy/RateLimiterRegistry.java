@@ -0,0 +1,59 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.RateLimitProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rate limiters by name, adapters use their config key or their bearer token client id as name so
+ * adapters of the same quota share one bucket.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public class RateLimiterRegistry {
+
+    private static final RateLimiterRegistry DEFAULT = new RateLimiterRegistry();
+
+    private final Map<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the registry shared by all adapters of the JVM.
+     *
+     * @return default registry
+     */
+    public static RateLimiterRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the rate limiter of the name, created with the given properties on first use. An
+     * existing rate limiter is updated when the properties changed.
+     *
+     * @param name       rate limiter name
+     * @param properties current properties
+     * @return rate limiter
+     */
+    public RateLimiter get(String name, RateLimitProperties properties) {
+        final RateLimiter rateLimiter = rateLimiters.computeIfAbsent(name,
+                key -> new RateLimiter(key, properties));
+        if (!rateLimiter.getProperties().equals(properties)) {
+            rateLimiter.updateProperties(properties);
+        }
+        return rateLimiter;
+    }
+
+    /**
+     * Returns the rate limiter of the name if it is created.
+     *
+     * @param name rate limiter name
+     * @return rate limiter or null
+     */
+    public RateLimiter find(String name) {
+        return rateLimiters.get(name);
+    }
+
+    public void remove(String name) {
+        rateLimiters.remove(name);
+    }
+}
@@ -0,0 +1,89 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.model.HttpAdapterRequest;
+import com.inomera.integration.util.FingerprintUtils;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Identity of an outbound adapter request, used to find identical requests. Two requests have equal
+ * keys when their method, url, key headers, body and response type are equal. Header names are
+ * compared case-insensitively. The {@link FingerprintUtils#deepFingerprint(Object) structural fingerprint}
+ * of the body is only the hash of the key, bodies with equal fingerprints are compared with
+ * {@link FingerprintUtils#deepEquals(Object, Object)}, so a fingerprint collision never shares a response.
+ *
+ * @param method       http method
+ * @param url          full request url
+ * @param headers      key headers with lower case names
+ * @param body         request body, it must not be changed while the key is used
+ * @param bodyDigest   structural fingerprint of the request body
+ * @param responseType response body type
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public record RequestKey(String method, String url, Map<String, String> headers, Object body, long bodyDigest,
+                         Class<?> responseType) {
+
+    /**
+     * Creates the key of the given request.
+     *
+     * @param request      http request
+     * @param headerNames  names of the headers used in the key, all headers when null
+     * @param responseType response body type
+     * @return request key
+     */
+    public static RequestKey of(HttpAdapterRequest request, Collection<String> headerNames, Class<?> responseType) {
+        final Map<String, String> keyHeaders = new TreeMap<>();
+        final Map<String, String> requestHeaders = request.getHeaders();
+        if (requestHeaders != null) {
+            requestHeaders.forEach((name, value) -> {
+                if (headerNames == null || headerNames.stream().anyMatch(name::equalsIgnoreCase)) {
+                    keyHeaders.put(name.toLowerCase(Locale.ROOT), value);
+                }
+            });
+        }
+        final Object body = request.getRequestBody();
+        return new RequestKey(request.getMethod() != null ? request.getMethod().name() : null,
+                request.getUrl(), keyHeaders, body, FingerprintUtils.deepFingerprint(body), responseType);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RequestKey that)) {
+            return false;
+        }
+        return bodyDigest == that.bodyDigest
+                && responseType == that.responseType
+                && Objects.equals(method, that.method)
+                && Objects.equals(url, that.url)
+                && Objects.equals(headers, that.headers)
+                && FingerprintUtils.deepEquals(body, that.body);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(method, url, headers, responseType);
+        result = 31 * result + Long.hashCode(bodyDigest);
+        return result;
+    }
+
+    /**
+     * Returns the key without header values and body, they may hold credentials or personal data.
+     */
+    @Override
+    public String toString() {
+        return "RequestKey{" +
+                "method='" + method + '\'' +
+                ", url='" + url + '\'' +
+                ", headers=" + (headers != null ? headers.keySet() : null) +
+                ", bodyDigest=" + Long.toHexString(bodyDigest) +
+                ", responseType=" + (responseType != null ? responseType.getName() : null) +
+                '}';
+    }
+}
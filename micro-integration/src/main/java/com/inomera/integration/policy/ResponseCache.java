@@ -0,0 +1,45 @@
+package com.inomera.integration.policy;
+
+/**
+ * Storage of cached adapter responses. {@link InMemoryResponseCache} is used by default, implement
+ * this interface to keep responses somewhere else, e.g. a cache shared by all instances of a service.
+ * Implementations must be thread safe.
+ * <p>
+ * Entries must be matched with {@link RequestKey#equals(Object)}. The hash of a key is derived from a
+ * 64-bit fingerprint of the request body, so two different bodies can share it; a cache that stores
+ * responses by the hash or the body digest alone must keep the request body with the entry and compare
+ * it before returning the response.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public interface ResponseCache {
+
+    /**
+     * Returns the cached response of the key, expired responses may be returned until they are
+     * evicted.
+     *
+     * @param key request key
+     * @return cached response or null
+     */
+    CachedResponse get(RequestKey key);
+
+    /**
+     * Stores the response of the key, replaces the previous one.
+     *
+     * @param key      request key
+     * @param response cached response
+     */
+    void put(RequestKey key, CachedResponse response);
+
+    /**
+     * Removes the cached response of the key.
+     *
+     * @param key request key
+     */
+    void invalidate(RequestKey key);
+
+    /**
+     * Removes all cached responses.
+     */
+    void clear();
+}
@@ -0,0 +1,280 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.CacheProperties;
+import com.inomera.integration.model.HttpAdapterRequest;
+import com.inomera.integration.model.HttpAdapterResponse;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which responses are cached and how long, and serves fresh responses from a
+ * {@link ResponseCache}. Only {@code 200} responses are cached, {@code Cache-Control} of the response
+ * is honoured; {@code no-store}, {@code no-cache} and {@code private} responses are not cached,
+ * {@code s-maxage} and {@code max-age} shorten the configured ttl. A request with
+ * {@code Cache-Control: no-cache} skips the cached response and refreshes it.
+ * <p>
+ * Expired responses are kept for the longer of the configured stale-while-revalidate and
+ * stale-if-error windows. Stale responses served from the cache are copies with a
+ * {@code Warning: 110} header, see {@link #isStale(HttpAdapterResponse)}.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public class ResponseCachePolicy {
+
+    public static final String CACHE_CONTROL = "Cache-Control";
+    public static final String ETAG = "ETag";
+    public static final String LAST_MODIFIED = "Last-Modified";
+    public static final String CONTENT_LENGTH = "Content-Length";
+    public static final String WARNING = "Warning";
+    public static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    /**
+     * Estimated size of a response when it has no content length and its body is not text or bytes.
+     */
+    static final long DEFAULT_RESPONSE_SIZE = 1024;
+
+    private final CacheProperties properties;
+    private final ResponseCache cache;
+    /**
+     * Keys of the stale responses that are being refreshed in the background.
+     */
+    private final Set<RequestKey> revalidatingKeys = ConcurrentHashMap.newKeySet();
+
+    public ResponseCachePolicy(CacheProperties properties, ResponseCache cache) {
+        this.properties = properties;
+        this.cache = cache;
+    }
+
+    /**
+     * Creates a policy with an {@link InMemoryResponseCache} sized from the given properties.
+     *
+     * @param properties cache properties
+     * @return response cache policy
+     */
+    public static ResponseCachePolicy inMemory(CacheProperties properties) {
+        return new ResponseCachePolicy(properties, new InMemoryResponseCache(properties.getMaxEntries(),
+                properties.getMaxBytes(), properties.getEvictionPolicy()));
+    }
+
+    public CacheProperties getProperties() {
+        return properties;
+    }
+
+    public ResponseCache getCache() {
+        return cache;
+    }
+
+    public boolean isCacheable(HttpAdapterRequest request) {
+        return request.getMethod() != null && properties.isEnabledFor(request.getMethod().name());
+    }
+
+    /**
+     * Creates the cache key of the request. The key keeps a reference to the request body, bodies with
+     * the same digest are compared structurally, see {@link RequestKey}.
+     *
+     * @param request      http request
+     * @param responseType response body type
+     * @return request key
+     */
+    public RequestKey createKey(HttpAdapterRequest request, Class<?> responseType) {
+        return RequestKey.of(request, properties.getVaryHeaders(), responseType);
+    }
+
+    /**
+     * Returns the cached response if it is fresh and the request allows it.
+     *
+     * @param key     request key
+     * @param request http request
+     * @param <O>     response body type
+     * @return fresh cached response or null
+     */
+    @SuppressWarnings("unchecked")
+    public <O> HttpAdapterResponse<O> getFresh(RequestKey key, HttpAdapterRequest request) {
+        if (hasDirective(getHeader(request.getHeaders(), CACHE_CONTROL), "no-cache")) {
+            return null;
+        }
+        final CachedResponse cachedResponse = cache.get(key);
+        if (cachedResponse == null || !cachedResponse.isFresh(System.currentTimeMillis())) {
+            return null;
+        }
+        return (HttpAdapterResponse<O>) cachedResponse.getResponse();
+    }
+
+    /**
+     * Returns a stale copy of the expired cached response if it is within the stale-while-revalidate
+     * window and the request allows cached responses. Caller refreshes it in the background.
+     *
+     * @param key     request key
+     * @param request http request
+     * @param <O>     response body type
+     * @return stale cached response or null
+     */
+    public <O> HttpAdapterResponse<O> getStaleWhileRevalidate(RequestKey key, HttpAdapterRequest request) {
+        if (properties.getStaleWhileRevalidate() <= 0
+                || hasDirective(getHeader(request.getHeaders(), CACHE_CONTROL), "no-cache")) {
+            return null;
+        }
+        return getStale(key, properties.getStaleWhileRevalidate());
+    }
+
+    /**
+     * Returns a stale copy of the cached response if it is within the stale-if-error window, to be
+     * served when the endpoint fails with a technical error.
+     *
+     * @param key request key
+     * @param <O> response body type
+     * @return stale cached response or null
+     */
+    public <O> HttpAdapterResponse<O> getStaleIfError(RequestKey key) {
+        if (properties.getStaleIfError() <= 0) {
+            return null;
+        }
+        return getStale(key, properties.getStaleIfError());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <O> HttpAdapterResponse<O> getStale(RequestKey key, long maxStaleness) {
+        final CachedResponse cachedResponse = cache.get(key);
+        if (cachedResponse == null || System.currentTimeMillis() >= cachedResponse.getExpiresAt() + maxStaleness) {
+            return null;
+        }
+        return (HttpAdapterResponse<O>) markStale(cachedResponse.getResponse());
+    }
+
+    /**
+     * Marks the start of a background refresh of the key.
+     *
+     * @param key request key
+     * @return false if the key is already being refreshed
+     */
+    public boolean startRevalidation(RequestKey key) {
+        return revalidatingKeys.add(key);
+    }
+
+    public void endRevalidation(RequestKey key) {
+        revalidatingKeys.remove(key);
+    }
+
+    /**
+     * Returns whether the response is a stale cached response.
+     *
+     * @param response http response
+     * @return true if the response has a stale warning
+     */
+    public static boolean isStale(HttpAdapterResponse<?> response) {
+        final String warning = response != null ? getHeader(response.headers(), WARNING) : null;
+        return warning != null && warning.startsWith("110");
+    }
+
+    static <O> HttpAdapterResponse<O> markStale(HttpAdapterResponse<O> response) {
+        final Map<String, String> headers = response.headers() != null ? new HashMap<>(response.headers())
+                : new HashMap<>();
+        headers.put(WARNING, STALE_WARNING);
+        return new HttpAdapterResponse<>(response.statusCode(), headers, response.body());
+    }
+
+    /**
+     * Stores the response if it is cacheable.
+     *
+     * @param key      request key
+     * @param response http response
+     */
+    public void store(RequestKey key, HttpAdapterResponse<?> response) {
+        if (response == null || response.statusCode() != 200) {
+            return;
+        }
+        final String cacheControl = getHeader(response.headers(), CACHE_CONTROL);
+        if (hasDirective(cacheControl, "no-store") || hasDirective(cacheControl, "no-cache")
+                || hasDirective(cacheControl, "private")) {
+            cache.invalidate(key);
+            return;
+        }
+        long ttl = properties.getTtl();
+        long maxAge = getDirectiveSeconds(cacheControl, "s-maxage");
+        if (maxAge < 0) {
+            maxAge = getDirectiveSeconds(cacheControl, "max-age");
+        }
+        if (maxAge >= 0) {
+            ttl = Math.min(ttl, maxAge * 1000);
+        }
+        if (ttl <= 0) {
+            cache.invalidate(key);
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        final long maxStaleness = Math.max(properties.getStaleWhileRevalidate(), properties.getStaleIfError());
+        cache.put(key, new CachedResponse(response, now, now + ttl, now + ttl + Math.max(maxStaleness, 0),
+                getHeader(response.headers(), ETAG), getHeader(response.headers(), LAST_MODIFIED),
+                estimateSize(response)));
+    }
+
+    static long estimateSize(HttpAdapterResponse<?> response) {
+        final String contentLength = getHeader(response.headers(), CONTENT_LENGTH);
+        if (contentLength != null) {
+            try {
+                return Long.parseLong(contentLength.trim());
+            } catch (NumberFormatException e) {
+                // estimate from the body
+            }
+        }
+        if (response.body() instanceof CharSequence text) {
+            return text.length() * 2L;
+        }
+        if (response.body() instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        return DEFAULT_RESPONSE_SIZE;
+    }
+
+    static String getHeader(Map<String, String> headers, String name) {
+        if (headers == null) {
+            return null;
+        }
+        final String value = headers.get(name);
+        if (value != null) {
+            return value;
+        }
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey())) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    static boolean hasDirective(String cacheControl, String directive) {
+        if (cacheControl == null) {
+            return false;
+        }
+        for (String part : cacheControl.split(",")) {
+            final String name = part.trim().split("=", 2)[0].trim();
+            if (directive.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the value of a seconds directive, e.g. {@code max-age=60}, or -1 if it is missing.
+     */
+    static long getDirectiveSeconds(String cacheControl, String directive) {
+        if (cacheControl == null) {
+            return -1;
+        }
+        for (String part : cacheControl.split(",")) {
+            final String[] nameAndValue = part.trim().split("=", 2);
+            if (nameAndValue.length == 2 && directive.equalsIgnoreCase(nameAndValue[0].trim())) {
+                try {
+                    return Long.parseLong(nameAndValue[1].trim().replace("\"", ""));
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+}
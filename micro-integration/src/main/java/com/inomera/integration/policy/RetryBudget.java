@@ -0,0 +1,45 @@
+package com.inomera.integration.policy;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that limits retries of an adapter. The bucket starts full, each retryable failure
+ * takes one token and each successful call adds {@code tokenRatio} tokens. Retries are allowed while
+ * more than half of the tokens are left, so when most calls fail retries stop until the endpoint
+ * recovers. Tokens are kept in thousandths to update them atomically.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long maxTokens;
+    private final long tokenRatio;
+    private final AtomicLong tokens;
+
+    public RetryBudget(int maxTokens, double tokenRatio) {
+        if (maxTokens <= 0) {
+            throw new IllegalArgumentException("Retry budget max tokens must be positive");
+        }
+        this.maxTokens = maxTokens * SCALE;
+        this.tokenRatio = Math.max(1, Math.round(tokenRatio * SCALE));
+        this.tokens = new AtomicLong(this.maxTokens);
+    }
+
+    public void onSuccess() {
+        tokens.updateAndGet(current -> Math.min(maxTokens, current + tokenRatio));
+    }
+
+    public void onFailure() {
+        tokens.updateAndGet(current -> Math.max(0, current - SCALE));
+    }
+
+    public boolean canRetry() {
+        return tokens.get() > maxTokens / 2;
+    }
+
+    public double getTokens() {
+        return (double) tokens.get() / SCALE;
+    }
+}
@@ -0,0 +1,278 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.RetryProperties;
+import com.inomera.integration.constant.Status;
+import com.inomera.integration.fault.AdapterCircuitOpenException;
+import com.inomera.integration.fault.AdapterConcurrencyLimitException;
+import com.inomera.integration.fault.AdapterDeadlineExceededException;
+import com.inomera.integration.fault.AdapterException;
+import com.inomera.integration.fault.AdapterRateLimitException;
+import com.inomera.integration.model.Deadline;
+import com.inomera.integration.model.HttpAdapterRequest;
+import com.inomera.integration.model.HttpAdapterResponse;
+import com.inomera.integration.util.AdapterExecutors;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Retries failed calls with exponential backoff and jitter, limited by a {@link RetryBudget}. See
+ * {@link RetryProperties} for the retried failures. The last response or exception is returned when
+ * attempts or the budget run out, or when the backoff would not end before the deadline of the call.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public class RetryPolicy {
+
+    private static final Logger LOGGER = Logger.getLogger(RetryPolicy.class.getName());
+
+    private final RetryProperties properties;
+    private final RetryBudget budget;
+    private final int maxAttempts;
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final double multiplier;
+    private final double jitter;
+    private final List<Integer> statusCodes;
+    private final List<String> exceptions;
+    private final List<Status> statuses;
+
+    public RetryPolicy(RetryProperties properties) {
+        this.properties = properties;
+        this.maxAttempts = properties.getMaxAttempts() > 0 ? properties.getMaxAttempts()
+                : RetryProperties.DEFAULT_MAX_ATTEMPTS;
+        this.initialBackoff = properties.getInitialBackoff() > 0 ? properties.getInitialBackoff()
+                : RetryProperties.DEFAULT_INITIAL_BACKOFF;
+        this.maxBackoff = properties.getMaxBackoff() > 0 ? properties.getMaxBackoff()
+                : RetryProperties.DEFAULT_MAX_BACKOFF;
+        this.multiplier = properties.getMultiplier() > 0 ? properties.getMultiplier()
+                : RetryProperties.DEFAULT_MULTIPLIER;
+        this.jitter = properties.getJitter() != null ? Math.min(1, Math.max(0, properties.getJitter()))
+                : RetryProperties.DEFAULT_JITTER;
+        this.statusCodes = properties.getStatusCodes() != null ? properties.getStatusCodes()
+                : RetryProperties.DEFAULT_STATUS_CODES;
+        this.exceptions = properties.getExceptions() != null ? properties.getExceptions()
+                : RetryProperties.DEFAULT_EXCEPTIONS;
+        this.statuses = properties.getStatuses() != null ? properties.getStatuses() : List.of();
+        this.budget = new RetryBudget(
+                properties.getBudgetMaxTokens() > 0 ? properties.getBudgetMaxTokens()
+                        : RetryProperties.DEFAULT_BUDGET_MAX_TOKENS,
+                properties.getBudgetTokenRatio() > 0 ? properties.getBudgetTokenRatio()
+                        : RetryProperties.DEFAULT_BUDGET_TOKEN_RATIO);
+    }
+
+    public RetryProperties getProperties() {
+        return properties;
+    }
+
+    public RetryBudget getBudget() {
+        return budget;
+    }
+
+    public boolean isRetryable(HttpAdapterRequest request) {
+        return request.getMethod() != null && properties.isEnabledFor(request.getMethod().name());
+    }
+
+    /**
+     * Runs the blocking call, retrying it on retryable failures. The backoff blocks the calling thread,
+     * an interrupt stops retrying.
+     *
+     * @param call blocking call
+     * @param <O>  response body type
+     * @return response of the last attempt
+     */
+    public <O> HttpAdapterResponse<O> execute(Supplier<HttpAdapterResponse<O>> call) {
+        return execute(call, null);
+    }
+
+    /**
+     * Runs the blocking call, retrying it on retryable failures while the backoff ends before the
+     * deadline.
+     *
+     * @param call     blocking call
+     * @param deadline deadline of the call, null if the call has no deadline
+     * @param <O>      response body type
+     * @return response of the last attempt
+     */
+    public <O> HttpAdapterResponse<O> execute(Supplier<HttpAdapterResponse<O>> call, Deadline deadline) {
+        for (int attempt = 1; ; attempt++) {
+            final long backoff = backoff(attempt);
+            final HttpAdapterResponse<O> response;
+            try {
+                response = call.get();
+            } catch (RuntimeException e) {
+                if (!shouldRetry(e, attempt, backoff, deadline)) {
+                    throw e;
+                }
+                if (!sleep(backoff)) {
+                    throw e;
+                }
+                continue;
+            }
+            if (!shouldRetry(response, attempt, backoff, deadline)) {
+                return response;
+            }
+            if (!sleep(backoff)) {
+                return response;
+            }
+        }
+    }
+
+    /**
+     * Starts the asynchronous call, retrying it on retryable failures. Retries are scheduled after the
+     * backoff without blocking a thread.
+     *
+     * @param call asynchronous call
+     * @param <O>  response body type
+     * @return future of the response of the last attempt
+     */
+    public <O> CompletableFuture<HttpAdapterResponse<O>> executeAsync(
+            Supplier<CompletableFuture<HttpAdapterResponse<O>>> call) {
+        return executeAsync(call, null);
+    }
+
+    /**
+     * Starts the asynchronous call, retrying it on retryable failures while the backoff ends before the
+     * deadline.
+     *
+     * @param call     asynchronous call
+     * @param deadline deadline of the call, null if the call has no deadline
+     * @param <O>      response body type
+     * @return future of the response of the last attempt
+     */
+    public <O> CompletableFuture<HttpAdapterResponse<O>> executeAsync(
+            Supplier<CompletableFuture<HttpAdapterResponse<O>>> call, Deadline deadline) {
+        return executeAsync(call, deadline, 1);
+    }
+
+    private <O> CompletableFuture<HttpAdapterResponse<O>> executeAsync(
+            Supplier<CompletableFuture<HttpAdapterResponse<O>>> call, Deadline deadline, int attempt) {
+        final long backoff = backoff(attempt);
+        final CompletableFuture<HttpAdapterResponse<O>> attemptFuture;
+        try {
+            attemptFuture = call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return attemptFuture.handle((response, throwable) -> {
+            final boolean retry = throwable == null ? shouldRetry(response, attempt, backoff, deadline)
+                    : shouldRetry(unwrap(throwable), attempt, backoff, deadline);
+            if (!retry) {
+                return throwable == null ? CompletableFuture.completedFuture(response)
+                        : CompletableFuture.<HttpAdapterResponse<O>>failedFuture(throwable);
+            }
+            // retry runs on the blocking executor, request interceptors may block, e.g. token refresh
+            return delay(backoff).thenComposeAsync(ignored -> executeAsync(call, deadline, attempt + 1),
+                    AdapterExecutors.blockingExecutor());
+        }).thenCompose(future -> future);
+    }
+
+    private boolean shouldRetry(Throwable throwable, int attempt, long backoff, Deadline deadline) {
+        if (!isRetryableFailure(throwable)) {
+            return false;
+        }
+        budget.onFailure();
+        return canRetry(attempt, throwable.toString(), backoff, deadline);
+    }
+
+    private boolean shouldRetry(HttpAdapterResponse<?> response, int attempt, long backoff, Deadline deadline) {
+        if (response == null || !statusCodes.contains(response.statusCode())) {
+            budget.onSuccess();
+            return false;
+        }
+        budget.onFailure();
+        return canRetry(attempt, "http status " + response.statusCode(), backoff, deadline);
+    }
+
+    private boolean canRetry(int attempt, String failure, long backoff, Deadline deadline) {
+        if (attempt >= maxAttempts) {
+            return false;
+        }
+        if (deadline != null && backoff >= deadline.remainingMillis()) {
+            LOGGER.log(Level.WARNING, "Deadline is too close, call is not retried, failure : " + failure);
+            return false;
+        }
+        if (!budget.canRetry()) {
+            LOGGER.log(Level.WARNING, "Retry budget exhausted, call is not retried, failure : " + failure);
+            return false;
+        }
+        LOGGER.log(Level.INFO, "Call failed, retrying. attempt : " + attempt + ", failure : " + failure);
+        return true;
+    }
+
+    boolean isRetryableFailure(Throwable throwable) {
+        if (throwable instanceof AdapterCircuitOpenException) {
+            // the circuit stays open during the backoff
+            return false;
+        }
+        if (throwable instanceof AdapterConcurrencyLimitException || throwable instanceof AdapterRateLimitException) {
+            // retries would add load to an overloaded endpoint or an exhausted quota
+            return false;
+        }
+        if (throwable instanceof AdapterDeadlineExceededException) {
+            return false;
+        }
+        if (throwable instanceof AdapterException adapterException) {
+            // http clients report error responses as exceptions that keep the http status
+            if (adapterException.getHttpStatusCode() > 0
+                    && statusCodes.contains(adapterException.getHttpStatusCode())) {
+                return true;
+            }
+            if (adapterException.getAdapterStatus() != null
+                    && statuses.contains(adapterException.getAdapterStatus().status())) {
+                return true;
+            }
+        }
+        for (Class<?> type = throwable.getClass(); type != null; type = type.getSuperclass()) {
+            if (exceptions.contains(type.getName()) || exceptions.contains(type.getSimpleName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Exponential backoff of the given attempt capped by the max backoff, the jitter part of it is
+     * randomized.
+     *
+     * @param attempt failed attempt, starts from one
+     * @return backoff in milliseconds
+     */
+    long backoff(int attempt) {
+        final double exponential = Math.min(maxBackoff, initialBackoff * Math.pow(multiplier, attempt - 1));
+        final double randomized = exponential * jitter * ThreadLocalRandom.current().nextDouble();
+        return Math.round(exponential * (1 - jitter) + randomized);
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static CompletableFuture<Void> delay(long millis) {
+        final CompletableFuture<Void> delay = new CompletableFuture<>();
+        AdapterExecutors.scheduler().schedule(() -> delay.complete(null), millis, TimeUnit.MILLISECONDS);
+        return delay;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,165 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.fault.AdapterDeadlineExceededException;
+import com.inomera.integration.fault.AdapterException;
+import com.inomera.integration.model.AdapterStatus;
+import com.inomera.integration.model.Deadline;
+import com.inomera.integration.util.AdapterExecutors;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls. The first caller of a key runs the call, callers arriving
+ * while it is in flight wait for it and get the same result or exception. A waiting caller stops
+ * waiting at its own deadline with {@link AdapterDeadlineExceededException}, the call keeps running for
+ * the other callers. A key is released as soon as its call completes, results are not cached.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public class SingleFlight {
+
+    private final Map<RequestKey, CompletableFuture<?>> inFlightCalls = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the blocking call, or waits for the identical call in flight.
+     *
+     * @param key  request key
+     * @param call blocking call
+     * @param <R>  result type
+     * @return result of the call
+     */
+    public <R> R execute(RequestKey key, Supplier<R> call) {
+        return execute(key, call, null);
+    }
+
+    /**
+     * Runs the blocking call, or waits for the identical call in flight until the deadline.
+     *
+     * @param key      request key
+     * @param call     blocking call
+     * @param deadline deadline of the caller, null if the caller has no deadline
+     * @param <R>      result type
+     * @return result of the call
+     * @throws AdapterDeadlineExceededException if the identical call doesn't complete before the deadline
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R execute(RequestKey key, Supplier<R> call, Deadline deadline) {
+        final CompletableFuture<R> leaderFuture = new CompletableFuture<>();
+        final CompletableFuture<R> inFlightFuture = (CompletableFuture<R>) inFlightCalls.putIfAbsent(key,
+                leaderFuture);
+        if (inFlightFuture != null) {
+            return await(inFlightFuture, deadline);
+        }
+        try {
+            final R result = call.get();
+            leaderFuture.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            leaderFuture.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightCalls.remove(key, leaderFuture);
+        }
+    }
+
+    /**
+     * Starts the asynchronous call, or returns the future of the identical call in flight.
+     *
+     * @param key  request key
+     * @param call asynchronous call
+     * @param <R>  result type
+     * @return future of the call result
+     */
+    public <R> CompletableFuture<R> executeAsync(RequestKey key, Supplier<CompletableFuture<R>> call) {
+        return executeAsync(key, call, null);
+    }
+
+    /**
+     * Starts the asynchronous call, or returns the future of the identical call in flight. The future of a
+     * waiting caller fails with {@link AdapterDeadlineExceededException} at its deadline.
+     *
+     * @param key      request key
+     * @param call     asynchronous call
+     * @param deadline deadline of the caller, null if the caller has no deadline
+     * @param <R>      result type
+     * @return future of the call result
+     */
+    @SuppressWarnings("unchecked")
+    public <R> CompletableFuture<R> executeAsync(RequestKey key, Supplier<CompletableFuture<R>> call,
+                                                 Deadline deadline) {
+        final CompletableFuture<R> leaderFuture = new CompletableFuture<>();
+        final CompletableFuture<R> inFlightFuture = (CompletableFuture<R>) inFlightCalls.putIfAbsent(key,
+                leaderFuture);
+        if (inFlightFuture != null) {
+            return awaitAsync(inFlightFuture, deadline);
+        }
+        final CompletableFuture<R> callFuture;
+        try {
+            callFuture = call.get();
+        } catch (RuntimeException e) {
+            inFlightCalls.remove(key, leaderFuture);
+            leaderFuture.completeExceptionally(e);
+            return CompletableFuture.failedFuture(e);
+        }
+        callFuture.whenComplete((result, throwable) -> {
+            // release the key before waiters are completed, so new calls after completion are not coalesced
+            inFlightCalls.remove(key, leaderFuture);
+            if (throwable != null) {
+                leaderFuture.completeExceptionally(throwable);
+            } else {
+                leaderFuture.complete(result);
+            }
+        });
+        return leaderFuture.copy();
+    }
+
+    /**
+     * Returns the number of calls in flight.
+     *
+     * @return number of in-flight keys
+     */
+    public int size() {
+        return inFlightCalls.size();
+    }
+
+    private static <R> R await(CompletableFuture<R> future, Deadline deadline) {
+        try {
+            return deadline != null ? future.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS) : future.join();
+        } catch (TimeoutException e) {
+            throw new AdapterDeadlineExceededException("coalesced call didn't complete before the deadline");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AdapterException(e, AdapterStatus.createStatusFailedAsTechnical(e));
+        } catch (ExecutionException | CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e instanceof CompletionException completionException ? completionException
+                    : new CompletionException(e.getCause());
+        }
+    }
+
+    private static <R> CompletableFuture<R> awaitAsync(CompletableFuture<R> future, Deadline deadline) {
+        final CompletableFuture<R> waiterFuture = future.copy();
+        if (deadline == null || waiterFuture.isDone()) {
+            return waiterFuture;
+        }
+        final ScheduledFuture<?> timeout = AdapterExecutors.scheduler().schedule(
+                () -> waiterFuture.completeExceptionally(
+                        new AdapterDeadlineExceededException("coalesced call didn't complete before the deadline")),
+                deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        waiterFuture.whenComplete((result, throwable) -> timeout.cancel(false));
+        return waiterFuture;
+    }
+}
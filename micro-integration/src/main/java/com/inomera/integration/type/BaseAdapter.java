@@ -1,22 +1,64 @@
 package com.inomera.integration.type;
 
 import com.inomera.integration.client.HttpAdapterClient;
+import com.inomera.integration.config.AdapterConfigSupplier;
 import com.inomera.integration.config.model.AdapterConfig;
+import com.inomera.integration.config.model.AdapterProperties;
+import com.inomera.integration.config.model.BulkheadProperties;
+import com.inomera.integration.config.model.BearerTokenCredentials;
+import com.inomera.integration.config.model.CacheProperties;
+import com.inomera.integration.config.model.CircuitBreakerProperties;
+import com.inomera.integration.config.model.ConcurrencyLimitProperties;
+import com.inomera.integration.config.model.DeadlineProperties;
+import com.inomera.integration.config.model.HealthCheckProperties;
+import com.inomera.integration.config.model.HedgeProperties;
+import com.inomera.integration.config.model.LoadBalancerProperties;
+import com.inomera.integration.config.model.RateLimitProperties;
+import com.inomera.integration.config.model.RetryProperties;
+import com.inomera.integration.config.model.SingleFlightProperties;
 import com.inomera.integration.constant.HttpMethod;
 import com.inomera.integration.constant.Status;
 import com.inomera.integration.fault.AdapterAuthenticationException;
+import com.inomera.integration.fault.AdapterCircuitOpenException;
+import com.inomera.integration.fault.AdapterDeadlineExceededException;
 import com.inomera.integration.fault.AdapterException;
+import com.inomera.integration.fault.AdapterIOException;
 import com.inomera.integration.interceptor.IntegrationAdapterInterceptor;
 import com.inomera.integration.interceptor.ResponseBodyHandler;
 import com.inomera.integration.model.AdapterResponse;
 import com.inomera.integration.model.AdapterStatus;
+import com.inomera.integration.model.Deadline;
 import com.inomera.integration.model.HttpAdapterRequest;
 import com.inomera.integration.model.HttpAdapterResponse;
+import com.inomera.integration.policy.Bulkhead;
+import com.inomera.integration.policy.CircuitBreaker;
+import com.inomera.integration.policy.CircuitBreakerRegistry;
+import com.inomera.integration.policy.ConcurrencyLimiter;
+import com.inomera.integration.policy.HealthChecker;
+import com.inomera.integration.policy.HedgePolicy;
+import com.inomera.integration.policy.LoadBalancer;
+import com.inomera.integration.policy.RateLimiter;
+import com.inomera.integration.policy.RateLimiterRegistry;
+import com.inomera.integration.policy.RequestKey;
+import com.inomera.integration.policy.ResponseCache;
+import com.inomera.integration.policy.ResponseCachePolicy;
+import com.inomera.integration.policy.RetryPolicy;
+import com.inomera.integration.policy.SingleFlight;
+import com.inomera.integration.util.AdapterCallExecutor;
+import com.inomera.integration.util.AdapterExecutors;
 import com.inomera.integration.util.UrlUtils;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -65,6 +107,66 @@ public abstract class BaseAdapter<C extends AdapterConfig> implements Adapter<C>
      */
     private final List<IntegrationAdapterInterceptor> interceptors;
 
+    /**
+     * Optional executor to run blocking adapter calls, e.g. on virtual threads.
+     */
+    private volatile AdapterCallExecutor callExecutor;
+
+    /**
+     * Coalesces concurrent identical requests when single-flight is enabled in adapter properties.
+     */
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    /**
+     * Optional user provided response cache, in-memory cache is used when it is not set.
+     */
+    private volatile ResponseCache responseCache;
+
+    /**
+     * Response cache policy of the current cache properties.
+     */
+    private final AtomicReference<ResponseCachePolicy> responseCachePolicy = new AtomicReference<>();
+
+    /**
+     * Retry policy of the current retry properties, its retry budget is shared by all calls.
+     */
+    private final AtomicReference<RetryPolicy> retryPolicy = new AtomicReference<>();
+
+    /**
+     * Hedge policy of the current hedge properties, its observed latencies are shared by all calls.
+     */
+    private final AtomicReference<HedgePolicy> hedgePolicy = new AtomicReference<>();
+
+    /**
+     * Bulkhead of the adapter, its limits are updated in place so running and waiting calls are kept.
+     */
+    private final AtomicReference<Bulkhead> bulkhead = new AtomicReference<>();
+
+    /**
+     * Adaptive concurrency limiter of the adapter, its limit is kept when the properties change.
+     */
+    private final AtomicReference<ConcurrencyLimiter> concurrencyLimiter = new AtomicReference<>();
+
+    /**
+     * Load balancer of the adapter endpoints, the state of endpoints is kept when the properties change.
+     */
+    private final AtomicReference<LoadBalancer> loadBalancer = new AtomicReference<>();
+
+    /**
+     * Health checker of the adapter endpoints, running while the health check is enabled.
+     */
+    private final AtomicReference<HealthChecker> healthChecker = new AtomicReference<>();
+    private final ReentrantLock healthCheckLock = new ReentrantLock();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile long healthCheckConfigFingerprint;
+
+    /**
+     * Frozen config snapshot the policies are built from, calls with the same snapshot reuse the policies
+     * without comparing properties.
+     */
+    private volatile AdapterConfig appliedConfig;
+    private final ReentrantLock applyConfigLock = new ReentrantLock();
+
     public BaseAdapter(Supplier<C> adapterConfigDataSupplier, HttpAdapterClient httpAdapterClient) {
         this.adapterConfigDataSupplier = adapterConfigDataSupplier;
         this.httpAdapterClient = httpAdapterClient;
@@ -115,68 +217,1083 @@ public abstract class BaseAdapter<C extends AdapterConfig> implements Adapter<C>
     ) {
         AdapterResponse<T> adapterResponse = null;
         try {
-
-            HttpAdapterRequest httpAdapterRequest = createRequest(subUrlWithParams, requestMethod,
+            HttpAdapterRequest httpAdapterRequest = prepareRequest(subUrlWithParams, requestMethod,
                     requestHeaders, requestBody);
-            // adapter request interceptors apply
-            if (this.interceptors != null && !this.interceptors.isEmpty()) {
-                for (IntegrationAdapterInterceptor interceptor : this.interceptors) {
-                    httpAdapterRequest = interceptor.beforeHttpRequest(httpAdapterRequest);
+
+            HttpAdapterResponse<O> httpAdapterResponse = send(httpAdapterRequest, responseType);
+
+            adapterResponse = handleResponse(httpAdapterRequest, httpAdapterResponse,
+                    customResponseHandlerFunction);
+            //Log debug response
+        } catch (Exception ex) {
+            LOGGER.log(Level.SEVERE, "Error: ", ex);
+            adapterResponse = this.handleExceptionInternalWithDefault(ex);
+        }
+        return completeResponse(adapterResponse);
+    }
+
+    /**
+     * Asynchronous variant of
+     * {@link #execute(String, HttpMethod, Map, Object, Class, ResponseBodyHandler)}. Applies the same
+     * interceptors, status check and exception handling, the returned future never completes
+     * exceptionally because exceptions are converted to the adapter status of the response. The http
+     * call is sent by {@link HttpAdapterClient#sendAsync}, with the bundled clients it is a blocking call
+     * on a shared executor thread.
+     *
+     * @param subUrlWithParams              Method level subpath of endpoint API.
+     * @param requestMethod                 Http Method of this request.
+     * @param requestHeaders                Http Headers.
+     * @param requestBody                   Http request body.
+     * @param responseType                  Http response body type.
+     * @param customResponseHandlerFunction Custom response handler to create custom adapter
+     *                                      response.
+     * @param <T>                           AdapterResponse data type.
+     * @param <O>                           HttpResponse data type.
+     * @return Future of the adapter response.
+     */
+    <T, O> CompletableFuture<AdapterResponse<T>> executeAsync(
+            String subUrlWithParams,
+            HttpMethod requestMethod,
+            Map<String, String> requestHeaders,
+            Object requestBody,
+            Class<O> responseType,
+            ResponseBodyHandler<O, T> customResponseHandlerFunction
+    ) {
+        final AdapterCallExecutor adapterCallExecutor = this.callExecutor;
+        if (adapterCallExecutor != null) {
+            // blocking call on the call executor, bounded by its concurrency limit
+            return submit(adapterCallExecutor, Deadline.current(), () -> execute(subUrlWithParams, requestMethod,
+                    requestHeaders, requestBody, responseType, customResponseHandlerFunction));
+        }
+
+        final HttpAdapterRequest httpAdapterRequest;
+        try {
+            httpAdapterRequest = prepareRequest(subUrlWithParams, requestMethod, requestHeaders,
+                    requestBody);
+        } catch (Exception ex) {
+            LOGGER.log(Level.SEVERE, "Error: ", ex);
+            return CompletableFuture.completedFuture(
+                    completeResponse(this.handleExceptionInternalWithDefault(ex)));
+        }
+
+        return sendAsync(httpAdapterRequest, responseType)
+                .thenApply(httpAdapterResponse -> this.<T, O>handleResponse(httpAdapterRequest,
+                        httpAdapterResponse, customResponseHandlerFunction))
+                .exceptionally(this::handleAsyncException)
+                .thenApply(this::completeResponse);
+    }
+
+    /**
+     * Runs any adapter method asynchronously, e.g. {@code adapter.submit(() -> adapter.getFirst(request))}.
+     * Existing blocking adapter methods can be called concurrently without being rewritten. The call
+     * runs on the {@link #setCallExecutor(AdapterCallExecutor) call executor} of this adapter, or on
+     * {@link AdapterExecutors#blockingExecutor()} when there is none. The returned future never completes
+     * exceptionally, exceptions are converted to the adapter status of the response. The
+     * {@link Deadline#current() deadline} of the calling thread applies to the call.
+     *
+     * @param adapterCall blocking adapter method call
+     * @param <T>         AdapterResponse data type.
+     * @return Future of the adapter response.
+     */
+    public <T> CompletableFuture<AdapterResponse<T>> submit(Supplier<AdapterResponse<T>> adapterCall) {
+        final AdapterCallExecutor adapterCallExecutor = this.callExecutor;
+        final Deadline deadline = Deadline.current();
+        if (adapterCallExecutor != null) {
+            return submit(adapterCallExecutor, deadline, adapterCall);
+        }
+        return CompletableFuture.supplyAsync(() -> Deadline.call(deadline, adapterCall),
+                        AdapterExecutors.blockingExecutor())
+                .exceptionally(this::handleAsyncException);
+    }
+
+    private <T> CompletableFuture<AdapterResponse<T>> submit(AdapterCallExecutor adapterCallExecutor,
+                                                             Deadline deadline,
+                                                             Supplier<AdapterResponse<T>> adapterCall) {
+        return adapterCallExecutor.submit(() -> Deadline.call(deadline, adapterCall))
+                .exceptionally(this::handleAsyncException);
+    }
+
+    private <T> AdapterResponse<T> handleAsyncException(Throwable throwable) {
+        final Exception ex = unwrapCompletionException(throwable);
+        LOGGER.log(Level.SEVERE, "Error: ", ex);
+        return this.handleExceptionInternalWithDefault(ex);
+    }
+
+    /**
+     * Sets the executor of asynchronous calls. When it is set, async methods run the blocking call
+     * flow on it instead of {@link HttpAdapterClient#sendAsync(HttpAdapterRequest, Class)},
+     * e.g. {@code AdapterCallExecutor.virtualThreads("mirket", 200)} runs each call on a virtual
+     * thread with at most 200 concurrent calls.
+     *
+     * @param callExecutor executor of asynchronous calls, null to use the default async flow
+     */
+    public void setCallExecutor(AdapterCallExecutor callExecutor) {
+        this.callExecutor = callExecutor;
+    }
+
+    public AdapterCallExecutor getCallExecutor() {
+        return callExecutor;
+    }
+
+    /**
+     * Sends the request through the adapter call policies enabled in adapter properties, outermost first:
+     * <ul>
+     *  <li>Fresh responses are served from the response cache, expired responses within the
+     *  stale-while-revalidate window are served while they are refreshed in the background.</li>
+     *  <li>Concurrent identical requests are coalesced into one outbound call.</li>
+     *  <li>Expired responses within the stale-if-error window are served when the call fails with a
+     *  technical error.</li>
+     *  <li>The bulkhead of the adapter limits outbound calls, it rejects calls immediately when its
+     *  concurrency limit and wait queue are full.</li>
+     *  <li>Failed calls are retried with backoff within the bulkhead slot, so a coalesced call is retried
+     *  once for all its callers.</li>
+     *  <li>Each attempt is hedged with a second attempt when it doesn't answer within the hedge delay.</li>
+     *  <li>Each attempt takes a permit of the rate limiter, which waits for it or fails fast.</li>
+     *  <li>Each attempt is measured by the adaptive concurrency limiter, which fails fast when its limit
+     *  is reached.</li>
+     *  <li>Each attempt passes the circuit breaker of the adapter key, which fails fast while it is
+     *  open.</li>
+     *  <li>Each attempt is sent to an endpoint chosen by the load balancer, which skips endpoints marked
+     *  down by the health checker and sends it to another endpoint when it cannot connect.</li>
+     * </ul>
+     * Waits of the bulkhead and the rate limiter, retry backoffs and hedges are capped by the deadline of
+     * the request, an attempt is not sent once its deadline is exceeded.
+     * Cached and coalesced http responses are shared, every caller applies its own interceptors and
+     * response handlers on them.
+     */
+    private <O> HttpAdapterResponse<O> send(HttpAdapterRequest httpAdapterRequest, Class<O> responseType) {
+        return sendThroughPolicies(httpAdapterRequest, responseType, new BlockingCall<>());
+    }
+
+    /**
+     * Asynchronous variant of {@link #send(HttpAdapterRequest, Class)} with the same policies.
+     */
+    private <O> CompletableFuture<HttpAdapterResponse<O>> sendAsync(HttpAdapterRequest httpAdapterRequest,
+                                                                    Class<O> responseType) {
+        return sendThroughPolicies(httpAdapterRequest, responseType, new AsyncCall<>());
+    }
+
+    /**
+     * Builds the policy chain of {@link #send(HttpAdapterRequest, Class)} once for blocking and
+     * asynchronous calls, the call mode applies each policy in its blocking or asynchronous form.
+     */
+    private <O, R> R sendThroughPolicies(HttpAdapterRequest httpAdapterRequest, Class<O> responseType,
+                                         CallMode<O, R> mode) {
+        start();
+        final AdapterConfig adapterConfig = adapterConfigDataSupplier.get();
+        final AdapterProperties adapterProperties = adapterConfig != null ? adapterConfig.getAdapterProperties() : null;
+        final Deadline deadline = httpAdapterRequest.getDeadline();
+        if (adapterConfig == null || adapterConfig != this.appliedConfig) {
+            applyConfig(adapterConfig);
+        }
+        Supplier<R> call = () -> mode.send(httpAdapterRequest, responseType);
+
+        final LoadBalancer balancer = getLoadBalancer(adapterProperties);
+        if (balancer != null) {
+            final String baseUrl = getBaseUrl(adapterProperties);
+            call = () -> mode.balance(balancer, endpoint -> mode.send(
+                    withEndpoint(httpAdapterRequest, baseUrl, endpoint), responseType));
+        }
+
+        final CircuitBreaker circuitBreaker = getCircuitBreaker(adapterConfig);
+        if (circuitBreaker != null) {
+            final Supplier<R> protectedCall = call;
+            call = () -> mode.protect(circuitBreaker, protectedCall);
+        }
+
+        final ConcurrencyLimiter limiter = getConcurrencyLimiter(adapterProperties);
+        if (limiter != null) {
+            final Supplier<R> measuredCall = call;
+            call = () -> mode.limit(limiter, measuredCall);
+        }
+
+        final RateLimiter rateLimiter = getRateLimiter(adapterConfig);
+        if (rateLimiter != null) {
+            final Supplier<R> permittedCall = call;
+            call = () -> mode.permit(rateLimiter, permittedCall, deadline);
+        }
+
+        final HedgePolicy hedge = getHedgePolicy(adapterProperties, httpAdapterRequest);
+        if (hedge != null) {
+            final Supplier<R> hedgedCall = call;
+            call = () -> mode.hedge(hedge, hedgedCall, deadline);
+        }
+
+        final RetryPolicy retry = getRetryPolicy(adapterProperties, httpAdapterRequest);
+        if (retry != null) {
+            final Supplier<R> attempt = call;
+            call = () -> mode.retry(retry, attempt, deadline);
+        }
+
+        final Bulkhead adapterBulkhead = getBulkhead(adapterProperties);
+        if (adapterBulkhead != null) {
+            final Supplier<R> limitedCall = call;
+            call = () -> mode.isolate(adapterBulkhead, limitedCall, deadline);
+        }
+
+        final ResponseCachePolicy cachePolicy = getResponseCachePolicy(adapterProperties, httpAdapterRequest);
+        final RequestKey cacheKey = cachePolicy != null ? cachePolicy.createKey(httpAdapterRequest, responseType) : null;
+        if (cachePolicy != null) {
+            final Supplier<R> uncachedCall = call;
+            call = () -> mode.store(cachePolicy, cacheKey, uncachedCall);
+        }
+
+        final SingleFlightProperties singleFlightProperties = getSingleFlightProperties(adapterProperties,
+                httpAdapterRequest);
+        if (singleFlightProperties != null) {
+            final Supplier<R> leaderCall = call;
+            final RequestKey singleFlightKey = RequestKey.of(httpAdapterRequest, singleFlightProperties.getHeaders(),
+                    responseType);
+            call = () -> mode.coalesce(singleFlightKey, leaderCall, deadline);
+        }
+
+        if (cachePolicy == null) {
+            return call.get();
+        }
+        final HttpAdapterResponse<O> cachedResponse = cachePolicy.getFresh(cacheKey, httpAdapterRequest);
+        if (cachedResponse != null) {
+            return mode.completed(cachedResponse);
+        }
+        final HttpAdapterResponse<O> staleResponse = cachePolicy.getStaleWhileRevalidate(cacheKey,
+                httpAdapterRequest);
+        if (staleResponse != null) {
+            mode.revalidate(cachePolicy, cacheKey, call);
+            return mode.completed(staleResponse);
+        }
+        return mode.sendWithStaleIfError(cachePolicy, cacheKey, call);
+    }
+
+    /**
+     * Applies the policies of a call in their blocking or asynchronous form, {@code R} is the http
+     * response or its future.
+     */
+    private interface CallMode<O, R> {
+
+        R send(HttpAdapterRequest httpAdapterRequest, Class<O> responseType);
+
+        R balance(LoadBalancer balancer, Function<LoadBalancer.Endpoint, R> call);
+
+        R protect(CircuitBreaker circuitBreaker, Supplier<R> call);
+
+        R limit(ConcurrencyLimiter limiter, Supplier<R> call);
+
+        R permit(RateLimiter rateLimiter, Supplier<R> call, Deadline deadline);
+
+        R hedge(HedgePolicy hedge, Supplier<R> call, Deadline deadline);
+
+        R retry(RetryPolicy retry, Supplier<R> call, Deadline deadline);
+
+        R isolate(Bulkhead bulkhead, Supplier<R> call, Deadline deadline);
+
+        R store(ResponseCachePolicy cachePolicy, RequestKey cacheKey, Supplier<R> call);
+
+        R coalesce(RequestKey singleFlightKey, Supplier<R> call, Deadline deadline);
+
+        R completed(HttpAdapterResponse<O> httpAdapterResponse);
+
+        void revalidate(ResponseCachePolicy cachePolicy, RequestKey cacheKey, Supplier<R> call);
+
+        R sendWithStaleIfError(ResponseCachePolicy cachePolicy, RequestKey cacheKey, Supplier<R> call);
+    }
+
+    private final class BlockingCall<O> implements CallMode<O, HttpAdapterResponse<O>> {
+
+        @Override
+        public HttpAdapterResponse<O> send(HttpAdapterRequest httpAdapterRequest, Class<O> responseType) {
+            return sendWithAuthRetry(httpAdapterRequest, responseType);
+        }
+
+        @Override
+        public HttpAdapterResponse<O> balance(LoadBalancer balancer,
+                                              Function<LoadBalancer.Endpoint, HttpAdapterResponse<O>> call) {
+            return balancer.execute(call);
+        }
+
+        @Override
+        public HttpAdapterResponse<O> protect(CircuitBreaker circuitBreaker, Supplier<HttpAdapterResponse<O>> call) {
+            return circuitBreaker.execute(call);
+        }
+
+        @Override
+        public HttpAdapterResponse<O> limit(ConcurrencyLimiter limiter, Supplier<HttpAdapterResponse<O>> call) {
+            return limiter.execute(call);
+        }
+
+        @Override
+        public HttpAdapterResponse<O> permit(RateLimiter rateLimiter, Supplier<HttpAdapterResponse<O>> call,
+                                             Deadline deadline) {
+            return rateLimiter.execute(call, deadline);
+        }
+
+        @Override
+        public HttpAdapterResponse<O> hedge(HedgePolicy hedge, Supplier<HttpAdapterResponse<O>> call,
+                                            Deadline deadline) {
+            return hedge.execute(call, deadline);
+        }
+
+        @Override
+        public HttpAdapterResponse<O> retry(RetryPolicy retry, Supplier<HttpAdapterResponse<O>> call,
+                                            Deadline deadline) {
+            return retry.execute(call, deadline);
+        }
+
+        @Override
+        public HttpAdapterResponse<O> isolate(Bulkhead bulkhead, Supplier<HttpAdapterResponse<O>> call,
+                                              Deadline deadline) {
+            return bulkhead.execute(call, deadline);
+        }
+
+        @Override
+        public HttpAdapterResponse<O> store(ResponseCachePolicy cachePolicy, RequestKey cacheKey,
+                                            Supplier<HttpAdapterResponse<O>> call) {
+            final HttpAdapterResponse<O> httpAdapterResponse = call.get();
+            cachePolicy.store(cacheKey, httpAdapterResponse);
+            return httpAdapterResponse;
+        }
+
+        @Override
+        public HttpAdapterResponse<O> coalesce(RequestKey singleFlightKey, Supplier<HttpAdapterResponse<O>> call,
+                                               Deadline deadline) {
+            return singleFlight.execute(singleFlightKey, call, deadline);
+        }
+
+        @Override
+        public HttpAdapterResponse<O> completed(HttpAdapterResponse<O> httpAdapterResponse) {
+            return httpAdapterResponse;
+        }
+
+        @Override
+        public void revalidate(ResponseCachePolicy cachePolicy, RequestKey cacheKey,
+                               Supplier<HttpAdapterResponse<O>> call) {
+            revalidateInBackground(cachePolicy, cacheKey, call);
+        }
+
+        @Override
+        public HttpAdapterResponse<O> sendWithStaleIfError(ResponseCachePolicy cachePolicy, RequestKey cacheKey,
+                                                           Supplier<HttpAdapterResponse<O>> call) {
+            return BaseAdapter.this.sendWithStaleIfError(cachePolicy, cacheKey, call);
+        }
+    }
+
+    private final class AsyncCall<O> implements CallMode<O, CompletableFuture<HttpAdapterResponse<O>>> {
+
+        @Override
+        public CompletableFuture<HttpAdapterResponse<O>> send(HttpAdapterRequest httpAdapterRequest,
+                                                              Class<O> responseType) {
+            return sendAsyncWithAuthRetry(httpAdapterRequest, responseType);
+        }
+
+        @Override
+        public CompletableFuture<HttpAdapterResponse<O>> balance(
+                LoadBalancer balancer,
+                Function<LoadBalancer.Endpoint, CompletableFuture<HttpAdapterResponse<O>>> call) {
+            return balancer.executeAsync(call);
+        }
+
+        @Override
+        public CompletableFuture<HttpAdapterResponse<O>> protect(
+                CircuitBreaker circuitBreaker, Supplier<CompletableFuture<HttpAdapterResponse<O>>> call) {
+            return circuitBreaker.executeAsync(call);
+        }
+
+        @Override
+        public CompletableFuture<HttpAdapterResponse<O>> limit(
+                ConcurrencyLimiter limiter, Supplier<CompletableFuture<HttpAdapterResponse<O>>> call) {
+            return limiter.executeAsync(call);
+        }
+
+        @Override
+        public CompletableFuture<HttpAdapterResponse<O>> permit(
+                RateLimiter rateLimiter, Supplier<CompletableFuture<HttpAdapterResponse<O>>> call, Deadline deadline) {
+            return rateLimiter.executeAsync(call, deadline);
+        }
+
+        @Override
+        public CompletableFuture<HttpAdapterResponse<O>> hedge(
+                HedgePolicy hedge, Supplier<CompletableFuture<HttpAdapterResponse<O>>> call, Deadline deadline) {
+            return hedge.executeAsync(call, deadline);
+        }
+
+        @Override
+        public CompletableFuture<HttpAdapterResponse<O>> retry(
+                RetryPolicy retry, Supplier<CompletableFuture<HttpAdapterResponse<O>>> call, Deadline deadline) {
+            return retry.executeAsync(call, deadline);
+        }
+
+        @Override
+        public CompletableFuture<HttpAdapterResponse<O>> isolate(
+                Bulkhead bulkhead, Supplier<CompletableFuture<HttpAdapterResponse<O>>> call, Deadline deadline) {
+            return bulkhead.executeAsync(call, deadline);
+        }
+
+        @Override
+        public CompletableFuture<HttpAdapterResponse<O>> store(
+                ResponseCachePolicy cachePolicy, RequestKey cacheKey,
+                Supplier<CompletableFuture<HttpAdapterResponse<O>>> call) {
+            return call.get().thenApply(httpAdapterResponse -> {
+                cachePolicy.store(cacheKey, httpAdapterResponse);
+                return httpAdapterResponse;
+            });
+        }
+
+        @Override
+        public CompletableFuture<HttpAdapterResponse<O>> coalesce(
+                RequestKey singleFlightKey, Supplier<CompletableFuture<HttpAdapterResponse<O>>> call,
+                Deadline deadline) {
+            return singleFlight.executeAsync(singleFlightKey, call, deadline);
+        }
+
+        @Override
+        public CompletableFuture<HttpAdapterResponse<O>> completed(HttpAdapterResponse<O> httpAdapterResponse) {
+            return CompletableFuture.completedFuture(httpAdapterResponse);
+        }
+
+        @Override
+        public void revalidate(ResponseCachePolicy cachePolicy, RequestKey cacheKey,
+                               Supplier<CompletableFuture<HttpAdapterResponse<O>>> call) {
+            if (cachePolicy.startRevalidation(cacheKey)) {
+                whenRevalidated(cachePolicy, cacheKey, call.get());
+            }
+        }
+
+        @Override
+        public CompletableFuture<HttpAdapterResponse<O>> sendWithStaleIfError(
+                ResponseCachePolicy cachePolicy, RequestKey cacheKey,
+                Supplier<CompletableFuture<HttpAdapterResponse<O>>> call) {
+            return call.get().handle((httpAdapterResponse, throwable) -> {
+                if (throwable == null) {
+                    final HttpAdapterResponse<O> staleIfError = getStaleIfError(cachePolicy, cacheKey,
+                            httpAdapterResponse);
+                    return staleIfError != null ? staleIfError : httpAdapterResponse;
+                }
+                final HttpAdapterResponse<O> staleIfError = getStaleIfError(cachePolicy, cacheKey,
+                        unwrapCompletionException(throwable));
+                if (staleIfError != null) {
+                    return staleIfError;
                 }
+                throw throwable instanceof CompletionException completionException ? completionException
+                        : new CompletionException(throwable);
+            });
+        }
+    }
+
+    private <O> HttpAdapterResponse<O> sendWithStaleIfError(ResponseCachePolicy cachePolicy, RequestKey cacheKey,
+                                                            Supplier<HttpAdapterResponse<O>> call) {
+        final HttpAdapterResponse<O> httpAdapterResponse;
+        try {
+            httpAdapterResponse = call.get();
+        } catch (RuntimeException ex) {
+            final HttpAdapterResponse<O> staleResponse = getStaleIfError(cachePolicy, cacheKey, ex);
+            if (staleResponse != null) {
+                return staleResponse;
+            }
+            throw ex;
+        }
+        final HttpAdapterResponse<O> staleResponse = getStaleIfError(cachePolicy, cacheKey, httpAdapterResponse);
+        return staleResponse != null ? staleResponse : httpAdapterResponse;
+    }
+
+    /**
+     * Returns the stale cached response if the endpoint is unavailable, i.e. the call failed with a 5xx
+     * response, an io error, a timeout or an open circuit. Rejected requests (4xx) and other errors would
+     * fail the same way with a fresh response, they are not hidden.
+     */
+    private <O> HttpAdapterResponse<O> getStaleIfError(ResponseCachePolicy cachePolicy, RequestKey cacheKey,
+                                                       Exception ex) {
+        if (!isEndpointUnavailable(ex)) {
+            return null;
+        }
+        final HttpAdapterResponse<O> staleResponse = cachePolicy.getStaleIfError(cacheKey);
+        if (staleResponse != null) {
+            LOGGER.log(Level.WARNING, "Stale response is served, call failed: " + ex.getMessage());
+        }
+        return staleResponse;
+    }
+
+    private static boolean isEndpointUnavailable(Exception ex) {
+        if (ex instanceof AdapterException adapterException && adapterException.getHttpStatusCode() > 0) {
+            // http clients report error responses as exceptions that keep the http status
+            return adapterException.isServerError();
+        }
+        return ex instanceof AdapterIOException || ex instanceof AdapterDeadlineExceededException
+                || ex instanceof AdapterCircuitOpenException;
+    }
+
+    /**
+     * Server error responses of clients returning error responses instead of throwing serve the stale
+     * cached response too.
+     */
+    private <O> HttpAdapterResponse<O> getStaleIfError(ResponseCachePolicy cachePolicy, RequestKey cacheKey,
+                                                       HttpAdapterResponse<O> httpAdapterResponse) {
+        if (httpAdapterResponse == null || httpAdapterResponse.statusCode() < 500) {
+            return null;
+        }
+        final HttpAdapterResponse<O> staleResponse = cachePolicy.getStaleIfError(cacheKey);
+        if (staleResponse != null) {
+            LOGGER.log(Level.WARNING, "Stale response is served, call failed with http status: "
+                    + httpAdapterResponse.statusCode());
+        }
+        return staleResponse;
+    }
+
+    /**
+     * Refreshes a stale cached response on the call executor, or on the shared blocking executor when
+     * there is none. Only one refresh of a key runs at a time, failures keep the stale response.
+     */
+    private <O> void revalidateInBackground(ResponseCachePolicy cachePolicy, RequestKey cacheKey,
+                                            Supplier<HttpAdapterResponse<O>> call) {
+        if (!cachePolicy.startRevalidation(cacheKey)) {
+            return;
+        }
+        final AdapterCallExecutor adapterCallExecutor = this.callExecutor;
+        final CompletableFuture<HttpAdapterResponse<O>> refresh;
+        try {
+            refresh = adapterCallExecutor != null ? adapterCallExecutor.submit(call)
+                    : CompletableFuture.supplyAsync(call, AdapterExecutors.blockingExecutor());
+        } catch (RuntimeException ex) {
+            cachePolicy.endRevalidation(cacheKey);
+            LOGGER.log(Level.WARNING, "Background revalidation couldn't be started", ex);
+            return;
+        }
+        whenRevalidated(cachePolicy, cacheKey, refresh);
+    }
+
+    private <O> void whenRevalidated(ResponseCachePolicy cachePolicy, RequestKey cacheKey,
+                                     CompletableFuture<HttpAdapterResponse<O>> refresh) {
+        refresh.whenComplete((httpAdapterResponse, throwable) -> {
+            cachePolicy.endRevalidation(cacheKey);
+            if (throwable != null) {
+                LOGGER.log(Level.WARNING, "Background revalidation failed", throwable);
             }
+        });
+    }
 
-            HttpAdapterResponse<O> httpAdapterResponse;
+    /**
+     * Sends the request with the http client, the deadline of the request is the deadline of the calling
+     * thread while it is sent so the client caps its timeouts by it.
+     */
+    private <O> HttpAdapterResponse<O> sendWithAuthRetry(HttpAdapterRequest httpAdapterRequest,
+                                                         Class<O> responseType) {
+        final Deadline deadline = httpAdapterRequest.getDeadline();
+        return Deadline.call(deadline, () -> {
+            checkDeadline(deadline);
             try {
                 // auth interceptor from config or external provider
-                httpAdapterResponse = this.httpAdapterClient.send(httpAdapterRequest, responseType);
+                return this.httpAdapterClient.send(httpAdapterRequest, responseType);
             } catch (AdapterAuthenticationException gwException) {
                 //handle it if possible!!
-                httpAdapterResponse = this.httpAdapterClient.send(httpAdapterRequest, responseType);
+                checkDeadline(deadline);
+                return this.httpAdapterClient.send(httpAdapterRequest, responseType);
             }
+        });
+    }
 
-            // adapter response interceptors apply
-            if (this.interceptors != null && !this.interceptors.isEmpty()) {
-                for (IntegrationAdapterInterceptor interceptor : this.interceptors) {
-                    httpAdapterResponse = interceptor.afterHttpRequest(httpAdapterRequest,
-                            httpAdapterResponse);
-                }
+    private static void checkDeadline(Deadline deadline) {
+        if (deadline != null && deadline.isExpired()) {
+            throw new AdapterDeadlineExceededException("request is not sent");
+        }
+    }
+
+    /**
+     * Returns the circuit breaker of the adapter config key from the shared registry, circuit breaker
+     * properties are re-read per call so thresholds changed by dynamic config apply immediately.
+     */
+    private CircuitBreaker getCircuitBreaker(AdapterConfig adapterConfig) {
+        final CircuitBreakerProperties circuitBreakerProperties = adapterConfig != null
+                && adapterConfig.getAdapterProperties() != null
+                ? adapterConfig.getAdapterProperties().getCircuitBreaker() : null;
+        if (circuitBreakerProperties == null || !circuitBreakerProperties.isEnabled()) {
+            return null;
+        }
+        return CircuitBreakerRegistry.getDefault().get(getAdapterKey(adapterConfig), circuitBreakerProperties);
+    }
+
+    private String getAdapterKey(AdapterConfig adapterConfig) {
+        return adapterConfig.getKey() != null ? adapterConfig.getKey() : getClass().getName();
+    }
+
+    /**
+     * Returns the rate limiter of the adapter config key, or of the bearer token client id when the bucket
+     * is shared by client id, from the shared registry.
+     */
+    private RateLimiter getRateLimiter(AdapterConfig adapterConfig) {
+        final AdapterProperties adapterProperties = adapterConfig != null ? adapterConfig.getAdapterProperties() : null;
+        final RateLimitProperties rateLimitProperties = adapterProperties != null
+                ? adapterProperties.getRateLimit() : null;
+        if (rateLimitProperties == null || !rateLimitProperties.isEnabled()) {
+            return null;
+        }
+        final String name = rateLimitProperties.isShareByClientId()
+                && adapterProperties.getAuth() instanceof BearerTokenCredentials bearerTokenCredentials
+                && bearerTokenCredentials.getClientId() != null
+                ? "client-id:" + bearerTokenCredentials.getClientId() : getAdapterKey(adapterConfig);
+        return RateLimiterRegistry.getDefault().get(name, rateLimitProperties);
+    }
+
+    private SingleFlightProperties getSingleFlightProperties(AdapterProperties adapterProperties,
+                                                             HttpAdapterRequest httpAdapterRequest) {
+        final SingleFlightProperties singleFlightProperties = adapterProperties != null
+                ? adapterProperties.getSingleFlight() : null;
+        if (singleFlightProperties == null || httpAdapterRequest.getMethod() == null
+                || !singleFlightProperties.isEnabledFor(httpAdapterRequest.getMethod().name())) {
+            return null;
+        }
+        return singleFlightProperties;
+    }
+
+    /**
+     * Builds or updates the policies and the health checker by the config. A frozen config snapshot is applied
+     * once, calls with the same snapshot reuse the policies; other configs are compared on every call.
+     */
+    private void applyConfig(AdapterConfig adapterConfig) {
+        if (adapterConfig == null || !adapterConfig.isFrozen()) {
+            applyProperties(adapterConfig);
+            return;
+        }
+        applyConfigLock.lock();
+        try {
+            if (adapterConfig != this.appliedConfig) {
+                applyProperties(adapterConfig);
+                this.appliedConfig = adapterConfig;
             }
+        } finally {
+            applyConfigLock.unlock();
+        }
+    }
+
+    private void applyProperties(AdapterConfig adapterConfig) {
+        updateHealthChecker(adapterConfig);
+        final AdapterProperties adapterProperties = adapterConfig != null ? adapterConfig.getAdapterProperties() : null;
+        if (adapterProperties == null) {
+            return;
+        }
+        applyResponseCachePolicy(adapterProperties.getCache());
+        applyRetryPolicy(adapterProperties.getRetry());
+        applyHedgePolicy(adapterProperties.getHedge());
+        applyBulkhead(adapterProperties.getBulkhead());
+        applyConcurrencyLimiter(adapterProperties.getConcurrencyLimit());
+        applyLoadBalancer(adapterProperties.getLoadBalancer());
+    }
 
-            // customize for http response handler in adapter method (you have to implement rest of the code block)
-            // mapping the body, optional: intercepts after completion phase
-            if (customResponseHandlerFunction != null) {
-                return customResponseHandlerFunction.apply(httpAdapterResponse);
+    /**
+     * Recreates the cache policy when the cache properties change at runtime, the in-memory cache is
+     * recreated and cached responses are dropped then.
+     */
+    private void applyResponseCachePolicy(CacheProperties cacheProperties) {
+        if (cacheProperties == null || !cacheProperties.isEnabled()) {
+            return;
+        }
+        final ResponseCache customCache = this.responseCache;
+        this.responseCachePolicy.updateAndGet(current -> {
+            if (current != null && current.getProperties().equals(cacheProperties)
+                    && (customCache == null || current.getCache() == customCache)) {
+                return current;
             }
+            return customCache != null ? new ResponseCachePolicy(cacheProperties, customCache)
+                    : ResponseCachePolicy.inMemory(cacheProperties);
+        });
+    }
+
+    /**
+     * Returns the cache policy of the applied cache properties if the request is cacheable.
+     */
+    private ResponseCachePolicy getResponseCachePolicy(AdapterProperties adapterProperties,
+                                                       HttpAdapterRequest httpAdapterRequest) {
+        final CacheProperties cacheProperties = adapterProperties != null ? adapterProperties.getCache() : null;
+        if (cacheProperties == null || !cacheProperties.isEnabled()) {
+            return null;
+        }
+        final ResponseCachePolicy cachePolicy = this.responseCachePolicy.get();
+        return cachePolicy != null && cachePolicy.isCacheable(httpAdapterRequest) ? cachePolicy : null;
+    }
 
-            //default all service operation impl
-            var status = this.checkStatusDefaultIsHttp200(httpAdapterResponse);
-            if (status.status().equals(Status.SUCCESS)) {
-                adapterResponse = new AdapterResponse<T>(status, (T) httpAdapterResponse.body());
+    /**
+     * Recreates the retry policy with a full retry budget when the retry properties change at runtime.
+     */
+    private void applyRetryPolicy(RetryProperties retryProperties) {
+        if (retryProperties == null || !retryProperties.isEnabled()) {
+            return;
+        }
+        this.retryPolicy.updateAndGet(current ->
+                current != null && current.getProperties().equals(retryProperties) ? current
+                        : new RetryPolicy(retryProperties));
+    }
+
+    /**
+     * Returns the retry policy of the applied retry properties if the request is retryable.
+     */
+    private RetryPolicy getRetryPolicy(AdapterProperties adapterProperties, HttpAdapterRequest httpAdapterRequest) {
+        final RetryProperties retryProperties = adapterProperties != null ? adapterProperties.getRetry() : null;
+        if (retryProperties == null || !retryProperties.isEnabled()) {
+            return null;
+        }
+        final RetryPolicy policy = this.retryPolicy.get();
+        return policy != null && policy.isRetryable(httpAdapterRequest) ? policy : null;
+    }
+
+    /**
+     * Applies limits changed by dynamic config to the same bulkhead.
+     */
+    private void applyBulkhead(BulkheadProperties bulkheadProperties) {
+        if (bulkheadProperties == null || !bulkheadProperties.isEnabled()) {
+            return;
+        }
+        final Bulkhead current = this.bulkhead.updateAndGet(existing ->
+                existing != null ? existing : new Bulkhead(bulkheadProperties));
+        if (!current.getProperties().equals(bulkheadProperties)) {
+            current.updateProperties(bulkheadProperties);
+        }
+    }
+
+    /**
+     * Returns the bulkhead of the adapter if the bulkhead is enabled.
+     */
+    private Bulkhead getBulkhead(AdapterProperties adapterProperties) {
+        final BulkheadProperties bulkheadProperties = adapterProperties != null
+                ? adapterProperties.getBulkhead() : null;
+        if (bulkheadProperties == null || !bulkheadProperties.isEnabled()) {
+            return null;
+        }
+        return this.bulkhead.get();
+    }
+
+    /**
+     * Applies limits changed by dynamic config to the same adaptive concurrency limiter.
+     */
+    private void applyConcurrencyLimiter(ConcurrencyLimitProperties concurrencyLimitProperties) {
+        if (concurrencyLimitProperties == null || !concurrencyLimitProperties.isEnabled()) {
+            return;
+        }
+        final ConcurrencyLimiter current = this.concurrencyLimiter.updateAndGet(existing ->
+                existing != null ? existing : new ConcurrencyLimiter(concurrencyLimitProperties));
+        if (!current.getProperties().equals(concurrencyLimitProperties)) {
+            current.updateProperties(concurrencyLimitProperties);
+        }
+    }
+
+    /**
+     * Returns the adaptive concurrency limiter of the adapter if the concurrency limit is enabled.
+     */
+    private ConcurrencyLimiter getConcurrencyLimiter(AdapterProperties adapterProperties) {
+        final ConcurrencyLimitProperties concurrencyLimitProperties = adapterProperties != null
+                ? adapterProperties.getConcurrencyLimit() : null;
+        if (concurrencyLimitProperties == null || !concurrencyLimitProperties.isEnabled()) {
+            return null;
+        }
+        return this.concurrencyLimiter.get();
+    }
+
+    /**
+     * Returns the adaptive concurrency limiter of the adapter to publish its current limit and in-flight
+     * calls as metrics, e.g. as gauges.
+     *
+     * @return concurrency limiter, null until a call is sent with the concurrency limit enabled
+     */
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter.get();
+    }
+
+    /**
+     * Applies endpoints changed by dynamic config to the same load balancer.
+     */
+    private void applyLoadBalancer(LoadBalancerProperties loadBalancerProperties) {
+        if (loadBalancerProperties == null || !loadBalancerProperties.isEnabled()) {
+            return;
+        }
+        final LoadBalancer current = this.loadBalancer.updateAndGet(existing ->
+                existing != null ? existing : createLoadBalancer(loadBalancerProperties));
+        if (!current.getProperties().equals(loadBalancerProperties)) {
+            current.updateProperties(loadBalancerProperties);
+        }
+    }
+
+    /**
+     * Returns the load balancer of the adapter if load balancing is enabled.
+     */
+    private LoadBalancer getLoadBalancer(AdapterProperties adapterProperties) {
+        final LoadBalancerProperties loadBalancerProperties = adapterProperties != null
+                ? adapterProperties.getLoadBalancer() : null;
+        if (loadBalancerProperties == null || !loadBalancerProperties.isEnabled()) {
+            return null;
+        }
+        return this.loadBalancer.get();
+    }
+
+    private LoadBalancer createLoadBalancer(LoadBalancerProperties loadBalancerProperties) {
+        final LoadBalancer balancer = new LoadBalancer(loadBalancerProperties);
+        balancer.setHealthChecker(this.healthChecker.get());
+        return balancer;
+    }
+
+    /**
+     * Returns the load balancer of the adapter to publish the state of its endpoints as metrics.
+     *
+     * @return load balancer, null until a call is sent with load balancing enabled
+     */
+    public LoadBalancer getLoadBalancer() {
+        return loadBalancer.get();
+    }
+
+    /**
+     * Starts the background work of the adapter, i.e. the health checker when the config enables it.
+     * Config changes published by an {@link AdapterConfigSupplier} are applied immediately, other config
+     * changes with the next call. The adapter is started by its first call otherwise, e.g. call it from
+     * the init method of the adapter bean to probe endpoints before the first call. Calling it again has
+     * no effect.
+     */
+    public void start() {
+        if (this.adapterConfigDataSupplier == null || !started.compareAndSet(false, true)) {
+            return;
+        }
+        final Object supplier = this.adapterConfigDataSupplier;
+        if (supplier instanceof AdapterConfigSupplier adapterConfigSupplier) {
+            adapterConfigSupplier.subscribe(this::updateHealthChecker);
+        }
+        try {
+            updateHealthChecker(this.adapterConfigDataSupplier.get());
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Health checker couldn't be started, it is started with the next call", e);
+        }
+    }
+
+    /**
+     * Starts, updates or stops the health checker by the config, unchanged configs cost a fingerprint check.
+     * The fingerprint of a frozen config snapshot is computed once when the snapshot is frozen.
+     */
+    private void updateHealthChecker(AdapterConfig adapterConfig) {
+        if (adapterConfig == null || adapterConfig.fingerprint() == this.healthCheckConfigFingerprint) {
+            return;
+        }
+        healthCheckLock.lock();
+        try {
+            final HealthCheckProperties healthCheckProperties = adapterConfig.getAdapterProperties() != null
+                    ? adapterConfig.getAdapterProperties().getHealthCheck() : null;
+            HealthChecker checker = this.healthChecker.get();
+            if (healthCheckProperties == null || !healthCheckProperties.isEnabled()) {
+                if (checker != null) {
+                    checker.stop();
+                    this.healthChecker.set(null);
+                    checker = null;
+                }
+            } else if (checker == null) {
+                checker = new HealthChecker(healthCheckProperties, adapterConfig.getEndpointUrls(), this::checkHealth);
+                checker.start();
+                this.healthChecker.set(checker);
             } else {
-                throw new AdapterException(status);
+                checker.update(healthCheckProperties, adapterConfig.getEndpointUrls());
+            }
+            final LoadBalancer balancer = this.loadBalancer.get();
+            if (balancer != null) {
+                balancer.setHealthChecker(checker);
             }
+            this.healthCheckConfigFingerprint = adapterConfig.fingerprint();
+        } finally {
+            healthCheckLock.unlock();
+        }
+    }
 
-            //Log debug response
+    /**
+     * Returns the health checker of the adapter to publish the health of its endpoints as metrics.
+     *
+     * @return health checker, null while the health check is disabled or the adapter is not started
+     */
+    public HealthChecker getHealthChecker() {
+        return healthChecker.get();
+    }
+
+    /**
+     * Probes an endpoint for the health checker with the request of the health check properties, sent by the
+     * http client of the adapter without the adapter policies. User can override this method to probe the
+     * endpoint in another way, e.g. with a marshalled soap request.
+     *
+     * @param endpointUrl base url of the endpoint
+     * @return true if the endpoint is up
+     */
+    protected boolean checkHealth(String endpointUrl) {
+        final HealthCheckProperties healthCheckProperties = adapterConfigDataSupplier.get().getAdapterProperties()
+                .getHealthCheck();
+        final HttpAdapterRequest httpAdapterRequest = new HttpAdapterRequest();
+        httpAdapterRequest.setMethod(HttpMethod.valueOf(healthCheckProperties.getMethodOrDefault().toUpperCase(Locale.ROOT)));
+        httpAdapterRequest.setUrl(UrlUtils.combineUrl(endpointUrl, healthCheckProperties.getPath()));
+        httpAdapterRequest.setHeaders(healthCheckProperties.getHeaders() != null
+                ? new HashMap<>(healthCheckProperties.getHeaders()) : new HashMap<>());
+        httpAdapterRequest.setRequestBody(healthCheckProperties.getBody());
+        httpAdapterRequest.setDeadline(Deadline.afterMillis(healthCheckProperties.getTimeoutOrDefault()));
+        final HttpAdapterResponse<String> response = this.httpAdapterClient.send(httpAdapterRequest, String.class);
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+
+    /**
+     * Returns the base url of request urls, the url of the first endpoint when the adapter url is not set.
+     */
+    private static String getBaseUrl(AdapterProperties adapterProperties) {
+        final LoadBalancerProperties loadBalancerProperties = adapterProperties.getLoadBalancer();
+        if (adapterProperties.getUrl() != null || loadBalancerProperties == null
+                || !loadBalancerProperties.isEnabled()) {
+            return adapterProperties.getUrl();
+        }
+        return loadBalancerProperties.getEndpoints().get(0).getUrl();
+    }
+
+    /**
+     * Copies the request with the base url replaced by the url of the endpoint, attempts of a call may be
+     * sent to different endpoints concurrently.
+     */
+    private static HttpAdapterRequest withEndpoint(HttpAdapterRequest httpAdapterRequest, String baseUrl,
+                                                   LoadBalancer.Endpoint endpoint) {
+        final HttpAdapterRequest endpointRequest = new HttpAdapterRequest();
+        endpointRequest.setMethod(httpAdapterRequest.getMethod());
+        endpointRequest.setUrl(UrlUtils.replaceBaseUrl(httpAdapterRequest.getUrl(), baseUrl, endpoint.getUrl()));
+        endpointRequest.setHeaders(httpAdapterRequest.getHeaders());
+        endpointRequest.setRequestBody(httpAdapterRequest.getRequestBody());
+        endpointRequest.setDeadline(httpAdapterRequest.getDeadline());
+        return endpointRequest;
+    }
+
+    /**
+     * Recreates the hedge policy with no observed latencies when the hedge properties change at runtime.
+     */
+    private void applyHedgePolicy(HedgeProperties hedgeProperties) {
+        if (hedgeProperties == null || !hedgeProperties.isEnabled()) {
+            return;
+        }
+        this.hedgePolicy.updateAndGet(current ->
+                current != null && current.getProperties().equals(hedgeProperties) ? current
+                        : new HedgePolicy(hedgeProperties));
+    }
+
+    /**
+     * Returns the hedge policy of the applied hedge properties if the request is hedged.
+     */
+    private HedgePolicy getHedgePolicy(AdapterProperties adapterProperties, HttpAdapterRequest httpAdapterRequest) {
+        final HedgeProperties hedgeProperties = adapterProperties != null ? adapterProperties.getHedge() : null;
+        if (hedgeProperties == null || !hedgeProperties.isEnabled()) {
+            return null;
+        }
+        final HedgePolicy policy = this.hedgePolicy.get();
+        return policy != null && policy.isHedged(httpAdapterRequest) ? policy : null;
+    }
+
+    /**
+     * Sets a custom response cache, e.g. a cache shared by all instances of a service. Responses are
+     * cached only when cache is enabled in adapter properties, an in-memory cache is used by default.
+     *
+     * @param responseCache response cache, null to use the default in-memory cache
+     */
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+        this.appliedConfig = null;
+    }
+
+    private <O> CompletableFuture<HttpAdapterResponse<O>> sendAsyncWithAuthRetry(
+            HttpAdapterRequest httpAdapterRequest, Class<O> responseType) {
+        final Deadline deadline = httpAdapterRequest.getDeadline();
+        final CompletableFuture<HttpAdapterResponse<O>> responseFuture;
+        try {
+            checkDeadline(deadline);
+            responseFuture = this.httpAdapterClient.sendAsync(httpAdapterRequest, responseType);
         } catch (Exception ex) {
-            LOGGER.log(Level.SEVERE, "Error: ", ex);
-            adapterResponse = this.handleExceptionInternalWithDefault(ex);
-        } finally {
-            try {
-                // response interceptors apply
-                if (this.interceptors != null && !this.interceptors.isEmpty()) {
-                    for (IntegrationAdapterInterceptor interceptor : this.interceptors) {
-                        adapterResponse = interceptor.afterCompletion(adapterResponse);
-                    }
+            return CompletableFuture.failedFuture(ex);
+        }
+        return responseFuture.exceptionallyCompose(throwable -> {
+            if (unwrapCompletionException(throwable) instanceof AdapterAuthenticationException) {
+                //handle it if possible!!
+                try {
+                    checkDeadline(deadline);
+                } catch (AdapterDeadlineExceededException ex) {
+                    return CompletableFuture.failedFuture(ex);
                 }
-            } catch (Exception ex) {
-                //log error exception
-                adapterResponse = this.handleExceptionInternalWithDefault(ex);
+                return this.httpAdapterClient.sendAsync(httpAdapterRequest, responseType);
+            }
+            return CompletableFuture.failedFuture(throwable);
+        });
+    }
+
+    private HttpAdapterRequest prepareRequest(String subUrlWithParams, HttpMethod requestMethod,
+                                              Map<String, String> requestHeaders, Object requestBody) {
+        HttpAdapterRequest httpAdapterRequest = createRequest(subUrlWithParams, requestMethod,
+                requestHeaders, requestBody);
+        // adapter request interceptors apply
+        if (this.interceptors != null && !this.interceptors.isEmpty()) {
+            for (IntegrationAdapterInterceptor interceptor : this.interceptors) {
+                httpAdapterRequest = interceptor.beforeHttpRequest(httpAdapterRequest);
+            }
+        }
+        return httpAdapterRequest;
+    }
+
+    /**
+     * Maps the http response to the adapter response, the status of a stale cached response is
+     * flagged as {@link AdapterStatus#stale()}.
+     */
+    private <T, O> AdapterResponse<T> handleResponse(HttpAdapterRequest httpAdapterRequest,
+                                                     HttpAdapterResponse<O> httpAdapterResponse,
+                                                     ResponseBodyHandler<O, T> customResponseHandlerFunction) {
+        final AdapterResponse<T> adapterResponse = mapResponse(httpAdapterRequest, httpAdapterResponse,
+                customResponseHandlerFunction);
+        if (adapterResponse != null && adapterResponse.getStatus() != null
+                && ResponseCachePolicy.isStale(httpAdapterResponse)) {
+            return new AdapterResponse<>(adapterResponse.getStatus().asStale(), adapterResponse.getData());
+        }
+        return adapterResponse;
+    }
+
+    private <T, O> AdapterResponse<T> mapResponse(HttpAdapterRequest httpAdapterRequest,
+                                                  HttpAdapterResponse<O> httpAdapterResponse,
+                                                  ResponseBodyHandler<O, T> customResponseHandlerFunction) {
+        // adapter response interceptors apply
+        if (this.interceptors != null && !this.interceptors.isEmpty()) {
+            for (IntegrationAdapterInterceptor interceptor : this.interceptors) {
+                httpAdapterResponse = interceptor.afterHttpRequest(httpAdapterRequest,
+                        httpAdapterResponse);
             }
         }
 
+        // customize for http response handler in adapter method (you have to implement rest of the code block)
+        // mapping the body, optional: intercepts after completion phase
+        if (customResponseHandlerFunction != null) {
+            return customResponseHandlerFunction.apply(httpAdapterResponse);
+        }
+
+        //default all service operation impl
+        var status = this.checkStatusDefaultIsHttp200(httpAdapterResponse);
+        if (status.status().equals(Status.SUCCESS)) {
+            // without a handler the http body is the adapter data, callers omit the handler only when T is the
+            // response type O, which the signature of the public execute methods can't express
+            @SuppressWarnings("unchecked")
+            final T data = (T) httpAdapterResponse.body();
+            return new AdapterResponse<>(status, data);
+        }
+        throw new AdapterException(status);
+    }
+
+    private <T> AdapterResponse<T> completeResponse(AdapterResponse<T> adapterResponse) {
+        try {
+            // response interceptors apply
+            if (this.interceptors != null && !this.interceptors.isEmpty()) {
+                for (IntegrationAdapterInterceptor interceptor : this.interceptors) {
+                    adapterResponse = interceptor.afterCompletion(adapterResponse);
+                }
+            }
+        } catch (Exception ex) {
+            //log error exception
+            adapterResponse = this.handleExceptionInternalWithDefault(ex);
+        }
         return adapterResponse;
     }
 
+    private static Exception unwrapCompletionException(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof Exception exception) {
+            return exception;
+        }
+        throw new CompletionException(cause);
+    }
+
     private HttpAdapterRequest createRequest(String subUrlWithParams, HttpMethod requestMethod,
                                              Map<String, String> requestHeaders, Object requestBody) {
         if (requestHeaders == null) {
@@ -185,15 +1302,27 @@ public abstract class BaseAdapter<C extends AdapterConfig> implements Adapter<C>
 
         AdapterConfig config = adapterConfigDataSupplier.get();
 
-        final String url = UrlUtils.combineUrl(config.getAdapterProperties().getUrl(), subUrlWithParams);
+        final String url = UrlUtils.combineUrl(getBaseUrl(config.getAdapterProperties()), subUrlWithParams);
         HttpAdapterRequest httpAdapterRequest = new HttpAdapterRequest();
         httpAdapterRequest.setMethod(requestMethod);
         httpAdapterRequest.setUrl(url);
         httpAdapterRequest.setHeaders(requestHeaders);
         httpAdapterRequest.setRequestBody(requestBody);
+        httpAdapterRequest.setDeadline(getDeadline(config.getAdapterProperties()));
         return httpAdapterRequest;
     }
 
+    /**
+     * Returns the deadline of the calling thread, or the default deadline of the adapter if it is earlier.
+     */
+    private static Deadline getDeadline(AdapterProperties adapterProperties) {
+        final DeadlineProperties deadlineProperties = adapterProperties != null ? adapterProperties.getDeadline() : null;
+        if (deadlineProperties == null || !deadlineProperties.isEnabled()) {
+            return Deadline.current();
+        }
+        return Deadline.earliest(Deadline.current(), Deadline.afterMillis(deadlineProperties.getDefaultTimeout()));
+    }
+
     /**
      * User can override this method to check the response status from the body of response. Sometimes
      * services can return an incorrect http status which means a response with a successful http
@@ -9,6 +9,7 @@ import com.inomera.integration.model.AdapterResponse;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 /**
@@ -228,4 +229,179 @@ public abstract class RestAdapter<C extends AdapterConfig> extends BaseAdapter<C
         return this.execute(subUrlWithParams, requestMethod, requestHeaders, requestBody, responseType,
                 customResponseHandlerFunction);
     }
+
+    /**
+     * Asynchronous variant of {@link #get(String, Map, Object, Class, ResponseBodyHandler)}.
+     *
+     * @param subUrlWithParams              Method level subpath of endpoint API.
+     * @param requestHeaders                Http Headers.
+     * @param requestBody                   Http request body.
+     * @param responseType                  Http response body type.
+     * @param customResponseHandlerFunction Custom response handler to create custom adapter
+     *                                      response.
+     * @param <T>                           AdapterResponse data type.
+     * @param <O>                           HttpResponse data type.
+     * @return Future of the adapter response, completes with the error status instead of an exception.
+     */
+    public <T, O> CompletableFuture<AdapterResponse<T>> getAsync(
+            String subUrlWithParams,
+            Map<String, String> requestHeaders,
+            Object requestBody,
+            Class<O> responseType,
+            ResponseBodyHandler<O, T> customResponseHandlerFunction
+    ) {
+        return this.executeAsync(
+                subUrlWithParams,
+                HttpMethod.GET,
+                requestHeaders,
+                requestBody,
+                responseType,
+                customResponseHandlerFunction
+        );
+    }
+
+    /**
+     * Asynchronous variant of {@link #post(String, Map, Object, Class, ResponseBodyHandler)}.
+     *
+     * @param subUrlWithParams              Method level subpath of endpoint API.
+     * @param requestHeaders                Http Headers.
+     * @param requestBody                   Http request body.
+     * @param responseType                  Http response body type.
+     * @param customResponseHandlerFunction Custom response handler to create custom adapter
+     *                                      response.
+     * @param <T>                           AdapterResponse data type.
+     * @param <O>                           HttpResponse data type.
+     * @return Future of the adapter response, completes with the error status instead of an exception.
+     */
+    public <T, O> CompletableFuture<AdapterResponse<T>> postAsync(
+            String subUrlWithParams,
+            Map<String, String> requestHeaders,
+            Object requestBody,
+            Class<O> responseType,
+            ResponseBodyHandler<O, T> customResponseHandlerFunction
+    ) {
+        return this.executeAsync(
+                subUrlWithParams,
+                HttpMethod.POST,
+                requestHeaders,
+                requestBody,
+                responseType,
+                customResponseHandlerFunction
+        );
+    }
+
+    /**
+     * Asynchronous variant of {@link #put(String, Map, Object, Class, ResponseBodyHandler)}.
+     *
+     * @param subUrlWithParams              Method level subpath of endpoint API.
+     * @param requestHeaders                Http Headers.
+     * @param requestBody                   Http request body.
+     * @param responseType                  Http response body type.
+     * @param customResponseHandlerFunction Custom response handler to create custom adapter
+     *                                      response.
+     * @param <T>                           AdapterResponse data type.
+     * @param <O>                           HttpResponse data type.
+     * @return Future of the adapter response, completes with the error status instead of an exception.
+     */
+    public <T, O> CompletableFuture<AdapterResponse<T>> putAsync(
+            String subUrlWithParams,
+            Map<String, String> requestHeaders,
+            Object requestBody,
+            Class<O> responseType,
+            ResponseBodyHandler<O, T> customResponseHandlerFunction
+    ) {
+        return this.executeAsync(
+                subUrlWithParams,
+                HttpMethod.PUT,
+                requestHeaders,
+                requestBody,
+                responseType,
+                customResponseHandlerFunction
+        );
+    }
+
+    /**
+     * Asynchronous variant of {@link #patch(String, Map, Object, Class, ResponseBodyHandler)}.
+     *
+     * @param subUrlWithParams              Method level subpath of endpoint API.
+     * @param requestHeaders                Http Headers.
+     * @param requestBody                   Http request body.
+     * @param responseType                  Http response body type.
+     * @param customResponseHandlerFunction Custom response handler to create custom adapter
+     *                                      response.
+     * @param <T>                           AdapterResponse data type.
+     * @param <O>                           HttpResponse data type.
+     * @return Future of the adapter response, completes with the error status instead of an exception.
+     */
+    public <T, O> CompletableFuture<AdapterResponse<T>> patchAsync(
+            String subUrlWithParams,
+            Map<String, String> requestHeaders,
+            Object requestBody,
+            Class<O> responseType,
+            ResponseBodyHandler<O, T> customResponseHandlerFunction
+    ) {
+        return this.executeAsync(
+                subUrlWithParams,
+                HttpMethod.PATCH,
+                requestHeaders,
+                requestBody,
+                responseType,
+                customResponseHandlerFunction
+        );
+    }
+
+    /**
+     * Asynchronous variant of {@link #delete(String, Map, Object, Class, ResponseBodyHandler)}.
+     *
+     * @param subUrlWithParams              Method level subpath of endpoint API.
+     * @param requestHeaders                Http Headers.
+     * @param requestBody                   Http request body.
+     * @param responseType                  Http response body type.
+     * @param customResponseHandlerFunction Custom response handler to create custom adapter
+     *                                      response.
+     * @param <T>                           AdapterResponse data type.
+     * @param <O>                           HttpResponse data type.
+     * @return Future of the adapter response, completes with the error status instead of an exception.
+     */
+    public <T, O> CompletableFuture<AdapterResponse<T>> deleteAsync(
+            String subUrlWithParams,
+            Map<String, String> requestHeaders,
+            Object requestBody,
+            Class<O> responseType,
+            ResponseBodyHandler<O, T> customResponseHandlerFunction
+    ) {
+        return this.executeAsync(
+                subUrlWithParams,
+                HttpMethod.DELETE,
+                requestHeaders,
+                requestBody,
+                responseType,
+                customResponseHandlerFunction
+        );
+    }
+
+    /**
+     * Asynchronous variant of
+     * {@link #executeGeneric(String, HttpMethod, Map, Object, Class, ResponseBodyHandler)}.
+     *
+     * @param subUrlWithParams              Method level subpath of endpoint API.
+     * @param requestMethod                 Http method.
+     * @param requestHeaders                Http Headers.
+     * @param requestBody                   Http request body.
+     * @param responseType                  Http response body type.
+     * @param customResponseHandlerFunction Custom response handler to create custom adapter
+     *                                      response.
+     * @param <T>                           AdapterResponse data type.
+     * @param <O>                           HttpResponse data type.
+     * @return Future of the adapter response, completes with the error status instead of an exception.
+     */
+    public <T, O> CompletableFuture<AdapterResponse<T>> executeGenericAsync(String subUrlWithParams,
+                                                                           HttpMethod requestMethod,
+                                                                           Map<String, String> requestHeaders,
+                                                                           Object requestBody,
+                                                                           Class<O> responseType,
+                                                                           ResponseBodyHandler<O, T> customResponseHandlerFunction) {
+        return this.executeAsync(subUrlWithParams, requestMethod, requestHeaders, requestBody,
+                responseType, customResponseHandlerFunction);
+    }
 }
@@ -9,6 +9,7 @@ import com.inomera.integration.model.AdapterResponse;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 /**
@@ -107,4 +108,62 @@ public abstract class SoapAdapter<C extends AdapterConfig> extends BaseAdapter<C
                 customResponseHandlerFunction
         );
     }
+
+    /**
+     * Asynchronous variant of {@link #executeInternal(Map, Object, HttpMethod, Class)}.
+     *
+     * @param requestHeaders Http Headers.
+     * @param requestBody    Http request body.
+     * @param httpMethod     Http method.
+     * @param responseType   Http response body type. response.
+     * @param <T>            AdapterResponse data type.
+     * @param <O>            HttpResponse data type.
+     * @return Future of the adapter response, completes with the error status instead of an exception.
+     */
+    public <T, O> CompletableFuture<AdapterResponse<T>> executeInternalAsync(
+            Map<String, String> requestHeaders,
+            Object requestBody,
+            HttpMethod httpMethod,
+            Class<O> responseType
+    ) {
+        return this.executeAsync(
+                "",
+                httpMethod,
+                requestHeaders,
+                requestBody,
+                responseType,
+                null
+        );
+    }
+
+    /**
+     * Asynchronous variant of
+     * {@link #executeInternalWithCustomHandler(Map, Object, HttpMethod, Class, ResponseBodyHandler)}.
+     *
+     * @param requestHeaders                Http Headers.
+     * @param requestBody                   Http request body.
+     * @param httpMethod                    Http method.
+     * @param responseType                  Http response body type. response.
+     * @param customResponseHandlerFunction Custom response handler to create custom adapter
+     *                                      response.
+     * @param <T>                           AdapterResponse data type.
+     * @param <O>                           HttpResponse data type.
+     * @return Future of the adapter response, completes with the error status instead of an exception.
+     */
+    public <T, O> CompletableFuture<AdapterResponse<T>> executeInternalWithCustomHandlerAsync(
+            Map<String, String> requestHeaders,
+            Object requestBody,
+            HttpMethod httpMethod,
+            Class<O> responseType,
+            ResponseBodyHandler<O, T> customResponseHandlerFunction
+    ) {
+        return this.executeAsync(
+                "",
+                httpMethod,
+                requestHeaders,
+                requestBody,
+                responseType,
+                customResponseHandlerFunction
+        );
+    }
 }
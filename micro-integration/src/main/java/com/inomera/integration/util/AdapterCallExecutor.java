@@ -0,0 +1,123 @@
+package com.inomera.integration.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking adapter calls asynchronously with a limit on concurrent calls. Tasks wait for a
+ * permit on their own thread, so with virtual threads any number of calls can be queued cheaply
+ * while at most {@code maxConcurrentCalls} of them reach the endpoint at the same time.
+ * <p>
+ * Create it with {@link #virtualThreads(String, int)} to run each call on its own virtual thread,
+ * on JDK 17 platform threads are used instead.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public final class AdapterCallExecutor implements AutoCloseable {
+
+    private final Executor executor;
+    private final Semaphore permits;
+    private final int maxConcurrentCalls;
+    private final boolean owned;
+
+    private AdapterCallExecutor(Executor executor, int maxConcurrentCalls, boolean owned) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor cannot be null");
+        }
+        this.executor = executor;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.permits = maxConcurrentCalls > 0 ? new Semaphore(maxConcurrentCalls) : null;
+        this.owned = owned;
+    }
+
+    /**
+     * Creates an executor that runs each call on a new virtual thread, see
+     * {@link AdapterExecutors#newVirtualThreadExecutor(String)}.
+     *
+     * @param name               adapter name, used as thread name prefix of the fallback pool
+     * @param maxConcurrentCalls maximum number of concurrent calls, no limit when zero or negative
+     * @return adapter call executor
+     */
+    public static AdapterCallExecutor virtualThreads(String name, int maxConcurrentCalls) {
+        return new AdapterCallExecutor(AdapterExecutors.newVirtualThreadExecutor(name + "-call-"),
+                maxConcurrentCalls, true);
+    }
+
+    /**
+     * Creates an adapter call executor on a user provided executor. The given executor is not shut
+     * down by {@link #close()}.
+     *
+     * @param executor           executor to run calls on
+     * @param maxConcurrentCalls maximum number of concurrent calls, no limit when zero or negative
+     * @return adapter call executor
+     */
+    public static AdapterCallExecutor of(Executor executor, int maxConcurrentCalls) {
+        return new AdapterCallExecutor(executor, maxConcurrentCalls, false);
+    }
+
+    /**
+     * Runs the given blocking call asynchronously. The call waits for a free permit before it is
+     * started, the future completes exceptionally if the call throws or the executor rejects it.
+     *
+     * @param call blocking adapter call
+     * @param <T>  result type
+     * @return future of the call result
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> call) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            this.executor.execute(() -> run(call, future));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private <T> void run(Supplier<T> call, CompletableFuture<T> future) {
+        if (this.permits != null) {
+            try {
+                this.permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.completeExceptionally(e);
+                return;
+            }
+        }
+        try {
+            future.complete(call.get());
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        } finally {
+            if (this.permits != null) {
+                this.permits.release();
+            }
+        }
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    /**
+     * Returns the number of calls running at the moment, zero when there is no limit.
+     *
+     * @return number of running calls
+     */
+    public int getActiveCalls() {
+        return this.permits != null ? this.maxConcurrentCalls - this.permits.availablePermits() : 0;
+    }
+
+    /**
+     * Shuts down the executor if it is created by this class, running calls are completed.
+     */
+    @Override
+    public void close() {
+        if (this.owned && this.executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+}
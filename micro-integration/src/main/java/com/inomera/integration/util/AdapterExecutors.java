@@ -0,0 +1,123 @@
+package com.inomera.integration.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shared executors of the adapter library.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public final class AdapterExecutors {
+
+    private static final Logger LOGGER = Logger.getLogger(AdapterExecutors.class.getName());
+
+    private AdapterExecutors() {
+        throw new UnsupportedOperationException("This class cannot be instantiated.");
+    }
+
+    /**
+     * Returns the shared executor to run blocking http calls asynchronously, e.g. rest and soap calls of
+     * {@link com.inomera.integration.client.HttpAdapterClient#sendAsync}. Threads are created on demand,
+     * reused while they are idle and never block the JVM shutdown.
+     *
+     * @return shared blocking call executor
+     */
+    public static Executor blockingExecutor() {
+        return BlockingExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * Returns the shared scheduler for timers of the adapter library, e.g. deadlines. Scheduled tasks
+     * must be short and non-blocking, they run on a single daemon thread.
+     *
+     * @return shared scheduler
+     */
+    public static ScheduledExecutorService scheduler() {
+        return SchedulerHolder.SCHEDULER;
+    }
+
+    /**
+     * Returns whether the running JVM supports virtual threads (JDK 21 and later).
+     *
+     * @return true if virtual threads are supported
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VirtualThreadExecutorFactory.FACTORY != null;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task. The library is compiled for
+     * JDK 17, so the JDK 21 factory method is looked up reflectively. When virtual threads are not
+     * supported a cached daemon thread pool is created instead, thread names start with the given
+     * prefix.
+     *
+     * @param namePrefix thread name prefix of the fallback thread pool
+     * @return virtual thread per task executor or its platform thread fallback
+     */
+    public static ExecutorService newVirtualThreadExecutor(String namePrefix) {
+        if (VirtualThreadExecutorFactory.FACTORY != null) {
+            try {
+                return (ExecutorService) VirtualThreadExecutorFactory.FACTORY.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                LOGGER.log(Level.WARNING, "Virtual thread executor couldn't be created, platform threads are used", e);
+            }
+        }
+        return Executors.newCachedThreadPool(daemonThreadFactory(namePrefix));
+    }
+
+    /**
+     * Creates a daemon thread factory, thread names start with the given prefix.
+     *
+     * @param namePrefix thread name prefix
+     * @return daemon thread factory
+     */
+    public static ThreadFactory daemonThreadFactory(String namePrefix) {
+        final AtomicInteger threadNumber = new AtomicInteger(1);
+        return runnable -> {
+            final Thread thread = new Thread(runnable, namePrefix + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class VirtualThreadExecutorFactory {
+
+        private static final Method FACTORY = findFactory();
+
+        private static Method findFactory() {
+            try {
+                return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    }
+
+    private static final class SchedulerHolder {
+
+        private static final ScheduledExecutorService SCHEDULER = createScheduler();
+
+        private static ScheduledExecutorService createScheduler() {
+            final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1,
+                    daemonThreadFactory("adapter-scheduler-"));
+            // cancelled timers are removed immediately, most deadlines are cancelled before they expire
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+
+    private static final class BlockingExecutorHolder {
+
+        private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(
+                daemonThreadFactory("adapter-blocking-"));
+    }
+}
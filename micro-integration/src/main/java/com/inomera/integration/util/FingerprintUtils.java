@@ -0,0 +1,316 @@
+package com.inomera.integration.util;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Helpers to compute 64-bit structural fingerprints of config models. A fingerprint is built by
+ * mixing the fields of a model one by one, starting from {@link #SEED}. Equal models always have equal
+ * fingerprints, different fingerprints mean the models are different. Models still compare their
+ * fields when the fingerprints are equal.
+ *
+ * @author Burak Dogan Akyildiz, Turgay Can
+ */
+public final class FingerprintUtils {
+
+    public static final long SEED = 0xcbf29ce484222325L;
+
+    private static final long PRIME = 0x100000001b3L;
+    private static final long NULL_VALUE = 0x9e3779b97f4a7c15L;
+
+    private static final int MAX_DEPTH = 32;
+    private static final long CYCLE_VALUE = 0x632be59bd9b4e019L;
+
+    /**
+     * Instance fields of model classes, cached per class for {@link #deepFingerprint(Object)}.
+     */
+    private static final ClassValue<Field[]> MODEL_FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            final List<Field> fields = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class;
+                 current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                        continue;
+                    }
+                    if (!field.trySetAccessible()) {
+                        return null;
+                    }
+                    fields.add(field);
+                }
+            }
+            return fields.toArray(new Field[0]);
+        }
+    };
+
+    private FingerprintUtils() {
+        throw new UnsupportedOperationException("This class cannot be instantiated.");
+    }
+
+    public static long mix(long hash, long value) {
+        long mixed = (hash ^ value) * PRIME;
+        return mixed ^ (mixed >>> 32);
+    }
+
+    public static long mix(long hash, double value) {
+        return mix(hash, Double.doubleToLongBits(value));
+    }
+
+    public static long mix(long hash, boolean value) {
+        return mix(hash, value ? 1231L : 1237L);
+    }
+
+    public static long mix(long hash, Boolean value) {
+        return value == null ? mix(hash, NULL_VALUE) : mix(hash, value.booleanValue());
+    }
+
+    public static long mix(long hash, Enum<?> value) {
+        return value == null ? mix(hash, NULL_VALUE) : mix(hash, value.name());
+    }
+
+    public static long mix(long hash, String value) {
+        if (value == null) {
+            return mix(hash, NULL_VALUE);
+        }
+        long stringHash = SEED;
+        for (int i = 0; i < value.length(); i++) {
+            stringHash = (stringHash ^ value.charAt(i)) * PRIME;
+        }
+        return mix(hash, mix(stringHash, value.length()));
+    }
+
+    public static long mix(long hash, Object value) {
+        return value == null ? mix(hash, NULL_VALUE) : mix(hash, value.toString());
+    }
+
+    /**
+     * Mixes the elements in iteration order, so lists with the same elements in another order differ.
+     */
+    public static long mix(long hash, List<?> values) {
+        if (values == null) {
+            return mix(hash, NULL_VALUE);
+        }
+        long listHash = mix(SEED, values.size());
+        for (Object value : values) {
+            listHash = mix(listHash, value);
+        }
+        return mix(hash, listHash);
+    }
+
+    /**
+     * Mixes the elements independent of iteration order, for sets and other unordered collections.
+     */
+    public static long mixUnordered(long hash, Collection<?> values) {
+        if (values == null) {
+            return mix(hash, NULL_VALUE);
+        }
+        long collectionHash = 0;
+        for (Object value : values) {
+            collectionHash += mix(SEED, value);
+        }
+        return mix(mix(hash, values.size()), collectionHash);
+    }
+
+    /**
+     * Mixes the entries independent of iteration order, values are mixed by their string form.
+     */
+    public static long mix(long hash, Map<String, ?> values) {
+        if (values == null) {
+            return mix(hash, NULL_VALUE);
+        }
+        long mapHash = 0;
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            mapHash += mix(mix(SEED, entry.getKey()), entry.getValue());
+        }
+        return mix(mix(hash, values.size()), mapHash);
+    }
+
+    /**
+     * Computes a structural fingerprint of any object graph, e.g. request bodies. Generated request
+     * models (jaxb, wsdl2java) don't implement {@code equals}, so models are fingerprinted field by
+     * field. Strings, numbers, enums and JDK classes are mixed by their string form, arrays, lists and
+     * maps by their elements. Cycles and graphs deeper than 32 levels are cut.
+     *
+     * @param value object graph
+     * @return fingerprint of the object graph
+     */
+    public static long deepFingerprint(Object value) {
+        return deepMix(SEED, value, new IdentityHashMap<>(), 0);
+    }
+
+    /**
+     * Compares two object graphs the way {@link #deepFingerprint(Object)} walks them: scalars by type and
+     * value, arrays, lists and other iterables by their elements in order, maps by their keys and values,
+     * sets by the equals of their elements and other objects by their instance fields. Objects of jdk and
+     * other module classes and graphs deeper than 32 levels are compared by their equals. Callers compare
+     * graphs with equal fingerprints, so a fingerprint collision is not taken for equality.
+     *
+     * @param first  first object graph
+     * @param second second object graph
+     * @return true if the object graphs are equal
+     */
+    public static boolean deepEquals(Object first, Object second) {
+        return deepEquals(first, second, new IdentityHashMap<>(), 0);
+    }
+
+    private static boolean deepEquals(Object first, Object second, IdentityHashMap<Object, Object> path, int depth) {
+        if (first == second) {
+            return true;
+        }
+        if (first == null || second == null) {
+            return false;
+        }
+        if (first instanceof CharSequence || first instanceof Number || first instanceof Boolean
+                || first instanceof Character || first instanceof Enum<?>) {
+            return first.getClass() == second.getClass() && first.toString().equals(second.toString());
+        }
+        if (first instanceof byte[] firstBytes) {
+            return second instanceof byte[] secondBytes && Arrays.equals(firstBytes, secondBytes);
+        }
+        if (path.containsKey(first)) {
+            // a cycle is equal when the other graph cycles back to the same pair
+            return path.get(first) == second;
+        }
+        if (depth >= MAX_DEPTH) {
+            return first.equals(second);
+        }
+        path.put(first, second);
+        try {
+            if (first.getClass().isArray()) {
+                final int length = Array.getLength(first);
+                if (!second.getClass().isArray() || Array.getLength(second) != length) {
+                    return false;
+                }
+                for (int i = 0; i < length; i++) {
+                    if (!deepEquals(Array.get(first, i), Array.get(second, i), path, depth + 1)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            if (first instanceof Map<?, ?> firstMap) {
+                if (!(second instanceof Map<?, ?> secondMap) || firstMap.size() != secondMap.size()) {
+                    return false;
+                }
+                for (Map.Entry<?, ?> entry : firstMap.entrySet()) {
+                    if (!secondMap.containsKey(entry.getKey())
+                            || !deepEquals(entry.getValue(), secondMap.get(entry.getKey()), path, depth + 1)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            if (first instanceof Set<?> firstSet) {
+                return second instanceof Set<?> secondSet && firstSet.equals(secondSet);
+            }
+            if (first instanceof Iterable<?> firstIterable) {
+                if (!(second instanceof Iterable<?> secondIterable) || second instanceof Set<?>) {
+                    return false;
+                }
+                final Iterator<?> secondIterator = secondIterable.iterator();
+                for (Object element : firstIterable) {
+                    if (!secondIterator.hasNext() || !deepEquals(element, secondIterator.next(), path, depth + 1)) {
+                        return false;
+                    }
+                }
+                return !secondIterator.hasNext();
+            }
+            if (first.getClass() != second.getClass()) {
+                return false;
+            }
+            final Field[] fields = first.getClass().getModule().isNamed() ? null
+                    : MODEL_FIELDS.get(first.getClass());
+            if (fields == null) {
+                return first.equals(second);
+            }
+            for (Field field : fields) {
+                if (!deepEquals(field.get(first), field.get(second), path, depth + 1)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IllegalAccessException e) {
+            return first.equals(second);
+        } finally {
+            path.remove(first);
+        }
+    }
+
+    private static long deepMix(long hash, Object value, IdentityHashMap<Object, Boolean> path, int depth) {
+        if (value == null) {
+            return mix(hash, NULL_VALUE);
+        }
+        if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum<?>) {
+            return mix(mix(hash, value.getClass().getName()), value.toString());
+        }
+        if (value instanceof byte[] bytes) {
+            long arrayHash = mix(SEED, bytes.length);
+            for (byte b : bytes) {
+                arrayHash = (arrayHash ^ b) * PRIME;
+            }
+            return mix(hash, arrayHash);
+        }
+        if (depth >= MAX_DEPTH || path.containsKey(value)) {
+            return mix(hash, CYCLE_VALUE);
+        }
+        path.put(value, Boolean.TRUE);
+        try {
+            if (value.getClass().isArray()) {
+                final int length = Array.getLength(value);
+                long arrayHash = mix(SEED, length);
+                for (int i = 0; i < length; i++) {
+                    arrayHash = deepMix(arrayHash, Array.get(value, i), path, depth + 1);
+                }
+                return mix(hash, arrayHash);
+            }
+            if (value instanceof Map<?, ?> map) {
+                long mapHash = 0;
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    mapHash += deepMix(deepMix(SEED, entry.getKey(), path, depth + 1), entry.getValue(), path,
+                            depth + 1);
+                }
+                return mix(mix(hash, map.size()), mapHash);
+            }
+            if (value instanceof Set<?> set) {
+                long setHash = 0;
+                for (Object element : set) {
+                    setHash += deepMix(SEED, element, path, depth + 1);
+                }
+                return mix(mix(hash, set.size()), setHash);
+            }
+            if (value instanceof Iterable<?> iterable) {
+                long iterableHash = SEED;
+                for (Object element : iterable) {
+                    iterableHash = deepMix(iterableHash, element, path, depth + 1);
+                }
+                return mix(hash, iterableHash);
+            }
+            final Field[] fields = value.getClass().getModule().isNamed() ? null
+                    : MODEL_FIELDS.get(value.getClass());
+            if (fields == null) {
+                // jdk and other module classes can't be read reflectively, e.g. QName, XMLGregorianCalendar
+                return mix(mix(hash, value.getClass().getName()), value.toString());
+            }
+            long modelHash = mix(SEED, value.getClass().getName());
+            for (Field field : fields) {
+                modelHash = deepMix(modelHash, field.get(value), path, depth + 1);
+            }
+            return mix(hash, modelHash);
+        } catch (IllegalAccessException e) {
+            return mix(mix(hash, value.getClass().getName()), value.toString());
+        } finally {
+            path.remove(value);
+        }
+    }
+}
@@ -41,4 +41,25 @@ public final class UrlUtils {
         return baseUrl + subUrlWithParams;
     }
 
+    /**
+     * Replaces the base URL of a URL, e.g. to send a request to another node of the same service.
+     * Trailing slashes of the base URLs are ignored.
+     *
+     * @param url        the URL starting with the base URL
+     * @param baseUrl    the base URL to replace
+     * @param newBaseUrl the new base URL
+     * @return the URL with the new base URL, the URL itself if it doesn't start with the base URL
+     */
+    public static String replaceBaseUrl(String url, String baseUrl, String newBaseUrl) {
+        if (url == null || baseUrl == null || newBaseUrl == null) {
+            return url;
+        }
+        final String base = baseUrl.replaceAll("/+$", "");
+        if (!url.startsWith(base) || url.length() > base.length()
+                && url.charAt(base.length()) != '/' && url.charAt(base.length()) != '?') {
+            return url;
+        }
+        return newBaseUrl.replaceAll("/+$", "") + url.substring(base.length());
+    }
+
 }
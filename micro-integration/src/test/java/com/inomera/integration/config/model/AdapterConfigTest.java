@@ -0,0 +1,101 @@
+package com.inomera.integration.config.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdapterConfigTest {
+
+    @Test
+    void shouldSameFingerprintForSameConfigValue_whenFingerprint() {
+        AdapterConfig config = sampleConfig("password");
+        AdapterConfig configV2 = sampleConfig("password");
+
+        assertEquals(config.fingerprint(), configV2.fingerprint());
+        assertEquals(config.hashConfig(), configV2.hashConfig());
+        assertEquals(config, configV2);
+    }
+
+    @Test
+    void shouldNotSameFingerprint_whenMaskedSecretChanged() {
+        AdapterConfig config = sampleConfig("password");
+        AdapterConfig configV2 = sampleConfig("password2");
+
+        assertEquals(config.toString(), configV2.toString());
+        assertNotEquals(config.fingerprint(), configV2.fingerprint());
+        assertNotEquals(config, configV2);
+    }
+
+    @Test
+    void shouldSameFingerprint_whenSslConfigured() {
+        AdapterConfig config = sampleConfig("password");
+        config.getAdapterProperties().getHttp().setSsl(sampleSsl());
+        AdapterConfig configV2 = sampleConfig("password");
+        configV2.getAdapterProperties().getHttp().setSsl(sampleSsl());
+
+        assertEquals(config.fingerprint(), configV2.fingerprint());
+        assertEquals(config, configV2);
+    }
+
+    @Test
+    void shouldRecomputeFingerprint_whenPatched() {
+        AdapterConfig config = sampleConfig("password");
+        long fingerprint = config.fingerprint();
+
+        AdapterProperties commonProperties = new AdapterProperties();
+        commonProperties.setHeaders(Map.of("X-Channel", "mirket"));
+        config.patch(new AdapterConfig("common", commonProperties));
+
+        assertNotEquals(fingerprint, config.fingerprint());
+    }
+
+    @Test
+    void shouldRecomputeFingerprint_whenNestedPropertyChanged() {
+        AdapterConfig config = sampleConfig("password");
+        AdapterConfig configV2 = sampleConfig("password");
+        long fingerprint = config.fingerprint();
+
+        config.getAdapterProperties().getHttp().setRequestTimeout(5_000);
+
+        assertNotEquals(fingerprint, config.fingerprint());
+        assertNotEquals(configV2, config);
+    }
+
+    @Test
+    void shouldRejectChanges_whenFrozen() {
+        AdapterConfig config = sampleConfig("password");
+        config.getAdapterProperties().setHeaders(new HashMap<>(Map.of("X-Channel", "mirket")));
+        long fingerprint = config.fingerprint();
+
+        config.freeze();
+
+        assertTrue(config.isFrozen());
+        assertEquals(fingerprint, config.fingerprint());
+        assertThrows(IllegalStateException.class, () -> config.setVersion(2));
+        assertThrows(IllegalStateException.class,
+                () -> config.getAdapterProperties().getHttp().setRequestTimeout(5_000));
+        assertThrows(UnsupportedOperationException.class,
+                () -> config.getAdapterProperties().getHeaders().put("X-Channel", "other"));
+        assertEquals(sampleConfig("password").getAdapterProperties().getHttp(),
+                config.getAdapterProperties().getHttp());
+    }
+
+    private static AdapterConfig sampleConfig(String password) {
+        AdapterProperties adapterProperties = new AdapterProperties();
+        adapterProperties.setUrl("https://api.mirket.com");
+        adapterProperties.setAuth(new BasicAuthCredentials("username", password));
+        adapterProperties.setHttp(new HttpClientProperties());
+        adapterProperties.setLogging(AdapterLogging.defaultAdapterLogging());
+        return new AdapterConfig("config.adapter.mirket.v1", adapterProperties);
+    }
+
+    private static SSLProperties sampleSsl() {
+        SSLProperties ssl = new SSLProperties();
+        ssl.getPem().getKeystore().setCertificate("classpath:cert.pem");
+        ssl.getPem().getKeystore().setPrivateKey("classpath:key.pem");
+        return ssl;
+    }
+}
@@ -0,0 +1,111 @@
+package com.inomera.integration.fanout;
+
+import com.inomera.integration.constant.Status;
+import com.inomera.integration.model.AdapterResponse;
+import com.inomera.integration.model.AdapterStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdapterFanOutTest {
+
+    @Test
+    void shouldKeepEachStatus_whenAllOfCompletes() {
+        AdapterFanOut fanOut = AdapterFanOut.builder().mode(FanOutMode.ALL_OF).build();
+        FanOutCall<String> country = FanOutCall.of("country", () -> success("TR"));
+        FanOutCall<String> mirket = FanOutCall.of("mirket",
+                () -> new AdapterResponse<>(AdapterStatus.createStatusFailedAsBusiness()));
+
+        FanOutResult result = fanOut.execute(List.of(country, mirket));
+
+        assertFalse(result.isSuccess());
+        assertEquals(1, result.getSuccessCount());
+        assertEquals("TR", result.getResponse(country).getData());
+        assertEquals(Status.BUSINESS_ERROR, result.getResponse(mirket).getStatus().status());
+        assertEquals(List.of("country", "mirket"), List.copyOf(result.getResponses().keySet()));
+    }
+
+    @Test
+    void shouldCancelStragglers_whenFirstSuccessCompletes() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AdapterFanOut fanOut = AdapterFanOut.builder().mode(FanOutMode.FIRST_SUCCESS).build();
+
+        // fast call completes after the slow one is started, a call cancelled before it starts is never interrupted
+        FanOutResult result = fanOut.execute(List.of(
+                FanOutCall.of("slow", () -> {
+                    started.countDown();
+                    return sleep(5_000, interrupted);
+                }),
+                FanOutCall.of("fast", () -> {
+                    await(started);
+                    return success("fast");
+                })));
+
+        assertTrue(result.isSuccess());
+        assertEquals("fast", result.getFirstSuccessName());
+        assertEquals("fast", result.getFirstSuccess().getData());
+        assertEquals(AdapterFanOut.CANCELLED_DESCRIPTION, result.getResponse("slow").getStatus().description());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldCompleteWithDeadlineExceeded_whenQuorumIsNotReachedInTime() {
+        CountDownLatch interrupted = new CountDownLatch(2);
+        AdapterFanOut fanOut = AdapterFanOut.builder().quorum(2).timeout(Duration.ofMillis(100)).build();
+
+        FanOutResult result = fanOut.execute(List.of(
+                FanOutCall.of("first", () -> success("first")),
+                FanOutCall.of("second", () -> sleep(5_000, interrupted)),
+                FanOutCall.of("third", () -> sleep(5_000, interrupted))));
+
+        assertFalse(result.isSuccess());
+        assertTrue(result.isDeadlineExceeded());
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(AdapterFanOut.DEADLINE_EXCEEDED_DESCRIPTION,
+                result.getResponse("third").getStatus().description());
+    }
+
+    @Test
+    void shouldCompleteEarly_whenQuorumCannotBeReached() {
+        AdapterFanOut fanOut = AdapterFanOut.builder().quorum(2).build();
+
+        FanOutResult result = fanOut.execute(List.of(
+                FanOutCall.of("first", () -> {
+                    throw new IllegalStateException("connection refused");
+                }),
+                FanOutCall.of("second", () -> new AdapterResponse<>(AdapterStatus.createStatusFailedAsTechnical())),
+                FanOutCall.of("third", () -> sleep(5_000, new CountDownLatch(1)))));
+
+        assertFalse(result.isSuccess());
+        assertFalse(result.isDeadlineExceeded());
+        assertEquals("connection refused", result.getResponse("first").getStatus().description());
+    }
+
+    private static AdapterResponse<String> success(String data) {
+        return new AdapterResponse<>(AdapterStatus.createSuccess(), data);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static AdapterResponse<String> sleep(long millis, CountDownLatch interrupted) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+            Thread.currentThread().interrupt();
+        }
+        return success("slow");
+    }
+}
@@ -0,0 +1,48 @@
+package com.inomera.integration.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineTest {
+
+    @Test
+    void shouldKeepEarlierDeadline_whenNestedDeadlineIsLater() {
+        Deadline outer = Deadline.after(Duration.ofMillis(100));
+
+        Deadline nested = Deadline.call(outer, () -> Deadline.call(Deadline.after(Duration.ofSeconds(10)),
+                Deadline::current));
+
+        assertSame(outer, nested);
+        assertNull(Deadline.current());
+    }
+
+    @Test
+    void shouldRestorePreviousDeadline_whenCallThrows() {
+        Deadline outer = Deadline.after(Duration.ofSeconds(10));
+        Deadline inner = Deadline.after(Duration.ofMillis(100));
+
+        Deadline restored = Deadline.call(outer, () -> {
+            assertThrows(IllegalStateException.class, () -> Deadline.call(inner, () -> {
+                assertSame(inner, Deadline.current());
+                throw new IllegalStateException("failed");
+            }));
+            return Deadline.current();
+        });
+
+        assertSame(outer, restored);
+    }
+
+    @Test
+    void shouldCapTimeoutByRemainingTime_whenTimeoutIsLonger() {
+        Deadline deadline = Deadline.after(Duration.ofMillis(500));
+
+        assertTrue(deadline.capMillis(10_000) <= 500);
+        assertEquals(100, deadline.capMillis(100));
+        assertTrue(deadline.capMillis(0) <= 500);
+        assertEquals(1, Deadline.afterMillis(-10).capMillis(100));
+        assertTrue(Deadline.afterMillis(-10).isExpired());
+    }
+}
@@ -0,0 +1,120 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.BulkheadProperties;
+import com.inomera.integration.fault.AdapterBulkheadFullException;
+import com.inomera.integration.fault.AdapterDeadlineExceededException;
+import com.inomera.integration.model.Deadline;
+import com.inomera.integration.model.HttpAdapterResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    @Test
+    void shouldRejectImmediately_whenSlotsAndQueueAreFull() {
+        Bulkhead bulkhead = new Bulkhead(properties(1, 0, 1_000));
+        CompletableFuture<HttpAdapterResponse<String>> running = new CompletableFuture<>();
+        bulkhead.executeAsync(() -> running);
+
+        long start = System.nanoTime();
+        AdapterBulkheadFullException exception = assertThrows(AdapterBulkheadFullException.class,
+                () -> bulkhead.execute(() -> response()));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+        assertTrue(exception.getAdapterStatus().isBulkheadFull());
+        assertEquals(1, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    void shouldRunWaitingCall_whenRunningCallCompletes() {
+        Bulkhead bulkhead = new Bulkhead(properties(1, 1, 5_000));
+        CompletableFuture<HttpAdapterResponse<String>> running = new CompletableFuture<>();
+        bulkhead.executeAsync(() -> running);
+
+        CompletableFuture<HttpAdapterResponse<String>> waiting = bulkhead.executeAsync(
+                () -> CompletableFuture.completedFuture(response()));
+        assertFalse(waiting.isDone());
+        assertEquals(1, bulkhead.getWaitingCalls());
+
+        running.complete(response());
+
+        assertEquals("countries", waiting.join().body());
+        assertEquals(0, bulkhead.getActiveCalls());
+        assertEquals(0, bulkhead.getWaitingCalls());
+    }
+
+    @Test
+    void shouldRejectWaitingCall_whenMaxWaitElapses() {
+        Bulkhead bulkhead = new Bulkhead(properties(1, 1, 20));
+        bulkhead.executeAsync(CompletableFuture::new);
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> bulkhead.executeAsync(() -> CompletableFuture.completedFuture(response())).join());
+
+        assertTrue(exception.getCause() instanceof AdapterBulkheadFullException);
+        assertEquals(0, bulkhead.getWaitingCalls());
+        assertEquals(1, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    void shouldRunWaitingCalls_whenLimitIsRaised() {
+        Bulkhead bulkhead = new Bulkhead(properties(1, 2, 5_000));
+        bulkhead.executeAsync(CompletableFuture::new);
+        CompletableFuture<HttpAdapterResponse<String>> first = bulkhead.executeAsync(
+                () -> CompletableFuture.completedFuture(response()));
+        CompletableFuture<HttpAdapterResponse<String>> second = bulkhead.executeAsync(
+                () -> CompletableFuture.completedFuture(response()));
+
+        bulkhead.updateProperties(properties(3, 2, 5_000));
+
+        assertEquals("countries", first.join().body());
+        assertEquals("countries", second.join().body());
+        assertEquals(1, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    void shouldReleaseSlot_whenCallThrows() {
+        Bulkhead bulkhead = new Bulkhead(properties(1, 0, 1_000));
+
+        assertThrows(IllegalStateException.class, () -> bulkhead.execute(() -> {
+            throw new IllegalStateException("failed");
+        }));
+
+        assertEquals(0, bulkhead.getActiveCalls());
+        assertEquals("countries", bulkhead.execute(() -> response()).body());
+    }
+
+    @Test
+    void shouldRejectWaitingCall_whenDeadlineExpiresBeforeMaxWait() {
+        Bulkhead bulkhead = new Bulkhead(properties(1, 1, 5_000));
+        bulkhead.executeAsync(CompletableFuture::new);
+
+        long start = System.nanoTime();
+        AdapterDeadlineExceededException exception = assertThrows(AdapterDeadlineExceededException.class,
+                () -> bulkhead.execute(() -> response(), Deadline.after(Duration.ofMillis(30))));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+        assertTrue(exception.getAdapterStatus().isDeadlineExceeded());
+        assertEquals(0, bulkhead.getWaitingCalls());
+    }
+
+    private static BulkheadProperties properties(int maxConcurrentCalls, int maxWaitingCalls, long maxWait) {
+        return BulkheadProperties.builder()
+                .enabled(true)
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitingCalls(maxWaitingCalls)
+                .maxWait(maxWait)
+                .build();
+    }
+
+    private static HttpAdapterResponse<String> response() {
+        return new HttpAdapterResponse<>(200, Map.of(), "countries");
+    }
+}
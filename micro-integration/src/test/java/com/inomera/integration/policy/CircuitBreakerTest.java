@@ -0,0 +1,161 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.CircuitBreakerProperties;
+import com.inomera.integration.fault.AdapterCircuitOpenException;
+import com.inomera.integration.fault.AdapterException;
+import com.inomera.integration.fault.AdapterIOException;
+import com.inomera.integration.model.AdapterStatus;
+import com.inomera.integration.model.HttpAdapterResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    @Test
+    void shouldOpenAndFailFast_whenFailureRateReachesThreshold() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("config.adapter.country.v1", properties(60_000));
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(AdapterIOException.class, () -> circuitBreaker.execute(() -> {
+                calls.incrementAndGet();
+                return failure();
+            }));
+            circuitBreaker.execute(() -> {
+                calls.incrementAndGet();
+                return response(500);
+            });
+        }
+
+        AdapterCircuitOpenException exception = assertThrows(AdapterCircuitOpenException.class,
+                () -> circuitBreaker.execute(() -> response(200)));
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+        assertTrue(exception.getAdapterStatus().isCircuitOpen());
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void shouldNotOpen_whenBusinessErrorsOccur() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("config.adapter.country.v1", properties(60_000));
+
+        for (int i = 0; i < 10; i++) {
+            assertThrows(AdapterException.class, () -> circuitBreaker.execute(() -> {
+                throw new AdapterException(AdapterStatus.createStatusFailedAsBusiness());
+            }));
+        }
+
+        assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void shouldCountOnlyServerErrorResponses_whenClientThrowsErrorResponses() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("config.adapter.country.v1", properties(60_000));
+
+        for (int i = 0; i < 10; i++) {
+            assertThrows(AdapterException.class, () -> circuitBreaker.execute(() -> {
+                throw new AdapterException(null, AdapterStatus.createStatusFailedAsTechnical(), 404);
+            }));
+        }
+        assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(AdapterException.class, () -> circuitBreaker.execute(() -> {
+                throw new AdapterException(null, AdapterStatus.createStatusFailedAsTechnical(), 503);
+            }));
+        }
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void shouldCloseAfterSuccessfulProbes_whenOpenDurationElapses() throws InterruptedException {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("config.adapter.country.v1", properties(20));
+        openCircuit(circuitBreaker);
+        Thread.sleep(30);
+
+        circuitBreaker.execute(() -> response(200));
+        assertEquals(CircuitState.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.execute(() -> response(200));
+
+        assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void shouldReopen_whenProbeFails() throws InterruptedException {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("config.adapter.country.v1", properties(20));
+        openCircuit(circuitBreaker);
+        Thread.sleep(30);
+
+        circuitBreaker.execute(() -> response(503));
+        circuitBreaker.execute(() -> response(503));
+
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void shouldFailAsyncCallFast_whenCircuitIsOpen() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("config.adapter.country.v1", properties(60_000));
+        openCircuit(circuitBreaker);
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> circuitBreaker.<String>executeAsync(() -> {
+                    throw new IllegalStateException("must not be called");
+                }).join());
+
+        assertTrue(exception.getCause() instanceof AdapterCircuitOpenException);
+    }
+
+    @Test
+    void shouldKeepRecordedCallsAndShareCircuit_whenPropertiesChange() {
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry();
+        CircuitBreaker circuitBreaker = registry.get("config.adapter.country.v1", properties(60_000));
+        assertThrows(RuntimeException.class, () -> circuitBreaker.execute(CircuitBreakerTest::failure));
+
+        CircuitBreakerProperties changed = CircuitBreakerProperties.builder()
+                .enabled(true)
+                .windowSize(4)
+                .minimumCalls(2)
+                .failureRateThreshold(50)
+                .openDuration(60_000)
+                .halfOpenCalls(2)
+                .build();
+        assertSame(circuitBreaker, registry.get("config.adapter.country.v1", changed));
+        circuitBreaker.execute(() -> response(200));
+
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+        assertSame(changed, circuitBreaker.getProperties());
+    }
+
+    private static void openCircuit(CircuitBreaker circuitBreaker) {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(RuntimeException.class, () -> circuitBreaker.execute(CircuitBreakerTest::failure));
+        }
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+    }
+
+    private static CircuitBreakerProperties properties(long openDuration) {
+        return CircuitBreakerProperties.builder()
+                .enabled(true)
+                .windowSize(4)
+                .minimumCalls(4)
+                .failureRateThreshold(50)
+                .openDuration(openDuration)
+                .halfOpenCalls(2)
+                .build();
+    }
+
+    private static HttpAdapterResponse<String> failure() {
+        throw new AdapterIOException(new IOException("Connection refused"), null,
+                AdapterStatus.createStatusFailedAsTechnical());
+    }
+
+    private static HttpAdapterResponse<String> response(int statusCode) {
+        // 5xx responses are failures even when the client doesn't throw
+        return new HttpAdapterResponse<>(statusCode, Map.of(), statusCode >= 500 ? "error" : "countries");
+    }
+}
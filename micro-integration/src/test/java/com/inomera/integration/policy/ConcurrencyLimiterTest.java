@@ -0,0 +1,115 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.ConcurrencyLimitAlgorithm;
+import com.inomera.integration.config.model.ConcurrencyLimitProperties;
+import com.inomera.integration.fault.AdapterConcurrencyLimitException;
+import com.inomera.integration.fault.AdapterException;
+import com.inomera.integration.fault.AdapterIOException;
+import com.inomera.integration.model.AdapterStatus;
+import com.inomera.integration.model.HttpAdapterResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+
+    @Test
+    void shouldRejectImmediately_whenLimitIsReached() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(properties(ConcurrencyLimitAlgorithm.AIMD, 2));
+        limiter.executeAsync(CompletableFuture::new);
+        limiter.executeAsync(CompletableFuture::new);
+
+        AdapterConcurrencyLimitException exception = assertThrows(AdapterConcurrencyLimitException.class,
+                () -> limiter.execute(() -> response(200)));
+
+        assertTrue(exception.getAdapterStatus().isConcurrencyLimitExceeded());
+        assertEquals(2, limiter.getInFlightCalls());
+    }
+
+    @Test
+    void shouldIncreaseLimit_whenCallsSucceedUnderLoad() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(properties(ConcurrencyLimitAlgorithm.AIMD, 2));
+
+        limiter.onComplete(TimeUnit.MILLISECONDS.toNanos(10), 1, null, response(200));
+        limiter.onComplete(TimeUnit.MILLISECONDS.toNanos(10), 2, null, response(200));
+
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void shouldDecreaseLimit_whenCallsAreDropped() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(properties(ConcurrencyLimitAlgorithm.AIMD, 10));
+
+        assertThrows(AdapterIOException.class, () -> limiter.execute(ConcurrencyLimiterTest::failure));
+        limiter.execute(() -> response(503));
+
+        assertEquals(8, limiter.getLimit());
+        assertEquals(0, limiter.getInFlightCalls());
+    }
+
+    @Test
+    void shouldDropOnlyOverloadErrorResponses_whenClientThrowsErrorResponses() {
+        ConcurrencyLimitProperties properties = properties(ConcurrencyLimitAlgorithm.AIMD, 10);
+
+        assertTrue(ConcurrencyLimiter.isDropped(0, new AdapterException(null,
+                AdapterStatus.createStatusFailedAsTechnical(), 503), null, properties));
+        assertTrue(ConcurrencyLimiter.isDropped(0, new AdapterException(null,
+                AdapterStatus.createStatusFailedAsTechnical(), 429), null, properties));
+        assertFalse(ConcurrencyLimiter.isDropped(0, new AdapterException(null,
+                AdapterStatus.createStatusFailedAsTechnical(), 404), null, properties));
+        assertFalse(ConcurrencyLimiter.isDropped(0, new AdapterException(null,
+                AdapterStatus.createStatusFailedAsTechnical(), 500), null, properties));
+    }
+
+    @Test
+    void shouldDecreaseLimit_whenLatencyGrowsOverTolerance() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(properties(ConcurrencyLimitAlgorithm.GRADIENT, 20));
+        for (int i = 0; i < 10; i++) {
+            limiter.onComplete(TimeUnit.MILLISECONDS.toNanos(10), 20, null, response(200));
+        }
+        int stableLimit = limiter.getLimit();
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onComplete(TimeUnit.MILLISECONDS.toNanos(100), stableLimit, null, response(200));
+        }
+
+        assertTrue(stableLimit > 20);
+        assertTrue(limiter.getLimit() < stableLimit);
+    }
+
+    @Test
+    void shouldKeepLimitWithinNewBounds_whenPropertiesChange() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(properties(ConcurrencyLimitAlgorithm.AIMD, 10));
+
+        limiter.updateProperties(ConcurrencyLimitProperties.builder()
+                .enabled(true)
+                .algorithm(ConcurrencyLimitAlgorithm.AIMD)
+                .maxLimit(5)
+                .build());
+
+        assertEquals(5, limiter.getLimit());
+    }
+
+    private static ConcurrencyLimitProperties properties(ConcurrencyLimitAlgorithm algorithm, int initialLimit) {
+        return ConcurrencyLimitProperties.builder()
+                .enabled(true)
+                .algorithm(algorithm)
+                .initialLimit(initialLimit)
+                .maxLimit(100)
+                .build();
+    }
+
+    private static HttpAdapterResponse<String> failure() {
+        throw new AdapterIOException(new IOException("Read timed out"), null,
+                AdapterStatus.createStatusFailedAsTechnical());
+    }
+
+    private static HttpAdapterResponse<String> response(int statusCode) {
+        return new HttpAdapterResponse<>(statusCode, Map.of(), "countries");
+    }
+}
@@ -0,0 +1,96 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.EndpointProperties;
+import com.inomera.integration.config.model.HealthCheckProperties;
+import com.inomera.integration.config.model.LoadBalancerProperties;
+import com.inomera.integration.model.HttpAdapterResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HealthCheckerTest {
+
+    @Test
+    void shouldMarkEndpointDown_whenProbesFailUnhealthyThresholdTimes() {
+        Set<String> down = new HashSet<>(Set.of("http://node-1"));
+        HealthChecker healthChecker = new HealthChecker(properties(), List.of("http://node-1", "http://node-2"),
+                url -> !down.contains(url));
+
+        probeAll(healthChecker, 2);
+        assertTrue(healthChecker.isHealthy("http://node-1"));
+
+        probeAll(healthChecker, 1);
+        assertFalse(healthChecker.isHealthy("http://node-1"));
+        assertTrue(healthChecker.isHealthy("http://node-2"));
+    }
+
+    @Test
+    void shouldMarkEndpointUp_whenProbesSucceedHealthyThresholdTimes() {
+        Set<String> down = new HashSet<>(Set.of("http://node-1"));
+        HealthChecker healthChecker = new HealthChecker(properties(), List.of("http://node-1"), url -> {
+            if (down.contains(url)) {
+                throw new IllegalStateException("connection refused");
+            }
+            return true;
+        });
+        probeAll(healthChecker, 3);
+        down.clear();
+
+        probeAll(healthChecker, 1);
+        assertFalse(healthChecker.isHealthy("http://node-1"));
+
+        probeAll(healthChecker, 1);
+        assertTrue(healthChecker.isHealthy("http://node-1"));
+    }
+
+    @Test
+    void shouldKeepEndpointState_whenEndpointsAreUpdated() {
+        HealthChecker healthChecker = new HealthChecker(properties(), List.of("http://node-1"), url -> false);
+        probeAll(healthChecker, 3);
+
+        healthChecker.update(properties(), List.of("http://node-1", "http://node-2"));
+
+        assertFalse(healthChecker.isHealthy("http://node-1"));
+        assertTrue(healthChecker.isHealthy("http://node-2"));
+        assertEquals(2, healthChecker.getTargets().size());
+    }
+
+    @Test
+    void shouldNotBalanceCallsToEndpoint_whenEndpointIsDown() {
+        HealthChecker healthChecker = new HealthChecker(properties(), List.of("http://node-1", "http://node-2"),
+                url -> !url.equals("http://node-1"));
+        probeAll(healthChecker, 3);
+        LoadBalancer loadBalancer = new LoadBalancer(LoadBalancerProperties.builder()
+                .enabled(true)
+                .endpoints(List.of(EndpointProperties.builder().url("http://node-1").build(),
+                        EndpointProperties.builder().url("http://node-2").build()))
+                .build());
+        loadBalancer.setHealthChecker(healthChecker);
+
+        for (int i = 0; i < 4; i++) {
+            HttpAdapterResponse<String> response = loadBalancer.execute(endpoint ->
+                    new HttpAdapterResponse<>(200, Map.of(), endpoint.getUrl()));
+            assertEquals("http://node-2", response.body());
+        }
+    }
+
+    private static void probeAll(HealthChecker healthChecker, int times) {
+        for (int i = 0; i < times; i++) {
+            healthChecker.getTargets().forEach(healthChecker::probe);
+        }
+    }
+
+    private static HealthCheckProperties properties() {
+        return HealthCheckProperties.builder()
+                .enabled(true)
+                .path("/health")
+                .healthyThreshold(2)
+                .unhealthyThreshold(3)
+                .build();
+    }
+}
@@ -0,0 +1,150 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.HedgeProperties;
+import com.inomera.integration.constant.HttpMethod;
+import com.inomera.integration.model.HttpAdapterRequest;
+import com.inomera.integration.model.HttpAdapterResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgePolicyTest {
+
+    @Test
+    void shouldReturnHedgeResponseAndCancelSlowAttempt_whenFirstAttemptIsSlow() throws InterruptedException {
+        HedgePolicy policy = new HedgePolicy(properties(20, 1));
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+
+        HttpAdapterResponse<String> response = policy.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return response("slow");
+            }
+            return response("hedge");
+        });
+
+        assertEquals("hedge", response.body());
+        assertEquals(2, attempts.get());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldNotHedge_whenFirstAttemptAnswersWithinDelay() {
+        HedgePolicy policy = new HedgePolicy(properties(1_000, 1));
+        AtomicInteger attempts = new AtomicInteger();
+
+        HttpAdapterResponse<String> response = policy.execute(() -> {
+            attempts.incrementAndGet();
+            return response("first");
+        });
+
+        assertEquals("first", response.body());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void shouldHedgeAsyncCallAndCancelSlowAttempt_whenFirstAttemptIsSlow() {
+        HedgePolicy policy = new HedgePolicy(properties(20, 1));
+        CompletableFuture<HttpAdapterResponse<String>> slow = new CompletableFuture<>();
+        AtomicInteger attempts = new AtomicInteger();
+
+        HttpAdapterResponse<String> response = policy.executeAsync(() -> attempts.incrementAndGet() == 1 ? slow
+                : CompletableFuture.completedFuture(response("hedge"))).join();
+
+        assertEquals("hedge", response.body());
+        assertTrue(slow.isCancelled());
+    }
+
+    @Test
+    void shouldLimitHedges_whenHedgeRatioIsReached() {
+        HedgePolicy policy = new HedgePolicy(properties(1, 0.5));
+        AtomicInteger attempts = new AtomicInteger();
+
+        for (int i = 0; i < 4; i++) {
+            policy.execute(() -> {
+                attempts.incrementAndGet();
+                sleep(20);
+                return response("slow");
+            });
+        }
+
+        // two of four calls are hedged
+        assertEquals(6, attempts.get());
+    }
+
+    @Test
+    void shouldUsePercentileDelay_whenLatenciesAreObserved() {
+        HedgePolicy policy = new HedgePolicy(properties(0, 1));
+        assertTrue(policy.getHedgeDelayNanos() < 0);
+
+        for (int i = 1; i <= 100; i++) {
+            policy.recordLatency(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(95), policy.getHedgeDelayNanos());
+    }
+
+    @Test
+    void shouldHedgeOnlyIdempotentMethods_whenMethodsAreNotSet() {
+        HedgePolicy policy = new HedgePolicy(properties(20, 1));
+
+        assertTrue(policy.isHedged(request(HttpMethod.GET)));
+        assertFalse(policy.isHedged(request(HttpMethod.POST)));
+    }
+
+    @Test
+    void shouldHedgeOnlyListedSoapOperations_whenOperationsAreSet() {
+        HedgePolicy policy = new HedgePolicy(HedgeProperties.builder()
+                .enabled(true)
+                .delay(20)
+                .operations(List.of("http://mirket.com/GetCountries"))
+                .build());
+        HttpAdapterRequest getCountries = request(HttpMethod.POST);
+        getCountries.setHeaders(Map.of("SOAPAction", "\"http://mirket.com/GetCountries\""));
+        HttpAdapterRequest createCountry = request(HttpMethod.POST);
+        createCountry.setHeaders(Map.of("SOAPAction", "http://mirket.com/CreateCountry"));
+
+        assertTrue(policy.isHedged(getCountries));
+        assertFalse(policy.isHedged(createCountry));
+        assertFalse(policy.isHedged(request(HttpMethod.POST)));
+    }
+
+    private static HedgeProperties properties(long delay, double maxHedgeRatio) {
+        return HedgeProperties.builder()
+                .enabled(true)
+                .delay(delay)
+                .maxHedgeRatio(maxHedgeRatio)
+                .build();
+    }
+
+    private static HttpAdapterRequest request(HttpMethod method) {
+        HttpAdapterRequest request = new HttpAdapterRequest();
+        request.setMethod(method);
+        request.setUrl("https://api.mirket.com/countries");
+        return request;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static HttpAdapterResponse<String> response(String body) {
+        return new HttpAdapterResponse<>(200, Map.of(), body);
+    }
+}
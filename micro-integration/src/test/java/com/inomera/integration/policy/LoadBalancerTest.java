@@ -0,0 +1,172 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.EndpointProperties;
+import com.inomera.integration.config.model.LoadBalancerProperties;
+import com.inomera.integration.config.model.LoadBalancingAlgorithm;
+import com.inomera.integration.fault.AdapterIOException;
+import com.inomera.integration.model.AdapterStatus;
+import com.inomera.integration.model.HttpAdapterResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadBalancerTest {
+
+    @Test
+    void shouldSendCallsInTurn_whenAlgorithmIsRoundRobin() {
+        LoadBalancer loadBalancer = new LoadBalancer(properties(LoadBalancingAlgorithm.ROUND_ROBIN, null,
+                endpoint("http://node-1", null), endpoint("http://node-2", null), endpoint("http://node-3", null)));
+        List<String> urls = new ArrayList<>();
+
+        for (int i = 0; i < 6; i++) {
+            urls.add(loadBalancer.execute(endpoint -> response(endpoint.getUrl())).body());
+        }
+
+        assertEquals(2, urls.stream().filter("http://node-1"::equals).count());
+        assertEquals(2, urls.stream().filter("http://node-2"::equals).count());
+        assertEquals(2, urls.stream().filter("http://node-3"::equals).count());
+    }
+
+    @Test
+    void shouldSendCallToAnotherEndpoint_whenEndpointCannotConnect() {
+        LoadBalancer loadBalancer = new LoadBalancer(properties(LoadBalancingAlgorithm.ROUND_ROBIN, null,
+                endpoint("http://node-1", null), endpoint("http://node-2", null)));
+
+        for (int i = 0; i < 4; i++) {
+            HttpAdapterResponse<String> response = loadBalancer.execute(endpoint -> {
+                if (endpoint.getUrl().equals("http://node-1")) {
+                    throw ioException(new ConnectException("Connection refused"));
+                }
+                return response(endpoint.getUrl());
+            });
+            assertEquals("http://node-2", response.body());
+        }
+        assertEquals(0, loadBalancer.getEndpoints().get(0).getOutstandingCalls());
+    }
+
+    @Test
+    void shouldNotSendCallToAnotherEndpoint_whenEndpointFailsAfterConnecting() {
+        LoadBalancer loadBalancer = new LoadBalancer(properties(LoadBalancingAlgorithm.ROUND_ROBIN, null,
+                endpoint("http://node-1", null), endpoint("http://node-2", null)));
+        List<String> urls = new ArrayList<>();
+
+        assertThrows(AdapterIOException.class, () -> loadBalancer.execute(endpoint -> {
+            urls.add(endpoint.getUrl());
+            throw ioException(new SocketTimeoutException("Read timed out"));
+        }));
+
+        assertEquals(1, urls.size());
+    }
+
+    @Test
+    void shouldEjectEndpoint_whenConsecutiveFailuresReachThreshold() {
+        LoadBalancer loadBalancer = new LoadBalancer(properties(LoadBalancingAlgorithm.ROUND_ROBIN, null,
+                endpoint("http://node-1", null), endpoint("http://node-2", null)));
+
+        for (int i = 0; i < 6; i++) {
+            try {
+                loadBalancer.execute(endpoint -> {
+                    if (endpoint.getUrl().equals("http://node-1")) {
+                        throw ioException(new SocketTimeoutException("Read timed out"));
+                    }
+                    return response(endpoint.getUrl());
+                });
+            } catch (AdapterIOException e) {
+                // node-1 fails
+            }
+        }
+
+        assertTrue(loadBalancer.getEndpoints().get(0).isEjected());
+        for (int i = 0; i < 4; i++) {
+            assertEquals("http://node-2", loadBalancer.execute(endpoint -> response(endpoint.getUrl())).body());
+        }
+    }
+
+    @Test
+    void shouldNotEjectEndpoint_whenMaxEjectionPercentIsReached() {
+        LoadBalancer loadBalancer = new LoadBalancer(properties(LoadBalancingAlgorithm.ROUND_ROBIN, null,
+                endpoint("http://node-1", null), endpoint("http://node-2", null)));
+
+        for (int i = 0; i < 8; i++) {
+            assertThrows(AdapterIOException.class, () -> loadBalancer.execute(endpoint -> {
+                throw ioException(new SocketTimeoutException("Read timed out"));
+            }));
+        }
+
+        assertEquals(1, loadBalancer.getEndpoints().stream().filter(LoadBalancer.Endpoint::isEjected).count());
+    }
+
+    @Test
+    void shouldPreferEndpointsOfTheSameZone_whenZoneIsSet() {
+        LoadBalancer loadBalancer = new LoadBalancer(properties(LoadBalancingAlgorithm.LEAST_OUTSTANDING, "ist",
+                endpoint("http://node-1", "ank"), endpoint("http://node-2", "ist"), endpoint("http://node-3", "ist")));
+
+        for (int i = 0; i < 10; i++) {
+            String url = loadBalancer.execute(endpoint -> response(endpoint.getUrl())).body();
+            assertNotEquals("http://node-1", url);
+        }
+    }
+
+    @Test
+    void shouldSendCallToIdleEndpoint_whenAlgorithmIsLeastOutstanding() {
+        LoadBalancer loadBalancer = new LoadBalancer(properties(LoadBalancingAlgorithm.LEAST_OUTSTANDING, null,
+                endpoint("http://node-1", null), endpoint("http://node-2", null)));
+        CompletableFuture<HttpAdapterResponse<String>> running = new CompletableFuture<>();
+        List<String> urls = new ArrayList<>();
+        loadBalancer.executeAsync(endpoint -> {
+            urls.add(endpoint.getUrl());
+            return running;
+        });
+
+        String url = loadBalancer.execute(endpoint -> response(endpoint.getUrl())).body();
+
+        assertNotEquals(urls.get(0), url);
+        running.complete(response(urls.get(0)));
+    }
+
+    @Test
+    void shouldSendAsyncCallToAnotherEndpoint_whenEndpointCannotConnect() {
+        LoadBalancer loadBalancer = new LoadBalancer(properties(LoadBalancingAlgorithm.EWMA, null,
+                endpoint("http://node-1", null), endpoint("http://node-2", null)));
+
+        for (int i = 0; i < 4; i++) {
+            HttpAdapterResponse<String> response = loadBalancer.<String>executeAsync(endpoint ->
+                    endpoint.getUrl().equals("http://node-1")
+                            ? CompletableFuture.failedFuture(ioException(new ConnectException("Connection refused")))
+                            : CompletableFuture.completedFuture(response(endpoint.getUrl()))).join();
+            assertEquals("http://node-2", response.body());
+        }
+    }
+
+    private static LoadBalancerProperties properties(LoadBalancingAlgorithm algorithm, String zone,
+                                                     EndpointProperties... endpoints) {
+        return LoadBalancerProperties.builder()
+                .enabled(true)
+                .algorithm(algorithm)
+                .zone(zone)
+                .endpoints(List.of(endpoints))
+                .failureThreshold(3)
+                .ejectionTime(60_000)
+                .build();
+    }
+
+    private static EndpointProperties endpoint(String url, String zone) {
+        return EndpointProperties.builder().url(url).zone(zone).build();
+    }
+
+    private static HttpAdapterResponse<String> response(String body) {
+        return new HttpAdapterResponse<>(200, Map.of(), body);
+    }
+
+    private static AdapterIOException ioException(IOException cause) {
+        return new AdapterIOException(cause, null, AdapterStatus.createStatusFailedAsTechnical());
+    }
+}
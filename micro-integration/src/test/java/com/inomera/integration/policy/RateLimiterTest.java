@@ -0,0 +1,87 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.RateLimitProperties;
+import com.inomera.integration.fault.AdapterRateLimitException;
+import com.inomera.integration.model.HttpAdapterResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    @Test
+    void shouldFailFast_whenBurstIsUsedAndMaxWaitIsZero() {
+        RateLimiter rateLimiter = new RateLimiter("config.adapter.country.v1", properties(10, 2, 0));
+
+        assertEquals("countries", rateLimiter.execute(() -> response()).body());
+        assertEquals("countries", rateLimiter.execute(() -> response()).body());
+        AdapterRateLimitException exception = assertThrows(AdapterRateLimitException.class,
+                () -> rateLimiter.execute(() -> response()));
+
+        assertTrue(exception.getAdapterStatus().isRateLimited());
+        assertEquals("config.adapter.country.v1", exception.getRateLimiterName());
+    }
+
+    @Test
+    void shouldWaitForPermit_whenMaxWaitAllows() {
+        RateLimiter rateLimiter = new RateLimiter("config.adapter.country.v1", properties(20, 1, 1_000));
+        rateLimiter.execute(() -> response());
+
+        long start = System.nanoTime();
+        rateLimiter.execute(() -> response());
+
+        // one permit per 50 milliseconds
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 40);
+    }
+
+    @Test
+    void shouldRejectAsyncCall_whenPermitIsNotAvailableInTime() {
+        RateLimiter rateLimiter = new RateLimiter("config.adapter.country.v1", properties(1, 1, 100));
+        rateLimiter.executeAsync(() -> CompletableFuture.completedFuture(response())).join();
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> rateLimiter.executeAsync(() -> CompletableFuture.completedFuture(response())).join());
+
+        assertTrue(exception.getCause() instanceof AdapterRateLimitException);
+    }
+
+    @Test
+    void shouldRefillBucket_whenTimePasses() throws InterruptedException {
+        RateLimiter rateLimiter = new RateLimiter("config.adapter.country.v1", properties(100, 1, 0));
+        assertTrue(rateLimiter.tryAcquire());
+        assertFalse(rateLimiter.tryAcquire());
+
+        Thread.sleep(20);
+
+        assertTrue(rateLimiter.tryAcquire());
+    }
+
+    @Test
+    void shouldShareBucket_whenNamesAreSame() {
+        RateLimiterRegistry registry = new RateLimiterRegistry();
+        RateLimiter first = registry.get("client-id:mirket", properties(10, 1, 0));
+        RateLimiter second = registry.get("client-id:mirket", properties(10, 1, 0));
+
+        assertSame(first, second);
+        assertTrue(first.tryAcquire());
+        assertFalse(second.tryAcquire());
+    }
+
+    private static RateLimitProperties properties(double permitsPerSecond, int burst, long maxWait) {
+        return RateLimitProperties.builder()
+                .enabled(true)
+                .permitsPerSecond(permitsPerSecond)
+                .burst(burst)
+                .maxWait(maxWait)
+                .build();
+    }
+
+    private static HttpAdapterResponse<String> response() {
+        return new HttpAdapterResponse<>(200, Map.of(), "countries");
+    }
+}
@@ -0,0 +1,179 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.CacheEvictionPolicy;
+import com.inomera.integration.config.model.CacheProperties;
+import com.inomera.integration.constant.HttpMethod;
+import com.inomera.integration.model.HttpAdapterRequest;
+import com.inomera.integration.model.HttpAdapterResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCachePolicyTest {
+
+    @Test
+    void shouldServeFreshResponse_whenResponseIsCached() {
+        ResponseCachePolicy cachePolicy = ResponseCachePolicy.inMemory(cacheProperties(60_000, 0));
+        HttpAdapterRequest request = request("/continents", Map.of());
+        RequestKey key = cachePolicy.createKey(request, String.class);
+
+        cachePolicy.store(key, new HttpAdapterResponse<>(200, Map.of("ETag", "\"v1\""), "continents"));
+
+        HttpAdapterResponse<String> cachedResponse = cachePolicy.getFresh(key, request);
+        assertEquals("continents", cachedResponse.body());
+        assertEquals("\"v1\"", cachePolicy.getCache().get(key).getEtag());
+    }
+
+    @Test
+    void shouldNotCacheResponse_whenCacheControlForbidsStoring() {
+        ResponseCachePolicy cachePolicy = ResponseCachePolicy.inMemory(cacheProperties(60_000, 0));
+        HttpAdapterRequest request = request("/continents", Map.of());
+        RequestKey key = cachePolicy.createKey(request, String.class);
+
+        cachePolicy.store(key, new HttpAdapterResponse<>(200, Map.of("cache-control", "private, max-age=60"), "a"));
+        cachePolicy.store(RequestKey.of(request("/countries", Map.of()), null, String.class),
+                new HttpAdapterResponse<>(500, Map.of(), "error"));
+
+        assertNull(cachePolicy.getFresh(key, request));
+        assertEquals(0, ((InMemoryResponseCache) cachePolicy.getCache()).size());
+    }
+
+    @Test
+    void shouldLimitTtlByMaxAge_whenResponseHasMaxAge() {
+        ResponseCachePolicy cachePolicy = ResponseCachePolicy.inMemory(cacheProperties(60_000, 0));
+        HttpAdapterRequest request = request("/continents", Map.of());
+        RequestKey key = cachePolicy.createKey(request, String.class);
+
+        cachePolicy.store(key, new HttpAdapterResponse<>(200, Map.of("Cache-Control", "public, max-age=5"), "a"));
+
+        CachedResponse cachedResponse = cachePolicy.getCache().get(key);
+        assertEquals(5_000, cachedResponse.getExpiresAt() - cachedResponse.getStoredAt());
+    }
+
+    @Test
+    void shouldSkipCachedResponse_whenRequestHasNoCache() {
+        ResponseCachePolicy cachePolicy = ResponseCachePolicy.inMemory(cacheProperties(60_000, 0));
+        HttpAdapterRequest request = request("/continents", Map.of("Cache-Control", "no-cache"));
+        RequestKey key = cachePolicy.createKey(request, String.class);
+
+        cachePolicy.store(key, new HttpAdapterResponse<>(200, Map.of(), "continents"));
+
+        assertNull(cachePolicy.getFresh(key, request));
+    }
+
+    @Test
+    void shouldServeStaleResponseWithinItsWindow_whenResponseIsExpired() {
+        ResponseCachePolicy cachePolicy = ResponseCachePolicy.inMemory(CacheProperties.builder()
+                .enabled(true)
+                .ttl(60_000)
+                .staleWhileRevalidate(5_000)
+                .staleIfError(500)
+                .build());
+        HttpAdapterRequest request = request("/continents", Map.of());
+        RequestKey key = cachePolicy.createKey(request, String.class);
+        long now = System.currentTimeMillis();
+        HttpAdapterResponse<String> response = new HttpAdapterResponse<>(200, Map.of(), "continents");
+        cachePolicy.getCache().put(key, new CachedResponse(response, now - 2_000, now - 1_000, now + 4_000,
+                null, null, ResponseCachePolicy.estimateSize(response)));
+
+        HttpAdapterResponse<String> staleResponse = cachePolicy.getStaleWhileRevalidate(key, request);
+
+        assertNull(cachePolicy.getFresh(key, request));
+        assertEquals("continents", staleResponse.body());
+        assertTrue(ResponseCachePolicy.isStale(staleResponse));
+        assertFalse(ResponseCachePolicy.isStale(response));
+        assertNull(cachePolicy.getStaleIfError(key));
+        assertTrue(cachePolicy.startRevalidation(key));
+        assertFalse(cachePolicy.startRevalidation(key));
+    }
+
+    @Test
+    void shouldRetainResponseForStaleWindow_whenStaleIfErrorIsSet() {
+        ResponseCachePolicy cachePolicy = ResponseCachePolicy.inMemory(CacheProperties.builder()
+                .enabled(true)
+                .ttl(60_000)
+                .staleIfError(30_000)
+                .build());
+        HttpAdapterRequest request = request("/continents", Map.of());
+        RequestKey key = cachePolicy.createKey(request, String.class);
+
+        cachePolicy.store(key, new HttpAdapterResponse<>(200, Map.of(), "continents"));
+
+        CachedResponse cachedResponse = cachePolicy.getCache().get(key);
+        assertEquals(30_000, cachedResponse.getRetainUntil() - cachedResponse.getExpiresAt());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntry_whenMaxEntriesIsExceeded() {
+        InMemoryResponseCache cache = new InMemoryResponseCache(2, 0, CacheEvictionPolicy.LRU);
+        RequestKey first = RequestKey.of(request("/1", Map.of()), null, String.class);
+        RequestKey second = RequestKey.of(request("/2", Map.of()), null, String.class);
+        RequestKey third = RequestKey.of(request("/3", Map.of()), null, String.class);
+
+        cache.put(first, cachedResponse("1"));
+        cache.put(second, cachedResponse("2"));
+        cache.get(first);
+        cache.put(third, cachedResponse("3"));
+
+        assertNotNull(cache.get(first));
+        assertNull(cache.get(second));
+        assertNotNull(cache.get(third));
+    }
+
+    @Test
+    void shouldEvictOldestEntries_whenMaxBytesIsExceeded() {
+        InMemoryResponseCache cache = new InMemoryResponseCache(0, 10, CacheEvictionPolicy.FIFO);
+        RequestKey first = RequestKey.of(request("/1", Map.of()), null, String.class);
+        RequestKey second = RequestKey.of(request("/2", Map.of()), null, String.class);
+
+        cache.put(first, cachedResponse("1234"));
+        cache.get(first);
+        cache.put(second, cachedResponse("5678"));
+
+        assertNull(cache.get(first));
+        assertNotNull(cache.get(second));
+        assertEquals(8, cache.getBytes());
+    }
+
+    @Test
+    void shouldNotServeCachedResponse_whenBodyDigestsCollide() {
+        InMemoryResponseCache cache = new InMemoryResponseCache(10, 0, CacheEvictionPolicy.LRU);
+        RequestKey turkey = new RequestKey("POST", "https://api.mirket.com/countries", Map.of(), List.of("TR"),
+                42L, String.class);
+        RequestKey germany = new RequestKey("POST", "https://api.mirket.com/countries", Map.of(), List.of("DE"),
+                42L, String.class);
+
+        cache.put(turkey, cachedResponse("Turkey"));
+
+        assertNull(cache.get(germany));
+        assertNotNull(cache.get(new RequestKey("POST", "https://api.mirket.com/countries", Map.of(),
+                List.of("TR"), 42L, String.class)));
+    }
+
+    private static CachedResponse cachedResponse(String body) {
+        long now = System.currentTimeMillis();
+        HttpAdapterResponse<String> response = new HttpAdapterResponse<>(200, Map.of(), body);
+        return new CachedResponse(response, now, now + 60_000, now + 60_000, null, null,
+                ResponseCachePolicy.estimateSize(response));
+    }
+
+    private static CacheProperties cacheProperties(long ttl, int maxEntries) {
+        return CacheProperties.builder()
+                .enabled(true)
+                .ttl(ttl)
+                .maxEntries(maxEntries)
+                .varyHeaders(List.of("Accept-Language"))
+                .build();
+    }
+
+    private static HttpAdapterRequest request(String url, Map<String, String> headers) {
+        HttpAdapterRequest request = new HttpAdapterRequest();
+        request.setMethod(HttpMethod.GET);
+        request.setUrl("https://api.mirket.com" + url);
+        request.setHeaders(headers);
+        return request;
+    }
+}
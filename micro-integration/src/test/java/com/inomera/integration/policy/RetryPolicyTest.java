@@ -0,0 +1,151 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.config.model.RetryProperties;
+import com.inomera.integration.fault.AdapterException;
+import com.inomera.integration.fault.AdapterIOException;
+import com.inomera.integration.fault.AdapterSerializationException;
+import com.inomera.integration.model.AdapterStatus;
+import com.inomera.integration.model.Deadline;
+import com.inomera.integration.model.HttpAdapterResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryPolicyTest {
+
+    @Test
+    void shouldRetryUntilSuccess_whenCallFailsWithIOException() {
+        RetryPolicy retryPolicy = new RetryPolicy(retryProperties(3, 10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        HttpAdapterResponse<String> response = retryPolicy.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw ioException();
+            }
+            return new HttpAdapterResponse<>(200, Map.of(), "countries");
+        });
+
+        assertEquals("countries", response.body());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void shouldNotRetry_whenCallFailsWithSerializationException() {
+        RetryPolicy retryPolicy = new RetryPolicy(retryProperties(3, 10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(AdapterSerializationException.class, () -> retryPolicy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new AdapterSerializationException(new IllegalStateException("unexpected token"),
+                    AdapterStatus.createStatusFailedAsTechnical());
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void shouldReturnLastResponse_whenRetryableStatusCodeExhaustsAttempts() {
+        RetryPolicy retryPolicy = new RetryPolicy(retryProperties(2, 10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        HttpAdapterResponse<String> response = retryPolicy.execute(() ->
+                new HttpAdapterResponse<>(503, Map.of(), "unavailable " + attempts.incrementAndGet()));
+
+        assertEquals("unavailable 2", response.body());
+    }
+
+    @Test
+    void shouldRetry_whenErrorResponseExceptionKeepsRetryableStatusCode() {
+        RetryPolicy retryPolicy = new RetryPolicy(retryProperties(3, 10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(AdapterException.class, () -> retryPolicy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new AdapterException(null, AdapterStatus.createStatusFailedAsTechnical(), 503);
+        }));
+        assertEquals(3, attempts.get());
+        assertFalse(retryPolicy.isRetryableFailure(
+                new AdapterException(null, AdapterStatus.createStatusFailedAsTechnical(), 404)));
+    }
+
+    @Test
+    void shouldStopRetrying_whenRetryBudgetIsExhausted() {
+        RetryPolicy retryPolicy = new RetryPolicy(retryProperties(5, 4));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(AdapterIOException.class, () -> retryPolicy.execute(() -> {
+            attempts.incrementAndGet();
+            throw ioException();
+        }));
+
+        // each failure takes a token, retries stop when half of the 4 tokens are spent
+        assertEquals(2, attempts.get());
+        assertFalse(retryPolicy.getBudget().canRetry());
+    }
+
+    @Test
+    void shouldRetryAsync_whenCallFailsWithIOException() {
+        RetryPolicy retryPolicy = new RetryPolicy(retryProperties(3, 10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        HttpAdapterResponse<String> response = retryPolicy.<String>executeAsync(() -> attempts.incrementAndGet() < 2
+                ? CompletableFuture.failedFuture(ioException())
+                : CompletableFuture.completedFuture(new HttpAdapterResponse<>(200, Map.of(), "countries"))).join();
+
+        assertEquals("countries", response.body());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void shouldCapBackoffAndApplyJitter() {
+        RetryPolicy retryPolicy = new RetryPolicy(RetryProperties.builder()
+                .enabled(true)
+                .initialBackoff(100)
+                .maxBackoff(300)
+                .jitter(0.5)
+                .build());
+
+        for (int i = 0; i < 100; i++) {
+            long first = retryPolicy.backoff(1);
+            long capped = retryPolicy.backoff(5);
+            assertTrue(first >= 50 && first <= 100);
+            assertTrue(capped >= 150 && capped <= 300);
+        }
+    }
+
+    @Test
+    void shouldNotRetry_whenBackoffEndsAfterDeadline() {
+        RetryPolicy retryPolicy = new RetryPolicy(RetryProperties.builder()
+                .enabled(true)
+                .maxAttempts(3)
+                .initialBackoff(1_000)
+                .build());
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(AdapterIOException.class, () -> retryPolicy.execute(() -> {
+            attempts.incrementAndGet();
+            throw ioException();
+        }, Deadline.after(Duration.ofMillis(200))));
+
+        assertEquals(1, attempts.get());
+    }
+
+    private static RetryProperties retryProperties(int maxAttempts, int budgetMaxTokens) {
+        return RetryProperties.builder()
+                .enabled(true)
+                .maxAttempts(maxAttempts)
+                .initialBackoff(1)
+                .budgetMaxTokens(budgetMaxTokens)
+                .build();
+    }
+
+    private static AdapterIOException ioException() {
+        return new AdapterIOException(new IOException("Connection reset"), null,
+                AdapterStatus.createStatusFailedAsTechnical());
+    }
+}
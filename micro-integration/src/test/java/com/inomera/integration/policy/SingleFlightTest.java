@@ -0,0 +1,137 @@
+package com.inomera.integration.policy;
+
+import com.inomera.integration.constant.HttpMethod;
+import com.inomera.integration.fault.AdapterDeadlineExceededException;
+import com.inomera.integration.model.Deadline;
+import com.inomera.integration.model.HttpAdapterRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void shouldRunCallOnce_whenIdenticalCallsAreConcurrent() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        RequestKey key = RequestKey.of(request("/countries/TR", new CountryName("TR")), null, String.class);
+        AtomicInteger callCount = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<String>> results = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> singleFlight.execute(key, () -> {
+                callCount.incrementAndGet();
+                await(release);
+                return "Turkey";
+            })));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        for (CompletableFuture<String> result : results) {
+            assertEquals("Turkey", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, callCount.get());
+        assertEquals(0, singleFlight.size());
+    }
+
+    @Test
+    void shouldShareException_whenCoalescedAsyncCallFails() {
+        SingleFlight singleFlight = new SingleFlight();
+        RequestKey key = RequestKey.of(request("/countries", null), null, String.class);
+        CompletableFuture<String> outbound = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.executeAsync(key, () -> outbound);
+        CompletableFuture<String> second = singleFlight.executeAsync(key, () -> CompletableFuture.completedFuture("other"));
+        outbound.completeExceptionally(new IllegalStateException("connection refused"));
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertEquals(0, singleFlight.size());
+    }
+
+    @Test
+    void shouldCreateEqualKeys_whenRequestBodiesAreStructurallyEqual() {
+        RequestKey first = RequestKey.of(request("/countries", new CountryName("TR")), List.of("X-Channel"), String.class);
+        RequestKey second = RequestKey.of(request("/countries", new CountryName("TR")), List.of("x-channel"), String.class);
+        RequestKey other = RequestKey.of(request("/countries", new CountryName("DE")), List.of("X-Channel"), String.class);
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        assertEquals(Map.of("x-channel", "web"), first.headers());
+    }
+
+    @Test
+    void shouldNotCreateEqualKeys_whenBodyDigestsCollide() {
+        RequestKey first = new RequestKey("GET", "https://api.mirket.com/countries", Map.of(), new CountryName("TR"),
+                42L, String.class);
+        RequestKey second = new RequestKey("GET", "https://api.mirket.com/countries", Map.of(), new CountryName("DE"),
+                42L, String.class);
+
+        assertEquals(first.hashCode(), second.hashCode());
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void shouldStopWaitingAtDeadline_whenCoalescedCallIsSlow() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        RequestKey key = RequestKey.of(request("/countries", null), null, String.class);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute(key, () -> {
+            await(release);
+            return "Turkey";
+        }));
+        while (singleFlight.size() == 0) {
+            Thread.sleep(1);
+        }
+
+        assertThrows(AdapterDeadlineExceededException.class,
+                () -> singleFlight.execute(key, () -> "other", Deadline.afterMillis(50)));
+        CompletableFuture<String> asyncFollower = singleFlight.executeAsync(key,
+                () -> CompletableFuture.completedFuture("other"), Deadline.afterMillis(50));
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> asyncFollower.get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof AdapterDeadlineExceededException);
+
+        release.countDown();
+        assertEquals("Turkey", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    private static HttpAdapterRequest request(String url, Object body) {
+        HttpAdapterRequest request = new HttpAdapterRequest();
+        request.setMethod(HttpMethod.GET);
+        request.setUrl("https://api.mirket.com" + url);
+        request.setHeaders(Map.of("X-Channel", "web", "X-Request-Id", "1"));
+        request.setRequestBody(body);
+        return request;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Generated soap request models don't implement equals.
+     */
+    private static class CountryName {
+
+        private final String isoCode;
+
+        CountryName(String isoCode) {
+            this.isoCode = isoCode;
+        }
+    }
+}
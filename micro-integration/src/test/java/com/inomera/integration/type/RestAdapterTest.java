@@ -0,0 +1,271 @@
+package com.inomera.integration.type;
+
+import com.inomera.integration.client.HttpRestAdapterClient;
+import com.inomera.integration.config.model.AdapterConfig;
+import com.inomera.integration.config.model.AdapterProperties;
+import com.inomera.integration.config.model.CacheProperties;
+import com.inomera.integration.config.model.HealthCheckProperties;
+import com.inomera.integration.constant.HttpMethod;
+import com.inomera.integration.constant.Status;
+import com.inomera.integration.fault.AdapterAuthenticationException;
+import com.inomera.integration.fault.AdapterException;
+import com.inomera.integration.fault.AdapterIOException;
+import com.inomera.integration.model.AdapterResponse;
+import com.inomera.integration.model.AdapterStatus;
+import com.inomera.integration.model.HttpAdapterRequest;
+import com.inomera.integration.model.HttpAdapterResponse;
+import com.inomera.integration.util.AdapterCallExecutor;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestAdapterTest {
+
+    @Test
+    void shouldReturnResponseData_whenGetAsync() {
+        TestRestAdapter adapter = new TestRestAdapter(new TestRestAdapterClient(0, null));
+
+        AdapterResponse<String> response = adapter.<String, String>getAsync("/countries", Map.of(), null,
+                String.class, null).join();
+
+        assertEquals(Status.SUCCESS, response.getStatus().status());
+        assertEquals("GET https://api.mirket.com/countries", response.getData());
+    }
+
+    @Test
+    void shouldRetryOnce_whenGetAsyncFailsWithAuthenticationError() {
+        TestRestAdapterClient client = new TestRestAdapterClient(1, null);
+        TestRestAdapter adapter = new TestRestAdapter(client);
+
+        AdapterResponse<String> response = adapter.<String, String>getAsync("/countries", Map.of(), null,
+                String.class, null).join();
+
+        assertEquals(Status.SUCCESS, response.getStatus().status());
+        assertEquals(2, client.sendCount.get());
+    }
+
+    @Test
+    void shouldReturnTechnicalError_whenPostAsyncFails() {
+        AdapterIOException exception = new AdapterIOException(null, null,
+                AdapterStatus.createStatusFailedAsTechnical("connection refused"));
+        TestRestAdapter adapter = new TestRestAdapter(new TestRestAdapterClient(0, exception));
+
+        AdapterResponse<String> response = adapter.<String, String>postAsync("/countries", Map.of(), "body",
+                String.class, null).join();
+
+        assertEquals(Status.TECHNICAL_ERROR, response.getStatus().status());
+        assertEquals("connection refused", response.getStatus().description());
+    }
+
+    @Test
+    void shouldApplyCustomResponseHandler_whenExecuteGenericAsync() {
+        TestRestAdapter adapter = new TestRestAdapter(new TestRestAdapterClient(0, null));
+
+        AdapterResponse<Integer> response = adapter.<Integer, String>executeGenericAsync("/countries",
+                HttpMethod.DELETE, Map.of(), null, String.class,
+                httpResponse -> new AdapterResponse<>(AdapterStatus.createSuccess(), httpResponse.body().length())).join();
+
+        assertEquals(Status.SUCCESS, response.getStatus().status());
+        assertEquals(Integer.valueOf("DELETE https://api.mirket.com/countries".length()), response.getData());
+    }
+
+    @Test
+    void shouldRunBlockingCallOnCallExecutor_whenCallExecutorIsSet() {
+        TestRestAdapter adapter = new TestRestAdapter(new TestRestAdapterClient(0, null));
+        try (AdapterCallExecutor callExecutor = AdapterCallExecutor.virtualThreads("mirket", 4)) {
+            adapter.setCallExecutor(callExecutor);
+
+            AdapterResponse<String> asyncResponse = adapter.<String, String>getAsync("/countries", Map.of(), null,
+                    String.class, null).join();
+            AdapterResponse<String> submittedResponse = adapter.submit(
+                    () -> adapter.<String, String>get("/cities", Map.of(), null, String.class, null)).join();
+
+            assertEquals("GET https://api.mirket.com/countries", asyncResponse.getData());
+            assertEquals("GET https://api.mirket.com/cities", submittedResponse.getData());
+        }
+    }
+
+    @Test
+    void shouldSendOnceAndApplyStatusCheck_whenResponseIsCached() {
+        TestRestAdapterClient client = new TestRestAdapterClient(0, null);
+        AdapterProperties adapterProperties = new AdapterProperties();
+        adapterProperties.setUrl("https://api.mirket.com");
+        adapterProperties.setCache(CacheProperties.builder().enabled(true).ttl(60_000).build());
+        TestRestAdapter adapter = new TestRestAdapter(
+                () -> new AdapterConfig("config.adapter.mirket.v1", adapterProperties), client);
+
+        AdapterResponse<String> first = adapter.<String, String>get("/continents", Map.of(), null, String.class, null);
+        AdapterResponse<String> second = adapter.<String, String>getAsync("/continents", Map.of(), null,
+                String.class, null).join();
+        AdapterResponse<String> other = adapter.<String, String>get("/countries", Map.of(), null, String.class, null);
+
+        assertEquals(2, client.sendCount.get());
+        assertEquals(Status.SUCCESS, second.getStatus().status());
+        assertEquals(first.getData(), second.getData());
+        assertEquals("GET https://api.mirket.com/countries", other.getData());
+    }
+
+    @Test
+    void shouldServeStaleResponse_whenCallFailsWithinStaleIfErrorWindow() throws InterruptedException {
+        TestRestAdapterClient client = new TestRestAdapterClient(0, null);
+        AdapterProperties adapterProperties = new AdapterProperties();
+        adapterProperties.setUrl("https://api.mirket.com");
+        adapterProperties.setCache(CacheProperties.builder().enabled(true).ttl(1).staleIfError(60_000).build());
+        TestRestAdapter adapter = new TestRestAdapter(
+                () -> new AdapterConfig("config.adapter.mirket.v1", adapterProperties), client);
+
+        AdapterResponse<String> first = adapter.<String, String>get("/continents", Map.of(), null, String.class, null);
+        Thread.sleep(10);
+        client.exception = new AdapterIOException(new IOException("Connection reset"), null,
+                AdapterStatus.createStatusFailedAsTechnical());
+        AdapterResponse<String> stale = adapter.<String, String>get("/continents", Map.of(), null, String.class, null);
+        AdapterResponse<String> staleAsync = adapter.<String, String>getAsync("/continents", Map.of(), null,
+                String.class, null).join();
+        AdapterResponse<String> failed = adapter.<String, String>get("/countries", Map.of(), null, String.class, null);
+
+        assertFalse(first.getStatus().stale());
+        assertEquals(Status.SUCCESS, stale.getStatus().status());
+        assertTrue(stale.getStatus().stale());
+        assertEquals(first.getData(), stale.getData());
+        assertTrue(staleAsync.getStatus().stale());
+        assertEquals(Status.TECHNICAL_ERROR, failed.getStatus().status());
+    }
+
+    @Test
+    void shouldServeStaleResponseOnlyForServerErrors_whenErrorResponseExceptionKeepsHttpStatus()
+            throws InterruptedException {
+        TestRestAdapterClient client = new TestRestAdapterClient(0, null);
+        AdapterProperties adapterProperties = new AdapterProperties();
+        adapterProperties.setUrl("https://api.mirket.com");
+        adapterProperties.setCache(CacheProperties.builder().enabled(true).ttl(1).staleIfError(60_000).build());
+        TestRestAdapter adapter = new TestRestAdapter(
+                () -> new AdapterConfig("config.adapter.mirket.v1", adapterProperties), client);
+
+        adapter.<String, String>get("/continents", Map.of(), null, String.class, null);
+        Thread.sleep(10);
+        client.exception = new AdapterException(null, AdapterStatus.createStatusFailedAsTechnical(), 404);
+        AdapterResponse<String> notFound = adapter.<String, String>get("/continents", Map.of(), null,
+                String.class, null);
+        client.exception = new AdapterException(null, AdapterStatus.createStatusFailedAsTechnical(), 503);
+        AdapterResponse<String> unavailable = adapter.<String, String>get("/continents", Map.of(), null,
+                String.class, null);
+
+        assertEquals(Status.TECHNICAL_ERROR, notFound.getStatus().status());
+        assertFalse(notFound.getStatus().stale());
+        assertEquals(Status.SUCCESS, unavailable.getStatus().status());
+        assertTrue(unavailable.getStatus().stale());
+    }
+
+    @Test
+    void shouldServeStaleResponseAndRefreshInBackground_whenWithinStaleWhileRevalidateWindow()
+            throws InterruptedException {
+        TestRestAdapterClient client = new TestRestAdapterClient(0, null);
+        AdapterProperties adapterProperties = new AdapterProperties();
+        adapterProperties.setUrl("https://api.mirket.com");
+        adapterProperties.setCache(CacheProperties.builder().enabled(true).ttl(200).staleWhileRevalidate(60_000)
+                .build());
+        TestRestAdapter adapter = new TestRestAdapter(
+                () -> new AdapterConfig("config.adapter.mirket.v1", adapterProperties), client);
+
+        adapter.<String, String>get("/continents", Map.of(), null, String.class, null);
+        Thread.sleep(250);
+        AdapterResponse<String> stale = adapter.<String, String>get("/continents", Map.of(), null, String.class, null);
+        AdapterResponse<String> refreshed = stale;
+        for (int i = 0; i < 100 && refreshed.getStatus().stale(); i++) {
+            Thread.sleep(5);
+            refreshed = adapter.<String, String>get("/continents", Map.of(), null, String.class, null);
+        }
+
+        assertTrue(stale.getStatus().stale());
+        assertEquals(2, client.sendCount.get());
+        assertFalse(refreshed.getStatus().stale());
+    }
+
+    @Test
+    void shouldProbeHealthCheckPath_whenHealthCheckIsEnabled() throws InterruptedException {
+        TestRestAdapterClient client = new TestRestAdapterClient(0, null);
+        AdapterProperties adapterProperties = new AdapterProperties();
+        adapterProperties.setUrl("https://api.mirket.com");
+        adapterProperties.setHealthCheck(HealthCheckProperties.builder().enabled(true).path("/health").build());
+        TestRestAdapter adapter = new TestRestAdapter(
+                () -> new AdapterConfig("config.adapter.mirket.v1", adapterProperties), client);
+        assertNull(adapter.getHealthChecker());
+        adapter.start();
+        try {
+            for (int i = 0; i < 100 && client.lastUrl == null; i++) {
+                Thread.sleep(5);
+            }
+
+            assertEquals("https://api.mirket.com/health", client.lastUrl);
+            assertTrue(adapter.getHealthChecker().isRunning());
+            assertTrue(adapter.getHealthChecker().isHealthy("https://api.mirket.com"));
+        } finally {
+            adapter.getHealthChecker().stop();
+        }
+    }
+
+    @Test
+    void shouldStartHealthCheck_whenFirstCallIsSent() {
+        TestRestAdapterClient client = new TestRestAdapterClient(0, null);
+        AdapterProperties adapterProperties = new AdapterProperties();
+        adapterProperties.setUrl("https://api.mirket.com");
+        adapterProperties.setHealthCheck(HealthCheckProperties.builder().enabled(true).path("/health").build());
+        TestRestAdapter adapter = new TestRestAdapter(
+                () -> new AdapterConfig("config.adapter.mirket.v1", adapterProperties), client);
+        try {
+            adapter.<String, String>get("/countries", Map.of(), null, String.class, null);
+
+            assertTrue(adapter.getHealthChecker().isRunning());
+        } finally {
+            adapter.getHealthChecker().stop();
+        }
+    }
+
+    private static class TestRestAdapter extends RestAdapter<AdapterConfig> {
+
+        TestRestAdapter(HttpRestAdapterClient httpRestAdapterClient) {
+            super(TestRestAdapter::adapterConfig, httpRestAdapterClient);
+        }
+
+        TestRestAdapter(Supplier<AdapterConfig> adapterConfigSupplier, HttpRestAdapterClient httpRestAdapterClient) {
+            super(adapterConfigSupplier, httpRestAdapterClient);
+        }
+
+        private static AdapterConfig adapterConfig() {
+            AdapterProperties adapterProperties = new AdapterProperties();
+            adapterProperties.setUrl("https://api.mirket.com");
+            return new AdapterConfig("config.adapter.mirket.v1", adapterProperties);
+        }
+    }
+
+    private static class TestRestAdapterClient implements HttpRestAdapterClient {
+
+        private final AtomicInteger sendCount = new AtomicInteger();
+        private final int authFailureCount;
+        private volatile RuntimeException exception;
+        private volatile String lastUrl;
+
+        TestRestAdapterClient(int authFailureCount, RuntimeException exception) {
+            this.authFailureCount = authFailureCount;
+            this.exception = exception;
+        }
+
+        @Override
+        public <O> HttpAdapterResponse<O> send(HttpAdapterRequest httpAdapterRequest, Class<O> responseType) {
+            lastUrl = httpAdapterRequest.getUrl();
+            if (sendCount.incrementAndGet() <= authFailureCount) {
+                throw new AdapterAuthenticationException(AdapterStatus.createStatusFailedAsTechnical());
+            }
+            if (exception != null) {
+                throw exception;
+            }
+            String body = httpAdapterRequest.getMethod() + " " + httpAdapterRequest.getUrl();
+            return new HttpAdapterResponse<>(200, Map.of(), responseType.cast(body));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.inomera.integration.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdapterCallExecutorTest {
+
+    @Test
+    void shouldNotExceedMaxConcurrentCalls_whenCallsAreSubmittedConcurrently() throws Exception {
+        AtomicInteger activeCalls = new AtomicInteger();
+        AtomicInteger maxActiveCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        try (AdapterCallExecutor executor = AdapterCallExecutor.virtualThreads("test", 2)) {
+            for (int i = 0; i < 10; i++) {
+                final int call = i;
+                futures.add(executor.submit(() -> {
+                    maxActiveCalls.accumulateAndGet(activeCalls.incrementAndGet(), Math::max);
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    activeCalls.decrementAndGet();
+                    return call;
+                }));
+            }
+            Thread.sleep(100);
+            assertEquals(2, executor.getActiveCalls());
+            release.countDown();
+
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(Integer.valueOf(i), futures.get(i).get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(2, maxActiveCalls.get());
+    }
+
+    @Test
+    void shouldCompleteExceptionally_whenCallThrows() {
+        try (AdapterCallExecutor executor = AdapterCallExecutor.of(Runnable::run, 0)) {
+            CompletableFuture<String> future = executor.submit(() -> {
+                throw new IllegalStateException("failed");
+            });
+
+            CompletionException exception = assertThrows(CompletionException.class, future::join);
+            assertTrue(exception.getCause() instanceof IllegalStateException);
+            assertEquals(0, executor.getActiveCalls());
+        }
+    }
+}
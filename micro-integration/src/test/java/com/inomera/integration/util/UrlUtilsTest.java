@@ -21,4 +21,14 @@ class UrlUtilsTest {
         final String urlV4 = UrlUtils.combineUrl("https://mirket.ist", "/subscribers/v10?q:status=active");
         assertEquals("https://mirket.ist/subscribers/v10?q:status=active", urlV4);
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_ReplaceBaseUrl() {
+        final String url = UrlUtils.combineUrl("https://mirket.ist/api/", "/subscribers/v10?q:status=active");
+
+        assertEquals("https://node-2.mirket.ist/api/subscribers/v10?q:status=active",
+                UrlUtils.replaceBaseUrl(url, "https://mirket.ist/api/", "https://node-2.mirket.ist/api"));
+        assertEquals("https://other.ist/subscribers",
+                UrlUtils.replaceBaseUrl("https://other.ist/subscribers", "https://mirket.ist", "https://node-2.mirket.ist"));
+    }
+}
@@ -40,10 +40,17 @@ public final class BufferingClientHttpResponseWrapper implements ClientHttpRespo
 
   @Override
   public InputStream getBody() throws IOException {
+    return new ByteArrayInputStream(getBodyAsBytes());
+  }
+
+  /**
+   * Returns the buffered body, the returned array must not be modified.
+   */
+  public byte[] getBodyAsBytes() throws IOException {
     if (this.body == null) {
       this.body = StreamUtils.copyToByteArray(this.response.getBody());
     }
-    return new ByteArrayInputStream(this.body);
+    return this.body;
   }
 
   @Override
@@ -8,6 +8,7 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -25,7 +26,13 @@ public class BaseBearerTokenProvider {
   private final BearerTokenCredentials bearerTokenCredentials;
   private final RestTemplate restTemplate;
 
-  protected ActiveBearerToken activeBearerToken;
+  /**
+   * Token refresh lock. A lock is used instead of {@code synchronized}, a virtual thread waiting for
+   * the token endpoint inside a {@code synchronized} block pins its carrier thread.
+   */
+  private final ReentrantLock tokenLock = new ReentrantLock();
+
+  protected volatile ActiveBearerToken activeBearerToken;
 
   public BaseBearerTokenProvider(BearerTokenCredentials bearerTokenCredentials,
       RestTemplate restTemplate) {
@@ -34,14 +41,25 @@ public class BaseBearerTokenProvider {
   }
 
   protected void checkAndSetTokenHeader(TokenSetter tokenSetter) {
-    synchronized (this) {
-      if (activeBearerToken == null
-          || activeBearerToken.expiresAt() < System.currentTimeMillis()) {
-        activeBearerToken = getBearerToken();
+    ActiveBearerToken bearerToken = this.activeBearerToken;
+    if (isExpired(bearerToken)) {
+      // only the token refresh is serialized, requests with a valid token don't wait for the lock
+      tokenLock.lock();
+      try {
+        bearerToken = this.activeBearerToken;
+        if (isExpired(bearerToken)) {
+          bearerToken = getBearerToken();
+          this.activeBearerToken = bearerToken;
+        }
+      } finally {
+        tokenLock.unlock();
       }
-      final String token = activeBearerToken.token();
-      tokenSetter.setToken(token);
     }
+    tokenSetter.setToken(bearerToken.token());
+  }
+
+  private boolean isExpired(ActiveBearerToken bearerToken) {
+    return bearerToken == null || bearerToken.expiresAt() < System.currentTimeMillis();
   }
 
   /**
@@ -1,97 +1,259 @@
 package com.inomera.middleware.client.interceptor.log;
 
 import com.inomera.integration.config.model.AdapterLogging;
+import com.inomera.integration.config.model.LogStrategy;
+import com.inomera.integration.util.FingerprintUtils;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
-import org.springframework.util.CollectionUtils;
 
 /*
 Why do we log request and response separately?
 fluent bit log size default 32K. some of the backend services' request or response logs are huge.
-we optimize the log size per line
+we optimize the log size per line, bodies are cut off at maxBodySize and lines are split at chunkSize
  */
 public class BaseClientLoggingInterceptor {
 
+  static final String TRACE_ID_MDC_KEY = "traceId";
   private static final String FIELD_PARAMETER = "${PRM}";
 
   protected AdapterLogging adapterLogging;
 
-  protected Pattern multilineMaskPattern;
-  protected Pattern multilineNonLogPattern;
+  protected LogMasker logMasker;
 
-  public BaseClientLoggingInterceptor(AdapterLogging adapterLogging, String maskPatterns) {
+  protected LogPipeline logPipeline;
+
+  /**
+   * Patterns of the deprecated mask regex constructor, applied after {@link LogMasker} so values in
+   * formats the masker doesn't know are still masked. Null when the constructor is not used.
+   */
+  private Pattern maskPattern;
+  private Pattern nonLogPattern;
+
+  public BaseClientLoggingInterceptor(AdapterLogging adapterLogging) {
     this.adapterLogging = adapterLogging;
-    checkAndSetPatterns(adapterLogging, maskPatterns);
+    if (adapterLogging != null) {
+      this.logMasker = new LogMasker(adapterLogging.getSensitiveFields(),
+          adapterLogging.getNonLoggingFields());
+    }
+    if (adapterLogging != null && adapterLogging.getStrategy() != null
+        && adapterLogging.getStrategy() != LogStrategy.OFF && adapterLogging.isAsyncOrDefault()) {
+      this.logPipeline = LogPipeline.of(adapterLogging);
+    }
   }
 
-  private void checkAndSetPatterns(AdapterLogging loggingDetail, String maskPatterns) {
-    if (!CollectionUtils.isEmpty(loggingDetail.getSensitiveFields())) {
-      final List<String> maskedPatterns = new ArrayList<>();
-      for (String sensitiveField : loggingDetail.getSensitiveFields()) {
-        String replace = maskPatterns.replace(FIELD_PARAMETER, sensitiveField);
-        maskedPatterns.add(replace);
-      }
-      this.multilineMaskPattern = Pattern.compile(String.join("|", maskedPatterns),
-          Pattern.MULTILINE);
+  /**
+   * Kept for interceptors built with a mask regex. Fields are masked by {@link LogMasker} first,
+   * then the regex is applied with {@code ${PRM}} replaced by each sensitive and non-logging field,
+   * so logs masked by the regex before stay masked. The regex costs a scan of the log per field.
+   *
+   * @param adapterLogging logging config of the adapter
+   * @param maskPatterns   mask regex whose groups are masked, {@code ${PRM}} is the field name
+   * @deprecated use {@link #BaseClientLoggingInterceptor(AdapterLogging)}
+   */
+  @Deprecated
+  public BaseClientLoggingInterceptor(AdapterLogging adapterLogging, String maskPatterns) {
+    this(adapterLogging);
+    if (adapterLogging != null && StringUtils.isNotBlank(maskPatterns)) {
+      this.maskPattern = compileMaskPattern(maskPatterns, adapterLogging.getSensitiveFields());
+      this.nonLogPattern = compileMaskPattern(maskPatterns, adapterLogging.getNonLoggingFields());
+    }
+  }
+
+  private static Pattern compileMaskPattern(String maskPatterns, List<String> fields) {
+    if (fields == null || fields.isEmpty()) {
+      return null;
+    }
+    final List<String> fieldPatterns = fields.stream()
+        .map(field -> maskPatterns.replace(FIELD_PARAMETER, field))
+        .toList();
+    return Pattern.compile(String.join("|", fieldPatterns), Pattern.MULTILINE);
+  }
+
+  /**
+   * Returns the background log pipeline, e.g. to publish its dropped records as a metric.
+   *
+   * @return log pipeline, null if logs are written on the request thread
+   */
+  public LogPipeline getLogPipeline() {
+    return logPipeline;
+  }
+
+  /**
+   * Writes the log record on the background pipeline, or on the calling thread if logs are not async.
+   * The record must only use the raw request and response captured by the calling thread.
+   *
+   * @param record masks, formats and writes the log
+   */
+  protected void log(Runnable record) {
+    if (logPipeline == null) {
+      record.run();
+      return;
     }
-    if (!CollectionUtils.isEmpty(loggingDetail.getNonLoggingFields())) {
-      final List<String> nonLoggingMaskedPatterns = loggingDetail.getNonLoggingFields().stream()
-          .map(nonLoggingField -> maskPatterns.replace(FIELD_PARAMETER, nonLoggingField))
-          .toList();
+    logPipeline.submit(record);
+  }
 
-      this.multilineNonLogPattern = Pattern.compile(String.join("|", nonLoggingMaskedPatterns),
-          Pattern.MULTILINE);
+  /**
+   * Decides whether a successful call is logged by the {@link LogStrategy#SAMPLED} strategy, calls of
+   * other strategies are always sampled. The decision is made before anything is captured and is the
+   * same for every call of a correlation id, a call without a correlation id is sampled randomly.
+   *
+   * @param correlationId value of the correlation id header of the request, may be null
+   * @return false if a successful call is not logged
+   */
+  protected boolean isSampled(String correlationId) {
+    if (adapterLogging == null || adapterLogging.getStrategy() != LogStrategy.SAMPLED) {
+      return true;
     }
+    return isSampled(correlationId, adapterLogging.getSuccessSampleRateOrDefault());
+  }
+
+  static boolean isSampled(String correlationId, double rate) {
+    final long hash = correlationId != null
+        ? FingerprintUtils.mix(FingerprintUtils.SEED, correlationId)
+        : ThreadLocalRandom.current().nextLong();
+    // the upper 53 bits of the hash as a fraction in [0, 1)
+    return (hash >>> 11) * 0x1.0p-53 < rate;
   }
 
   protected String makeLogMoreSensibleIfHasAnyRule(String log) {
     if (StringUtils.isBlank(log)) {
       return log;
     }
-    if (adapterLogging == null) {
-      return log;
-    }
-
-    String processedLog = maskSensitiveFieldValues(log);
-    return maskNonLogFieldWithFixedValue(processedLog);
+    final String maskedLog = logMasker != null ? logMasker.mask(log) : log;
+    return maskWithPattern(maskWithPattern(maskedLog, maskPattern, LogMasker.MASKED_VALUE),
+        nonLogPattern, LogMasker.NON_LOGGED_VALUE);
   }
 
-  private String maskSensitiveFieldValues(String log) {
-    if (CollectionUtils.isEmpty(adapterLogging.getSensitiveFields())) {
+  /**
+   * Replaces the outermost matched group of each match, or the whole match when the pattern has no
+   * groups, in a single pass over the log.
+   */
+  private static String maskWithPattern(String log, Pattern pattern, String replacement) {
+    if (pattern == null) {
       return log;
     }
-    final Matcher matcher = multilineMaskPattern.matcher(log);
+    final Matcher matcher = pattern.matcher(log);
+    StringBuilder maskedLog = null;
+    int last = 0;
     while (matcher.find()) {
-      for (int group = 1; group <= matcher.groupCount(); group++) {
-        String matchedGroup = matcher.group(group);
-        if (matchedGroup == null) {
-          continue;
-        }
-        log = log.replace(matchedGroup, "**masked**");
+      int group = 1;
+      while (group <= matcher.groupCount() && matcher.start(group) < 0) {
+        group++;
+      }
+      final int start = group <= matcher.groupCount() ? matcher.start(group) : matcher.start();
+      final int end = group <= matcher.groupCount() ? matcher.end(group) : matcher.end();
+      if (maskedLog == null) {
+        maskedLog = new StringBuilder(log.length());
       }
+      maskedLog.append(log, last, start).append(replacement);
+      last = end;
     }
-    return log;
+    if (maskedLog == null) {
+      return log;
+    }
+    return maskedLog.append(log, last, log.length()).toString();
   }
 
-  private String maskNonLogFieldWithFixedValue(String log) {
-    if (CollectionUtils.isEmpty(adapterLogging.getNonLoggingFields())) {
-      return log;
+  /**
+   * Masks each part of the log context separately, so a body cut off inside a masked value doesn't
+   * mask the following parts.
+   *
+   * @param logContext log context
+   * @return masked log context
+   */
+  protected LogContext makeLogMoreSensibleIfHasAnyRule(LogContext logContext) {
+    if ((logMasker == null || !logMasker.hasFields())
+        && maskPattern == null && nonLogPattern == null) {
+      return logContext;
     }
-    final Matcher matcher = multilineNonLogPattern.matcher(log);
-    while (matcher.find()) {
-      for (int group = 1; group <= matcher.groupCount(); group++) {
-        String matchedGroup = matcher.group(group);
-        if (matchedGroup == null) {
-          continue;
-        }
-        log = log.replace(matchedGroup, "-empty-");
+    return logContext.map(this::makeLogMoreSensibleIfHasAnyRule);
+  }
+
+  /**
+   * Creates the log context builder of a request, bodies are cut off at the max body size of the
+   * adapter.
+   *
+   * @return log context builder
+   */
+  protected LogContext.LogContextBuilder logContextBuilder() {
+    final LogContext.LogContextBuilder logContextBuilder = LogContext.builder();
+    if (adapterLogging != null) {
+      logContextBuilder.maxBodySize(adapterLogging.getMaxBodySize());
+    }
+    return logContextBuilder;
+  }
+
+  /**
+   * Writes the log line, a line longer than the chunk size of the adapter is written as multiple
+   * lines, e.g. {@code [logId=5f3a9c part=1/3] Request=...}.
+   *
+   * @param logger logger of the interceptor
+   * @param line   log line
+   */
+  protected void info(Logger logger, String line) {
+    info(logger, line, null);
+  }
+
+  /**
+   * Writes the log line, a line longer than the chunk size of the adapter is written as multiple
+   * lines whose log id is the correlation id of the request, see {@link #chunkLogId(String)}.
+   *
+   * @param logger        logger of the interceptor
+   * @param line          log line
+   * @param correlationId value of the correlation id header of the request, may be null
+   */
+  protected void info(Logger logger, String line, String correlationId) {
+    final int chunkSize = adapterLogging != null ? adapterLogging.getChunkSize() : 0;
+    if (chunkSize <= 0 || line == null || line.length() <= chunkSize) {
+      logger.info("{}", line);
+      return;
+    }
+    final List<String> chunks = split(line, chunkSize);
+    final String logId = chunkLogId(correlationId);
+    for (int i = 0; i < chunks.size(); i++) {
+      logger.info("[logId={} part={}/{}] {}", logId, i + 1, chunks.size(), chunks.get(i));
+    }
+  }
+
+  /**
+   * Returns the id that joins the chunks of a log line: the correlation id of the request, else the
+   * trace id in the MDC, else a random id, so the chunks can be found with the other logs of the
+   * request.
+   */
+  static String chunkLogId(String correlationId) {
+    if (StringUtils.isNotBlank(correlationId)) {
+      return correlationId;
+    }
+    final String traceId = MDC.get(TRACE_ID_MDC_KEY);
+    if (StringUtils.isNotBlank(traceId)) {
+      return traceId;
+    }
+    return Long.toHexString(ThreadLocalRandom.current().nextLong());
+  }
+
+  static List<String> split(String line, int chunkSize) {
+    final List<String> chunks = new ArrayList<>(line.length() / chunkSize + 1);
+    int start = 0;
+    while (start < line.length()) {
+      int end = Math.min(start + chunkSize, line.length());
+      if (end < line.length() && end - start > 1 && Character.isHighSurrogate(line.charAt(end - 1))) {
+        // a surrogate pair is not split
+        end--;
       }
+      chunks.add(line.substring(start, end));
+      start = end;
     }
-    return log;
+    return chunks;
   }
 
   /**
@@ -103,22 +265,35 @@ public class BaseClientLoggingInterceptor {
    * @param status
    * @param requestHeaders
    * @param responseHeaders
+   * @param requestBodyOmitted  number of request body bytes cut off
+   * @param responseBodyOmitted number of response body bytes cut off
+   * @param correlationId       value of the correlation id header of the request
    */
   protected record LogContext(String uri, String requestBody, String responseBody,
                               HttpStatusCode status, String requestHeaders,
-                              String responseHeaders) {
+                              String responseHeaders, long requestBodyOmitted,
+                              long responseBodyOmitted, String correlationId) {
+
+    /**
+     * Returns a copy whose uri, bodies and headers are mapped, e.g. masked.
+     */
+    public LogContext map(UnaryOperator<String> mapper) {
+      return new LogContext(mapper.apply(uri), mapper.apply(requestBody),
+          mapper.apply(responseBody), status, mapper.apply(requestHeaders),
+          mapper.apply(responseHeaders), requestBodyOmitted, responseBodyOmitted, correlationId);
+    }
 
     public String toRequest() {
       return "Request={" +
           "uri='" + uri + "'\n" +
-          ", requestBody='" + requestBody + '\'' +
+          ", requestBody='" + requestBody + truncationMarker(requestBodyOmitted) + '\'' +
           '}';
     }
 
     public String toRequestAll() {
       return "Request={" +
           "uri='" + uri + "'\n" +
-          ", requestBody='" + requestBody + "'\n" +
+          ", requestBody='" + requestBody + truncationMarker(requestBodyOmitted) + "'\n" +
           ", requestHeaders='" + requestHeaders + '\'' +
           '}';
     }
@@ -126,18 +301,22 @@ public class BaseClientLoggingInterceptor {
     public String toResponse() {
       return "Response={" +
           " status='" + status + "'\n" +
-          ", responseBody='" + responseBody + '\'' +
+          ", responseBody='" + responseBody + truncationMarker(responseBodyOmitted) + '\'' +
           '}';
     }
 
     public String toResponseAll() {
       return "Response={" +
           "status='" + status + "'\n" +
-          ", responseBody='" + responseBody + "'\n" +
+          ", responseBody='" + responseBody + truncationMarker(responseBodyOmitted) + "'\n" +
           ", responseHeaders='" + responseHeaders + '\'' +
           '}';
     }
 
+    private static String truncationMarker(long omitted) {
+      return omitted > 0 ? "...[truncated, " + omitted + " bytes omitted]" : "";
+    }
+
     public static class LogContextBuilder {
 
       private String uri;
@@ -146,6 +325,12 @@ public class BaseClientLoggingInterceptor {
       private HttpStatusCode status;
       private String requestHeaders;
       private String responseHeaders;
+      private byte[] rawRequestBody;
+      private byte[] rawResponseBody;
+      private HttpHeaders rawRequestHeaders;
+      private HttpHeaders rawResponseHeaders;
+      private int maxBodySize;
+      private String correlationId;
 
       public LogContextBuilder uri(String uri) {
         this.uri = uri;
@@ -162,6 +347,22 @@ public class BaseClientLoggingInterceptor {
         return this;
       }
 
+      /**
+       * Captures the utf-8 request body, it is decoded when the context is built.
+       */
+      public LogContextBuilder requestBody(byte[] requestBody) {
+        this.rawRequestBody = requestBody;
+        return this;
+      }
+
+      /**
+       * Captures the utf-8 response body, it is decoded when the context is built.
+       */
+      public LogContextBuilder responseBody(byte[] responseBody) {
+        this.rawResponseBody = responseBody;
+        return this;
+      }
+
       public LogContextBuilder status(HttpStatusCode status) {
         this.status = status;
         return this;
@@ -177,9 +378,71 @@ public class BaseClientLoggingInterceptor {
         return this;
       }
 
+      /**
+       * Captures the request headers, they are formatted when the context is built.
+       */
+      public LogContextBuilder requestHeaders(HttpHeaders requestHeaders) {
+        this.rawRequestHeaders = requestHeaders;
+        return this;
+      }
+
+      /**
+       * Captures the response headers, they are formatted when the context is built.
+       */
+      public LogContextBuilder responseHeaders(HttpHeaders responseHeaders) {
+        this.rawResponseHeaders = responseHeaders;
+        return this;
+      }
+
+      /**
+       * Sets the maximum number of decoded bytes of a captured body, bodies are not cut off when zero.
+       */
+      public LogContextBuilder maxBodySize(int maxBodySize) {
+        this.maxBodySize = maxBodySize;
+        return this;
+      }
+
+      public LogContextBuilder correlationId(String correlationId) {
+        this.correlationId = correlationId;
+        return this;
+      }
+
       public LogContext build() {
-        return new LogContext(uri, requestBody, responseBody, status, requestHeaders,
-            responseHeaders);
+        return new LogContext(uri,
+            requestBody != null ? requestBody : decode(rawRequestBody),
+            responseBody != null ? responseBody : decode(rawResponseBody),
+            status,
+            requestHeaders != null ? requestHeaders : format(rawRequestHeaders),
+            responseHeaders != null ? responseHeaders : format(rawResponseHeaders),
+            requestBody != null ? 0 : omitted(rawRequestBody),
+            responseBody != null ? 0 : omitted(rawResponseBody),
+            correlationId);
+      }
+
+      private String decode(byte[] body) {
+        if (body == null) {
+          return null;
+        }
+        return new String(body, 0, body.length - (int) omitted(body), StandardCharsets.UTF_8);
+      }
+
+      /**
+       * Returns the number of bytes cut off, a multi byte char is not cut in the middle.
+       */
+      private long omitted(byte[] body) {
+        if (body == null || maxBodySize <= 0 || body.length <= maxBodySize) {
+          return 0;
+        }
+        int end = maxBodySize;
+        // utf-8 continuation bytes are 10xxxxxx
+        while (end > 0 && (body[end] & 0xC0) == 0x80) {
+          end--;
+        }
+        return body.length - end;
+      }
+
+      private static String format(HttpHeaders headers) {
+        return headers != null ? headers.toString() : null;
       }
     }
 
@@ -0,0 +1,320 @@
+package com.inomera.middleware.client.interceptor.log;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Masks the values of sensitive and non logging fields of a log in a single pass. Field names are
+ * compiled into a trie once, the log is scanned once and the unmasked parts are copied into one
+ * {@link StringBuilder} that is created only when a field is found.
+ * <p>
+ * A field is found in json and header formats, {@code "name": value} or {@code name:"value"}, and as
+ * an xml element with or without a namespace prefix, {@code <name>value</name>} or
+ * {@code <ns:name>value</ns:name>}. A json value is a string, an array, an object or a scalar up to
+ * the next delimiter, the whole value is masked. Values of sensitive fields are replaced by
+ * {@value #MASKED_VALUE} and values of non logging fields by {@value #NON_LOGGED_VALUE}, sensitive
+ * fields win when a field is in both lists. Field names are case-sensitive.
+ * <p>
+ * An instance is immutable and thread-safe.
+ */
+public class LogMasker {
+
+  static final String MASKED_VALUE = "**masked**";
+  static final String NON_LOGGED_VALUE = "-empty-";
+
+  private final Node root = new Node();
+
+  public LogMasker(Collection<String> sensitiveFields, Collection<String> nonLoggingFields) {
+    addFields(nonLoggingFields, NON_LOGGED_VALUE);
+    addFields(sensitiveFields, MASKED_VALUE);
+  }
+
+  /**
+   * Returns whether there is any field to mask.
+   *
+   * @return false if the masker returns every log as is
+   */
+  public boolean hasFields() {
+    return root.size > 0;
+  }
+
+  /**
+   * Masks the values of the fields in the log.
+   *
+   * @param log log text
+   * @return masked log, the same instance if there is nothing to mask
+   */
+  public String mask(String log) {
+    if (log == null || !hasFields()) {
+      return log;
+    }
+    final Scan scan = new Scan(log);
+    final int length = log.length();
+    int i = 0;
+    while (i < length) {
+      final char c = log.charAt(i);
+      int next = -1;
+      if (c == '<') {
+        next = maskXmlElement(scan, i);
+      } else if (c == '"') {
+        next = maskJsonField(scan, i + 1, true);
+      } else if (isNameChar(c) && (i == 0 || !isNameChar(log.charAt(i - 1)))) {
+        next = maskJsonField(scan, i, false);
+      }
+      i = next > i ? next : i + 1;
+    }
+    return scan.result();
+  }
+
+  /**
+   * Masks the content of an element {@code <name>} or {@code <ns:name>} up to its closing tag.
+   *
+   * @return index after the closing tag, index after the element name if the element is not a field
+   */
+  private int maskXmlElement(Scan scan, int start) {
+    final String log = scan.log;
+    int nameStart = start + 1;
+    int nameEnd = skipNameChars(log, nameStart);
+    if (nameEnd == nameStart) {
+      return -1;
+    }
+    int localStart = nameStart;
+    if (nameEnd < log.length() && log.charAt(nameEnd) == ':') {
+      localStart = nameEnd + 1;
+      nameEnd = skipNameChars(log, localStart);
+    }
+    final String replacement = find(log, localStart, nameEnd);
+    if (replacement == null) {
+      // the element name is not a json name
+      return nameEnd;
+    }
+    final int contentStart = log.indexOf('>', nameEnd);
+    if (contentStart < 0 || log.charAt(contentStart - 1) == '/'
+        || (contentStart > nameEnd && !Character.isWhitespace(log.charAt(nameEnd)))) {
+      return nameEnd;
+    }
+    final int qualifiedLength = nameEnd - nameStart;
+    int closing = log.indexOf("</", contentStart + 1);
+    while (closing >= 0) {
+      final int closingEnd = closing + 2 + qualifiedLength;
+      if (closingEnd < log.length() && log.charAt(closingEnd) == '>'
+          && log.regionMatches(closing + 2, log, nameStart, qualifiedLength)) {
+        scan.replace(contentStart + 1, closing, replacement);
+        return closingEnd + 1;
+      }
+      closing = log.indexOf("</", closing + 2);
+    }
+    return nameEnd;
+  }
+
+  /**
+   * Masks the value of a {@code "name": value} or {@code name: value} field.
+   *
+   * @param nameStart index of the first char of the name
+   * @param quoted    whether the name is quoted
+   * @return index after the masked value, -1 if it is not a field
+   */
+  private int maskJsonField(Scan scan, int nameStart, boolean quoted) {
+    final String log = scan.log;
+    if (nameStart >= log.length() || root.child(log.charAt(nameStart)) == null) {
+      return -1;
+    }
+    int nameEnd = skipNameChars(log, nameStart);
+    final String replacement = find(log, nameStart, nameEnd);
+    if (replacement == null) {
+      return -1;
+    }
+    if (quoted) {
+      if (nameEnd >= log.length() || log.charAt(nameEnd) != '"') {
+        return -1;
+      }
+      nameEnd++;
+    }
+    final int colon = skipWhitespace(log, nameEnd);
+    if (colon >= log.length() || log.charAt(colon) != ':') {
+      return -1;
+    }
+    final int valueStart = skipWhitespace(log, colon + 1);
+    final int valueEnd = skipJsonValue(log, valueStart);
+    if (valueEnd <= valueStart) {
+      return -1;
+    }
+    scan.replace(valueStart, valueEnd, replacement);
+    return valueEnd;
+  }
+
+  /**
+   * Returns the index after the json value, the end of the log for an unterminated string, array or
+   * object.
+   */
+  private static int skipJsonValue(String log, int start) {
+    final int length = log.length();
+    if (start >= length) {
+      return start;
+    }
+    final char first = log.charAt(start);
+    if (first == '"') {
+      return skipString(log, start);
+    }
+    if (first == '[' || first == '{') {
+      int depth = 0;
+      int i = start;
+      while (i < length) {
+        final char c = log.charAt(i);
+        if (c == '"') {
+          i = skipString(log, i);
+          continue;
+        }
+        if (c == '[' || c == '{') {
+          depth++;
+        } else if ((c == ']' || c == '}') && --depth == 0) {
+          return i + 1;
+        }
+        i++;
+      }
+      return length;
+    }
+    int end = start;
+    for (int i = start; i < length; i++) {
+      final char c = log.charAt(i);
+      if (c == ',' || c == '}' || c == ']' || c == '\n' || c == '\r' || c == '<' || c == '\'') {
+        break;
+      }
+      if (!Character.isWhitespace(c)) {
+        end = i + 1;
+      }
+    }
+    return end;
+  }
+
+  /**
+   * Returns the index after the closing quote of the string starting at the opening quote.
+   */
+  private static int skipString(String log, int start) {
+    final int length = log.length();
+    int i = start + 1;
+    while (i < length) {
+      final char c = log.charAt(i);
+      if (c == '\\') {
+        i += 2;
+        continue;
+      }
+      if (c == '"') {
+        return i + 1;
+      }
+      i++;
+    }
+    return length;
+  }
+
+  private static int skipWhitespace(String log, int start) {
+    int i = start;
+    while (i < log.length() && Character.isWhitespace(log.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  private static int skipNameChars(String log, int start) {
+    int i = start;
+    while (i < log.length() && isNameChar(log.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  private static boolean isNameChar(char c) {
+    return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.' || c == '$';
+  }
+
+  /**
+   * Returns the replacement of the field whose name is the given range of the log.
+   */
+  private String find(String log, int start, int end) {
+    Node node = root;
+    for (int i = start; i < end && node != null; i++) {
+      node = node.child(log.charAt(i));
+    }
+    return node != null ? node.replacement : null;
+  }
+
+  private void addFields(Collection<String> fields, String replacement) {
+    if (fields == null) {
+      return;
+    }
+    for (String field : fields) {
+      if (field == null || field.isEmpty()) {
+        continue;
+      }
+      Node node = root;
+      for (int i = 0; i < field.length(); i++) {
+        node = node.addChild(field.charAt(i));
+      }
+      node.replacement = replacement;
+    }
+  }
+
+  /**
+   * Trie node, children are few and searched linearly.
+   */
+  private static final class Node {
+
+    private char[] chars = new char[0];
+    private Node[] children = new Node[0];
+    private int size;
+    private String replacement;
+
+    private Node child(char c) {
+      for (int i = 0; i < size; i++) {
+        if (chars[i] == c) {
+          return children[i];
+        }
+      }
+      return null;
+    }
+
+    private Node addChild(char c) {
+      final Node existing = child(c);
+      if (existing != null) {
+        return existing;
+      }
+      if (size == chars.length) {
+        chars = Arrays.copyOf(chars, size * 2 + 1);
+        children = Arrays.copyOf(children, size * 2 + 1);
+      }
+      final Node node = new Node();
+      chars[size] = c;
+      children[size++] = node;
+      return node;
+    }
+  }
+
+  /**
+   * Masked copy of a log, the unmasked parts are appended lazily.
+   */
+  private static final class Scan {
+
+    private final String log;
+    private StringBuilder masked;
+    private int copied;
+
+    private Scan(String log) {
+      this.log = log;
+    }
+
+    private void replace(int start, int end, String replacement) {
+      if (masked == null) {
+        masked = new StringBuilder(log.length());
+      }
+      masked.append(log, copied, start).append(replacement);
+      copied = end;
+    }
+
+    private String result() {
+      if (masked == null) {
+        return log;
+      }
+      return masked.append(log, copied, log.length()).toString();
+    }
+  }
+}
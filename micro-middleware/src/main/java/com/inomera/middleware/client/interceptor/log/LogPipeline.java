@@ -0,0 +1,223 @@
+package com.inomera.middleware.client.interceptor.log;
+
+import com.inomera.integration.config.model.AdapterLogging;
+import com.inomera.integration.config.model.LogOverflowPolicy;
+import com.inomera.integration.util.AdapterExecutors;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+
+/**
+ * Bounded background pipeline of adapter log records. The request thread only buffers a record that
+ * captured the raw request and response, a background thread masks, formats and writes the buffered
+ * records in order with the MDC of the request thread. Records that don't fit into the buffer are
+ * dropped by the {@link LogOverflowPolicy}, the request thread never waits for the log.
+ * <p>
+ * Dropped records are counted per pipeline and in total, e.g. to publish them as counter metrics, and
+ * reported by a warning log of the background thread. Interceptors create a new pipeline when the
+ * adapter config is reloaded, the total counters survive reloads.
+ */
+@Slf4j
+public class LogPipeline {
+
+  private static final AtomicLong TOTAL_DROPPED_COUNT = new AtomicLong();
+  private static final AtomicLong TOTAL_SAMPLED_OUT_COUNT = new AtomicLong();
+
+  private final BlockingQueue<Runnable> buffer;
+  private final int bufferSize;
+  private final LogOverflowPolicy overflowPolicy;
+  private final int sampleRate;
+  private final Executor executor;
+  private final AtomicBoolean draining = new AtomicBoolean();
+  /**
+   * Held while buffered records are polled and written, so the background drain and
+   * {@link #flush()} never write concurrently and the records stay in order.
+   */
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private final AtomicLong droppedCount = new AtomicLong();
+  private final AtomicLong sampledOutCount = new AtomicLong();
+  private final AtomicLong writtenCount = new AtomicLong();
+  private final AtomicLong sampleCounter = new AtomicLong();
+  private final AtomicLong reportedDroppedCount = new AtomicLong();
+
+  public LogPipeline(int bufferSize, LogOverflowPolicy overflowPolicy, int sampleRate,
+      Executor executor) {
+    this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    this.bufferSize = bufferSize;
+    this.overflowPolicy = overflowPolicy;
+    this.sampleRate = sampleRate;
+    this.executor = executor;
+  }
+
+  /**
+   * Creates the pipeline of the logging config, records are written on
+   * {@link AdapterExecutors#blockingExecutor()}.
+   *
+   * @param adapterLogging logging config of the adapter
+   * @return log pipeline
+   */
+  public static LogPipeline of(AdapterLogging adapterLogging) {
+    return new LogPipeline(adapterLogging.getBufferSizeOrDefault(),
+        adapterLogging.getOverflowPolicyOrDefault(), adapterLogging.getSampleRateOrDefault(),
+        AdapterExecutors.blockingExecutor());
+  }
+
+  /**
+   * Buffers the log record if the overflow policy admits it and starts the background thread.
+   *
+   * @param record masks, formats and writes a captured request and response
+   * @return false if the record is dropped
+   */
+  public boolean submit(Runnable record) {
+    if (overflowPolicy == LogOverflowPolicy.SAMPLE && buffer.size() * 2 > bufferSize
+        && sampleCounter.getAndIncrement() % sampleRate != 0) {
+      sampledOutCount.incrementAndGet();
+      TOTAL_SAMPLED_OUT_COUNT.incrementAndGet();
+      return false;
+    }
+    if (!buffer.offer(withMdc(record))) {
+      droppedCount.incrementAndGet();
+      TOTAL_DROPPED_COUNT.incrementAndGet();
+      return false;
+    }
+    scheduleDrain();
+    return true;
+  }
+
+  /**
+   * Writes the buffered records on the calling thread, e.g. before the application shuts down. A
+   * running background drain is waited for, the records are written in order.
+   */
+  public void flush() {
+    writeLock.lock();
+    try {
+      Runnable record;
+      while ((record = buffer.poll()) != null) {
+        write(record);
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of records dropped because the buffer was full.
+   */
+  public long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  /**
+   * Returns the number of records dropped by the {@link LogOverflowPolicy#SAMPLE} policy.
+   */
+  public long getSampledOutCount() {
+    return sampledOutCount.get();
+  }
+
+  /**
+   * Returns the number of records written by this pipeline, records that failed to be written are
+   * not counted.
+   */
+  public long getWrittenCount() {
+    return writtenCount.get();
+  }
+
+  /**
+   * Returns the number of buffered records waiting to be written, the record being written is not
+   * counted.
+   */
+  public int getPendingCount() {
+    return buffer.size();
+  }
+
+  /**
+   * Returns the number of records dropped by all pipelines because their buffers were full.
+   */
+  public static long getTotalDroppedCount() {
+    return TOTAL_DROPPED_COUNT.get();
+  }
+
+  /**
+   * Returns the number of records dropped by the {@link LogOverflowPolicy#SAMPLE} policy of all
+   * pipelines.
+   */
+  public static long getTotalSampledOutCount() {
+    return TOTAL_SAMPLED_OUT_COUNT.get();
+  }
+
+  /**
+   * Captures the MDC of the request thread, the record is written with it and the MDC of the writing
+   * thread is restored afterward.
+   */
+  private static Runnable withMdc(Runnable record) {
+    final Map<String, String> context = MDC.getCopyOfContextMap();
+    return () -> {
+      final Map<String, String> previous = MDC.getCopyOfContextMap();
+      setMdc(context);
+      try {
+        record.run();
+      } finally {
+        setMdc(previous);
+      }
+    };
+  }
+
+  private static void setMdc(Map<String, String> context) {
+    if (context == null) {
+      MDC.clear();
+    } else {
+      MDC.setContextMap(context);
+    }
+  }
+
+  private void scheduleDrain() {
+    if (!draining.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      executor.execute(this::drain);
+    } catch (RejectedExecutionException e) {
+      // the buffered records are written by the drain of the next record
+      draining.set(false);
+      LOG.warn("Adapter log drain couldn't be started", e);
+    }
+  }
+
+  private void drain() {
+    try {
+      flush();
+      reportDrops();
+    } finally {
+      draining.set(false);
+    }
+    // a record buffered after the last poll and before the flag is cleared has no drain yet
+    if (!buffer.isEmpty()) {
+      scheduleDrain();
+    }
+  }
+
+  private void write(Runnable record) {
+    try {
+      record.run();
+      writtenCount.incrementAndGet();
+    } catch (RuntimeException e) {
+      LOG.error("Adapter log record couldn't be written", e);
+    }
+  }
+
+  private void reportDrops() {
+    final long dropped = droppedCount.get() + sampledOutCount.get();
+    final long reported = reportedDroppedCount.getAndSet(dropped);
+    if (dropped > reported) {
+      LOG.warn("{} adapter log records dropped, buffer size : {}, overflow policy : {}",
+          dropped - reported, bufferSize, overflowPolicy);
+    }
+  }
+}
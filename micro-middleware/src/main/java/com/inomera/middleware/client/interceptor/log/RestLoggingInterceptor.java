@@ -3,11 +3,7 @@ package com.inomera.middleware.client.interceptor.log;
 import com.inomera.integration.config.model.AdapterLogging;
 import com.inomera.integration.config.model.LogStrategy;
 import com.inomera.middleware.client.BufferingClientHttpResponseWrapper;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpRequest;
@@ -22,14 +18,14 @@ import org.springframework.http.client.ClientHttpResponse;
 public class RestLoggingInterceptor extends BaseClientLoggingInterceptor implements
     ClientHttpRequestInterceptor {
 
-  private static final String JSON_MASK_PATTERN = "(?:\\\"${PRM}\\\"|${PRM})\\s*:(\\s*(\\\"(.*?)\\\")|(\\s*(.\\d),)|\\s*(\\[(.*?)\\])|(\\s*((.*?)(\\n}))))";
-
   public RestLoggingInterceptor(AdapterLogging adapterLogging) {
-    super(adapterLogging, JSON_MASK_PATTERN);
+    super(adapterLogging);
   }
 
   /**
-   * Intercepts the HTTP request to log the request and response.
+   * Intercepts the HTTP request to log the request and response. The raw request and response are
+   * captured on the request thread, they are masked, formatted and logged by the log pipeline. The
+   * response of a successful call that is not sampled is neither buffered nor logged.
    */
   @Override
   public ClientHttpResponse intercept(
@@ -37,39 +33,52 @@ public class RestLoggingInterceptor extends BaseClientLoggingInterceptor impleme
     if (hasNotLoggingStrategyOrLogStrategyIsOff()) {
       return ex.execute(req, reqBody);
     }
-    LogContext.LogContextBuilder logContextBuilder = LogContext.builder();
+    final String correlationId = req.getHeaders()
+        .getFirst(adapterLogging.getCorrelationIdHeaderOrDefault());
+    final boolean sampled = isSampled(correlationId);
+    LogContext.LogContextBuilder logContextBuilder = logContextBuilder()
+        .correlationId(correlationId);
+    boolean logged = true;
     try {
       logContextBuilder.uri(req.getURI().toString());
-      String request = new String(reqBody, StandardCharsets.UTF_8);
-      logContextBuilder.requestBody(request);
+      logContextBuilder.requestBody(reqBody);
       if (adapterLogging.getStrategy().allOrFailure()) {
-        logContextBuilder.requestHeaders(req.getHeaders().toString());
+        logContextBuilder.requestHeaders(req.getHeaders());
+      }
+      ClientHttpResponse executed = ex.execute(req, reqBody);
+      if (!sampled && executed.getStatusCode().is2xxSuccessful()) {
+        logged = false;
+        return executed;
       }
-      ClientHttpResponse response = new BufferingClientHttpResponseWrapper(ex.execute(req, reqBody));
-      InputStreamReader isr = new InputStreamReader(response.getBody(), StandardCharsets.UTF_8);
-      final String body = new BufferedReader(isr).lines().collect(Collectors.joining("\n"));
-      logContextBuilder.responseBody(body);
+      BufferingClientHttpResponseWrapper response = new BufferingClientHttpResponseWrapper(executed);
+      logContextBuilder.responseBody(response.getBodyAsBytes());
       logContextBuilder.status(response.getStatusCode());
       if (adapterLogging.getStrategy().allOrFailure()) {
-        logContextBuilder.responseHeaders(response.getHeaders().toString());
+        logContextBuilder.responseHeaders(response.getHeaders());
       }
       return response;
     } catch (IOException e) {
       LOG.error("Adapter IOException occurred when logging", e);
       throw e;
     } finally {
-      LogContext logContext = logContextBuilder.build();
-      if (adapterLogging.getStrategy() == LogStrategy.REQ_RES) {
-        //TODO : content split if any limitation of logging infra!!
-        LOG.info("{}", makeLogMoreSensibleIfHasAnyRule(logContext.toRequestAll()));
-        LOG.info("{}", logContext.toResponse());
-      } else if (isAllOrFailCase(logContext)) {
-        LOG.info("{}", makeLogMoreSensibleIfHasAnyRule(logContext.toRequestAll()));
-        LOG.info("{}", logContext.toResponseAll());
+      if (logged) {
+        log(() -> writeLog(logContextBuilder.build()));
       }
     }
   }
 
+  private void writeLog(LogContext logContext) {
+    if (adapterLogging.getStrategy() == LogStrategy.REQ_RES) {
+      info(LOG, makeLogMoreSensibleIfHasAnyRule(logContext).toRequestAll(),
+          logContext.correlationId());
+      info(LOG, logContext.toResponse(), logContext.correlationId());
+    } else if (isAllOrFailCase(logContext)) {
+      info(LOG, makeLogMoreSensibleIfHasAnyRule(logContext).toRequestAll(),
+          logContext.correlationId());
+      info(LOG, logContext.toResponseAll(), logContext.correlationId());
+    }
+  }
+
   private boolean hasNotLoggingStrategyOrLogStrategyIsOff() {
     if (adapterLogging == null || adapterLogging.getStrategy() == null) {
       return true;
@@ -78,11 +87,13 @@ public class RestLoggingInterceptor extends BaseClientLoggingInterceptor impleme
   }
 
   private boolean isAllOrFailCase(LogContext logContext) {
-    if (LogStrategy.ALL == adapterLogging.getStrategy()) {
+    if (LogStrategy.ALL == adapterLogging.getStrategy()
+        || LogStrategy.SAMPLED == adapterLogging.getStrategy()) {
+      // a sampled call or a failed call that is not sampled
       return true;
     }
     return LogStrategy.FAILURE == adapterLogging.getStrategy()
-        && !logContext.status().is2xxSuccessful()
+        && (logContext.status() == null || !logContext.status().is2xxSuccessful())
         && StringUtils.isNotBlank(logContext.responseBody());
   }
 
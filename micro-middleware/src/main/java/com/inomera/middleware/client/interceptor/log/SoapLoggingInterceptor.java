@@ -17,7 +17,6 @@ import java.io.IOException;
 import java.io.Serial;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.nio.charset.StandardCharsets;
 
 /*
   bug case: https://github.com/spring-projects/spring-ws/issues/1054
@@ -31,7 +30,7 @@ import java.nio.charset.StandardCharsets;
 public class SoapLoggingInterceptor extends BaseClientLoggingInterceptor implements
     ClientInterceptor {
 
-  private static final String XML_MASK_PATTERN = "\\<${PRM}\\>(.*?)\\<\\/${PRM}\\>|${PRM}\\s*:(\\s*(\\\"(.*?)\\\"))|\\<[a-zA-Z0-9_]*:${PRM}\\>(.*?)\\<\\/[a-zA-Z0-9_]*:${PRM}\\>";
+  private static final String SAMPLED_PROPERTY = SoapLoggingInterceptor.class.getName() + ".sampled";
 
   /**
    * Create a new instance of the {@link SoapLoggingInterceptor} with the provided
@@ -40,7 +39,7 @@ public class SoapLoggingInterceptor extends BaseClientLoggingInterceptor impleme
    * @param adapterLogging the adapter logging configuration
    */
   public SoapLoggingInterceptor(AdapterLogging adapterLogging) {
-    super(adapterLogging, XML_MASK_PATTERN);
+    super(adapterLogging);
   }
 
   /**
@@ -52,10 +51,11 @@ public class SoapLoggingInterceptor extends BaseClientLoggingInterceptor impleme
    */
   @Override
   public boolean handleRequest(MessageContext messageContext) throws WebServiceClientException {
-    if (isOffOrFailure()) {
+    if (isOffOrFailure() || !sample(messageContext)) {
       return true;
     }
-    LogContext.LogContextBuilder logContextBuilder = LogContext.builder();
+    LogContext.LogContextBuilder logContextBuilder = logContextBuilder()
+        .correlationId(getCorrelationId());
     try {
       createRequestLoggerContext(messageContext, logContextBuilder);
     } catch (IOException e) {
@@ -65,13 +65,7 @@ public class SoapLoggingInterceptor extends BaseClientLoggingInterceptor impleme
         private static final long serialVersionUID = 6228716949728543640L;
       };
     } finally {
-      LogContext logContext = logContextBuilder.build();
-      if (LogStrategy.REQ_RES == adapterLogging.getStrategy()) {
-        LOG.info("{}", makeLogMoreSensibleIfHasAnyRule(logContext.toRequest()));
-      }
-      if (LogStrategy.ALL == adapterLogging.getStrategy()) {
-        LOG.info("{}", makeLogMoreSensibleIfHasAnyRule(logContext.toRequestAll()));
-      }
+      log(() -> writeRequestLog(logContextBuilder.build()));
     }
     return true;
   }
@@ -81,10 +75,11 @@ public class SoapLoggingInterceptor extends BaseClientLoggingInterceptor impleme
    */
   @Override
   public boolean handleResponse(MessageContext messageContext) throws WebServiceClientException {
-    if (isLoggingOff()) {
+    if (isLoggingOff() || !isSampled(messageContext)) {
       return true;
     }
-    LogContext.LogContextBuilder logContextBuilder = LogContext.builder();
+    LogContext.LogContextBuilder logContextBuilder = logContextBuilder()
+        .correlationId(getCorrelationId());
     try {
       createResponseLoggerContext(messageContext, logContextBuilder);
     } catch (IOException e) {
@@ -94,12 +89,7 @@ public class SoapLoggingInterceptor extends BaseClientLoggingInterceptor impleme
         private static final long serialVersionUID = -6912693030339155111L;
       };
     } finally {
-      LogContext logContext = logContextBuilder.build();
-      if (LogStrategy.ALL == adapterLogging.getStrategy()) {
-        LOG.info("{}", makeLogMoreSensibleIfHasAnyRule(logContext.toResponseAll()));
-      } else if (LogStrategy.REQ_RES == adapterLogging.getStrategy()) {
-        LOG.info("{}", makeLogMoreSensibleIfHasAnyRule(logContext.toResponse()));
-      }
+      log(() -> writeResponseLog(logContextBuilder.build()));
     }
     return true;
   }
@@ -112,7 +102,8 @@ public class SoapLoggingInterceptor extends BaseClientLoggingInterceptor impleme
     if (isLoggingOff()) {
       return true;
     }
-    LogContext.LogContextBuilder logContextBuilder = LogContext.builder();
+    LogContext.LogContextBuilder logContextBuilder = logContextBuilder()
+        .correlationId(getCorrelationId());
     try {
       createRequestLoggerContext(messageContext, logContextBuilder);
       createResponseLoggerContext(messageContext, logContextBuilder);
@@ -123,16 +114,8 @@ public class SoapLoggingInterceptor extends BaseClientLoggingInterceptor impleme
         private static final long serialVersionUID = 274916903863944015L;
       };
     } finally {
-      LogContext logContext = logContextBuilder.build();
-      if (LogStrategy.REQ_RES == adapterLogging.getStrategy()) {
-        //TODO : split log content if any limitation of log infra one line
-        LOG.info("{}", makeLogMoreSensibleIfHasAnyRule(logContext.toResponse()));
-      } else if (LogStrategy.ALL == adapterLogging.getStrategy()) {
-        LOG.info("{}", makeLogMoreSensibleIfHasAnyRule(logContext.toResponseAll()));
-      } else if (isFailCase(logContext)) {
-        LOG.info("{}", makeLogMoreSensibleIfHasAnyRule(logContext.toRequestAll()));
-        LOG.info("{}", makeLogMoreSensibleIfHasAnyRule(logContext.toResponseAll()));
-      }
+      final boolean sampled = isSampled(messageContext);
+      log(() -> writeFaultLog(logContextBuilder.build(), sampled));
     }
     return true;
   }
@@ -142,11 +125,84 @@ public class SoapLoggingInterceptor extends BaseClientLoggingInterceptor impleme
       throws WebServiceClientException {
   }
 
+  private void writeRequestLog(LogContext logContext) {
+    if (LogStrategy.REQ_RES == adapterLogging.getStrategy()) {
+      info(LOG, makeLogMoreSensibleIfHasAnyRule(logContext).toRequest(),
+          logContext.correlationId());
+    }
+    if (LogStrategy.ALL == adapterLogging.getStrategy()
+        || LogStrategy.SAMPLED == adapterLogging.getStrategy()) {
+      info(LOG, makeLogMoreSensibleIfHasAnyRule(logContext).toRequestAll(),
+          logContext.correlationId());
+    }
+  }
+
+  private void writeResponseLog(LogContext logContext) {
+    if (LogStrategy.ALL == adapterLogging.getStrategy()
+        || LogStrategy.SAMPLED == adapterLogging.getStrategy()) {
+      info(LOG, makeLogMoreSensibleIfHasAnyRule(logContext).toResponseAll(),
+          logContext.correlationId());
+    } else if (LogStrategy.REQ_RES == adapterLogging.getStrategy()) {
+      info(LOG, makeLogMoreSensibleIfHasAnyRule(logContext).toResponse(),
+          logContext.correlationId());
+    }
+  }
+
+  private void writeFaultLog(LogContext logContext, boolean sampled) {
+    if (LogStrategy.REQ_RES == adapterLogging.getStrategy()) {
+      info(LOG, makeLogMoreSensibleIfHasAnyRule(logContext).toResponse(),
+          logContext.correlationId());
+    } else if (LogStrategy.ALL == adapterLogging.getStrategy()
+        || (LogStrategy.SAMPLED == adapterLogging.getStrategy() && sampled)) {
+      // the request is logged by handleRequest
+      info(LOG, makeLogMoreSensibleIfHasAnyRule(logContext).toResponseAll(),
+          logContext.correlationId());
+    } else if (isFailCase(logContext)) {
+      LogContext maskedLogContext = makeLogMoreSensibleIfHasAnyRule(logContext);
+      info(LOG, maskedLogContext.toRequestAll(), logContext.correlationId());
+      info(LOG, maskedLogContext.toResponseAll(), logContext.correlationId());
+    }
+  }
+
   private boolean isFailCase(LogContext logContext) {
-    return LogStrategy.FAILURE == adapterLogging.getStrategy()
+    return (LogStrategy.FAILURE == adapterLogging.getStrategy()
+        || LogStrategy.SAMPLED == adapterLogging.getStrategy())
         && StringUtils.isNotBlank(logContext.responseBody());
   }
 
+  /**
+   * Decides whether the call is sampled before the request is written to a buffer, the decision is
+   * kept in the message context for the response or fault of the call. The correlation id is read
+   * from the request headers of a {@link ClientHttpRequestConnection}, other connections are sampled
+   * randomly.
+   */
+  private boolean sample(MessageContext messageContext) {
+    if (LogStrategy.SAMPLED != adapterLogging.getStrategy()) {
+      return true;
+    }
+    final boolean sampled = isSampled(getCorrelationId());
+    messageContext.setProperty(SAMPLED_PROPERTY, sampled);
+    return sampled;
+  }
+
+  /**
+   * Returns the correlation id header of a {@link ClientHttpRequestConnection}, null for other
+   * connections.
+   */
+  private String getCorrelationId() {
+    final WebServiceConnection connection = TransportContextHolder.getTransportContext()
+        .getConnection();
+    if (connection instanceof ClientHttpRequestConnection h5Conn) {
+      return h5Conn.getClientHttpRequest().getHeaders()
+          .getFirst(adapterLogging.getCorrelationIdHeaderOrDefault());
+    }
+    return null;
+  }
+
+  private boolean isSampled(MessageContext messageContext) {
+    return !(messageContext.getProperty(SAMPLED_PROPERTY) instanceof Boolean sampled) || sampled;
+  }
+
   private boolean isOffOrFailure() {
     if (isLoggingOff()) {
       return true;
@@ -171,12 +227,12 @@ public class SoapLoggingInterceptor extends BaseClientLoggingInterceptor impleme
     }
     ByteArrayOutputStream reqBuffer = new ByteArrayOutputStream();
     messageContext.getRequest().writeTo(reqBuffer);
-    logContextBuilder.requestBody(reqBuffer.toString(StandardCharsets.UTF_8));
+    logContextBuilder.requestBody(reqBuffer.toByteArray());
     WebServiceConnection connection = TransportContextHolder.getTransportContext()
         .getConnection();
     if (adapterLogging.getStrategy().allOrFailure()
         && connection instanceof ClientHttpRequestConnection h5Conn) {
-      logContextBuilder.requestHeaders(h5Conn.getClientHttpRequest().getHeaders().toString());
+      logContextBuilder.requestHeaders(h5Conn.getClientHttpRequest().getHeaders());
     }
   }
 
@@ -184,14 +240,14 @@ public class SoapLoggingInterceptor extends BaseClientLoggingInterceptor impleme
       LogContext.LogContextBuilder logContextBuilder) throws IOException {
     ByteArrayOutputStream respBuffer = new ByteArrayOutputStream();
     messageContext.getResponse().writeTo(respBuffer);
-    logContextBuilder.responseBody(respBuffer.toString(StandardCharsets.UTF_8));
+    logContextBuilder.responseBody(respBuffer.toByteArray());
     WebServiceConnection connection = TransportContextHolder.getTransportContext()
         .getConnection();
     if (!(connection instanceof ClientHttpRequestConnection h5Conn)) {
       return;
     }
     if (adapterLogging.getStrategy().allOrFailure()) {
-      logContextBuilder.responseHeaders(h5Conn.getClientHttpResponse().getHeaders().toString());
+      logContextBuilder.responseHeaders(h5Conn.getClientHttpResponse().getHeaders());
     }
     int statusCode = h5Conn.getClientHttpResponse().getStatusCode().value();
     logContextBuilder.status(HttpStatusCode.valueOf(statusCode));
@@ -3,15 +3,20 @@ package com.inomera.middleware.client.rest;
 import com.inomera.integration.auth.AuthType;
 import com.inomera.integration.client.HttpAdapterClient;
 import com.inomera.integration.client.HttpRestAdapterClient;
+import com.inomera.integration.config.AdapterConfigSupplier;
 import com.inomera.integration.config.model.AdapterConfig;
 import com.inomera.integration.config.model.AuthHeadersCredentials;
 import com.inomera.integration.config.model.BasicAuthCredentials;
 import com.inomera.integration.config.model.BearerTokenCredentials;
+import com.inomera.integration.config.model.DeadlineProperties;
+import com.inomera.integration.config.model.HttpClientProperties;
+import com.inomera.integration.config.model.RevalidationProperties;
 import com.inomera.integration.fault.AdapterAuthenticationException;
 import com.inomera.integration.fault.AdapterException;
 import com.inomera.integration.fault.AdapterIOException;
 import com.inomera.integration.fault.AdapterSerializationException;
 import com.inomera.integration.model.AdapterStatus;
+import com.inomera.integration.model.Deadline;
 import com.inomera.integration.model.HttpAdapterRequest;
 import com.inomera.integration.model.HttpAdapterResponse;
 import com.inomera.middleware.client.interceptor.auth.rest.RestDefaultBearerTokenInterceptor;
@@ -20,27 +25,32 @@ import com.inomera.middleware.client.interceptor.auth.rest.RestNoneAuthIntercept
 import com.inomera.middleware.client.interceptor.log.RestLoggingInterceptor;
 import com.inomera.middleware.client.rest.util.CustomRestTemplateBuilder;
 import com.inomera.middleware.util.HeaderUtils;
+import com.inomera.middleware.util.HttpClientUtils;
 import com.inomera.middleware.util.SslBundleUtils;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Objects;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.ssl.SslBundle;
 import org.springframework.boot.web.client.ClientHttpRequestFactories;
+import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.BufferingClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.client.support.BasicAuthenticationInterceptor;
 import org.springframework.http.converter.FormHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConversionException;
@@ -50,6 +60,7 @@ import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -66,10 +77,22 @@ import org.springframework.web.client.RestTemplate;
 @Slf4j
 public abstract class BaseRestAdapterClient implements HttpRestAdapterClient {
 
-  private final ConcurrentHashMap<String, ReentrantLock> reloadRestLockMap = new ConcurrentHashMap<>();
+  private final ReentrantLock reloadLock = new ReentrantLock();
 
   private volatile RestTemplate restTemplate;
+  private volatile ClientHttpRequestFactory requestFactory;
+  private volatile AdapterConfig appliedAdapterConfig;
+  private volatile long appliedConfigVersion;
+  private final RevalidationStore revalidationStore = new RevalidationStore();
   private final Supplier<AdapterConfig> configSupplierFunc;
+  private final boolean configChangeSubscribed;
+  /**
+   * Type of the request factory created from config, {@code null} means the default pooled apache
+   * http client. Request factories created by this client are recreated when the http config
+   * changes, user provided ones are kept as is.
+   */
+  private final Class<? extends ClientHttpRequestFactory> requestFactoryType;
+  private final boolean requestFactoryOwned;
 
   /**
    * Static configs without dynamic configs constructors!!
@@ -82,6 +105,9 @@ public abstract class BaseRestAdapterClient implements HttpRestAdapterClient {
         .build();
     this.restTemplate.getMessageConverters().add(new FormHttpMessageConverter());
     this.configSupplierFunc = () -> null;
+    this.configChangeSubscribed = false;
+    this.requestFactoryType = null;
+    this.requestFactoryOwned = false;
   }
 
   /**
@@ -94,6 +120,9 @@ public abstract class BaseRestAdapterClient implements HttpRestAdapterClient {
     AdapterConfig adapterConfig = configSupplierFunc.get();
     Assert.notNull(adapterConfig, "AdapterConfig cannot be null");
     this.configSupplierFunc = configSupplierFunc;
+    this.requestFactoryType = null;
+    this.requestFactoryOwned = true;
+    this.configChangeSubscribed = subscribeConfigChanges(configSupplierFunc);
   }
 
   /**
@@ -109,7 +138,12 @@ public abstract class BaseRestAdapterClient implements HttpRestAdapterClient {
     AdapterConfig adapterConfig = configSupplierFunc.get();
     Assert.notNull(adapterConfig, "AdapterConfig cannot be null");
     this.configSupplierFunc = configSupplierFunc;
+    this.requestFactoryType = null;
+    this.requestFactoryOwned = false;
     this.restTemplate = enrichRestTemplateWithHttpConfigs(clientHttpRequestFactory, adapterConfig);
+    this.appliedAdapterConfig = adapterConfig;
+    this.appliedConfigVersion = adapterConfig.getVersion();
+    this.configChangeSubscribed = subscribeConfigChanges(configSupplierFunc);
   }
 
   /**
@@ -125,49 +159,150 @@ public abstract class BaseRestAdapterClient implements HttpRestAdapterClient {
     AdapterConfig adapterConfig = configSupplierFunc.get();
     Assert.notNull(adapterConfig, "AdapterConfig cannot be null");
     this.configSupplierFunc = configSupplierFunc;
+    this.requestFactoryType = clientHttpRequestFactoryType;
+    this.requestFactoryOwned = true;
     this.restTemplate = enrichRestTemplateWithHttpConfigs(clientHttpRequestFactoryType,
         adapterConfig);
+    this.appliedAdapterConfig = adapterConfig;
+    this.appliedConfigVersion = adapterConfig.getVersion();
+    this.configChangeSubscribed = subscribeConfigChanges(configSupplierFunc);
   }
 
   @Override
   public <RESP> HttpAdapterResponse<RESP> send(HttpAdapterRequest httpAdapterRequest,
       Class<RESP> responseType) throws AdapterException {
     try {
-      var headers = httpAdapterRequest.getHeaders() != null ? new LinkedMultiValueMap<>(
-          HeaderUtils.convertToListMap(httpAdapterRequest.getHeaders()))
-          : new LinkedMultiValueMap<String, String>();
-      headers.addIfAbsent(HttpHeaders.CONTENT_TYPE,
-          getHeaderOrDefault(httpAdapterRequest, HttpHeaders.CONTENT_TYPE,
-              MimeTypeUtils.APPLICATION_JSON_VALUE));
-      headers.addIfAbsent(HttpHeaders.ACCEPT,
-          getHeaderOrDefault(httpAdapterRequest, HttpHeaders.ACCEPT,
-              MimeTypeUtils.APPLICATION_JSON_VALUE));
-      headers.addIfAbsent(HttpHeaders.ACCEPT_CHARSET,
-          getHeaderOrDefault(httpAdapterRequest, HttpHeaders.ACCEPT_CHARSET,
-              StandardCharsets.UTF_8.name()));
-
+      reloadIfRequired();
+      var headers = createHttpHeaders(httpAdapterRequest);
+      var revalidationEntry = applyRevalidation(httpAdapterRequest, headers, responseType);
       var httpEntity = new HttpEntity<>(httpAdapterRequest.getRequestBody(), headers);
-      if (this.reloadRuntime()) {
-        AdapterConfig adapterConfig = this.configSupplierFunc.get();
-        reloadRestTemplate(this.restTemplate.getRequestFactory(), adapterConfig);
-      }
-      var respResponseEntity = this.restTemplate.exchange(
-          httpAdapterRequest.getUrl(),
-          HttpMethod.valueOf(httpAdapterRequest.getMethod().name()),
-          httpEntity,
-          responseType
-      );
-      return new HttpAdapterResponse<>(
-          respResponseEntity.getStatusCode().value(),
-          respResponseEntity.getHeaders().toSingleValueMap(),
-          respResponseEntity.getBody()
-      );
+      // the request factory caps the timeouts of the http client by the deadline of the thread
+      var respResponseEntity = Deadline.call(httpAdapterRequest.getDeadline(),
+          () -> this.restTemplate.exchange(
+              httpAdapterRequest.getUrl(),
+              HttpMethod.valueOf(httpAdapterRequest.getMethod().name()),
+              httpEntity,
+              responseType
+          ));
+      return toHttpAdapterResponse(httpAdapterRequest, headers, responseType, revalidationEntry,
+          respResponseEntity);
     } catch (RestClientException e) {
       LOG.error("RestClientException exception occurred", e);
       throw createException(e, httpAdapterRequest);
     }
   }
 
+  private HttpHeaders createHttpHeaders(HttpAdapterRequest httpAdapterRequest) {
+    var headers = new HttpHeaders();
+    if (httpAdapterRequest.getHeaders() != null) {
+      headers.addAll(new LinkedMultiValueMap<>(
+          HeaderUtils.convertToListMap(httpAdapterRequest.getHeaders())));
+    }
+    headers.addIfAbsent(HttpHeaders.CONTENT_TYPE,
+        getHeaderOrDefault(httpAdapterRequest, HttpHeaders.CONTENT_TYPE,
+            MimeTypeUtils.APPLICATION_JSON_VALUE));
+    headers.addIfAbsent(HttpHeaders.ACCEPT,
+        getHeaderOrDefault(httpAdapterRequest, HttpHeaders.ACCEPT,
+            MimeTypeUtils.APPLICATION_JSON_VALUE));
+    headers.addIfAbsent(HttpHeaders.ACCEPT_CHARSET,
+        getHeaderOrDefault(httpAdapterRequest, HttpHeaders.ACCEPT_CHARSET,
+            StandardCharsets.UTF_8.name()));
+    addDeadlineHeader(httpAdapterRequest, headers);
+    return headers;
+  }
+
+  /**
+   * Sends the remaining time of the request deadline downstream when the deadline header is
+   * configured.
+   */
+  private void addDeadlineHeader(HttpAdapterRequest httpAdapterRequest, HttpHeaders headers) {
+    final Deadline deadline = httpAdapterRequest.getDeadline();
+    final AdapterConfig adapterConfig = this.appliedAdapterConfig;
+    final DeadlineProperties deadlineProperties = adapterConfig != null
+        ? adapterConfig.getAdapterProperties().getDeadline() : null;
+    if (deadline == null || deadlineProperties == null || !deadlineProperties.isHeaderEnabled()) {
+      return;
+    }
+    headers.set(deadlineProperties.getHeader(),
+        String.valueOf(Math.max(0, deadline.remainingMillis())));
+  }
+
+  private void reloadIfRequired() {
+    if (this.restTemplate == null || (!this.configChangeSubscribed && this.reloadRuntime())) {
+      // subscribed clients are reloaded by config change events, others check config per request
+      reloadRestTemplateIfChanged(this.configSupplierFunc.get());
+    }
+  }
+
+  /**
+   * Adds the validators of the remembered response to a {@code GET} request when revalidation is
+   * enabled. Requests with their own validators are sent as is, their {@code 304} responses are
+   * returned to the caller.
+   *
+   * @return remembered response of the request, {@code null} if the request is not revalidated
+   */
+  private RevalidationStore.Entry applyRevalidation(HttpAdapterRequest httpAdapterRequest,
+      HttpHeaders headers, Class<?> responseType) {
+    if (!isRevalidated(httpAdapterRequest, headers)) {
+      return null;
+    }
+    final RevalidationStore.Entry entry = this.revalidationStore.get(httpAdapterRequest.getUrl(),
+        responseType, headers);
+    if (entry != null) {
+      entry.applyTo(headers);
+    }
+    return entry;
+  }
+
+  private boolean isRevalidated(HttpAdapterRequest httpAdapterRequest, HttpHeaders headers) {
+    return isRevalidationEnabled(httpAdapterRequest)
+        && !headers.containsKey(HttpHeaders.IF_NONE_MATCH)
+        && !headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE);
+  }
+
+  private boolean isRevalidationEnabled(HttpAdapterRequest httpAdapterRequest) {
+    final RevalidationProperties revalidation = getRevalidationProperties();
+    return revalidation != null && revalidation.isEnabled()
+        && httpAdapterRequest.getMethod() == com.inomera.integration.constant.HttpMethod.GET;
+  }
+
+  private RevalidationProperties getRevalidationProperties() {
+    final AdapterConfig adapterConfig = this.appliedAdapterConfig;
+    return adapterConfig != null ? adapterConfig.getAdapterProperties().getRevalidation() : null;
+  }
+
+  /**
+   * Converts the response entity. A {@code 304} response of a revalidated request is returned as a
+   * {@code 200} response with the remembered body, which is already deserialized and shared by all
+   * revalidated responses of the url. {@code 200} responses with a validator are remembered.
+   */
+  @SuppressWarnings("unchecked")
+  private <RESP> HttpAdapterResponse<RESP> toHttpAdapterResponse(
+      HttpAdapterRequest httpAdapterRequest, HttpHeaders requestHeaders,
+      Class<RESP> responseType, RevalidationStore.Entry revalidationEntry,
+      ResponseEntity<RESP> respResponseEntity) {
+    final RevalidationProperties revalidation = getRevalidationProperties();
+    final int maxEntries = revalidation != null ? revalidation.getMaxEntriesOrDefault()
+        : RevalidationProperties.DEFAULT_MAX_ENTRIES;
+    final int statusCode = respResponseEntity.getStatusCode().value();
+    if (revalidationEntry != null && statusCode == HttpStatus.NOT_MODIFIED.value()) {
+      final HttpHeaders headers = revalidationEntry.mergeHeaders(respResponseEntity.getHeaders());
+      this.revalidationStore.put(httpAdapterRequest.getUrl(), responseType,
+          requestHeaders, headers, revalidationEntry.body(), maxEntries);
+      return new HttpAdapterResponse<>(HttpStatus.OK.value(), headers.toSingleValueMap(),
+          (RESP) revalidationEntry.body());
+    }
+    if (statusCode == HttpStatus.OK.value() && isRevalidationEnabled(httpAdapterRequest)) {
+      this.revalidationStore.put(httpAdapterRequest.getUrl(), responseType,
+          requestHeaders, respResponseEntity.getHeaders(), respResponseEntity.getBody(),
+          maxEntries);
+    }
+    return new HttpAdapterResponse<>(
+        statusCode,
+        respResponseEntity.getHeaders().toSingleValueMap(),
+        respResponseEntity.getBody()
+    );
+  }
 
   @Override
   public boolean reloadRuntime() {
@@ -179,22 +314,132 @@ public abstract class BaseRestAdapterClient implements HttpRestAdapterClient {
       return false;
     }
     return adapterConfig.getAdapterProperties()
-        .isRuntime() && adapterConfig.isRefresh();
+        .isRuntime() && (adapterConfig.isRefresh()
+        || adapterConfig.getVersion() != this.appliedConfigVersion);
   }
 
+  /**
+   * Recreates the rest template with the given request factory and config. When the request factory
+   * is replaced, the previous one is retired like on a config change: it is closed after its
+   * requests in flight are completed, if it was created by this client.
+   *
+   * @param factory       request factory of the new rest template, a new default pooled factory
+   *                      is created when null
+   * @param adapterConfig adapter config
+   */
   public void reloadRestTemplate(ClientHttpRequestFactory factory, AdapterConfig adapterConfig) {
-    ReentrantLock configLock = reloadRestLockMap.computeIfAbsent(adapterConfig.getKey(),
-        key -> new ReentrantLock());
-    configLock.lock();
+    reloadLock.lock();
     try {
+      final ClientHttpRequestFactory currentRequestFactory = this.requestFactory;
+      final AdapterConfig currentConfig = this.appliedAdapterConfig;
       this.restTemplate = enrichRestTemplateWithHttpConfigs(factory, adapterConfig);
+      this.appliedAdapterConfig = adapterConfig;
+      this.appliedConfigVersion = adapterConfig.getVersion();
+      final boolean requestFactoryChanged = currentRequestFactory != null
+          && currentRequestFactory != this.requestFactory;
       LOG.info(
-          "RestTemplate reloaded at runtime with with new configuration. key : {}, adapterConfig : {}",
-          adapterConfig.getKey(), adapterConfig.toSecureString());
+          "RestTemplate reloaded at runtime with with new configuration. key : {}, requestFactoryChanged : {}, adapterConfig : {}",
+          adapterConfig.getKey(), requestFactoryChanged, adapterConfig.toSecureString());
+      if (requestFactoryChanged && this.requestFactoryOwned) {
+        closeGracefully(currentRequestFactory, currentConfig != null
+            ? currentConfig.getAdapterProperties().getHttp() : null);
+      }
+    } finally {
+      reloadLock.unlock();
+    }
+  }
+
+  private boolean subscribeConfigChanges(Supplier<AdapterConfig> configSupplierFunc) {
+    if (configSupplierFunc instanceof AdapterConfigSupplier adapterConfigSupplier) {
+      adapterConfigSupplier.subscribe(this::onConfigChange);
+      return true;
+    }
+    return false;
+  }
+
+  private void onConfigChange(AdapterConfig adapterConfig) {
+    if (adapterConfig == null || !adapterConfig.getAdapterProperties().isRuntime()) {
+      return;
+    }
+    reloadRestTemplateIfChanged(adapterConfig);
+  }
+
+  private void reloadRestTemplateIfChanged(AdapterConfig adapterConfig) {
+    reloadLock.lock();
+    try {
+      if (this.restTemplate != null && !adapterConfig.isRefresh()
+          && adapterConfig.getVersion() == this.appliedConfigVersion) {
+        // another thread has already reloaded the same config version
+        return;
+      }
+      if (this.restTemplate == null || this.appliedAdapterConfig == null
+          || adapterConfig.isRefresh()) {
+        reloadRestTemplate(this.requestFactory, adapterConfig);
+        return;
+      }
+      applyConfigChange(this.appliedAdapterConfig, adapterConfig);
     } finally {
-      configLock.unlock();
-      reloadRestLockMap.computeIfPresent(adapterConfig.getKey(),
-          (id, existingLock) -> existingLock.hasQueuedThreads() ? existingLock : null);
+      reloadLock.unlock();
+    }
+  }
+
+  /**
+   * Applies only the changed parts of the config. Pool sizes, timeouts and connection ttl are
+   * applied on the live connection pool, the rest template is recreated only when interceptors or
+   * the request factory change. When the transport itself changes (ssl, pool policy, idle eviction)
+   * a new request factory is created and the retired one is closed after its requests in flight
+   * are completed.
+   */
+  private void applyConfigChange(AdapterConfig currentConfig, AdapterConfig adapterConfig) {
+    final HttpClientProperties currentHttp = currentConfig.getAdapterProperties().getHttp();
+    final HttpClientProperties http = adapterConfig.getAdapterProperties().getHttp();
+    ClientHttpRequestFactory clientHttpRequestFactory = this.requestFactory;
+    ClientHttpRequestFactory retiredRequestFactory = null;
+    if (this.requestFactoryOwned && !Objects.equals(currentHttp, http)) {
+      if (clientHttpRequestFactory instanceof CustomHttpComponentsClientHttpRequestFactory pooledFactory
+          && pooledFactory.isReconfigurable()
+          && !HttpClientUtils.isTransportChanged(currentHttp, http)) {
+        pooledFactory.reconfigure(http);
+      } else {
+        retiredRequestFactory = clientHttpRequestFactory;
+        clientHttpRequestFactory = resolveRequestFactory(this.requestFactoryType,
+            createRequestFactorySettings(adapterConfig), http);
+      }
+    }
+
+    final boolean interceptorsChanged =
+        !Objects.equals(currentConfig.getAdapterProperties().getAuth(),
+            adapterConfig.getAdapterProperties().getAuth())
+            || !Objects.equals(currentConfig.getAdapterLogging(), adapterConfig.getAdapterLogging());
+    if (interceptorsChanged || retiredRequestFactory != null) {
+      // unchanged interceptors are kept, e.g. bearer token interceptor keeps its cached token
+      final List<ClientHttpRequestInterceptor> interceptors = interceptorsChanged
+          ? getClientHttpRequestInterceptors(adapterConfig)
+          : new ArrayList<>(this.restTemplate.getInterceptors());
+      this.restTemplate = createRestTemplate(clientHttpRequestFactory, interceptors);
+      this.requestFactory = clientHttpRequestFactory;
+    }
+    this.appliedAdapterConfig = adapterConfig;
+    this.appliedConfigVersion = adapterConfig.getVersion();
+    LOG.info(
+        "RestTemplate reloaded at runtime with new configuration. key : {}, requestFactoryChanged : {}, interceptorsChanged : {}, adapterConfig : {}",
+        adapterConfig.getKey(), retiredRequestFactory != null, interceptorsChanged,
+        adapterConfig.toSecureString());
+    // a new pool or new endpoints are warmed up, connections of a kept pool are reused
+    warmUp(clientHttpRequestFactory, adapterConfig);
+
+    if (retiredRequestFactory != null) {
+      closeGracefully(retiredRequestFactory, currentHttp);
+    }
+  }
+
+  private void closeGracefully(ClientHttpRequestFactory retiredRequestFactory,
+      HttpClientProperties http) {
+    final Duration drainTimeout = HttpClientUtils.getDrainTimeout(http);
+    if (retiredRequestFactory instanceof CustomHttpComponentsClientHttpRequestFactory pooledFactory) {
+      pooledFactory.closeGracefully(drainTimeout);
+    } else if (retiredRequestFactory instanceof DisposableBean disposableRequestFactory) {
+      HttpClientUtils.closeGracefully(disposableRequestFactory::destroy, null, drainTimeout);
     }
   }
 
@@ -202,6 +447,31 @@ public abstract class BaseRestAdapterClient implements HttpRestAdapterClient {
       AdapterConfig adapterConfig) {
     List<ClientHttpRequestInterceptor> interceptors = getClientHttpRequestInterceptors(
         adapterConfig);
+    // keep the bare request factory, rest template wraps it with its interceptors
+    final ClientHttpRequestFactory clientHttpRequestFactory = resolveRequestFactory(
+        clientHttpRequestFactoryInput, createRequestFactorySettings(adapterConfig),
+        adapterConfig.getAdapterProperties().getHttp());
+    this.requestFactory = clientHttpRequestFactory;
+    warmUp(clientHttpRequestFactory, adapterConfig);
+    return createRestTemplate(clientHttpRequestFactory, interceptors);
+  }
+
+  /**
+   * Opens the warm-up connections of a pooled request factory to the adapter endpoints in the
+   * background, so the first requests after startup or a reload don't pay the TCP and TLS setup.
+   */
+  private void warmUp(ClientHttpRequestFactory clientHttpRequestFactory,
+      AdapterConfig adapterConfig) {
+    final HttpClientProperties http = adapterConfig.getAdapterProperties().getHttp();
+    if (http == null || http.getWarmUpConnections() <= 0
+        || !(clientHttpRequestFactory instanceof CustomHttpComponentsClientHttpRequestFactory pooledFactory)) {
+      return;
+    }
+    pooledFactory.warmUpAsync(adapterConfig.getEndpointUrls(), http.getWarmUpConnections());
+  }
+
+  private ClientHttpRequestFactorySettings createRequestFactorySettings(
+      AdapterConfig adapterConfig) {
     Duration connectTimeout = Duration.ofMillis(
         adapterConfig.getAdapterProperties().getHttp().getConnectTimeout());
     Duration readTimeout = Duration.ofMillis(
@@ -210,33 +480,44 @@ public abstract class BaseRestAdapterClient implements HttpRestAdapterClient {
     final SslBundle sslBundle = SslBundleUtils.createSslBundle(adapterConfig.getAdapterProperties()
         .getHttp(), adapterConfig.getUrl());
 
-    CustomRestTemplateBuilder customRestTemplateBuilder = new CustomRestTemplateBuilder()
-        .setRequestFactorySettings(connectTimeout, readTimeout)
-        .setSslBundle(sslBundle)
-        .interceptors(interceptors);
-
-    if (clientHttpRequestFactoryInput instanceof ClientHttpRequestFactory clientHttpRequestFactory) {
-      customRestTemplateBuilder.requestFactory(() -> clientHttpRequestFactory);
-    } else if (clientHttpRequestFactoryInput instanceof Class<?>) {
-      customRestTemplateBuilder.requestFactory(settings ->
-          ClientHttpRequestFactories.get(
-              (Class<? extends ClientHttpRequestFactory>) clientHttpRequestFactoryInput,
-              settings.
-                  withConnectTimeout(connectTimeout)
-                  .withReadTimeout(readTimeout)
-                  .withSslBundle(
-                      sslBundle)));
-    } else {
-      throw new IllegalArgumentException(
-          "Unsupported input type for clientHttpRequestFactoryInput");
-    }
+    return ClientHttpRequestFactorySettings.DEFAULTS
+        .withConnectTimeout(connectTimeout)
+        .withReadTimeout(readTimeout)
+        .withSslBundle(sslBundle);
+  }
 
-    RestTemplate restTemplate = customRestTemplateBuilder.build();
+  private RestTemplate createRestTemplate(ClientHttpRequestFactory clientHttpRequestFactory,
+      List<ClientHttpRequestInterceptor> interceptors) {
+    RestTemplate restTemplate = new CustomRestTemplateBuilder()
+        .detectRequestFactory(false)
+        .interceptors(interceptors)
+        .build();
+    restTemplate.setRequestFactory(clientHttpRequestFactory);
     restTemplate.getMessageConverters().add(new FormHttpMessageConverter());
 
     return restTemplate;
   }
 
+  private ClientHttpRequestFactory resolveRequestFactory(Object clientHttpRequestFactoryInput,
+      ClientHttpRequestFactorySettings settings, HttpClientProperties http) {
+    if (clientHttpRequestFactoryInput instanceof ClientHttpRequestFactory clientHttpRequestFactory) {
+      return clientHttpRequestFactory;
+    }
+    if (clientHttpRequestFactoryInput instanceof Class<?> clientHttpRequestFactoryType) {
+      if (HttpComponentsClientHttpRequestFactory.class.isAssignableFrom(clientHttpRequestFactoryType)) {
+        // apache http client gets its own connection pool sized from the adapter http config
+        return new CustomHttpComponentsClientHttpRequestFactory(http, settings.sslBundle());
+      }
+      return ClientHttpRequestFactories.get(
+          (Class<? extends ClientHttpRequestFactory>) clientHttpRequestFactoryType, settings);
+    }
+    if (clientHttpRequestFactoryInput == null) {
+      return new CustomHttpComponentsClientHttpRequestFactory(http, settings.sslBundle());
+    }
+    throw new IllegalArgumentException(
+        "Unsupported input type for clientHttpRequestFactoryInput");
+  }
+
   private List<ClientHttpRequestInterceptor> getClientHttpRequestInterceptors(
       AdapterConfig adapterConfig) {
     List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>();
@@ -278,13 +559,21 @@ public abstract class BaseRestAdapterClient implements HttpRestAdapterClient {
     return StringUtils.defaultIfBlank(httpAdapterRequest.getHeaders().get(header), defaultVal);
   }
 
+  /**
+   * Maps the rest client exception to an adapter exception, the http status of an error response is
+   * kept on the exception so adapter policies can tell server errors from rejected requests.
+   */
   private AdapterException createException(
       RestClientException restClientException,
       HttpAdapterRequest httpAdapterRequest
   ) {
     if (restClientException instanceof HttpClientErrorException e &&
         HttpStatus.FORBIDDEN.equals(e.getStatusCode())) {
-      return new AdapterAuthenticationException(e, AdapterStatus.createStatusFailedAsTechnical(e));
+      return new AdapterAuthenticationException(e, AdapterStatus.createStatusFailedAsTechnical(e),
+          e.getStatusCode().value());
+    } else if (restClientException instanceof RestClientResponseException e) {
+      return new AdapterException(e, AdapterStatus.createStatusFailedAsTechnical(e),
+          e.getStatusCode().value());
     } else if (restClientException instanceof ResourceAccessException ra) {
       if (ra.getCause() instanceof HttpMessageConversionException ha) {
         return new AdapterSerializationException(ha,
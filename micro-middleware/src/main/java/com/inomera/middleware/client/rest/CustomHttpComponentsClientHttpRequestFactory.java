@@ -1,7 +1,16 @@
 package com.inomera.middleware.client.rest;
 
+import com.inomera.integration.config.model.HttpClientProperties;
+import com.inomera.integration.model.Deadline;
+import com.inomera.middleware.util.HttpClientUtils;
+import java.time.Duration;
+import java.util.Collection;
 import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.boot.ssl.SslBundle;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.util.Assert;
 
 /**
  *  @author Salih Oran, Turgay Can
@@ -11,11 +20,109 @@ public class CustomHttpComponentsClientHttpRequestFactory extends
 
   private int readTimeout = -1;
 
+  private final PoolingHttpClientConnectionManager connectionManager;
+  private volatile RequestConfig reconfiguredRequestConfig;
+  private volatile long connectTimeout;
+
   public CustomHttpComponentsClientHttpRequestFactory() {
+    this.connectionManager = null;
   }
 
   public CustomHttpComponentsClientHttpRequestFactory(HttpClient httpClient) {
     super(httpClient);
+    this.connectionManager = null;
+  }
+
+  /**
+   * Creates a request factory over a pooled http client built from the given http properties.
+   * Timeouts, pool sizes and ssl are applied on the http client, closing the factory closes its
+   * connection pool.
+   *
+   * @param http      http client properties of the adapter
+   * @param sslBundle ssl bundle, default ssl context is used when it is null
+   */
+  public CustomHttpComponentsClientHttpRequestFactory(HttpClientProperties http,
+      SslBundle sslBundle) {
+    this(http, HttpClientUtils.createConnectionManager(http, sslBundle));
+  }
+
+  private CustomHttpComponentsClientHttpRequestFactory(HttpClientProperties http,
+      PoolingHttpClientConnectionManager connectionManager) {
+    super(HttpClientUtils.createHttpClient(http, connectionManager));
+    this.connectionManager = connectionManager;
+    this.connectTimeout = http.getConnectTimeout();
+  }
+
+  /**
+   * Returns whether this factory owns a pooled http client that can be reconfigured at runtime.
+   */
+  public boolean isReconfigurable() {
+    return this.connectionManager != null;
+  }
+
+  /**
+   * Applies pool sizes, timeouts and connection lifetime on the live pool. Pooled connections are
+   * kept, changes that need a new http client are detected by
+   * {@link HttpClientUtils#isTransportChanged(HttpClientProperties, HttpClientProperties)}.
+   *
+   * @param http new http client properties of the adapter
+   */
+  public void reconfigure(HttpClientProperties http) {
+    Assert.state(isReconfigurable(), "Only pooled request factories can be reconfigured");
+    HttpClientUtils.reconfigureConnectionManager(this.connectionManager, http);
+    this.reconfiguredRequestConfig = HttpClientUtils.createRequestConfig(http);
+    this.connectTimeout = http.getConnectTimeout();
+  }
+
+  /**
+   * Opens the given number of pooled connections to each url in the background, so the first requests
+   * don't pay the connection setup. Factories without their own pool are not warmed up.
+   *
+   * @param urls        base urls of the adapter endpoints
+   * @param connections number of connections per url
+   */
+  public void warmUpAsync(Collection<String> urls, int connections) {
+    if (isReconfigurable()) {
+      HttpClientUtils.warmUpAsync(this.connectionManager, urls, connections);
+    }
+  }
+
+  /**
+   * Closes the http client after the requests in flight are completed or the drain timeout is
+   * elapsed.
+   *
+   * @param drainTimeout maximum time to wait for in-flight requests
+   */
+  public void closeGracefully(Duration drainTimeout) {
+    HttpClientUtils.closeGracefully(this::destroy, this.connectionManager, drainTimeout);
+  }
+
+  /**
+   * Merges the request config of a request, its timeouts are capped by the
+   * {@link Deadline#current() deadline} of the sending thread.
+   */
+  @Override
+  protected RequestConfig mergeRequestConfig(RequestConfig clientConfig) {
+    final RequestConfig requestConfig = reconfigure(super.mergeRequestConfig(clientConfig));
+    final Deadline deadline = Deadline.current();
+    if (deadline == null) {
+      return requestConfig;
+    }
+    return HttpClientUtils.capTimeouts(requestConfig, this.connectTimeout, deadline);
+  }
+
+  private RequestConfig reconfigure(RequestConfig requestConfig) {
+    final RequestConfig reconfigured = this.reconfiguredRequestConfig;
+    if (reconfigured == null) {
+      return requestConfig;
+    }
+    // timeouts of a reloaded config override the defaults the http client is built with
+    final RequestConfig.Builder builder = requestConfig != null ? RequestConfig.copy(requestConfig)
+        : RequestConfig.custom();
+    return builder
+        .setConnectionRequestTimeout(reconfigured.getConnectionRequestTimeout())
+        .setResponseTimeout(reconfigured.getResponseTimeout())
+        .build();
   }
 
   /**
@@ -26,4 +133,4 @@ public class CustomHttpComponentsClientHttpRequestFactory extends
   public void setReadTimeout(int readTimeout) {
     this.readTimeout = readTimeout;
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,141 @@
+package com.inomera.middleware.client.rest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Validators and deserialized bodies of the last {@code GET} responses per url and response type.
+ * The least recently used entry is removed when the store is full. Entries are immutable, the
+ * remembered body is shared by all revalidated responses and must not be modified by callers.
+ */
+final class RevalidationStore {
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * Returns the entry of the url if the request has the same values for the headers named in the
+   * {@code Vary} header of the remembered response.
+   */
+  Entry get(String url, Class<?> responseType, HttpHeaders requestHeaders) {
+    final Entry entry;
+    lock.lock();
+    try {
+      entry = this.entries.get(new Key(url, responseType));
+    } finally {
+      lock.unlock();
+    }
+    return entry != null && entry.matches(requestHeaders) ? entry : null;
+  }
+
+  /**
+   * Remembers the response if it has a validator, otherwise forgets the previous response of the
+   * url. Responses with {@code Vary: *} are never revalidated.
+   */
+  void put(String url, Class<?> responseType, HttpHeaders requestHeaders,
+      HttpHeaders responseHeaders, Object body, int maxEntries) {
+    final Key key = new Key(url, responseType);
+    final String etag = responseHeaders.getETag();
+    final String lastModified = responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED);
+    final List<String> vary = responseHeaders.getVary();
+    if ((etag == null && lastModified == null) || vary.contains("*")) {
+      remove(key);
+      return;
+    }
+    final Map<String, List<String>> varyValues = new LinkedHashMap<>();
+    for (String name : vary) {
+      varyValues.put(name, valuesOf(requestHeaders, name));
+    }
+    final HttpHeaders headers = new HttpHeaders();
+    headers.addAll(responseHeaders);
+    final Entry entry = new Entry(etag, lastModified, body, HttpHeaders.readOnlyHttpHeaders(headers),
+        varyValues);
+    lock.lock();
+    try {
+      this.entries.put(key, entry);
+      while (this.entries.size() > maxEntries) {
+        this.entries.remove(this.entries.keySet().iterator().next());
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  void remove(String url, Class<?> responseType) {
+    remove(new Key(url, responseType));
+  }
+
+  void clear() {
+    lock.lock();
+    try {
+      this.entries.clear();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int size() {
+    lock.lock();
+    try {
+      return this.entries.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void remove(Key key) {
+    lock.lock();
+    try {
+      this.entries.remove(key);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static List<String> valuesOf(HttpHeaders headers, String name) {
+    final List<String> values = headers.get(name);
+    return values != null ? List.copyOf(values) : List.of();
+  }
+
+  private record Key(String url, Class<?> responseType) {
+
+  }
+
+  record Entry(String etag, String lastModified, Object body, HttpHeaders headers,
+               Map<String, List<String>> varyValues) {
+
+    void applyTo(HttpHeaders requestHeaders) {
+      if (this.etag != null) {
+        requestHeaders.set(HttpHeaders.IF_NONE_MATCH, this.etag);
+      }
+      if (this.lastModified != null) {
+        requestHeaders.set(HttpHeaders.IF_MODIFIED_SINCE, this.lastModified);
+      }
+    }
+
+    /**
+     * Headers of the remembered response updated with the headers of the {@code 304} response,
+     * e.g. new {@code Date}, {@code Cache-Control} and validators.
+     */
+    HttpHeaders mergeHeaders(HttpHeaders notModifiedHeaders) {
+      final HttpHeaders merged = new HttpHeaders();
+      merged.addAll(this.headers);
+      notModifiedHeaders.forEach((name, values) -> merged.put(name, new ArrayList<>(values)));
+      return merged;
+    }
+
+    private boolean matches(HttpHeaders requestHeaders) {
+      for (Map.Entry<String, List<String>> vary : this.varyValues.entrySet()) {
+        if (!Objects.equals(vary.getValue(), valuesOf(requestHeaders, vary.getKey()))) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
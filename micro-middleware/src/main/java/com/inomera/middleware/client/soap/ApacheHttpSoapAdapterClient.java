@@ -1,8 +1,11 @@
 package com.inomera.middleware.client.soap;
 
 import com.inomera.integration.config.model.AdapterConfig;
+import com.inomera.integration.config.model.HttpClientProperties;
+import com.inomera.middleware.util.SslBundleUtils;
 import java.util.function.Supplier;
 import org.apache.hc.client5.http.classic.HttpClient;
+import org.springframework.boot.ssl.SslBundle;
 import org.springframework.oxm.Marshaller;
 import org.springframework.oxm.Unmarshaller;
 import org.springframework.ws.WebServiceMessageFactory;
@@ -15,7 +18,7 @@ public final class ApacheHttpSoapAdapterClient extends BaseSoapAdapterClient {
 
   public ApacheHttpSoapAdapterClient(Supplier<AdapterConfig> configSupplierFunc,
       String... marshallerContextPath) {
-    super(configSupplierFunc, new CustomHttpComponents5MessageSender(), marshallerContextPath);
+    super(configSupplierFunc, createMessageSender(configSupplierFunc.get()), marshallerContextPath);
   }
 
   public ApacheHttpSoapAdapterClient(Supplier<AdapterConfig> configSupplierFunc,
@@ -51,4 +54,16 @@ public final class ApacheHttpSoapAdapterClient extends BaseSoapAdapterClient {
       WebServiceMessageSender webServiceMessageSender, String marshallerContextPath) {
     super(configSupplierFunc, webServiceMessageSender, marshallerContextPath);
   }
+
+  private static WebServiceMessageSender createMessageSender(AdapterConfig adapterConfig) {
+    if (adapterConfig == null || adapterConfig.getAdapterProperties() == null
+        || adapterConfig.getAdapterProperties().getHttp() == null) {
+      return new CustomHttpComponents5MessageSender();
+    }
+    HttpClientProperties http = adapterConfig.getAdapterProperties().getHttp();
+    // without ssl properties the default ssl context of the jvm is used
+    final SslBundle sslBundle = http.isSkipSsl() || http.getSsl() != null
+        ? SslBundleUtils.createSslBundle(http, adapterConfig.getUrl()) : null;
+    return new CustomHttpComponents5MessageSender(http, sslBundle);
+  }
 }
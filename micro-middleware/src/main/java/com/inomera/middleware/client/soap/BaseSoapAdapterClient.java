@@ -3,16 +3,19 @@ package com.inomera.middleware.client.soap;
 import com.inomera.integration.auth.AuthType;
 import com.inomera.integration.client.HttpAdapterClient;
 import com.inomera.integration.client.HttpSoapAdapterClient;
+import com.inomera.integration.config.AdapterConfigSupplier;
 import com.inomera.integration.config.model.AdapterConfig;
 import com.inomera.integration.config.model.AuthHeadersCredentials;
 import com.inomera.integration.config.model.BasicAuthCredentials;
 import com.inomera.integration.config.model.BearerTokenCredentials;
+import com.inomera.integration.config.model.DeadlineProperties;
 import com.inomera.integration.config.model.HttpClientProperties;
 import com.inomera.integration.constant.Status;
 import com.inomera.integration.fault.AdapterAuthenticationException;
 import com.inomera.integration.fault.AdapterIOException;
 import com.inomera.integration.fault.AdapterSerializationException;
 import com.inomera.integration.model.AdapterStatus;
+import com.inomera.integration.model.Deadline;
 import com.inomera.integration.model.HttpAdapterRequest;
 import com.inomera.integration.model.HttpAdapterResponse;
 import com.inomera.middleware.client.interceptor.auth.soap.SoapBasicAuthenticationInterceptor;
@@ -20,6 +23,7 @@ import com.inomera.middleware.client.interceptor.auth.soap.SoapDefaultBearerToke
 import com.inomera.middleware.client.interceptor.auth.soap.SoapHttpHeaderInterceptor;
 import com.inomera.middleware.client.interceptor.auth.soap.SoapNoneAuthInterceptor;
 import com.inomera.middleware.client.interceptor.log.SoapLoggingInterceptor;
+import com.inomera.middleware.client.rest.CustomHttpComponentsClientHttpRequestFactory;
 import com.inomera.middleware.util.SslBundleUtils;
 import jakarta.xml.bind.JAXBElement;
 import java.io.IOException;
@@ -30,9 +34,9 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
+import javax.xml.transform.TransformerException;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -41,6 +45,7 @@ import org.springframework.boot.web.client.ClientHttpRequestFactories;
 import org.springframework.boot.webservices.client.HttpWebServiceMessageSenderBuilder;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.oxm.Marshaller;
 import org.springframework.oxm.Unmarshaller;
 import org.springframework.oxm.jaxb.Jaxb2Marshaller;
@@ -61,6 +66,9 @@ import org.springframework.ws.transport.TransportConstants;
 import org.springframework.ws.transport.WebServiceMessageSender;
 import org.springframework.ws.transport.context.TransportContext;
 import org.springframework.ws.transport.context.TransportContextHolder;
+import org.springframework.ws.transport.http.ClientHttpRequestMessageSender;
+import org.springframework.xml.transform.StringSource;
+import org.springframework.xml.transform.TransformerHelper;
 
 
 /**
@@ -86,11 +94,15 @@ import org.springframework.ws.transport.context.TransportContextHolder;
 public abstract class BaseSoapAdapterClient extends WebServiceGatewaySupport implements
     HttpSoapAdapterClient {
 
-  private final ConcurrentHashMap<String, ReentrantLock> reloadSoapLockMap = new ConcurrentHashMap<>();
+  private final ReentrantLock reloadLock = new ReentrantLock();
 
   private final String[] marshallerContextPath;
   private final WebServiceMessageSender webServiceMessageSender;
   private final Supplier<AdapterConfig> configSupplierFunc;
+  private volatile AdapterConfig appliedAdapterConfig;
+  private volatile long appliedConfigVersion;
+  private volatile boolean configChangeSubscribed;
+  private volatile List<ClientInterceptor> configInterceptors = List.of();
 
   private Marshaller marshaller;
   private Unmarshaller unmarshaller;
@@ -151,16 +163,22 @@ public abstract class BaseSoapAdapterClient extends WebServiceGatewaySupport imp
     Duration connectTimeout = Duration.ofMillis(http.getConnectTimeout());
     Duration readTimeout = Duration.ofMillis(http.getRequestTimeout());
     final SslBundle sslBundle = SslBundleUtils.createSslBundle(http, adapterConfig.getUrl());
-    this.webServiceMessageSender = new HttpWebServiceMessageSenderBuilder()
-        .setConnectTimeout(connectTimeout)
-        .setReadTimeout(readTimeout)
-        .sslBundle(sslBundle)
-        .requestFactory(
-            (settings -> ClientHttpRequestFactories.get(requestFactoryClass,
-                settings.withConnectTimeout(connectTimeout)
-                    .withReadTimeout(readTimeout)
-                    .withSslBundle(sslBundle))))
-        .build();
+    if (HttpComponentsClientHttpRequestFactory.class.isAssignableFrom(requestFactoryClass)) {
+      // apache http client gets its own connection pool sized from the adapter http config
+      this.webServiceMessageSender = new ClientHttpRequestMessageSender(
+          new CustomHttpComponentsClientHttpRequestFactory(http, sslBundle));
+    } else {
+      this.webServiceMessageSender = new HttpWebServiceMessageSenderBuilder()
+          .setConnectTimeout(connectTimeout)
+          .setReadTimeout(readTimeout)
+          .sslBundle(sslBundle)
+          .requestFactory(
+              (settings -> ClientHttpRequestFactories.get(requestFactoryClass,
+                  settings.withConnectTimeout(connectTimeout)
+                      .withReadTimeout(readTimeout)
+                      .withSslBundle(sslBundle))))
+          .build();
+    }
     this.marshallerContextPath = marshallerContextPath;
   }
 
@@ -246,6 +264,7 @@ public abstract class BaseSoapAdapterClient extends WebServiceGatewaySupport imp
       }
 
       enrichWebserviceTemplateWithHttpConfigs(adapterConfig);
+      subscribeConfigChanges();
     } catch (Exception e) {
       LOG.error("WebServiceClient marshaller couldn't be initialized from context path : "
           + Arrays.toString(this.marshallerContextPath) + " Error : " + e.getMessage(), e);
@@ -256,13 +275,15 @@ public abstract class BaseSoapAdapterClient extends WebServiceGatewaySupport imp
   public <O> HttpAdapterResponse<O> send(HttpAdapterRequest httpAdapterRequest,
       Class<O> responseType) {
     try {
-      if (this.reloadRuntime()) {
-        AdapterConfig adapterConfig = this.configSupplierFunc.get();
-        enrichWebserviceTemplateWithHttpConfigs(adapterConfig);
+      if (!this.configChangeSubscribed && this.reloadRuntime()) {
+        // subscribed clients are reloaded by config change events, others check config per request
+        reloadIfChanged(this.configSupplierFunc.get());
       }
-      ResponseAndHeader responseAndHeaders = getWebServiceTemplate().sendAndReceive(
-          httpAdapterRequest.getUrl(), message -> this.handleRequest(httpAdapterRequest, message),
-          (WebServiceMessageExtractor<? extends ResponseAndHeader>) this::handleResponse);
+      // the message sender caps the timeouts of the http client by the deadline of the thread
+      ResponseAndHeader responseAndHeaders = Deadline.call(httpAdapterRequest.getDeadline(),
+          () -> getWebServiceTemplate().sendAndReceive(
+              httpAdapterRequest.getUrl(), message -> this.handleRequest(httpAdapterRequest, message),
+              (WebServiceMessageExtractor<? extends ResponseAndHeader>) this::handleResponse));
       if (responseAndHeaders == null) {
         throw new AdapterSerializationException(null,
             new AdapterStatus(Status.TECHNICAL_ERROR, Status.TECHNICAL_ERROR.getCode(),
@@ -277,9 +298,10 @@ public abstract class BaseSoapAdapterClient extends WebServiceGatewaySupport imp
     } catch (WebServiceTransportException te) {
       if (isAuthProblem(httpAdapterRequest, te)) {
         throw new AdapterAuthenticationException(te,
-            AdapterStatus.createStatusFailedAsTechnical(te));
+            AdapterStatus.createStatusFailedAsTechnical(te), getHttpStatusCode(te));
       }
-      throw new AdapterSerializationException(te, AdapterStatus.createStatusFailedAsTechnical(te));
+      throw new AdapterSerializationException(te, AdapterStatus.createStatusFailedAsTechnical(te),
+          getHttpStatusCode(te));
     } catch (WebServiceIOException io) {
       throw new AdapterIOException((IOException) io.getCause(), httpAdapterRequest,
           AdapterStatus.createStatusFailedAsTechnical(io));
@@ -296,7 +318,36 @@ public abstract class BaseSoapAdapterClient extends WebServiceGatewaySupport imp
       return false;
     }
     return adapterConfig.getAdapterProperties()
-        .isRuntime() && adapterConfig.isRefresh();
+        .isRuntime() && (adapterConfig.isRefresh()
+        || adapterConfig.getVersion() != this.appliedConfigVersion);
+  }
+
+  private void subscribeConfigChanges() {
+    if (!this.configChangeSubscribed
+        && this.configSupplierFunc instanceof AdapterConfigSupplier adapterConfigSupplier) {
+      adapterConfigSupplier.subscribe(this::onConfigChange);
+      this.configChangeSubscribed = true;
+    }
+  }
+
+  private void onConfigChange(AdapterConfig adapterConfig) {
+    if (adapterConfig == null || !adapterConfig.getAdapterProperties().isRuntime()) {
+      return;
+    }
+    reloadIfChanged(adapterConfig);
+  }
+
+  private void reloadIfChanged(AdapterConfig adapterConfig) {
+    reloadLock.lock();
+    try {
+      if (!adapterConfig.isRefresh() && adapterConfig.getVersion() == this.appliedConfigVersion) {
+        // another thread has already reloaded the same config version
+        return;
+      }
+      enrichWebserviceTemplateWithHttpConfigs(adapterConfig);
+    } finally {
+      reloadLock.unlock();
+    }
   }
 
   private List<ClientInterceptor> getClientHttpRequestInterceptors(AdapterConfig adapterConfig) {
@@ -342,30 +393,72 @@ public abstract class BaseSoapAdapterClient extends WebServiceGatewaySupport imp
         .contains(String.valueOf(HttpStatus.FORBIDDEN.value()));
   }
 
+  /**
+   * Returns the http status of a transport error, http connections report it at the end of the
+   * error message, e.g. {@code Service Unavailable [503]}.
+   *
+   * @return http status code, zero if the message has no status
+   */
+  static int getHttpStatusCode(WebServiceTransportException te) {
+    final String message = te.getMessage();
+    if (message == null) {
+      return 0;
+    }
+    final int end = message.lastIndexOf(']');
+    final int start = end > 0 ? message.lastIndexOf('[', end) : -1;
+    if (start < 0 || end - start != 4) {
+      return 0;
+    }
+    try {
+      return Integer.parseInt(message.substring(start + 1, end));
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
   private void enrichWebserviceTemplateWithHttpConfigs(AdapterConfig adapterConfig) {
-    ReentrantLock configLock = reloadSoapLockMap.computeIfAbsent(adapterConfig.getKey(),
-        key -> new ReentrantLock());
-    configLock.lock();
+    reloadLock.lock();
     try {
       getWebServiceTemplate().setDefaultUri(adapterConfig.getUrl());
-      // custom interceptors
+      // custom interceptors, without the ones created from the previous config
       List<ClientInterceptor> interceptors = new ArrayList<>();
       if (!ObjectUtils.isEmpty(getWebServiceTemplate().getInterceptors())) {
-        interceptors.addAll(Arrays.stream(getWebServiceTemplate().getInterceptors()).toList());
+        Arrays.stream(getWebServiceTemplate().getInterceptors())
+            .filter(interceptor -> !this.configInterceptors.contains(interceptor))
+            .forEach(interceptors::add);
       }
       // cross-cut interceptors security, logging
       List<ClientInterceptor> clientHttpRequestInterceptors = getClientHttpRequestInterceptors(
           adapterConfig);
       interceptors.addAll(clientHttpRequestInterceptors);
       getWebServiceTemplate().setInterceptors(interceptors.toArray(new ClientInterceptor[]{}));
+      this.configInterceptors = clientHttpRequestInterceptors;
 
       setMessageSender(this.webServiceMessageSender);
+      this.appliedAdapterConfig = adapterConfig;
+      this.appliedConfigVersion = adapterConfig.getVersion();
       LOG.info("WebServiceTemplate reloaded at runtime with new configuration. key : {}, adapterConfig : {}",
           adapterConfig.getKey(), adapterConfig.toSecureString());
+      warmUp(adapterConfig);
     } finally {
-      configLock.unlock();
-      reloadSoapLockMap.computeIfPresent(adapterConfig.getKey(),
-          (id, existingLock) -> existingLock.hasQueuedThreads() ? existingLock : null);
+      reloadLock.unlock();
+    }
+  }
+
+  /**
+   * Opens the warm-up connections of a pooled message sender to the adapter endpoints in the
+   * background, so the first messages after startup or a reload don't pay the TCP and TLS setup.
+   */
+  private void warmUp(AdapterConfig adapterConfig) {
+    final HttpClientProperties http = adapterConfig.getAdapterProperties().getHttp();
+    if (http == null || http.getWarmUpConnections() <= 0) {
+      return;
+    }
+    if (this.webServiceMessageSender instanceof CustomHttpComponents5MessageSender messageSender) {
+      messageSender.warmUpAsync(adapterConfig.getEndpointUrls(), http.getWarmUpConnections());
+    } else if (this.webServiceMessageSender instanceof ClientHttpRequestMessageSender messageSender
+        && messageSender.getRequestFactory() instanceof CustomHttpComponentsClientHttpRequestFactory pooledFactory) {
+      pooledFactory.warmUpAsync(adapterConfig.getEndpointUrls(), http.getWarmUpConnections());
     }
   }
 
@@ -390,9 +483,42 @@ public abstract class BaseSoapAdapterClient extends WebServiceGatewaySupport imp
         }
       }
     }
+    addDeadlineHeader(httpAdapterRequest, connection);
+    if (httpAdapterRequest.getRequestBody() instanceof String payload) {
+      // raw xml payload, e.g. the request of a health check probe
+      writePayload(payload, message);
+      return;
+    }
     MarshallingUtils.marshal(marshaller, httpAdapterRequest.getRequestBody(), message);
   }
 
+  private void writePayload(String payload, WebServiceMessage message) throws IOException {
+    try {
+      new TransformerHelper().transform(new StringSource(payload), message.getPayloadResult());
+    } catch (TransformerException e) {
+      throw new IOException("Xml payload couldn't be written : " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Sends the remaining time of the request deadline downstream when the deadline header is
+   * configured.
+   */
+  private void addDeadlineHeader(HttpAdapterRequest httpAdapterRequest,
+      HeadersAwareSenderWebServiceConnection connection) throws IOException {
+    final Deadline deadline = httpAdapterRequest.getDeadline();
+    if (deadline == null) {
+      return;
+    }
+    final AdapterConfig adapterConfig = this.appliedAdapterConfig;
+    final DeadlineProperties deadlineProperties = adapterConfig != null
+        ? adapterConfig.getAdapterProperties().getDeadline() : null;
+    if (deadlineProperties != null && deadlineProperties.isHeaderEnabled()) {
+      connection.addRequestHeader(deadlineProperties.getHeader(),
+          String.valueOf(Math.max(0, deadline.remainingMillis())));
+    }
+  }
+
 
   private ResponseAndHeader handleResponse(WebServiceMessage message) throws IOException {
     final Object response = MarshallingUtils.unmarshal(unmarshaller, message);
@@ -1,15 +1,33 @@
 package com.inomera.middleware.client.soap;
 
+import com.inomera.integration.config.model.HttpClientProperties;
+import com.inomera.integration.model.Deadline;
+import com.inomera.middleware.util.HttpClientUtils;
+import java.net.URI;
+import java.util.Collection;
 import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.springframework.boot.ssl.SslBundle;
 import org.springframework.ws.transport.http.HttpComponents5MessageSender;
 
 /**
- * A custom HTTP components 5 message sender.
+ * A custom HTTP components 5 message sender. Timeouts of a message sent with a
+ * {@link Deadline#current() deadline} are capped by its remaining time.
  */
 public class CustomHttpComponents5MessageSender extends HttpComponents5MessageSender {
 
+  private final RequestConfig requestConfig;
+  private final long connectTimeout;
+  private final PoolingHttpClientConnectionManager connectionManager;
+
   public CustomHttpComponents5MessageSender() {
     super();
+    this.requestConfig = null;
+    this.connectTimeout = 0;
+    this.connectionManager = null;
     try {
       super.afterPropertiesSet();
     } catch (Exception e) {
@@ -19,6 +37,55 @@ public class CustomHttpComponents5MessageSender extends HttpComponents5MessageSe
 
   public CustomHttpComponents5MessageSender(HttpClient httpClient) {
     super(httpClient);
+    this.requestConfig = null;
+    this.connectTimeout = 0;
+    this.connectionManager = null;
+  }
+
+  /**
+   * Creates a message sender over a pooled http client built from the given http properties.
+   *
+   * @param http      http client properties of the adapter
+   * @param sslBundle ssl bundle, default ssl context is used when it is null
+   */
+  public CustomHttpComponents5MessageSender(HttpClientProperties http, SslBundle sslBundle) {
+    this(http, HttpClientUtils.createConnectionManager(http, sslBundle));
+  }
+
+  private CustomHttpComponents5MessageSender(HttpClientProperties http,
+      PoolingHttpClientConnectionManager connectionManager) {
+    super(HttpClientUtils.createHttpClient(http, connectionManager));
+    this.requestConfig = HttpClientUtils.createRequestConfig(http);
+    this.connectTimeout = http.getConnectTimeout();
+    this.connectionManager = connectionManager;
   }
 
+  /**
+   * Opens the given number of pooled connections to each url in the background, so the first messages
+   * don't pay the connection setup. Senders without their own pool are not warmed up.
+   *
+   * @param urls        base urls of the adapter endpoints
+   * @param connections number of connections per url
+   */
+  public void warmUpAsync(Collection<String> urls, int connections) {
+    if (this.connectionManager != null) {
+      HttpClientUtils.warmUpAsync(this.connectionManager, urls, connections);
+    }
+  }
+
+  /**
+   * Creates the context of a message with the request config capped by the deadline of the sending
+   * thread, messages without a deadline use the request config of the http client.
+   */
+  @Override
+  protected HttpContext createContext(URI uri) {
+    final Deadline deadline = Deadline.current();
+    if (deadline == null) {
+      return super.createContext(uri);
+    }
+    final HttpClientContext context = HttpClientContext.create();
+    context.setRequestConfig(HttpClientUtils.capTimeouts(this.requestConfig, this.connectTimeout,
+        deadline));
+    return context;
+  }
 }
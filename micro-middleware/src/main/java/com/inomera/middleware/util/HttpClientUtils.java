@@ -0,0 +1,360 @@
+package com.inomera.middleware.util;
+
+import com.inomera.integration.config.model.HttpClientProperties;
+import com.inomera.integration.model.Deadline;
+import com.inomera.integration.util.AdapterExecutors;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.ssl.SslBundle;
+import org.springframework.boot.ssl.SslOptions;
+
+/**
+ * Creates pooled Apache HttpClient 5 clients from {@link HttpClientProperties}. Every adapter gets
+ * its own {@link PoolingHttpClientConnectionManager}, so pool sizes, connection lifetime and idle
+ * eviction can be tuned per adapter from config. Zero or missing values fall back to the Apache
+ * HttpClient defaults.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class HttpClientUtils {
+
+  /**
+   * Pooled connections idle longer than this are validated before they are leased again, stale
+   * connections closed by the server are dropped instead of failing the request.
+   */
+  public static final TimeValue VALIDATE_AFTER_INACTIVITY = TimeValue.ofSeconds(2);
+
+  private static final Duration DEFAULT_DRAIN_TIMEOUT = Duration.ofSeconds(30);
+  /**
+   * Warmed up connections are kept like connections of responses without a keep-alive header.
+   */
+  private static final TimeValue WARM_UP_KEEP_ALIVE = TimeValue.ofMinutes(3);
+  private static final Timeout WARM_UP_LEASE_TIMEOUT = Timeout.ofSeconds(5);
+  private static final long DRAIN_CHECK_INTERVAL_MILLIS = 200;
+
+  public static CloseableHttpClient createHttpClient(HttpClientProperties http,
+      SslBundle sslBundle) {
+    return createHttpClient(http, createConnectionManager(http, sslBundle));
+  }
+
+  public static CloseableHttpClient createHttpClient(HttpClientProperties http,
+      PoolingHttpClientConnectionManager connectionManager) {
+    final HttpClientBuilder builder = HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(createRequestConfig(http))
+        .evictExpiredConnections();
+    if (http.getIdleConnectionsTimeout() > 0) {
+      builder.evictIdleConnections(TimeValue.ofMilliseconds(http.getIdleConnectionsTimeout()));
+    }
+    return builder.build();
+  }
+
+  public static PoolingHttpClientConnectionManager createConnectionManager(
+      HttpClientProperties http, SslBundle sslBundle) {
+    final PoolingHttpClientConnectionManagerBuilder builder = PoolingHttpClientConnectionManagerBuilder.create()
+        .setPoolConcurrencyPolicy(getPoolConcurrencyPolicy(http))
+        .setConnPoolPolicy(PoolReusePolicy.LIFO)
+        .setDefaultConnectionConfig(createConnectionConfig(http))
+        .setDefaultSocketConfig(createSocketConfig(http));
+    if (http.getMaxConnections() > 0) {
+      builder.setMaxConnTotal(http.getMaxConnections());
+    }
+    if (http.getMaxConnPerRoute() > 0) {
+      builder.setMaxConnPerRoute(http.getMaxConnPerRoute());
+    }
+    if (sslBundle != null) {
+      builder.setSSLSocketFactory(createSslSocketFactory(sslBundle));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Applies the pool sizes, timeouts and connection lifetime of the given http properties on a live
+   * connection manager. Pooled connections are kept, new settings are used by the next leases.
+   */
+  public static void reconfigureConnectionManager(PoolingHttpClientConnectionManager connectionManager,
+      HttpClientProperties http) {
+    connectionManager.setMaxTotal(http.getMaxConnections() > 0 ? http.getMaxConnections()
+        : PoolingHttpClientConnectionManager.DEFAULT_MAX_TOTAL_CONNECTIONS);
+    connectionManager.setDefaultMaxPerRoute(http.getMaxConnPerRoute() > 0 ? http.getMaxConnPerRoute()
+        : PoolingHttpClientConnectionManager.DEFAULT_MAX_CONNECTIONS_PER_ROUTE);
+    connectionManager.setDefaultConnectionConfig(createConnectionConfig(http));
+    connectionManager.setDefaultSocketConfig(createSocketConfig(http));
+  }
+
+  /**
+   * Returns whether the change between given http properties cannot be applied on a live pool, so a
+   * new http client and connection manager have to be created. Pool concurrency policy, idle
+   * eviction and ssl settings are fixed when the http client is built.
+   */
+  public static boolean isTransportChanged(HttpClientProperties current, HttpClientProperties next) {
+    if (current == null || next == null) {
+      return current != next;
+    }
+    return getPoolConcurrencyPolicy(current) != getPoolConcurrencyPolicy(next)
+        || current.getIdleConnectionsTimeout() != next.getIdleConnectionsTimeout()
+        || current.isSkipSsl() != next.isSkipSsl()
+        || !Objects.equals(current.getSsl(), next.getSsl());
+  }
+
+  /**
+   * Closes a retired http client after its in-flight requests are completed. Idle pooled
+   * connections are closed immediately, the client is closed when no connection is leased or the
+   * drain timeout is elapsed, whichever comes first.
+   *
+   * @param closeable         closes the http client and its connection manager
+   * @param connectionManager connection manager to drain, closed after the drain timeout when null
+   * @param drainTimeout      maximum time to wait for leased connections to be released
+   */
+  public static void closeGracefully(AutoCloseable closeable,
+      PoolingHttpClientConnectionManager connectionManager, Duration drainTimeout) {
+    if (connectionManager != null) {
+      connectionManager.closeIdle(TimeValue.ZERO_MILLISECONDS);
+    }
+    final long deadline = System.nanoTime() + drainTimeout.toNanos();
+    DrainScheduler.INSTANCE.schedule(
+        new Runnable() {
+          @Override
+          public void run() {
+            final boolean drained = connectionManager != null
+                && connectionManager.getTotalStats().getLeased() == 0;
+            if (!drained && System.nanoTime() - deadline < 0) {
+              DrainScheduler.INSTANCE.schedule(this, DRAIN_CHECK_INTERVAL_MILLIS,
+                  TimeUnit.MILLISECONDS);
+              return;
+            }
+            try {
+              closeable.close();
+              LOG.info("Retired http client is closed, drained : {}", drained);
+            } catch (Exception e) {
+              LOG.warn("Retired http client couldn't be closed", e);
+            }
+          }
+        }, DRAIN_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Opens pooled connections to the given urls in the background, see
+   * {@link #warmUp(PoolingHttpClientConnectionManager, String, int)}.
+   *
+   * @param connectionManager connection manager of the http client
+   * @param urls              base urls of the adapter endpoints
+   * @param connections       number of connections per url
+   */
+  public static void warmUpAsync(PoolingHttpClientConnectionManager connectionManager,
+      Collection<String> urls, int connections) {
+    if (connections <= 0 || urls == null || urls.isEmpty()) {
+      return;
+    }
+    final List<String> warmUpUrls = new ArrayList<>(urls);
+    try {
+      AdapterExecutors.blockingExecutor().execute(() -> {
+        for (String url : warmUpUrls) {
+          warmUp(connectionManager, url, connections);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      LOG.warn("Connection warm-up couldn't be started, urls : {}", warmUpUrls);
+    }
+  }
+
+  /**
+   * Opens pooled connections to the url until the pool keeps the given number of connections to it,
+   * completing their TLS handshakes. Connections are opened for the route the http client sends
+   * requests of the url on, so they are reused by the first requests. The number of connections is
+   * capped by the max connections per route.
+   *
+   * @param connectionManager connection manager of the http client
+   * @param url               base url of an adapter endpoint
+   * @param connections       number of connections
+   * @return number of opened connections
+   */
+  public static int warmUp(PoolingHttpClientConnectionManager connectionManager, String url,
+      int connections) {
+    final HttpRoute route;
+    try {
+      route = createRoute(url);
+    } catch (IllegalArgumentException e) {
+      LOG.warn("Connection warm-up is skipped, invalid url : {}", url);
+      return 0;
+    }
+    final int count = Math.min(connections, connectionManager.getMaxPerRoute(route));
+    final List<ConnectionEndpoint> endpoints = new ArrayList<>(count);
+    final HttpClientContext context = HttpClientContext.create();
+    int opened = 0;
+    try {
+      // connections are held until all are leased, otherwise the same connection is leased again
+      for (int i = 0; i < count; i++) {
+        final ConnectionEndpoint endpoint = connectionManager
+            .lease("warm-up-" + i, route, WARM_UP_LEASE_TIMEOUT, null)
+            .get(WARM_UP_LEASE_TIMEOUT);
+        endpoints.add(endpoint);
+        if (!endpoint.isConnected()) {
+          connectionManager.connect(endpoint, null, context);
+          opened++;
+        }
+      }
+      LOG.info("Connections are warmed up, url : {}, opened : {}, pooled : {}", url, opened, count);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      LOG.warn("Connection warm-up failed, url : {}, opened : {}, failure : {}", url, opened,
+          e.toString());
+    } finally {
+      for (ConnectionEndpoint endpoint : endpoints) {
+        // connections that failed to connect are discarded by the pool
+        connectionManager.release(endpoint, null, WARM_UP_KEEP_ALIVE);
+      }
+    }
+    return opened;
+  }
+
+  /**
+   * Creates the route of the url like the default route planner of the http client does, with the
+   * default port of the scheme when the url has no port.
+   */
+  private static HttpRoute createRoute(String url) {
+    final URI uri = URI.create(url);
+    if (uri.getScheme() == null || uri.getHost() == null) {
+      throw new IllegalArgumentException("Url has no scheme or host : " + url);
+    }
+    final String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+    final boolean secure = URIScheme.HTTPS.same(scheme);
+    final int port = uri.getPort() > 0 ? uri.getPort() : secure ? 443 : 80;
+    return new HttpRoute(new HttpHost(scheme, uri.getHost(), port), null, secure);
+  }
+
+  /**
+   * Returns how long a retired pool is drained, requests started on it complete within the connect
+   * and request timeouts.
+   */
+  public static Duration getDrainTimeout(HttpClientProperties http) {
+    if (http == null || http.getRequestTimeout() <= 0) {
+      return DEFAULT_DRAIN_TIMEOUT;
+    }
+    return Duration.ofMillis(http.getRequestTimeout() + Math.max(http.getConnectTimeout(), 0));
+  }
+
+  public static PoolConcurrencyPolicy getPoolConcurrencyPolicy(HttpClientProperties http) {
+    final String poolConcurrencyPolicy = http.getPoolConcurrencyPolicy();
+    if (StringUtils.isBlank(poolConcurrencyPolicy)) {
+      return PoolConcurrencyPolicy.STRICT;
+    }
+    try {
+      return PoolConcurrencyPolicy.valueOf(poolConcurrencyPolicy.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(
+          "Unsupported poolConcurrencyPolicy : " + poolConcurrencyPolicy
+              + ", supported values are STRICT and LAX", e);
+    }
+  }
+
+  private static ConnectionConfig createConnectionConfig(HttpClientProperties http) {
+    final ConnectionConfig.Builder builder = ConnectionConfig.custom()
+        .setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY);
+    if (http.getConnectTimeout() > 0) {
+      builder.setConnectTimeout(Timeout.ofMilliseconds(http.getConnectTimeout()));
+    }
+    if (http.getRequestTimeout() > 0) {
+      builder.setSocketTimeout(Timeout.ofMilliseconds(http.getRequestTimeout()));
+    }
+    if (http.getTimeToLive() > 0) {
+      builder.setTimeToLive(TimeValue.ofMilliseconds(http.getTimeToLive()));
+    }
+    return builder.build();
+  }
+
+  private static SocketConfig createSocketConfig(HttpClientProperties http) {
+    final SocketConfig.Builder builder = SocketConfig.custom()
+        .setTcpNoDelay(true);
+    if (http.getRequestTimeout() > 0) {
+      builder.setSoTimeout(Timeout.ofMilliseconds(http.getRequestTimeout()));
+    }
+    return builder.build();
+  }
+
+  public static RequestConfig createRequestConfig(HttpClientProperties http) {
+    final RequestConfig.Builder builder = RequestConfig.custom();
+    if (http.getConnectTimeout() > 0) {
+      // waiting for a free pooled connection is bounded like connecting
+      builder.setConnectionRequestTimeout(Timeout.ofMilliseconds(http.getConnectTimeout()));
+    }
+    if (http.getRequestTimeout() > 0) {
+      builder.setResponseTimeout(Timeout.ofMilliseconds(http.getRequestTimeout()));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Caps the timeouts of a request by the remaining time of its deadline. The connect timeout is
+   * set per request, the given connect timeout of the connection pool is kept when it is shorter.
+   *
+   * @param requestConfig  request config of the http client, default config is used when it is null
+   * @param connectTimeout connect timeout (in milliseconds) of the connection pool, zero if unknown
+   * @param deadline       deadline of the request
+   * @return request config with capped timeouts
+   */
+  @SuppressWarnings("deprecation")
+  public static RequestConfig capTimeouts(RequestConfig requestConfig, long connectTimeout,
+      Deadline deadline) {
+    final RequestConfig config = requestConfig != null ? requestConfig : RequestConfig.DEFAULT;
+    return RequestConfig.copy(config)
+        .setConnectionRequestTimeout(capTimeout(config.getConnectionRequestTimeout(), deadline))
+        // connect timeout of the request config overrides the one of the connection pool
+        .setConnectTimeout(Timeout.ofMilliseconds(deadline.capMillis(connectTimeout)))
+        .setResponseTimeout(capTimeout(config.getResponseTimeout(), deadline))
+        .build();
+  }
+
+  private static Timeout capTimeout(Timeout timeout, Deadline deadline) {
+    final long millis = timeout != null && !timeout.isDisabled() ? timeout.toMilliseconds() : 0;
+    return Timeout.ofMilliseconds(deadline.capMillis(millis));
+  }
+
+  private static SSLConnectionSocketFactory createSslSocketFactory(SslBundle sslBundle) {
+    final SslOptions options = sslBundle.getOptions();
+    return new SSLConnectionSocketFactory(sslBundle.createSslContext(),
+        options.getEnabledProtocols(), options.getCiphers(), null);
+  }
+
+  private static final class DrainScheduler {
+
+    private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(
+        runnable -> {
+          final Thread thread = new Thread(runnable, "adapter-http-pool-drainer");
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+}
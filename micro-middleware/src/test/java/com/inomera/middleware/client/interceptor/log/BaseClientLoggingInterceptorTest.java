@@ -0,0 +1,127 @@
+package com.inomera.middleware.client.interceptor.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.inomera.integration.config.model.AdapterLogging;
+import com.inomera.integration.config.model.LogStrategy;
+import com.inomera.middleware.client.interceptor.log.BaseClientLoggingInterceptor.LogContext;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+class BaseClientLoggingInterceptorTest {
+
+  @Test
+  void shouldCutOffBodyBeforeMasking() {
+    BaseClientLoggingInterceptor interceptor = new BaseClientLoggingInterceptor(
+        AdapterLogging.builder()
+            .strategy(LogStrategy.REQ_RES)
+            .sensitiveFields(List.of("password"))
+            .maxBodySize(20)
+            .build());
+
+    LogContext logContext = interceptor.logContextBuilder()
+        .uri("https://mirket.ist")
+        .requestBody("{\"password\": \"my_password\", \"username\": \"mirket\"}"
+            .getBytes(StandardCharsets.UTF_8))
+        .build();
+
+    assertEquals(29, logContext.requestBodyOmitted());
+    assertEquals("Request={uri='https://mirket.ist'\n"
+            + ", requestBody='{\"password\": **masked**...[truncated, 29 bytes omitted]'}",
+        interceptor.makeLogMoreSensibleIfHasAnyRule(logContext).toRequest());
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  void shouldMaskWithMaskPattern_whenMaskPatternConstructorIsUsed() {
+    BaseClientLoggingInterceptor interceptor = new BaseClientLoggingInterceptor(
+        AdapterLogging.builder()
+            .strategy(LogStrategy.REQ_RES)
+            .sensitiveFields(List.of("password"))
+            .nonLoggingFields(List.of("token"))
+            .build(), "${PRM}=([^&]*)");
+
+    assertEquals("{\"password\": **masked**} ?password=**masked**&token=-empty-&user=mirket",
+        interceptor.makeLogMoreSensibleIfHasAnyRule(
+            "{\"password\": \"secret\"} ?password=secret&token=abc&user=mirket"));
+  }
+
+  @Test
+  void shouldNotCutMultiByteChar() {
+    LogContext logContext = LogContext.builder()
+        .maxBodySize(2)
+        .responseBody("aç".getBytes(StandardCharsets.UTF_8))
+        .build();
+
+    assertEquals("a", logContext.responseBody());
+    assertEquals(2, logContext.responseBodyOmitted());
+  }
+
+  @Test
+  void shouldNotCutBody_whenMaxBodySizeIsNotSet() {
+    LogContext logContext = LogContext.builder()
+        .responseBody("{\"code\": 0}".getBytes(StandardCharsets.UTF_8))
+        .build();
+
+    assertEquals("{\"code\": 0}", logContext.responseBody());
+    assertEquals(0, logContext.responseBodyOmitted());
+  }
+
+  @Test
+  void shouldSplitLineIntoChunks() {
+    assertEquals(List.of("abc", "def", "g"), BaseClientLoggingInterceptor.split("abcdefg", 3));
+    assertEquals(List.of("ab", "😀c"),
+        BaseClientLoggingInterceptor.split("ab😀c", 3));
+  }
+
+  @Test
+  void shouldUseCorrelationIdAsChunkLogId() {
+    MDC.put(BaseClientLoggingInterceptor.TRACE_ID_MDC_KEY, "5f3a9c0d");
+    try {
+      assertEquals("mirket-1", BaseClientLoggingInterceptor.chunkLogId("mirket-1"));
+      assertEquals("5f3a9c0d", BaseClientLoggingInterceptor.chunkLogId(null));
+    } finally {
+      MDC.clear();
+    }
+    assertNotNull(BaseClientLoggingInterceptor.chunkLogId(null));
+  }
+
+  @Test
+  void shouldSampleSameCorrelationIdAlike() {
+    BaseClientLoggingInterceptor interceptor = new BaseClientLoggingInterceptor(
+        AdapterLogging.builder()
+            .strategy(LogStrategy.SAMPLED)
+            .successSampleRate(0.5)
+            .build());
+
+    for (int i = 0; i < 100; i++) {
+      String correlationId = "mirket-" + i;
+      assertEquals(interceptor.isSampled(correlationId), interceptor.isSampled(correlationId));
+    }
+  }
+
+  @Test
+  void shouldSampleSuccessSampleRateOfCorrelationIds() {
+    long sampled = IntStream.range(0, 100_000)
+        .filter(i -> BaseClientLoggingInterceptor.isSampled("mirket-" + i, 0.01))
+        .count();
+
+    assertTrue(sampled > 800 && sampled < 1200, "sampled : " + sampled);
+  }
+
+  @Test
+  void shouldSampleEveryCall_whenStrategyIsNotSampled() {
+    BaseClientLoggingInterceptor interceptor = new BaseClientLoggingInterceptor(
+        AdapterLogging.builder()
+            .strategy(LogStrategy.FAILURE)
+            .successSampleRate(0.01)
+            .build());
+
+    assertTrue(IntStream.range(0, 100).allMatch(i -> interceptor.isSampled("mirket-" + i)));
+  }
+}
@@ -0,0 +1,75 @@
+package com.inomera.middleware.client.interceptor.log;
+
+import static com.inomera.middleware.client.interceptor.util.Samples.SAMPLE_JSON_REQUEST;
+import static com.inomera.middleware.client.interceptor.util.Samples.SAMPLE_SOAP_REQUEST;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LogMaskerTest {
+
+  @Test
+  void shouldMaskJsonValues() {
+    LogMasker logMasker = new LogMasker(List.of("password"), List.of("age", "hobbies"));
+
+    String masked = logMasker.mask(SAMPLE_JSON_REQUEST);
+
+    assertTrue(masked.contains("\"password\" : **masked**,"));
+    assertTrue(masked.contains("\"age\": -empty-,"));
+    assertTrue(masked.contains("\"age\":-empty-\n"));
+    assertTrue(masked.contains("\"hobbies\": -empty-\n"));
+    assertFalse(masked.contains("my_password"));
+    assertFalse(masked.contains("55"));
+    assertFalse(masked.contains("Calligraphy"));
+    assertTrue(masked.contains("\"username\" : \"my_username\""));
+  }
+
+  @Test
+  void shouldMaskNestedObjectAndEscapedString() {
+    LogMasker logMasker = new LogMasker(List.of("card", "pin"), List.of());
+
+    assertEquals("{\"card\": **masked**, \"pin\":**masked**, \"id\": 7}",
+        logMasker.mask("{\"card\": {\"no\": \"4111\", \"cvv\": [1, \"}\"]}, \"pin\":\"1\\\"2\", \"id\": 7}"));
+  }
+
+  @Test
+  void shouldMaskXmlElementsWithAndWithoutPrefix() {
+    LogMasker logMasker = new LogMasker(List.of("userId"), List.of("contentBytes"));
+
+    String masked = logMasker.mask(SAMPLE_SOAP_REQUEST);
+
+    assertTrue(masked.contains("<userId>**masked**</userId>"));
+    assertTrue(masked.contains("<contentBytes>-empty-</contentBytes>"));
+    assertEquals("<ns2:userId a=\"1\">**masked**</ns2:userId><userIdx>ccsi</userIdx>",
+        logMasker.mask("<ns2:userId a=\"1\">ccsi</ns2:userId><userIdx>ccsi</userIdx>"));
+  }
+
+  @Test
+  void shouldMaskHeaderValues() {
+    LogMasker logMasker = new LogMasker(List.of("Authorization"), List.of());
+
+    assertEquals("requestHeaders='[Content-Type:\"application/json\", Authorization:**masked**]'",
+        logMasker.mask(
+            "requestHeaders='[Content-Type:\"application/json\", Authorization:\"Basic 239xb7yn8273nyx2=\"]'"));
+  }
+
+  @Test
+  void shouldMaskSensitiveValue_whenFieldIsAlsoNonLogging() {
+    LogMasker logMasker = new LogMasker(List.of("token"), List.of("token"));
+
+    assertEquals("{\"token\": **masked**}", logMasker.mask("{\"token\": \"abc\"}"));
+  }
+
+  @Test
+  void shouldReturnSameLog_whenNothingIsMasked() {
+    LogMasker logMasker = new LogMasker(List.of("password"), null);
+    String log = "{\"username\": \"password\", \"xpassword\": \"1\", \"password\" }";
+
+    assertSame(log, logMasker.mask(log));
+    assertFalse(new LogMasker(null, List.of()).hasFields());
+  }
+}
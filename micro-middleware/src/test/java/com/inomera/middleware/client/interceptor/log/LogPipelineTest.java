@@ -0,0 +1,154 @@
+package com.inomera.middleware.client.interceptor.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.inomera.integration.config.model.AdapterLogging;
+import com.inomera.integration.config.model.LogOverflowPolicy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+class LogPipelineTest {
+
+  @Test
+  void shouldWriteRecordsInOrderOnBackgroundThread() throws InterruptedException {
+    LogPipeline logPipeline = LogPipeline.of(AdapterLogging.builder().build());
+    List<Integer> written = new CopyOnWriteArrayList<>();
+    CountDownLatch latch = new CountDownLatch(100);
+    Thread caller = Thread.currentThread();
+
+    for (int i = 0; i < 100; i++) {
+      int record = i;
+      logPipeline.submit(() -> {
+        if (Thread.currentThread() != caller) {
+          written.add(record);
+        }
+        latch.countDown();
+      });
+    }
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    assertEquals(IntStream.range(0, 100).boxed().toList(), written);
+  }
+
+  @Test
+  void shouldDropRecords_whenBufferIsFull() {
+    List<Runnable> drains = new ArrayList<>();
+    LogPipeline logPipeline = new LogPipeline(2, LogOverflowPolicy.DROP, 10, drains::add);
+    long totalDropped = LogPipeline.getTotalDroppedCount();
+    List<Integer> written = new ArrayList<>();
+
+    assertTrue(logPipeline.submit(() -> written.add(1)));
+    assertTrue(logPipeline.submit(() -> written.add(2)));
+    assertFalse(logPipeline.submit(() -> written.add(3)));
+
+    assertEquals(1, drains.size());
+    assertEquals(1, logPipeline.getDroppedCount());
+    assertEquals(totalDropped + 1, LogPipeline.getTotalDroppedCount());
+    assertEquals(2, logPipeline.getPendingCount());
+
+    drains.get(0).run();
+
+    assertEquals(List.of(1, 2), written);
+    assertEquals(2, logPipeline.getWrittenCount());
+    assertEquals(0, logPipeline.getPendingCount());
+    assertTrue(logPipeline.submit(() -> written.add(4)));
+  }
+
+  @Test
+  void shouldSampleRecords_whenBufferIsMoreThanHalfFull() {
+    List<Runnable> drains = new ArrayList<>();
+    LogPipeline logPipeline = new LogPipeline(4, LogOverflowPolicy.SAMPLE, 2, drains::add);
+
+    for (int i = 0; i < 3; i++) {
+      assertTrue(logPipeline.submit(() -> {
+      }));
+    }
+    assertTrue(logPipeline.submit(() -> {
+    }));
+    assertFalse(logPipeline.submit(() -> {
+    }));
+    assertFalse(logPipeline.submit(() -> {
+    }));
+
+    assertEquals(1, logPipeline.getSampledOutCount());
+    assertEquals(1, logPipeline.getDroppedCount());
+    assertEquals(4, logPipeline.getPendingCount());
+  }
+
+  @Test
+  void shouldKeepWriting_whenRecordFails() {
+    List<Runnable> drains = new ArrayList<>();
+    LogPipeline logPipeline = new LogPipeline(4, LogOverflowPolicy.DROP, 10, drains::add);
+    List<Integer> written = new ArrayList<>();
+
+    logPipeline.submit(() -> {
+      throw new IllegalStateException("format failed");
+    });
+    logPipeline.submit(() -> written.add(2));
+    logPipeline.flush();
+
+    assertEquals(List.of(2), written);
+    assertEquals(1, logPipeline.getWrittenCount());
+  }
+
+  @Test
+  void shouldWaitForRunningDrain_whenFlushed() throws InterruptedException {
+    LogPipeline logPipeline = new LogPipeline(4, LogOverflowPolicy.DROP, 10,
+        drain -> new Thread(drain).start());
+    List<Integer> written = new CopyOnWriteArrayList<>();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    logPipeline.submit(() -> {
+      started.countDown();
+      await(release);
+      written.add(1);
+    });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    logPipeline.submit(() -> written.add(2));
+    Thread flusher = new Thread(logPipeline::flush);
+    flusher.start();
+    flusher.join(100);
+
+    assertTrue(flusher.isAlive());
+    release.countDown();
+    flusher.join(5_000);
+    assertFalse(flusher.isAlive());
+    assertEquals(List.of(1, 2), written);
+  }
+
+  @Test
+  void shouldWriteRecordWithMdcOfRequestThread() {
+    List<Runnable> drains = new ArrayList<>();
+    LogPipeline logPipeline = new LogPipeline(4, LogOverflowPolicy.DROP, 10, drains::add);
+    List<String> written = new ArrayList<>();
+
+    MDC.put("traceId", "5f3a9c0d");
+    try {
+      logPipeline.submit(() -> written.add(MDC.get("traceId")));
+    } finally {
+      MDC.clear();
+    }
+    drains.get(0).run();
+
+    assertEquals(List.of("5f3a9c0d"), written);
+    assertNull(MDC.get("traceId"));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
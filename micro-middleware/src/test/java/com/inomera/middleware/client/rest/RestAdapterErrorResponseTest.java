@@ -0,0 +1,205 @@
+package com.inomera.middleware.client.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.inomera.integration.config.model.AdapterConfig;
+import com.inomera.integration.config.model.AdapterProperties;
+import com.inomera.integration.config.model.CacheProperties;
+import com.inomera.integration.config.model.CircuitBreakerProperties;
+import com.inomera.integration.config.model.ConcurrencyLimitAlgorithm;
+import com.inomera.integration.config.model.ConcurrencyLimitProperties;
+import com.inomera.integration.config.model.HttpClientProperties;
+import com.inomera.integration.config.model.RetryProperties;
+import com.inomera.integration.constant.Status;
+import com.inomera.integration.model.AdapterResponse;
+import com.inomera.integration.type.RestAdapter;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs adapter policies against a local endpoint, so error responses go through the error mapping
+ * of the rest client instead of a hand-made adapter exception.
+ */
+class RestAdapterErrorResponseTest {
+
+  private final AtomicInteger hits = new AtomicInteger();
+  private volatile int responseStatus = 200;
+  private HttpServer server;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/", exchange -> {
+      hits.incrementAndGet();
+      byte[] body = "{\"name\":\"mirket\"}".getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+      exchange.sendResponseHeaders(responseStatus, body.length);
+      try (OutputStream outputStream = exchange.getResponseBody()) {
+        outputStream.write(body);
+      }
+    });
+    server.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  void shouldRetry_whenEndpointRespondsWithServiceUnavailable() {
+    responseStatus = 503;
+    TestRestAdapter adapter = createAdapter("config.adapter.mirket.v1",
+        adapterProperties -> adapterProperties.setRetry(RetryProperties.builder()
+            .enabled(true)
+            .maxAttempts(3)
+            .initialBackoff(1)
+            .build()));
+
+    AdapterResponse<String> response = adapter.<String, String>get("/countries", Map.of(), null,
+        String.class, null);
+
+    assertEquals(Status.TECHNICAL_ERROR, response.getStatus().status());
+    assertEquals(3, hits.get());
+  }
+
+  @Test
+  void shouldRetryAsync_whenEndpointRespondsWithServiceUnavailable() {
+    responseStatus = 503;
+    TestRestAdapter adapter = createAdapter("config.adapter.mirket.v1",
+        adapterProperties -> adapterProperties.setRetry(RetryProperties.builder()
+            .enabled(true)
+            .maxAttempts(3)
+            .initialBackoff(1)
+            .build()));
+
+    AdapterResponse<String> response = adapter.<String, String>getAsync("/countries", Map.of(),
+        null, String.class, null).join();
+
+    assertEquals(Status.TECHNICAL_ERROR, response.getStatus().status());
+    assertEquals(3, hits.get());
+  }
+
+  @Test
+  void shouldNotRetry_whenEndpointRespondsWithNotFound() {
+    responseStatus = 404;
+    TestRestAdapter adapter = createAdapter("config.adapter.mirket.v1",
+        adapterProperties -> adapterProperties.setRetry(RetryProperties.builder()
+            .enabled(true)
+            .maxAttempts(3)
+            .initialBackoff(1)
+            .build()));
+
+    AdapterResponse<String> response = adapter.<String, String>get("/countries", Map.of(), null,
+        String.class, null);
+
+    assertEquals(Status.TECHNICAL_ERROR, response.getStatus().status());
+    assertEquals(1, hits.get());
+  }
+
+  @Test
+  void shouldOpenCircuitOnlyForServerErrorResponses() {
+    TestRestAdapter adapter = createAdapter("config.adapter.mirket.circuit.v1",
+        adapterProperties -> adapterProperties.setCircuitBreaker(CircuitBreakerProperties.builder()
+            .enabled(true)
+            .windowSize(4)
+            .minimumCalls(4)
+            .failureRateThreshold(50)
+            .openDuration(60_000)
+            .build()));
+
+    responseStatus = 404;
+    for (int i = 0; i < 8; i++) {
+      AdapterResponse<String> response = adapter.<String, String>get("/countries", Map.of(), null,
+          String.class, null);
+      assertFalse(response.getStatus().isCircuitOpen());
+    }
+    responseStatus = 503;
+    for (int i = 0; i < 4; i++) {
+      adapter.<String, String>get("/countries", Map.of(), null, String.class, null);
+    }
+    AdapterResponse<String> response = adapter.<String, String>get("/countries", Map.of(), null,
+        String.class, null);
+
+    assertTrue(response.getStatus().isCircuitOpen());
+    assertEquals(12, hits.get());
+  }
+
+  @Test
+  void shouldShrinkConcurrencyLimitOnlyForOverloadResponses() {
+    TestRestAdapter adapter = createAdapter("config.adapter.mirket.v1",
+        adapterProperties -> adapterProperties.setConcurrencyLimit(
+            ConcurrencyLimitProperties.builder()
+                .enabled(true)
+                .algorithm(ConcurrencyLimitAlgorithm.AIMD)
+                .initialLimit(10)
+                .maxLimit(100)
+                .build()));
+
+    responseStatus = 404;
+    adapter.<String, String>get("/countries", Map.of(), null, String.class, null);
+    int limit = adapter.getConcurrencyLimiter().getLimit();
+    responseStatus = 503;
+    adapter.<String, String>get("/countries", Map.of(), null, String.class, null);
+
+    assertTrue(limit >= 10);
+    assertTrue(adapter.getConcurrencyLimiter().getLimit() < limit);
+  }
+
+  @Test
+  void shouldServeStaleResponseOnlyForServerErrorResponses() throws InterruptedException {
+    TestRestAdapter adapter = createAdapter("config.adapter.mirket.v1",
+        adapterProperties -> adapterProperties.setCache(CacheProperties.builder()
+            .enabled(true)
+            .ttl(1)
+            .staleIfError(60_000)
+            .build()));
+
+    adapter.<String, String>get("/countries", Map.of(), null, String.class, null);
+    Thread.sleep(10);
+    responseStatus = 404;
+    AdapterResponse<String> notFound = adapter.<String, String>get("/countries", Map.of(), null,
+        String.class, null);
+    responseStatus = 503;
+    AdapterResponse<String> unavailable = adapter.<String, String>get("/countries", Map.of(), null,
+        String.class, null);
+
+    assertEquals(Status.TECHNICAL_ERROR, notFound.getStatus().status());
+    assertFalse(notFound.getStatus().stale());
+    assertEquals(Status.SUCCESS, unavailable.getStatus().status());
+    assertTrue(unavailable.getStatus().stale());
+  }
+
+  private TestRestAdapter createAdapter(String adapterKey,
+      Consumer<AdapterProperties> customizer) {
+    AdapterProperties adapterProperties = new AdapterProperties();
+    adapterProperties.setUrl("http://127.0.0.1:" + server.getAddress().getPort());
+    adapterProperties.setHttp(HttpClientProperties.builder()
+        .skipSsl(true)
+        .connectTimeout(1000)
+        .requestTimeout(2000)
+        .build());
+    customizer.accept(adapterProperties);
+    AdapterConfig adapterConfig = new AdapterConfig(adapterKey, adapterProperties);
+    return new TestRestAdapter(() -> adapterConfig);
+  }
+
+  private static class TestRestAdapter extends RestAdapter<AdapterConfig> {
+
+    TestRestAdapter(Supplier<AdapterConfig> adapterConfigSupplier) {
+      super(adapterConfigSupplier, new SimpleHttpRestAdapterClient(adapterConfigSupplier::get));
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package com.inomera.middleware.client.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+class RevalidationStoreTest {
+
+  private static final String URL = "https://api.mirket.inomera.com/v10/first";
+
+  @Test
+  void shouldApplyValidatorsOfRememberedResponse() {
+    RevalidationStore store = new RevalidationStore();
+    HttpHeaders responseHeaders = new HttpHeaders();
+    responseHeaders.setETag("\"v1\"");
+    responseHeaders.set(HttpHeaders.LAST_MODIFIED, "Wed, 21 Oct 2026 07:28:00 GMT");
+    store.put(URL, String.class, new HttpHeaders(), responseHeaders, "body", 10);
+
+    HttpHeaders requestHeaders = new HttpHeaders();
+    RevalidationStore.Entry entry = store.get(URL, String.class, requestHeaders);
+    assertNotNull(entry);
+    entry.applyTo(requestHeaders);
+
+    assertEquals("\"v1\"", requestHeaders.getFirst(HttpHeaders.IF_NONE_MATCH));
+    assertEquals("Wed, 21 Oct 2026 07:28:00 GMT",
+        requestHeaders.getFirst(HttpHeaders.IF_MODIFIED_SINCE));
+    assertEquals("body", entry.body());
+    assertNull(store.get(URL, Integer.class, requestHeaders));
+  }
+
+  @Test
+  void shouldForgetResponseWithoutValidator() {
+    RevalidationStore store = new RevalidationStore();
+    HttpHeaders responseHeaders = new HttpHeaders();
+    responseHeaders.setETag("\"v1\"");
+    store.put(URL, String.class, new HttpHeaders(), responseHeaders, "body", 10);
+
+    store.put(URL, String.class, new HttpHeaders(), new HttpHeaders(), "body", 10);
+
+    assertNull(store.get(URL, String.class, new HttpHeaders()));
+  }
+
+  @Test
+  void shouldMatchVaryHeaders() {
+    RevalidationStore store = new RevalidationStore();
+    HttpHeaders requestHeaders = new HttpHeaders();
+    requestHeaders.set(HttpHeaders.ACCEPT_LANGUAGE, "tr");
+    HttpHeaders responseHeaders = new HttpHeaders();
+    responseHeaders.setETag("\"v1\"");
+    responseHeaders.setVary(List.of(HttpHeaders.ACCEPT_LANGUAGE));
+    store.put(URL, String.class, requestHeaders, responseHeaders, "body", 10);
+
+    HttpHeaders otherLanguage = new HttpHeaders();
+    otherLanguage.set(HttpHeaders.ACCEPT_LANGUAGE, "en");
+
+    assertNotNull(store.get(URL, String.class, requestHeaders));
+    assertNull(store.get(URL, String.class, otherLanguage));
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedEntry() {
+    RevalidationStore store = new RevalidationStore();
+    HttpHeaders responseHeaders = new HttpHeaders();
+    responseHeaders.setETag("\"v1\"");
+    store.put(URL + "/1", String.class, new HttpHeaders(), responseHeaders, "1", 2);
+    store.put(URL + "/2", String.class, new HttpHeaders(), responseHeaders, "2", 2);
+    store.get(URL + "/1", String.class, new HttpHeaders());
+    store.put(URL + "/3", String.class, new HttpHeaders(), responseHeaders, "3", 2);
+
+    assertEquals(2, store.size());
+    assertNotNull(store.get(URL + "/1", String.class, new HttpHeaders()));
+    assertNull(store.get(URL + "/2", String.class, new HttpHeaders()));
+  }
+
+  @Test
+  void shouldMergeNotModifiedHeaders() {
+    RevalidationStore store = new RevalidationStore();
+    HttpHeaders responseHeaders = new HttpHeaders();
+    responseHeaders.setETag("\"v1\"");
+    responseHeaders.set("X-Total", "3");
+    store.put(URL, String.class, new HttpHeaders(), responseHeaders, "body", 10);
+    HttpHeaders notModifiedHeaders = new HttpHeaders();
+    notModifiedHeaders.setETag("\"v2\"");
+
+    HttpHeaders merged = store.get(URL, String.class, new HttpHeaders())
+        .mergeHeaders(notModifiedHeaders);
+
+    assertEquals("\"v2\"", merged.getETag());
+    assertEquals("3", merged.getFirst("X-Total"));
+  }
+}
@@ -0,0 +1,92 @@
+package com.inomera.middleware.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.inomera.integration.config.model.HttpClientProperties;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.junit.jupiter.api.Test;
+
+class HttpClientUtilsTest {
+
+  @Test
+  void shouldCreateConnectionManagerWithConfiguredPoolSizes() {
+    HttpClientProperties http = HttpClientProperties.builder()
+        .maxConnections(120)
+        .maxConnPerRoute(40)
+        .poolConcurrencyPolicy("LAX")
+        .timeToLive(60000)
+        .build();
+
+    try (PoolingHttpClientConnectionManager connectionManager = HttpClientUtils.createConnectionManager(
+        http, null)) {
+      assertEquals(120, connectionManager.getMaxTotal());
+      assertEquals(40, connectionManager.getDefaultMaxPerRoute());
+    }
+  }
+
+  @Test
+  void shouldResolvePoolConcurrencyPolicy() {
+    assertEquals(PoolConcurrencyPolicy.STRICT,
+        HttpClientUtils.getPoolConcurrencyPolicy(new HttpClientProperties()));
+    assertEquals(PoolConcurrencyPolicy.LAX, HttpClientUtils.getPoolConcurrencyPolicy(
+        HttpClientProperties.builder().poolConcurrencyPolicy("lax").build()));
+  }
+
+  @Test
+  void shouldFailForUnknownPoolConcurrencyPolicy() {
+    HttpClientProperties http = HttpClientProperties.builder()
+        .poolConcurrencyPolicy("FAIR")
+        .build();
+
+    assertThrows(IllegalArgumentException.class,
+        () -> HttpClientUtils.getPoolConcurrencyPolicy(http));
+  }
+
+  @Test
+  void shouldReconfigurePoolSizesOnLiveConnectionManager() {
+    HttpClientProperties http = HttpClientProperties.builder()
+        .maxConnections(10)
+        .maxConnPerRoute(10)
+        .build();
+    HttpClientProperties reloadedHttp = HttpClientProperties.builder()
+        .maxConnections(50)
+        .maxConnPerRoute(25)
+        .requestTimeout(5000)
+        .build();
+
+    try (PoolingHttpClientConnectionManager connectionManager = HttpClientUtils.createConnectionManager(
+        http, null)) {
+      HttpClientUtils.reconfigureConnectionManager(connectionManager, reloadedHttp);
+
+      assertEquals(50, connectionManager.getMaxTotal());
+      assertEquals(25, connectionManager.getDefaultMaxPerRoute());
+    }
+  }
+
+  @Test
+  void shouldDetectTransportChange() {
+    HttpClientProperties http = HttpClientProperties.builder()
+        .maxConnections(10)
+        .poolConcurrencyPolicy("LAX")
+        .idleConnectionsTimeout(60000)
+        .build();
+    HttpClientProperties resizedHttp = HttpClientProperties.builder()
+        .maxConnections(50)
+        .poolConcurrencyPolicy("lax")
+        .idleConnectionsTimeout(60000)
+        .requestTimeout(5000)
+        .build();
+    HttpClientProperties strictHttp = HttpClientProperties.builder()
+        .maxConnections(10)
+        .poolConcurrencyPolicy("STRICT")
+        .idleConnectionsTimeout(60000)
+        .build();
+
+    assertFalse(HttpClientUtils.isTransportChanged(http, resizedHttp));
+    assertTrue(HttpClientUtils.isTransportChanged(http, strictHttp));
+  }
+}
@@ -37,7 +37,7 @@ public class MirketAdapterBeanConfiguration {
   @Bean
   @ConditionalOnClass(AdapterConfigDataSupplier.class)
   public MirketAdapter mirketAdapter(AdapterConfigDataSupplier adapterConfigDataSupplier) {
-    Supplier<AdapterConfig> configSupplierFunc = () -> adapterConfigDataSupplier.getConfigV1(
+    Supplier<AdapterConfig> configSupplierFunc = adapterConfigDataSupplier.configSupplier(
         CONFIG_MIRKET_KEY);
     final ApacheHttpRestAdapterClient apacheHttpRestAdapterClient = (ApacheHttpRestAdapterClient) applicationContext.getBean(
         BEAN_APACHE_HTTP_REST_CLIENT_WITH_CONFIG, configSupplierFunc);
@@ -48,7 +48,7 @@ public class MirketAdapterBeanConfiguration {
   @Bean
   @ConditionalOnClass(AdapterConfigDataSupplier.class)
   public CountryAdapter countryAdapter(AdapterConfigDataSupplier adapterConfigDataSupplier) {
-    Supplier<AdapterConfig> configSupplierFunc = () -> adapterConfigDataSupplier.getConfigV1(
+    Supplier<AdapterConfig> configSupplierFunc = adapterConfigDataSupplier.configSupplier(
         CONFIG_COUNTRY_KEY);
 
     final ApacheHttpSoapAdapterClient soapAdapterClient = (ApacheHttpSoapAdapterClient) applicationContext.getBean(